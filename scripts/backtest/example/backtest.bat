@@ -1,2 +1,2 @@
 REM Dummy Quandl key file has been added to the classpath @ quandl.key
-call java -Xms1024m -cp ".";"../../../systematic-trading-data-api-quandl/configuration/";"../../../systematic-trading-backtest-output-file/configuration/";"../../../systematic-trading-backtest-output-elastic/configuration/";"../../../systematic-trading-backtest-trial/target/systematic-trading-backtest-trial-0.0.1-SNAPSHOT-jar-with-dependencies.jar" com.systematic.trading.backtest.trial.never.exit.DocumentationExampleTrial %*
\ No newline at end of file
+call java -Xms1024m -cp ".";"../../../systematic-trading-data-api-quandl/configuration/";"../../../systematic-trading-backtest-output-file/configuration/";"../../../systematic-trading-backtest/configuration/";"../../../systematic-trading-backtest-output-elastic/configuration/";"../../../systematic-trading-backtest-trial/target/systematic-trading-backtest-trial-0.0.1-SNAPSHOT-jar-with-dependencies.jar" com.systematic.trading.backtest.trial.never.exit.DocumentationExampleTrial %*
\ No newline at end of file
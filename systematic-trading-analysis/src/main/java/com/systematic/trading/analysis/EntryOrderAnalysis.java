@@ -27,9 +27,14 @@ package com.systematic.trading.analysis;
 
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.time.Period;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import org.apache.commons.lang3.time.StopWatch;
@@ -37,8 +42,12 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.systematic.trading.analysis.event.LogEntryOrderEventListner;
-import com.systematic.trading.backtest.Backtest;
+import com.systematic.trading.analysis.checkpoint.AnalysisCheckpoint;
+import com.systematic.trading.analysis.checkpoint.dao.AnalysisCheckpointDao;
+import com.systematic.trading.analysis.checkpoint.dao.impl.FileAnalysisCheckpointDao;
+import com.systematic.trading.backtest.BacktestBootstrap;
 import com.systematic.trading.backtest.BacktestSimulationDates;
+import com.systematic.trading.backtest.BacktestTickerSymbolTradingData;
 import com.systematic.trading.backtest.brokerage.fee.SelfWealthBrokerageFees;
 import com.systematic.trading.backtest.configuration.BacktestBootstrapConfiguration;
 import com.systematic.trading.backtest.configuration.cash.CashAccountConfiguration;
@@ -70,7 +79,7 @@ import com.systematic.trading.data.DataServiceType;
 import com.systematic.trading.data.DataServiceUpdater;
 import com.systematic.trading.data.DataServiceUpdaterImpl;
 import com.systematic.trading.data.EquityApiFactory;
-import com.systematic.trading.data.HibernateDataService;
+import com.systematic.trading.data.JdbcDataService;
 import com.systematic.trading.data.api.EquityApi;
 import com.systematic.trading.data.api.configuration.EquityApiLaunchArgument;
 import com.systematic.trading.data.util.HibernateUtil;
@@ -86,6 +95,7 @@ import com.systematic.trading.input.LaunchArgumentValidator;
 import com.systematic.trading.input.OpeningFundsLaunchArgument;
 import com.systematic.trading.input.TickerDatasetLaunchArgument;
 import com.systematic.trading.input.TickerSymbolLaunchArgument;
+import com.systematic.trading.model.price.TradingDayPrices;
 
 /**
  * An analysis to generate buy signals to execute on a daily basis, a specialized version of a back
@@ -104,6 +114,9 @@ public class EntryOrderAnalysis {
 	/** For analysis we only want to use the starting funds, no interest payments. */
 	private static final BigDecimal IGNORE_INTEREST_RATE = BigDecimal.ZERO;
 
+	/** Local directory for the checkpoints of each analysed equity. */
+	private static final String CHECKPOINT_DIRECTORY = "checkpoint";
+
 	/** Ensures all the necessary trading data get retrieved into the local source. */
 	private final DataServiceUpdater dataServiceUpdater;
 
@@ -113,6 +126,9 @@ public class EntryOrderAnalysis {
 	/** Display name for the strategy analysed. */
 	private final DescriptionGenerator description;
 
+	/** State retained between the daily analysis runs. */
+	private final AnalysisCheckpointDao checkpoints;
+
 	public static void main( final String... args ) throws ServiceException {
 
 		final LaunchArgumentValidator validator = new LaunchArgumentValidator();
@@ -155,8 +171,9 @@ public class EntryOrderAnalysis {
 	public EntryOrderAnalysis( final EquityApi api ) {
 
 		this.dataServiceUpdater = new DataServiceUpdaterImpl(api);
-		this.dataService = new HibernateDataService();
+		this.dataService = new JdbcDataService();
 		this.description = new StandardDescriptionGenerator();
+		this.checkpoints = new FileAnalysisCheckpointDao(Paths.get(CHECKPOINT_DIRECTORY));
 	}
 
 	private EquityConfiguration equity( final AnalysisLaunchArguments launchArgs ) {
@@ -166,29 +183,109 @@ public class EntryOrderAnalysis {
 
 	private void run( final AnalysisLaunchArguments launchArgs ) throws ServiceException {
 
-		final EquityConfiguration equity = equity(launchArgs);
-		final BacktestBootstrapConfiguration backtestConfiguration = configuration(equity, launchArgs.openingFunds());
-		recordStrategy(backtestConfiguration.strategy());
-		recordAnalysisPeriod(backtestConfiguration.backtestDates());
-
 		final StopWatch timer = new StopWatch();
 		timer.start();
 
+		final EquityConfiguration equity = equity(launchArgs);
+		final String tickerDataset = equity.tickerDataset();
+		final String tickerSymbol = equity.equityIdentity().tickerSymbol();
+		final StrategyConfiguration strategy = strategy();
+		final String strategyDescription = strategy.description(description);
+		final LocalDate today = LocalDate.now();
+		recordStrategy(strategyDescription);
+
+		// Resuming from the previous analysis avoids replaying the warm up
+		final Optional<AnalysisCheckpoint> checkpoint = checkpoints.load(tickerDataset, tickerSymbol)
+		        .filter(previous -> previous.isResumable(tickerDataset, tickerSymbol, strategyDescription));
+
+		if (checkpoint.isPresent() && !checkpoint.get().latestDate().isBefore(today)) {
+			recordUpToDate(checkpoint.get());
+			return;
+		}
+
+		final LocalDate startDateInclusive = checkpoint.isPresent() ? checkpoint.get().latestDate().plusDays(1)
+		        : today.minus(strategy.entry().priceDataRange()).minusDays(DAYS_OF_SIGNALS);
+		final BacktestBootstrapConfiguration backtestConfiguration = configuration(
+		        equity,
+		        launchArgs.openingFunds(),
+		        strategy,
+		        startDateInclusive,
+		        today.plusDays(1));
+		recordAnalysisPeriod(backtestConfiguration.backtestDates());
+
 		try {
-			new Backtest(dataService, dataServiceUpdater).run(
-			        equity,
-			        backtestConfiguration.backtestDates(),
-			        context(backtestConfiguration, output()),
-			        output());
+			final BacktestEventListener output = output(startDateInclusive);
+			final BacktestBootstrapContext context = context(backtestConfiguration, output);
+			final Period warmUp = context.tradingStrategy().warmUpPeriod();
+			final TradingDayPrices[] tradingPrices = checkpoint.isPresent()
+			        ? tradingPrices(checkpoint.get(), equity, backtestConfiguration.backtestDates())
+			        : tradingPrices(equity, startDateInclusive.minus(warmUp), today.plusDays(1));
+
+			if (tradingPrices.length == 0
+			        || checkpoint.isPresent() && tradingPrices.length == checkpoint.get().tradingPrices().length) {
+				LOG.info("No trading days since: {}", startDateInclusive);
+			} else {
+				new BacktestBootstrap(
+				        context,
+				        output,
+				        new BacktestTickerSymbolTradingData(equity.equityIdentity(), tradingPrices)).run();
+
+				checkpoints.save(
+				        AnalysisCheckpoint.of(
+				                tickerDataset,
+				                tickerSymbol,
+				                strategyDescription,
+				                warmUp,
+				                tradingPrices));
+			}
 
 		} finally {
-			HibernateUtil.sessionFactory().close();
+			HibernateUtil.close();
 		}
 
 		timer.stop();
 		recordExecutionTime(timer);
 	}
 
+	/**
+	 * Trading prices retained by the checkpoint, followed by those since the checkpoint.
+	 */
+	private TradingDayPrices[] tradingPrices(
+	        final AnalysisCheckpoint checkpoint,
+	        final EquityConfiguration equity,
+	        final BacktestSimulationDates dates ) throws ServiceException {
+
+		final TradingDayPrices[] retained = checkpoint.tradingPrices();
+		final TradingDayPrices[] latest = tradingPrices(
+		        equity,
+		        dates.startDateInclusive(),
+		        dates.endDateExclusive());
+
+		final TradingDayPrices[] tradingPrices = Arrays.copyOf(retained, retained.length + latest.length);
+		System.arraycopy(latest, 0, tradingPrices, retained.length, latest.length);
+		return tradingPrices;
+	}
+
+	/**
+	 * Trading prices in date order, retrieving any absent from the local source.
+	 */
+	private TradingDayPrices[] tradingPrices(
+	        final EquityConfiguration equity,
+	        final LocalDate startDateInclusive,
+	        final LocalDate endDateExclusive ) throws ServiceException {
+
+		dataServiceUpdater.get(
+		        equity.tickerDataset(),
+		        equity.equityIdentity().tickerSymbol(),
+		        startDateInclusive.withDayOfMonth(1),
+		        endDateExclusive);
+
+		final TradingDayPrices[] tradingPrices = dataService
+		        .get(equity.equityIdentity().tickerSymbol(), startDateInclusive, endDateExclusive);
+		Arrays.sort(tradingPrices, Comparator.comparing(TradingDayPrices::date));
+		return tradingPrices;
+	}
+
 	private BacktestBootstrapContext context(
 	        final BacktestBootstrapConfiguration config,
 	        final BacktestEventListener listener ) {
@@ -197,9 +294,14 @@ public class EntryOrderAnalysis {
 		        .build();
 	}
 
-	private void recordStrategy( final StrategyConfiguration strategy ) {
+	private void recordStrategy( final String strategy ) {
+
+		LOG.info("Strategy: {}", strategy);
+	}
+
+	private void recordUpToDate( final AnalysisCheckpoint checkpoint ) {
 
-		LOG.info("Strategy: {}", () -> strategy.description(description));
+		LOG.info("Analysis already up to date, latest trading day: {}", checkpoint.latestDate());
 	}
 
 	private void recordExecutionTime( final StopWatch timer ) {
@@ -217,12 +319,10 @@ public class EntryOrderAnalysis {
 
 	private BacktestBootstrapConfiguration configuration(
 	        final EquityConfiguration equity,
-	        final BigDecimal openingFunds ) throws InvalidSimulationDatesException {
-
-		final StrategyConfiguration strategy = strategy();
-		final LocalDate today = LocalDate.now();
-		final LocalDate startDateInclusive = today.minus(strategy.entry().priceDataRange()).minusDays(DAYS_OF_SIGNALS);
-		final LocalDate endDateExclusive = today.plusDays(1);
+	        final BigDecimal openingFunds,
+	        final StrategyConfiguration strategy,
+	        final LocalDate startDateInclusive,
+	        final LocalDate endDateExclusive ) throws InvalidSimulationDatesException {
 
 		final BacktestSimulationDates simulationDates = new BacktestSimulationDates(
 		        new BacktestStartDate(startDateInclusive),
@@ -236,9 +336,9 @@ public class EntryOrderAnalysis {
 		        equity);
 	}
 
-	private BacktestEventListener output() {
+	private BacktestEventListener output( final LocalDate reportFromInclusive ) {
 
-		return new LogEntryOrderEventListner();
+		return new LogEntryOrderEventListner(reportFromInclusive);
 	}
 
 	/**
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.analysis.checkpoint;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Arrays;
+
+import com.systematic.trading.model.price.TradingDayPrices;
+
+/**
+ * State of a daily analysis after it's most recent run, sufficient to resume with only the trading
+ * days that follow.
+ * <p/>
+ * Indicators are calculated afresh from the trailing trading prices on every tick, making those
+ * prices the only running state of the strategy to retain.
+ * 
+ * @author CJ Hare
+ */
+public class AnalysisCheckpoint {
+
+	/** Data set the ticker symbol belongs to. */
+	private final String tickerDataset;
+
+	/** Ticker symbol of the equity analysed. */
+	private final String tickerSymbol;
+
+	/** Description of the strategy, any change to the strategy invalidates the checkpoint. */
+	private final String strategy;
+
+	/** Most recent trading day that has been analysed. */
+	private final LocalDate latestDate;
+
+	/** Trailing trading prices, in date order, covering the strategy warm up. */
+	private final TradingDayPrices[] tradingPrices;
+
+	public AnalysisCheckpoint(
+	        final String tickerDataset,
+	        final String tickerSymbol,
+	        final String strategy,
+	        final LocalDate latestDate,
+	        final TradingDayPrices[] tradingPrices ) {
+
+		this.tickerDataset = tickerDataset;
+		this.tickerSymbol = tickerSymbol;
+		this.strategy = strategy;
+		this.latestDate = latestDate;
+		this.tradingPrices = tradingPrices;
+	}
+
+	/**
+	 * Retains only the trailing trading prices within the warm up period of the latest trading day,
+	 * which is the same period of prices a full analysis feeds the strategy before any signals.
+	 * 
+	 * @param tradingPrices
+	 *            every trading day given to the analysis, in date order.
+	 */
+	public static AnalysisCheckpoint of(
+	        final String tickerDataset,
+	        final String tickerSymbol,
+	        final String strategy,
+	        final Period warmUp,
+	        final TradingDayPrices[] tradingPrices ) {
+
+		final LocalDate latestDate = tradingPrices[tradingPrices.length - 1].date();
+		final LocalDate earliestRetained = latestDate.minus(warmUp);
+		int first = tradingPrices.length - 1;
+
+		while (first > 0 && tradingPrices[first - 1].date().isAfter(earliestRetained)) {
+			first--;
+		}
+
+		return new AnalysisCheckpoint(
+		        tickerDataset,
+		        tickerSymbol,
+		        strategy,
+		        latestDate,
+		        Arrays.copyOfRange(tradingPrices, first, tradingPrices.length));
+	}
+
+	/**
+	 * @return <code>true</code> when the checkpoint was taken for the same equity and strategy.
+	 */
+	public boolean isResumable( final String tickerDataset, final String tickerSymbol, final String strategy ) {
+
+		return this.tickerDataset.equals(tickerDataset) && this.tickerSymbol.equals(tickerSymbol)
+		        && this.strategy.equals(strategy);
+	}
+
+	public String tickerDataset() {
+
+		return tickerDataset;
+	}
+
+	public String tickerSymbol() {
+
+		return tickerSymbol;
+	}
+
+	public String strategy() {
+
+		return strategy;
+	}
+
+	public LocalDate latestDate() {
+
+		return latestDate;
+	}
+
+	public TradingDayPrices[] tradingPrices() {
+
+		return tradingPrices;
+	}
+}
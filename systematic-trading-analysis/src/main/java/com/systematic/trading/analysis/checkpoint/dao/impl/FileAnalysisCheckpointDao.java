@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.analysis.checkpoint.dao.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.systematic.trading.analysis.checkpoint.AnalysisCheckpoint;
+import com.systematic.trading.analysis.checkpoint.dao.AnalysisCheckpointDao;
+import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.model.price.impl.TradingDayPricesImpl;
+
+/**
+ * Checkpoints kept as compact binary files in a local directory, one file for each equity.
+ * <p/>
+ * A checkpoint is written to a temporary file then moved into place, an interrupted save leaves
+ * the previous checkpoint intact.
+ * 
+ * @author CJ Hare
+ */
+public class FileAnalysisCheckpointDao implements AnalysisCheckpointDao {
+
+	/** Classes' logger. */
+	private static final Logger LOG = LogManager.getLogger(FileAnalysisCheckpointDao.class);
+
+	/** Layout of the file, any other version is ignored. */
+	private static final int FORMAT_VERSION = 1;
+
+	/** Suffix given to every checkpoint file. */
+	private static final String FILE_SUFFIX = ".checkpoint";
+
+	/** Directory holding the checkpoint files. */
+	private final Path directory;
+
+	public FileAnalysisCheckpointDao( final Path directory ) {
+
+		this.directory = directory;
+	}
+
+	@Override
+	public Optional<AnalysisCheckpoint> load( final String tickerDataset, final String tickerSymbol ) {
+
+		final Path file = file(tickerDataset, tickerSymbol);
+
+		if (!Files.isRegularFile(file)) {
+			return Optional.empty();
+		}
+
+		try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			return read(in);
+		} catch (final IOException | RuntimeException e) {
+			LOG.warn("Ignoring unreadable checkpoint: {}", file, e);
+			return Optional.empty();
+		}
+	}
+
+	@Override
+	public void save( final AnalysisCheckpoint checkpoint ) {
+
+		final Path file = file(checkpoint.tickerDataset(), checkpoint.tickerSymbol());
+
+		try {
+			Files.createDirectories(directory);
+			final Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+			try (final DataOutputStream out = new DataOutputStream(
+			        new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+				write(checkpoint, out);
+			}
+
+			Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (final IOException e) {
+			LOG.warn("Failed to save checkpoint: {}", file, e);
+		}
+	}
+
+	private Optional<AnalysisCheckpoint> read( final DataInputStream in ) throws IOException {
+
+		if (in.readInt() != FORMAT_VERSION) {
+			return Optional.empty();
+		}
+
+		final String tickerDataset = in.readUTF();
+		final String tickerSymbol = in.readUTF();
+		final String strategy = in.readUTF();
+		final LocalDate latestDate = LocalDate.ofEpochDay(in.readLong());
+		final TradingDayPrices[] prices = new TradingDayPrices[in.readInt()];
+
+		for (int i = 0; i < prices.length; i++) {
+			prices[i] = new TradingDayPricesImpl(
+			        tickerSymbol,
+			        LocalDate.ofEpochDay(in.readLong()),
+			        new BigDecimal(in.readUTF()),
+			        new BigDecimal(in.readUTF()),
+			        new BigDecimal(in.readUTF()),
+			        new BigDecimal(in.readUTF()));
+		}
+
+		return Optional.of(new AnalysisCheckpoint(tickerDataset, tickerSymbol, strategy, latestDate, prices));
+	}
+
+	private void write( final AnalysisCheckpoint checkpoint, final DataOutputStream out ) throws IOException {
+
+		out.writeInt(FORMAT_VERSION);
+		out.writeUTF(checkpoint.tickerDataset());
+		out.writeUTF(checkpoint.tickerSymbol());
+		out.writeUTF(checkpoint.strategy());
+		out.writeLong(checkpoint.latestDate().toEpochDay());
+		out.writeInt(checkpoint.tradingPrices().length);
+
+		for (final TradingDayPrices price : checkpoint.tradingPrices()) {
+			out.writeLong(price.date().toEpochDay());
+			out.writeUTF(price.openingPrice().price().toPlainString());
+			out.writeUTF(price.lowestPrice().price().toPlainString());
+			out.writeUTF(price.highestPrice().price().toPlainString());
+			out.writeUTF(price.closingPrice().price().toPlainString());
+		}
+	}
+
+	private Path file( final String tickerDataset, final String tickerSymbol ) {
+
+		return directory.resolve(String.format("%s_%s%s", tickerDataset, tickerSymbol, FILE_SUFFIX));
+	}
+}
@@ -26,6 +26,7 @@
 package com.systematic.trading.analysis.event;
 
 import java.text.DecimalFormat;
+import java.time.LocalDate;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -53,6 +54,14 @@ public class LogEntryOrderEventListner implements BacktestEventListener {
 	/** Format for the oder amounts */
 	private static final DecimalFormat TWO_DECIMAL_PLACES = new DecimalFormat(".00");
 
+	/** Orders placed before this date were reported by an earlier analysis. */
+	private final LocalDate reportFromInclusive;
+
+	public LogEntryOrderEventListner( final LocalDate reportFromInclusive ) {
+
+		this.reportFromInclusive = reportFromInclusive;
+	}
+
 	@Override
 	public void event( final CashEvent event ) {
 
@@ -62,7 +71,7 @@ public class LogEntryOrderEventListner implements BacktestEventListener {
 	@Override
 	public void event( final OrderEvent event ) {
 
-		if (event.type() == EquityOrderType.ENTRY) {
+		if (event.type() == EquityOrderType.ENTRY && !event.transactionDate().isBefore(reportFromInclusive)) {
 			LOG.info(
 			        String.format(
 			                "Buy event on %s. Place a buy order for the total value of %s",
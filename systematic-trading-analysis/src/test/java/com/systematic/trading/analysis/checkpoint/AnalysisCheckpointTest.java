@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.analysis.checkpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Period;
+
+import org.junit.Test;
+
+import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.model.price.impl.TradingDayPricesImpl;
+
+/**
+ * AnalysisCheckpoint.
+ * 
+ * @author CJ Hare
+ */
+public class AnalysisCheckpointTest {
+
+	private static final LocalDate START = LocalDate.of(2018, 3, 1);
+
+	@Test
+	public void retainsWarmUp() {
+
+		final AnalysisCheckpoint checkpoint = AnalysisCheckpoint
+		        .of("WIKI", "BHP", "Strategy", Period.ofDays(3), prices(10));
+
+		assertEquals(START.plusDays(9), checkpoint.latestDate());
+		assertEquals(3, checkpoint.tradingPrices().length);
+		assertEquals(START.plusDays(7), checkpoint.tradingPrices()[0].date());
+		assertEquals(START.plusDays(9), checkpoint.tradingPrices()[2].date());
+	}
+
+	@Test
+	public void retainsAllWhenShorterThanWarmUp() {
+
+		final AnalysisCheckpoint checkpoint = AnalysisCheckpoint
+		        .of("WIKI", "BHP", "Strategy", Period.ofDays(30), prices(10));
+
+		assertEquals(10, checkpoint.tradingPrices().length);
+	}
+
+	@Test
+	public void resumable() {
+
+		final AnalysisCheckpoint checkpoint = AnalysisCheckpoint
+		        .of("WIKI", "BHP", "Strategy", Period.ofDays(3), prices(10));
+
+		assertTrue(checkpoint.isResumable("WIKI", "BHP", "Strategy"));
+		assertFalse(checkpoint.isResumable("WIKI", "BHP", "Another Strategy"));
+		assertFalse(checkpoint.isResumable("WIKI", "RIO", "Strategy"));
+	}
+
+	private TradingDayPrices[] prices( final int days ) {
+
+		final TradingDayPrices[] prices = new TradingDayPrices[days];
+
+		for (int i = 0; i < days; i++) {
+			final BigDecimal price = BigDecimal.valueOf(i);
+			prices[i] = new TradingDayPricesImpl("BHP", START.plusDays(i), price, price, price, price);
+		}
+
+		return prices;
+	}
+}
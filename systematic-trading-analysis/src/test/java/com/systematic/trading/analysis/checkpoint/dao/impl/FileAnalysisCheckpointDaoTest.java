@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.analysis.checkpoint.dao.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.systematic.trading.analysis.checkpoint.AnalysisCheckpoint;
+import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.model.price.impl.TradingDayPricesImpl;
+
+/**
+ * FileAnalysisCheckpointDao.
+ * 
+ * @author CJ Hare
+ */
+public class FileAnalysisCheckpointDaoTest {
+
+	private static final LocalDate DATE = LocalDate.of(2018, 3, 1);
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/** Directory of the checkpoint files. */
+	private Path directory;
+
+	/** DAO instance being tested. */
+	private FileAnalysisCheckpointDao dao;
+
+	@Before
+	public void setUp() {
+
+		directory = folder.getRoot().toPath().resolve("checkpoint");
+		dao = new FileAnalysisCheckpointDao(directory);
+	}
+
+	@Test
+	public void noCheckpoint() {
+
+		assertFalse(dao.load("WIKI", "BHP").isPresent());
+	}
+
+	@Test
+	public void saveThenLoad() {
+
+		dao.save(checkpoint(DATE, new BigDecimal("12.345")));
+
+		final Optional<AnalysisCheckpoint> loaded = dao.load("WIKI", "BHP");
+
+		assertTrue(loaded.isPresent());
+		assertEquals("Strategy", loaded.get().strategy());
+		assertEquals(DATE.plusDays(1), loaded.get().latestDate());
+		assertEquals(2, loaded.get().tradingPrices().length);
+
+		final TradingDayPrices price = loaded.get().tradingPrices()[1];
+		assertEquals("BHP", price.tickerSymbol());
+		assertEquals(DATE.plusDays(1), price.date());
+		assertEquals(new BigDecimal("1.5"), price.openingPrice().price());
+		assertEquals(new BigDecimal("1"), price.lowestPrice().price());
+		assertEquals(new BigDecimal("2"), price.highestPrice().price());
+		assertEquals(new BigDecimal("12.345"), price.closingPrice().price());
+	}
+
+	@Test
+	public void saveReplaces() {
+
+		dao.save(checkpoint(DATE, BigDecimal.ONE));
+		dao.save(checkpoint(DATE.plusDays(5), BigDecimal.TEN));
+
+		assertEquals(DATE.plusDays(6), dao.load("WIKI", "BHP").get().latestDate());
+	}
+
+	@Test
+	public void unreadableIgnored() throws IOException {
+
+		Files.createDirectories(directory);
+		Files.write(directory.resolve("WIKI_BHP.checkpoint"), new byte[] { 0, 0, 0, 1, 7 });
+
+		assertFalse(dao.load("WIKI", "BHP").isPresent());
+	}
+
+	private AnalysisCheckpoint checkpoint( final LocalDate date, final BigDecimal closingPrice ) {
+
+		return new AnalysisCheckpoint(
+		        "WIKI",
+		        "BHP",
+		        "Strategy",
+		        date.plusDays(1),
+		        new TradingDayPrices[] { price(date, BigDecimal.ONE), price(date.plusDays(1), closingPrice) });
+	}
+
+	private TradingDayPrices price( final LocalDate date, final BigDecimal closingPrice ) {
+
+		return new TradingDayPricesImpl(
+		        "BHP",
+		        date,
+		        new BigDecimal("1.5"),
+		        BigDecimal.ONE,
+		        new BigDecimal("2"),
+		        closingPrice);
+	}
+}
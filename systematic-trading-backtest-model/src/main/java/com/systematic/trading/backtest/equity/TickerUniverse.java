@@ -23,45 +23,40 @@
  * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
  * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package com.systematic.trading.backtest.output.elastic.serialize;
+package com.systematic.trading.backtest.equity;
 
-import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.databind.SerializerProvider;
-import com.fasterxml.jackson.databind.ser.std.StdSerializer;
-
 /**
- * Serializer for application/x-ndjson (JSON with \n for a element separator)
+ * Universe of ticker symbols that share a common strategy definition, all from the same dataset.
  * 
  * @author CJ Hare
  */
-public class NdjsonListSerializer extends StdSerializer<List<?>> {
+public class TickerUniverse {
+
+	private final List<TickerSymbol> symbols;
 
-	/** NDJSON is JSON (non-pretty printed) with a new line delimiter after each line. */
-	private static final String NEW_LINE_DELIMITER = "\n";
+	public TickerUniverse( final List<TickerSymbol> symbols ) {
 
-	/** Classes serial ID. */
-	private static final long serialVersionUID = 1L;
+		this.symbols = Collections.unmodifiableList(symbols);
+	}
 
-	public NdjsonListSerializer() {
+	public List<TickerSymbol> symbols() {
 
-		super(List.class, false);
+		return symbols;
+	}
+
+	public int size() {
+
+		return symbols.size();
 	}
 
-	@Override
 	/**
-	 * NOTE: the final line of data must end with a newline character \n.
+	 * @return <code>true</code> when there is more then a single ticker symbol in the universe.
 	 */
-	public void serialize( final List<?> values, final JsonGenerator gen, final SerializerProvider provider )
-	        throws IOException {
-
-		if (values == null) { return; }
+	public boolean isMultiple() {
 
-		for (Object o : values) {
-			gen.writeObject(o);
-			gen.writeRawValue(NEW_LINE_DELIMITER);
-		}
+		return symbols.size() > 1;
 	}
 }
@@ -26,6 +26,7 @@
 package com.systematic.trading.backtest.event;
 
 import com.systematic.trading.backtest.BacktestSimulationDates;
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
 import com.systematic.trading.model.TickerSymbolTradingData;
 import com.systematic.trading.model.price.TradingDayPrices;
 import com.systematic.trading.simulation.SimulationStateListener;
@@ -59,4 +60,16 @@ public interface BacktestEventListener
 	        final TradingDayPrices lastTradingDay ) {
 
 	}
+
+	/**
+	 * Whether the output makes use of a family of events, as those not used need never be created.
+	 * 
+	 * @param family
+	 *            grouping of events by their listener type.
+	 * @return <code>true</code> when the output wants the events, <code>false</code> otherwise.
+	 */
+	default boolean listensTo( final OutputEventFamily family ) {
+
+		return true;
+	}
 }
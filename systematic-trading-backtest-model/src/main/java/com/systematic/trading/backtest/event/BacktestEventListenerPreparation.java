@@ -25,6 +25,8 @@
  */
 package com.systematic.trading.backtest.event;
 
+import com.systematic.trading.backtest.BacktestBatchId;
+
 /**
  * Once off operations of the back test output, provides a chance to optimize to the output for bulk
  * operations.
@@ -35,8 +37,12 @@ public interface BacktestEventListenerPreparation {
 
 	/**
 	 * Opportunity for performing any once off set up for the output.
+	 * 
+	 * @param batchIds
+	 *            identities of every back test that will be output during the trial, which may be
+	 *            generated as they are iterated.
 	 */
-	default void setUp() {
+	default void setUp( final Iterable<BacktestBatchId> batchIds ) {
 
 	}
 
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.input;
+
+/**
+ * How a trial is spread over processes, with the address of the coordinator when distributed.
+ * 
+ * @author CJ Hare
+ */
+public class TrialDistribution {
+
+	/** Trial run entirely within the one process. */
+	public static final TrialDistribution STANDALONE = new TrialDistribution(TrialRole.STANDALONE, null, 0);
+
+	private final TrialRole role;
+	private final String host;
+	private final int port;
+
+	public TrialDistribution( final TrialRole role, final String host, final int port ) {
+
+		this.role = role;
+		this.host = host;
+		this.port = port;
+	}
+
+	public TrialRole role() {
+
+		return role;
+	}
+
+	/**
+	 * @return host name of the coordinator, <code>null</code> when standalone.
+	 */
+	public String host() {
+
+		return host;
+	}
+
+	/**
+	 * @return port the coordinator listens on, zero when standalone.
+	 */
+	public int port() {
+
+		return port;
+	}
+}
@@ -23,16 +23,21 @@
  * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
  * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package com.systematic.trading.backtest.output.elastic.model;
-
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.annotation.JsonInclude.Include;
+package com.systematic.trading.backtest.input;
 
 /**
- * An Object structure representation of an ElasticSearch index when there are no mappings yet i.e.
- * no results received yet.
+ * Part played by the process in running a trial.
  * 
  * @author CJ Hare
  */
-@JsonInclude(Include.NON_NULL)
-public class ElasticEmptyIndexMapping {}
+public enum TrialRole {
+
+	/** Back tests every configuration of the trial itself. */
+	STANDALONE,
+
+	/** Hands out the configurations to the workers, merging their results. */
+	COORDINATOR,
+
+	/** Back tests the configurations given by the coordinator. */
+	WORKER;
+}
@@ -25,14 +25,11 @@
  */
 package com.systematic.trading.backtest.output.elastic;
 
-import java.util.concurrent.ExecutorService;
-
 import com.systematic.trading.backtest.BacktestBatchId;
-import com.systematic.trading.backtest.BacktestSimulationDates;
 import com.systematic.trading.backtest.event.BacktestEventListener;
+import com.systematic.trading.backtest.output.elastic.bulk.ElasticBulkApiPipeline;
 import com.systematic.trading.backtest.output.elastic.configuration.BackestOutputElasticConfiguration;
 import com.systematic.trading.backtest.output.elastic.dao.ElasticDao;
-import com.systematic.trading.backtest.output.elastic.dao.impl.HttpElasticDao;
 import com.systematic.trading.backtest.output.elastic.model.index.ElasticBrokerageIndex;
 import com.systematic.trading.backtest.output.elastic.model.index.ElasticCashIndex;
 import com.systematic.trading.backtest.output.elastic.model.index.ElasticEquityIndex;
@@ -40,12 +37,8 @@ import com.systematic.trading.backtest.output.elastic.model.index.ElasticNetwort
 import com.systematic.trading.backtest.output.elastic.model.index.ElasticOrderIndex;
 import com.systematic.trading.backtest.output.elastic.model.index.ElasticReturnOnInvestmentIndex;
 import com.systematic.trading.backtest.output.elastic.model.index.ElasticSignalAnalysisIndex;
-import com.systematic.trading.model.TickerSymbolTradingData;
-import com.systematic.trading.model.price.TradingDayPrices;
 import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent;
-import com.systematic.trading.simulation.analysis.roi.CumulativeReturnOnInvestment;
 import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEvent;
-import com.systematic.trading.simulation.analysis.statistics.EventStatistics;
 import com.systematic.trading.simulation.brokerage.event.BrokerageEvent;
 import com.systematic.trading.simulation.cash.event.CashEvent;
 import com.systematic.trading.simulation.equity.event.EquityEvent;
@@ -54,6 +47,9 @@ import com.systematic.trading.strategy.signal.SignalAnalysisEvent;
 
 /**
  * A Facade for getting the event data into Elastic Search using the rest HTTP end point.
+ * <p/>
+ * The connection and Bulk API pipeline are shared across every back test in the trial, with the index
+ * mappings being created up front by the preparation.
  * 
  * @author CJ Hare
  */
@@ -66,41 +62,26 @@ public class ElasticBacktestOutput implements BacktestEventListener {
 	private final ElasticReturnOnInvestmentIndex returnOnInvestmentIndex;
 	private final ElasticNetworthIndex networthIndex;
 	private final ElasticEquityIndex equityIndex;
+	private final ElasticBulkApiPipeline bulkApi;
 	private final BacktestBatchId batchId;
 
 	public ElasticBacktestOutput(
 	        final BacktestBatchId batchId,
-	        final ExecutorService pool,
+	        final ElasticDao dao,
+	        final ElasticBulkApiPipeline bulkApi,
 	        final BackestOutputElasticConfiguration config ) {
 
-		final ElasticDao dao = new HttpElasticDao();
-		this.signalAnalysisIndex = new ElasticSignalAnalysisIndex(dao, pool, config);
-		this.cashIndex = new ElasticCashIndex(dao, pool, config);
-		this.orderIndex = new ElasticOrderIndex(dao, pool, config);
-		this.brokerageIndex = new ElasticBrokerageIndex(dao, pool, config);
-		this.returnOnInvestmentIndex = new ElasticReturnOnInvestmentIndex(dao, pool, config);
-		this.networthIndex = new ElasticNetworthIndex(dao, pool, config);
-		this.equityIndex = new ElasticEquityIndex(dao, pool, config);
+		this.signalAnalysisIndex = new ElasticSignalAnalysisIndex(dao, bulkApi, config);
+		this.cashIndex = new ElasticCashIndex(dao, bulkApi, config);
+		this.orderIndex = new ElasticOrderIndex(dao, bulkApi, config);
+		this.brokerageIndex = new ElasticBrokerageIndex(dao, bulkApi, config);
+		this.returnOnInvestmentIndex = new ElasticReturnOnInvestmentIndex(dao, bulkApi, config);
+		this.networthIndex = new ElasticNetworthIndex(dao, bulkApi, config);
+		this.equityIndex = new ElasticEquityIndex(dao, bulkApi, config);
+		this.bulkApi = bulkApi;
 		this.batchId = batchId;
 	}
 
-	@Override
-	public void init(
-	        TickerSymbolTradingData tradingData,
-	        BacktestSimulationDates dates,
-	        EventStatistics eventStatistics,
-	        CumulativeReturnOnInvestment cumulativeRoi,
-	        TradingDayPrices lastTradingDay ) {
-
-		signalAnalysisIndex.init(batchId);
-		cashIndex.init(batchId);
-		orderIndex.init(batchId);
-		brokerageIndex.init(batchId);
-		returnOnInvestmentIndex.init(batchId);
-		networthIndex.init(batchId);
-		equityIndex.init(batchId);
-	}
-
 	@Override
 	public void event( final SignalAnalysisEvent event ) {
 
@@ -136,13 +117,7 @@ public class ElasticBacktestOutput implements BacktestEventListener {
 
 		// Ensure the events are pushed when the simulation is complete
 		if (SimulationState.COMPLETE == transitionedState) {
-			signalAnalysisIndex.flush();
-			cashIndex.flush();
-			orderIndex.flush();
-			brokerageIndex.flush();
-			returnOnInvestmentIndex.flush();
-			networthIndex.flush();
-			equityIndex.flush();
+			bulkApi.flush();
 		}
 	}
 
@@ -27,12 +27,16 @@ package com.systematic.trading.backtest.output.elastic;
 
 import java.util.concurrent.ExecutorService;
 
+import com.systematic.trading.backtest.BacktestBatchId;
+import com.systematic.trading.backtest.event.BacktestEventListener;
 import com.systematic.trading.backtest.event.BacktestEventListenerPreparation;
+import com.systematic.trading.backtest.output.elastic.bulk.ElasticBulkApiPipeline;
 import com.systematic.trading.backtest.output.elastic.configuration.BackestOutputElasticConfiguration;
 import com.systematic.trading.backtest.output.elastic.dao.ElasticDao;
 import com.systematic.trading.backtest.output.elastic.dao.impl.HttpElasticDao;
 import com.systematic.trading.backtest.output.elastic.model.index.ElasticBrokerageIndex;
 import com.systematic.trading.backtest.output.elastic.model.index.ElasticCashIndex;
+import com.systematic.trading.backtest.output.elastic.model.index.ElasticCommonIndex;
 import com.systematic.trading.backtest.output.elastic.model.index.ElasticEquityIndex;
 import com.systematic.trading.backtest.output.elastic.model.index.ElasticNetworthIndex;
 import com.systematic.trading.backtest.output.elastic.model.index.ElasticOrderIndex;
@@ -40,15 +44,16 @@ import com.systematic.trading.backtest.output.elastic.model.index.ElasticReturnO
 import com.systematic.trading.backtest.output.elastic.model.index.ElasticSignalAnalysisIndex;
 
 /**
- * Turns off the index refreshes during the bulk API operations.
+ * Turns off the index refreshes and replicas during the bulk API operations, creating the mapping for
+ * every back test up front, then restoring the settings and merging the segments once the trial is
+ * complete.
+ * <p/>
+ * Owns the connection and Bulk API pipeline shared by the outputs of every back test in the trial.
  * 
  * @author CJ Hare
  */
 public class ElasticBacktestOutputPreparation implements BacktestEventListenerPreparation {
 
-	/** Pool is only used for Bulk API requests, which are not used during the preparation. */
-	private static final ExecutorService NO_POOL = null;
-
 	private final ElasticSignalAnalysisIndex signalAnalysisIndex;
 	private final ElasticCashIndex cashIndex;
 	private final ElasticOrderIndex orderIndex;
@@ -56,51 +61,60 @@ public class ElasticBacktestOutputPreparation implements BacktestEventListenerPr
 	private final ElasticReturnOnInvestmentIndex returnOnInvestmentIndex;
 	private final ElasticNetworthIndex networthIndex;
 	private final ElasticEquityIndex equityIndex;
+	private final ElasticDao dao;
+	private final ElasticBulkApiPipeline bulkApi;
+	private final BackestOutputElasticConfiguration config;
 
-	public ElasticBacktestOutputPreparation( final BackestOutputElasticConfiguration config ) {
+	public ElasticBacktestOutputPreparation(
+	        final BackestOutputElasticConfiguration config,
+	        final ExecutorService pool ) {
 
-		final ElasticDao dao = new HttpElasticDao();
-		this.signalAnalysisIndex = new ElasticSignalAnalysisIndex(dao, NO_POOL, config);
-		this.cashIndex = new ElasticCashIndex(dao, NO_POOL, config);
-		this.orderIndex = new ElasticOrderIndex(dao, NO_POOL, config);
-		this.brokerageIndex = new ElasticBrokerageIndex(dao, NO_POOL, config);
-		this.returnOnInvestmentIndex = new ElasticReturnOnInvestmentIndex(dao, NO_POOL, config);
-		this.networthIndex = new ElasticNetworthIndex(dao, NO_POOL, config);
-		this.equityIndex = new ElasticEquityIndex(dao, NO_POOL, config);
+		this.dao = new HttpElasticDao(config);
+		this.bulkApi = new ElasticBulkApiPipeline(dao, pool, config);
+		this.config = config;
+		this.signalAnalysisIndex = new ElasticSignalAnalysisIndex(dao, bulkApi, config);
+		this.cashIndex = new ElasticCashIndex(dao, bulkApi, config);
+		this.orderIndex = new ElasticOrderIndex(dao, bulkApi, config);
+		this.brokerageIndex = new ElasticBrokerageIndex(dao, bulkApi, config);
+		this.returnOnInvestmentIndex = new ElasticReturnOnInvestmentIndex(dao, bulkApi, config);
+		this.networthIndex = new ElasticNetworthIndex(dao, bulkApi, config);
+		this.equityIndex = new ElasticEquityIndex(dao, bulkApi, config);
 	}
 
-	@Override
-	public void setUp() {
+	/**
+	 * Output for a single back test, sharing the connection and Bulk API pipeline of the trial.
+	 */
+	public BacktestEventListener output( final BacktestBatchId batchId ) {
 
-		ensureIndexesExist();
-		setRefreshInterval(false);
+		return new ElasticBacktestOutput(batchId, dao, bulkApi, config);
 	}
 
 	@Override
-	public void tearDown() {
+	public void setUp( final Iterable<BacktestBatchId> batchIds ) {
 
-		setRefreshInterval(true);
+		for (final ElasticCommonIndex index : indexes()) {
+			index.init(batchIds);
+			index.bulkIngestion(true);
+		}
 	}
 
-	private void ensureIndexesExist() {
+	@Override
+	public void tearDown() {
 
-		signalAnalysisIndex.ensureIndexExists();
-		cashIndex.ensureIndexExists();
-		orderIndex.ensureIndexExists();
-		brokerageIndex.ensureIndexExists();
-		returnOnInvestmentIndex.ensureIndexExists();
-		networthIndex.ensureIndexExists();
-		equityIndex.ensureIndexExists();
+		try {
+			// Outstanding Bulk API requests must complete before the refreshes resume
+			bulkApi.close();
+		} finally {
+			for (final ElasticCommonIndex index : indexes()) {
+				index.bulkIngestion(false);
+				index.forceMerge();
+			}
+		}
 	}
 
-	private void setRefreshInterval( final boolean enabled ) {
+	private ElasticCommonIndex[] indexes() {
 
-		signalAnalysisIndex.refreshInterval(enabled);
-		cashIndex.refreshInterval(enabled);
-		orderIndex.refreshInterval(enabled);
-		brokerageIndex.refreshInterval(enabled);
-		returnOnInvestmentIndex.refreshInterval(enabled);
-		networthIndex.refreshInterval(enabled);
-		equityIndex.refreshInterval(enabled);
+		return new ElasticCommonIndex[] { signalAnalysisIndex, cashIndex, orderIndex, brokerageIndex,
+		        returnOnInvestmentIndex, networthIndex, equityIndex };
 	}
 }
@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.output.elastic.bulk;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * A single Bulk API request body under construction, NDJSON pairs of action meta data and source
+ * document, with the position of each action retained so they may be resent individually.
+ * <p/>
+ * Documents are serialized straight into the body as they arrive, with the body and generator being
+ * reused once the request is complete. A document failing to serialize is removed from the body,
+ * leaving the actions already added intact.
+ * 
+ * @author CJ Hare
+ */
+public class ElasticBulkApiBatch {
+
+	/** NDJSON is JSON (non-pretty printed) with a new line delimiter after each line. */
+	private static final char NEW_LINE_DELIMITER = '\n';
+
+	/** Serialized NDJSON of every action. */
+	private final ReusableBuffer body;
+
+	/** Creates the generator, again whenever a failed document leaves it part way through writing. */
+	private final JsonFactory factory;
+
+	/** Writes the source documents into the body. */
+	private JsonGenerator generator;
+
+	/** Offset into the body where each action begins. */
+	private final int[] actionOffsets;
+
+	/** Number of actions in the batch. */
+	private int actions;
+
+	public ElasticBulkApiBatch( final JsonFactory factory, final int maximumActions, final int expectedBytes )
+	        throws IOException {
+
+		this.body = new ReusableBuffer(expectedBytes);
+		this.actionOffsets = new int[maximumActions];
+		this.factory = factory;
+		this.generator = generator(factory, body);
+	}
+
+	/**
+	 * Appends an action to the batch.
+	 * 
+	 * @param writer
+	 *            serializer for the source document.
+	 * @param meta
+	 *            pre-rendered action meta data line, identifying the index.
+	 * @param source
+	 *            document to index.
+	 */
+	public void add( final ObjectWriter writer, final SerializableString meta, final Object source )
+	        throws IOException {
+
+		final int offset = bytes();
+
+		try {
+			generator.writeRaw(meta);
+			writer.writeValue(generator, source);
+			generator.writeRaw(NEW_LINE_DELIMITER);
+		} catch (final IOException | RuntimeException e) {
+			rollback(offset);
+			throw e;
+		}
+
+		actionOffsets[actions++] = offset;
+	}
+
+	/**
+	 * Writes any actions still held by the generator into the body, ready for sending.
+	 */
+	public void complete() throws IOException {
+
+		generator.flush();
+	}
+
+	/**
+	 * Empties the batch, ready for reuse.
+	 */
+	public void clear() {
+
+		body.reset();
+		actions = 0;
+	}
+
+	public boolean isEmpty() {
+
+		return actions == 0;
+	}
+
+	public boolean isFull( final int maximumBytes ) {
+
+		return actions == actionOffsets.length || bytes() >= maximumBytes;
+	}
+
+	public int actions() {
+
+		return actions;
+	}
+
+	public int bytes() {
+
+		return body.size() + generator.getOutputBuffered();
+	}
+
+	/**
+	 * Writes the request body for the Bulk API, containing every action.
+	 */
+	public void writeTo( final OutputStream out ) throws IOException {
+
+		body.writeTo(out);
+	}
+
+	/**
+	 * Writes the request body for the Bulk API, containing only the one action.
+	 * 
+	 * @param index
+	 *            position of the action within the batch.
+	 */
+	public void writeActionTo( final OutputStream out, final int index ) throws IOException {
+
+		final int start = actionOffsets[index];
+		final int end = index + 1 < actions ? actionOffsets[index + 1] : body.size();
+		body.writeTo(out, start, end - start);
+	}
+
+	/**
+	 * Removes the partially written action from the body, replacing the generator that was left
+	 * inside the failed document.
+	 * 
+	 * @param offset
+	 *            size of the body before the failed action.
+	 */
+	private void rollback( final int offset ) throws IOException {
+
+		try {
+			generator.flush();
+		} finally {
+			body.truncate(offset);
+			generator = generator(factory, body);
+		}
+	}
+
+	private static JsonGenerator generator( final JsonFactory factory, final OutputStream body ) throws IOException {
+
+		final JsonGenerator generator = factory.createGenerator(body);
+
+		// Line delimiters are written explicitly, rather than a space between each document
+		generator.setRootValueSeparator(null);
+
+		return generator;
+	}
+
+	/**
+	 * Byte buffer that allows a region to be written out without first copying.
+	 */
+	private static class ReusableBuffer extends ByteArrayOutputStream {
+
+		ReusableBuffer( final int size ) {
+
+			super(size);
+		}
+
+		void writeTo( final OutputStream out, final int offset, final int length ) throws IOException {
+
+			out.write(buf, offset, length);
+		}
+
+		/**
+		 * Discards everything written after the given size.
+		 */
+		void truncate( final int size ) {
+
+			count = size;
+		}
+	}
+}
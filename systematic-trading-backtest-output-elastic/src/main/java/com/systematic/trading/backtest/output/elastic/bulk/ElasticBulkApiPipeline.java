@@ -0,0 +1,451 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.output.elastic.bulk;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.systematic.trading.backtest.BacktestBatchId;
+import com.systematic.trading.backtest.output.elastic.configuration.BackestOutputElasticConfiguration;
+import com.systematic.trading.backtest.output.elastic.dao.ElasticDao;
+import com.systematic.trading.backtest.output.elastic.exception.ElasticBulkApiException;
+import com.systematic.trading.backtest.output.elastic.exception.ElasticException;
+import com.systematic.trading.backtest.output.elastic.jfr.ElasticBulkRequestEvent;
+import com.systematic.trading.backtest.output.elastic.model.ElasticIndexName;
+import com.systematic.trading.backtest.output.elastic.resource.ElasticBulkApiMetaDataRequestResource;
+import com.systematic.trading.backtest.output.elastic.resource.ElasticBulkApiResponseItemResource;
+import com.systematic.trading.backtest.output.elastic.resource.ElasticBulkApiResponseResource;
+import com.systematic.trading.backtest.output.elastic.serialize.ElasticSearchBulkApiMetaDataSerializer;
+
+/**
+ * Single Bulk API pipeline for a trial, multiplexing the documents for every index into requests
+ * bounded by both the number of actions and their size in bytes.
+ * <p/>
+ * When the number of requests in-flight reaches the limit, the caller is held until one completes,
+ * keeping the memory used for pending requests bounded. Actions that Elastic Search fails are
+ * resent together in a request of their own, while a request that fails as a whole is repeated. A
+ * request or action that never succeeds is reported to the caller by the next flush or close.
+ * <p/>
+ * The meta data line is identical for every document of a back test in an index, so is rendered only
+ * once. Documents are serialized into recycled buffers, which are streamed as the request body.
+ * 
+ * @author CJ Hare
+ */
+public class ElasticBulkApiPipeline {
+
+	/** Classes logger. */
+	private static final Logger LOG = LogManager.getLogger(ElasticBulkApiPipeline.class);
+
+	/** Bulk API action for creating document and generating it's ID. */
+	private static final String ACTION_CREATE_GENERATE_DOCUMENT_ID = "index";
+
+	/** NDJSON is JSON (non-pretty printed) with a new line delimiter after each line. */
+	private static final String NEW_LINE_DELIMITER = "\n";
+
+	/** Content type expected by the Bulk API. */
+	private static final String NDJSON = "application/x-ndjson";
+
+	/** Number of times a failed action or request is resent, before giving up on it. */
+	private static final int MAXIMUM_RETRIES = 3;
+
+	/** Pause before resending a failed action or request, multiplied by the attempt. */
+	private static final long RETRY_BACKOFF_MILLIS = 250;
+
+	/** Access to Elastic Search endpoint. */
+	private final ElasticDao dao;
+
+	/** Delegate worker threads that deal with performing sending to Elastic. */
+	private final ExecutorService pool;
+
+	/** Serializer of the meta data and source documents into NDJSON. */
+	private final ObjectMapper mapper;
+
+	/** Serializer of the source documents, leaving the flushing to the batch. */
+	private final ObjectWriter writer;
+
+	/** Batches that have completed their request, available for reuse. */
+	private final Queue<ElasticBulkApiBatch> recycled;
+
+	/** Rendered meta data lines for the most recent back test, for each index. */
+	private final Map<ElasticIndexName, SerializableString> metaLines;
+
+	/** Back test the meta data lines were rendered for. */
+	private String metaLinesBatchId;
+
+	/** Permits for sending requests, one for each request in-flight. */
+	private final Semaphore inFlight;
+
+	/** Maximum number of requests in-flight at any one time. */
+	private final int maximumInFlight;
+
+	/** Maximum number of actions in a single request. */
+	private final int maximumActions;
+
+	/** Maximum size of a single request body. */
+	private final int maximumBytes;
+
+	/** First request that failed to index its actions, yet to be reported to the caller. */
+	private final AtomicReference<RuntimeException> failure;
+
+	/** Actions waiting to be sent. */
+	private ElasticBulkApiBatch batch;
+
+	public ElasticBulkApiPipeline(
+	        final ElasticDao dao,
+	        final ExecutorService pool,
+	        final BackestOutputElasticConfiguration config ) {
+
+		this.dao = dao;
+		this.pool = pool;
+		this.maximumActions = Math.max(1, config.bulkApiQueueSize());
+		this.maximumBytes = config.bulkApiMaximumBytes();
+		this.maximumInFlight = Math.max(1, config.numberOfConnections());
+		this.inFlight = new Semaphore(maximumInFlight);
+		this.mapper = ndjsonMapper();
+		this.writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		this.recycled = new ConcurrentLinkedQueue<>();
+		this.metaLines = new EnumMap<>(ElasticIndexName.class);
+		this.failure = new AtomicReference<>();
+		this.batch = newBatch();
+	}
+
+	/**
+	 * Queues a document for creation, sending the current batch when it becomes full.
+	 * 
+	 * @param index
+	 *            destination for the document.
+	 * @param id
+	 *            back test the document belongs to.
+	 * @param source
+	 *            the document to create.
+	 */
+	public synchronized void create( final ElasticIndexName index, final BacktestBatchId id, final Object source ) {
+
+		try {
+			batch.add(writer, metaLine(index, id), source);
+		} catch (final IOException e) {
+			throw new ElasticException(String.format("Failed to serialize: %s, for: %s", source, index), e);
+		}
+
+		if (batch.isFull(maximumBytes)) {
+			dispatch();
+		}
+	}
+
+	/**
+	 * Sends any queued actions, without waiting for the request to complete.
+	 * 
+	 * @throws ElasticException
+	 *             when an earlier request failed to send, after exhausting its retries.
+	 */
+	public void flush() {
+
+		dispatchQueued();
+		reportFailure();
+	}
+
+	/**
+	 * Sends any queued actions, then waits for every request in-flight to complete.
+	 * 
+	 * @throws ElasticException
+	 *             when any request failed to send, after exhausting its retries.
+	 */
+	public void close() {
+
+		dispatchQueued();
+
+		inFlight.acquireUninterruptibly(maximumInFlight);
+		inFlight.release(maximumInFlight);
+
+		reportFailure();
+	}
+
+	private synchronized void dispatchQueued() {
+
+		if (!batch.isEmpty()) {
+			dispatch();
+		}
+	}
+
+	/**
+	 * Rethrows the first request failure, only once, as the actions of that request were not indexed.
+	 */
+	private void reportFailure() {
+
+		final RuntimeException cause = failure.getAndSet(null);
+
+		if (cause != null) {
+			throw new ElasticException("Bulk API request failed, its actions were not indexed", cause);
+		}
+	}
+
+	private void dispatch() {
+
+		final ElasticBulkApiBatch full = batch;
+		complete(full);
+		batch = newBatch();
+
+		// Back-pressure, hold the caller until there is capacity to send
+		inFlight.acquireUninterruptibly();
+
+		try {
+			pool.submit(() -> {
+				try {
+					send(full);
+				} catch (final RuntimeException e) {
+					LOG.error(String.format("Failed to send %s Bulk API actions", full.actions()), e);
+					failure.compareAndSet(null, e);
+				} finally {
+					recycle(full);
+					inFlight.release();
+				}
+			});
+		} catch (final RejectedExecutionException e) {
+			recycle(full);
+			inFlight.release();
+			throw e;
+		}
+	}
+
+	private void send( final ElasticBulkApiBatch request ) {
+
+		final ElasticBulkRequestEvent event = new ElasticBulkRequestEvent();
+		event.begin();
+
+		final ElasticBulkApiResponseResource response = bulk(request::writeTo);
+		int failures = 0;
+
+		if (response.hasErrors()) {
+			failures = resend(request, response.items());
+		}
+
+		event.end();
+
+		if (event.shouldCommit()) {
+			event.actions = request.actions();
+			event.bytes = request.bytes();
+			event.failures = failures;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Resends the transiently failed actions of a request together, repeating for those that fail
+	 * transiently again.
+	 * 
+	 * @param items
+	 *            outcome of every action in the request.
+	 * @return number of actions that failed in the request.
+	 * @throws ElasticException
+	 *             when any action is never indexed.
+	 */
+	private int resend( final ElasticBulkApiBatch request, final List<ElasticBulkApiResponseItemResource> items ) {
+
+		final List<ElasticBulkApiResponseItemResource> unindexed = new ArrayList<>();
+		Map<Integer, ElasticBulkApiResponseItemResource> retriable = new LinkedHashMap<>();
+		int failures = 0;
+
+		for (int i = 0; i < items.size(); i++) {
+			if (items.get(i).isFailure()) {
+				failures++;
+				failed(i, items.get(i), retriable, unindexed);
+			}
+		}
+
+		for (int attempt = 1; attempt <= MAXIMUM_RETRIES && !retriable.isEmpty(); attempt++) {
+			backoff(attempt);
+
+			final List<Integer> actions = new ArrayList<>(retriable.keySet());
+			final List<ElasticBulkApiResponseItemResource> outcomes = bulk(out -> {
+				for (final int action : actions) {
+					request.writeActionTo(out, action);
+				}
+			}).items();
+
+			retriable = new LinkedHashMap<>();
+
+			for (int i = 0; i < outcomes.size(); i++) {
+				if (outcomes.get(i).isFailure()) {
+					failed(actions.get(i), outcomes.get(i), retriable, unindexed);
+				}
+			}
+		}
+
+		// Those still failing after the final attempt
+		unindexed.addAll(retriable.values());
+
+		if (!unindexed.isEmpty()) {
+			unindexed.forEach(outcome -> LOG.error("Bulk API action failed, {}", outcome));
+
+			throw new ElasticException(
+			        String.format(
+			                "%s of %s Bulk API actions were not indexed, first failure: %s",
+			                unindexed.size(),
+			                request.actions(),
+			                unindexed.get(0)));
+		}
+
+		return failures;
+	}
+
+	/**
+	 * Transient failures are resent, while the others will fail every time.
+	 */
+	private void failed(
+	        final int action,
+	        final ElasticBulkApiResponseItemResource outcome,
+	        final Map<Integer, ElasticBulkApiResponseItemResource> retriable,
+	        final List<ElasticBulkApiResponseItemResource> unindexed ) {
+
+		if (outcome.isRetriable()) {
+			retriable.put(action, outcome);
+		} else {
+			unindexed.add(outcome);
+		}
+	}
+
+	/**
+	 * Sends a request, repeating it after a pause while the whole request fails transiently.
+	 */
+	private ElasticBulkApiResponseResource bulk( final StreamingOutput body ) {
+
+		for (int attempt = 1;; attempt++) {
+			try {
+				return dao.bulk(ndjson(body));
+			} catch (final ElasticBulkApiException e) {
+				if (attempt > MAXIMUM_RETRIES || !e.isRetriable()) { throw e; }
+
+				LOG.warn("Bulk API request failed, attempt: {}, {}", attempt, e.getMessage());
+				backoff(attempt);
+			}
+		}
+	}
+
+	private void backoff( final int attempt ) {
+
+		try {
+			Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * The meta data line, including the line delimiter, for the documents of a back test in an index.
+	 */
+	private SerializableString metaLine( final ElasticIndexName index, final BacktestBatchId id )
+	        throws IOException {
+
+		if (!id.name().equals(metaLinesBatchId)) {
+			metaLines.clear();
+			metaLinesBatchId = id.name();
+		}
+
+		SerializableString line = metaLines.get(index);
+
+		if (line == null) {
+			line = new SerializedString(
+			        mapper.writeValueAsString(
+			                new ElasticBulkApiMetaDataRequestResource(
+			                        ACTION_CREATE_GENERATE_DOCUMENT_ID,
+			                        index.indexName(),
+			                        id.name(),
+			                        null))
+			                + NEW_LINE_DELIMITER);
+			metaLines.put(index, line);
+		}
+
+		return line;
+	}
+
+	private Entity<StreamingOutput> ndjson( final StreamingOutput body ) {
+
+		return Entity.entity(body, NDJSON);
+	}
+
+	private void complete( final ElasticBulkApiBatch request ) {
+
+		try {
+			request.complete();
+		} catch (final IOException e) {
+			throw new ElasticException(String.format("Failed to complete %s Bulk API actions", request.actions()), e);
+		}
+	}
+
+	private void recycle( final ElasticBulkApiBatch request ) {
+
+		request.clear();
+		recycled.add(request);
+	}
+
+	private ElasticBulkApiBatch newBatch() {
+
+		final ElasticBulkApiBatch reuse = recycled.poll();
+
+		if (reuse != null) { return reuse; }
+
+		try {
+			return new ElasticBulkApiBatch(mapper.getFactory(), maximumActions, Math.min(maximumBytes, 1024 * 1024));
+		} catch (final IOException e) {
+			throw new ElasticException("Failed to create a generator for the Bulk API", e);
+		}
+	}
+
+	private ObjectMapper ndjsonMapper() {
+
+		final ObjectMapper ndjsonMapper = new ObjectMapper();
+		final SimpleModule ndjsonModule = new SimpleModule("Ndjson Bulk API Meta Serializer");
+		ndjsonModule.addSerializer(new ElasticSearchBulkApiMetaDataSerializer());
+		ndjsonMapper.registerModule(ndjsonModule);
+		ndjsonMapper.registerModule(new JavaTimeModule());
+		ndjsonMapper.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+		return ndjsonMapper;
+	}
+}
@@ -32,6 +32,13 @@ package com.systematic.trading.backtest.output.elastic.configuration;
  */
 public interface BackestOutputElasticConfiguration {
 
+	/**
+	 * Location of the Elastic Search HTTP end point.
+	 * 
+	 * @return URL of the Elastic Search node to send requests to.
+	 */
+	String endpoint();
+
 	/**
 	 * The number of primary shards that an index should have, which defaults to 5. This setting
 	 * cannot be changed after index creation.
@@ -56,7 +63,15 @@ public interface BackestOutputElasticConfiguration {
 	int bulkApiQueueSize();
 
 	/**
-	 * Number of concurrent connections to establish to Elastic Search.
+	 * Retrieve the maximum size of the body for a single request to the Elastic Search bulk API.
+	 * 
+	 * @return maximum number of bytes to send to the bulk API.
+	 */
+	int bulkApiMaximumBytes();
+
+	/**
+	 * Number of concurrent connections to establish to Elastic Search, also the limit on the bulk API
+	 * requests in-flight before further requests are held back.
 	 * 
 	 * @return number of threads for outputting data to Elastic Search.
 	 */
@@ -32,10 +32,12 @@ package com.systematic.trading.backtest.output.elastic.configuration;
  */
 public enum BacktestOutputElasticProperty {
 
+	ENDPOINT("endpoint"),
 	NUMBER_OF_CONNECTIONS("number_of_connections"),
 	NUMBER_OF_SHARDS("number_of_shards"),
 	NUMBER_OF_REPLICAS("number_of_replicas"),
-	BULK_API_BUCKET_SIZE("bulk_api_bucket_size");
+	BULK_API_BUCKET_SIZE("bulk_api_bucket_size"),
+	BULK_API_MAXIMUM_BYTES("bulk_api_maximum_bytes");
 
 	private final String key;
 
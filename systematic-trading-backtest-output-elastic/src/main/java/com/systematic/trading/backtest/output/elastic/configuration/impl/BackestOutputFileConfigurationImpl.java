@@ -34,21 +34,33 @@ import com.systematic.trading.backtest.output.elastic.configuration.BackestOutpu
  */
 public class BackestOutputFileConfigurationImpl implements BackestOutputElasticConfiguration {
 
+	private final String endpoint;
 	private final int numberOfShards;
 	private final int numberOfReplicas;
 	private final int bulkApiQueueSize;
+	private final int bulkApiMaximumBytes;
 	private final int numberOfConnections;
 
 	public BackestOutputFileConfigurationImpl(
+	        final String endpoint,
 	        final int numberOfConnections,
 	        final int numberOfShards,
 	        final int numberOfReplicas,
-	        final int bulkApiQueueSize ) {
+	        final int bulkApiQueueSize,
+	        final int bulkApiMaximumBytes ) {
 
+		this.endpoint = endpoint;
 		this.numberOfConnections = numberOfConnections;
 		this.numberOfShards = numberOfShards;
 		this.numberOfReplicas = numberOfReplicas;
 		this.bulkApiQueueSize = bulkApiQueueSize;
+		this.bulkApiMaximumBytes = bulkApiMaximumBytes;
+	}
+
+	@Override
+	public String endpoint() {
+
+		return endpoint;
 	}
 
 	@Override
@@ -69,6 +81,12 @@ public class BackestOutputFileConfigurationImpl implements BackestOutputElasticC
 		return bulkApiQueueSize;
 	}
 
+	@Override
+	public int bulkApiMaximumBytes() {
+
+		return bulkApiMaximumBytes;
+	}
+
 	@Override
 	public int numberOfConnections() {
 
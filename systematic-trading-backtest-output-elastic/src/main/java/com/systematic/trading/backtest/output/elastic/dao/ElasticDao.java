@@ -28,8 +28,9 @@ package com.systematic.trading.backtest.output.elastic.dao;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.core.Response;
 
-import com.systematic.trading.backtest.BacktestBatchId;
+import com.systematic.trading.backtest.output.elastic.exception.ElasticBulkApiException;
 import com.systematic.trading.backtest.output.elastic.model.ElasticIndexName;
+import com.systematic.trading.backtest.output.elastic.resource.ElasticBulkApiResponseResource;
 
 /**
  * Connectivity to Elastic search.
@@ -38,15 +39,33 @@ import com.systematic.trading.backtest.output.elastic.model.ElasticIndexName;
  */
 public interface ElasticDao {
 
+	/**
+	 * @return definition of the index, including the mapping of every type.
+	 */
 	Response index( ElasticIndexName indexName );
 
-	Response mapping( ElasticIndexName indexName, BacktestBatchId id );
+	/**
+	 * Sends a request to the Bulk API, with each action identifying the index it applies to.
+	 * 
+	 * @param requestBody
+	 *            NDJSON pairs of action meta data and source document.
+	 * @return outcome of each action in the request.
+	 * @throws ElasticBulkApiException
+	 *             when the request as a whole fails.
+	 */
+	ElasticBulkApiResponseResource bulk( Entity<?> requestBody );
 
-	void postTypes( ElasticIndexName indexName, Entity<?> requestBody );
-
-	void putMapping( ElasticIndexName indexName, BacktestBatchId id, Entity<?> requestBody );
+	/**
+	 * Puts the mapping applied to every type subsequently created in the index.
+	 */
+	void putDefaultMapping( ElasticIndexName indexName, Entity<?> requestBody );
 
 	void put( ElasticIndexName indexName, Entity<?> requestBody );
 
 	void putSetting( ElasticIndexName indexName, Entity<?> requestBody );
+
+	/**
+	 * Merges the segments of the index, appropriate once no further documents are being added.
+	 */
+	void forceMerge( ElasticIndexName indexName );
 }
@@ -33,6 +33,7 @@ import com.systematic.trading.backtest.output.elastic.configuration.impl.Backest
 import com.systematic.trading.backtest.output.elastic.dao.BackestOutputFileConfigurationDao;
 import com.systematic.trading.configuration.ConfigurationValidator;
 import com.systematic.trading.configuration.IntegerConfigurationValidator;
+import com.systematic.trading.configuration.UrlConfigurationValidator;
 import com.systematic.trading.configuration.exception.ConfigurationValidationException;
 import com.systematic.trading.data.dao.impl.FileConfigurationDao;
 import com.systematic.trading.data.exception.CannotRetrieveConfigurationException;
@@ -46,17 +47,21 @@ public class FileValidatedBackestOutputFileConfigurationDao implements BackestOu
 
 	private static final String BACKTEST_OUTPUT_ELASTIC_PROPERTIES_FILE = "backtest_output_elastic.properties";
 
+	private final ConfigurationValidator<String> endpointValidator;
 	private final ConfigurationValidator<Integer> numberOfConnectionsValidator;
 	private final ConfigurationValidator<Integer> numberOfShardsValidator;
 	private final ConfigurationValidator<Integer> numberOfReplicasValidator;
 	private final ConfigurationValidator<Integer> bulkApiBucketSizeValidator;
+	private final ConfigurationValidator<Integer> bulkApiMaximumBytesValidator;
 
 	public FileValidatedBackestOutputFileConfigurationDao() {
 
+		this.endpointValidator = new UrlConfigurationValidator();
 		this.numberOfConnectionsValidator = new IntegerConfigurationValidator(0, Integer.MAX_VALUE);
 		this.numberOfShardsValidator = new IntegerConfigurationValidator(0, Integer.MAX_VALUE);
 		this.numberOfReplicasValidator = new IntegerConfigurationValidator(0, Integer.MAX_VALUE);
 		this.bulkApiBucketSizeValidator = new IntegerConfigurationValidator(0, Integer.MAX_VALUE);
+		this.bulkApiMaximumBytesValidator = new IntegerConfigurationValidator(1, Integer.MAX_VALUE);
 	}
 
 	@Override
@@ -65,6 +70,7 @@ public class FileValidatedBackestOutputFileConfigurationDao implements BackestOu
 
 		final Properties properties = new FileConfigurationDao().configuration(BACKTEST_OUTPUT_ELASTIC_PROPERTIES_FILE);
 
+		final String endpoint = stringProperty(properties, BacktestOutputElasticProperty.ENDPOINT, endpointValidator);
 		final int numberOfConnections = integerProperty(
 		        properties,
 		        BacktestOutputElasticProperty.NUMBER_OF_CONNECTIONS,
@@ -81,12 +87,26 @@ public class FileValidatedBackestOutputFileConfigurationDao implements BackestOu
 		        properties,
 		        BacktestOutputElasticProperty.BULK_API_BUCKET_SIZE,
 		        bulkApiBucketSizeValidator);
+		final int bulkApiMaximumBytes = integerProperty(
+		        properties,
+		        BacktestOutputElasticProperty.BULK_API_MAXIMUM_BYTES,
+		        bulkApiMaximumBytesValidator);
 
 		return new BackestOutputFileConfigurationImpl(
+		        endpoint,
 		        numberOfConnections,
 		        numberOfShards,
 		        numberOfReplicas,
-		        bulkApiBucketSize);
+		        bulkApiBucketSize,
+		        bulkApiMaximumBytes);
+	}
+
+	private String stringProperty(
+	        final Properties properties,
+	        final BacktestOutputElasticProperty property,
+	        final ConfigurationValidator<String> validator ) throws ConfigurationValidationException {
+
+		return validator.validate(property(properties, property));
 	}
 
 	private int integerProperty(
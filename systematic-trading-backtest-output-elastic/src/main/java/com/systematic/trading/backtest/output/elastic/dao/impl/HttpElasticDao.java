@@ -25,6 +25,7 @@
  */
 package com.systematic.trading.backtest.output.elastic.dao.impl;
 
+import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.WebTarget;
@@ -34,35 +35,37 @@ import javax.ws.rs.core.Response;
 import org.glassfish.jersey.client.ClientConfig;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.jaxrs.json.JacksonJsonProvider;
-import com.systematic.trading.backtest.BacktestBatchId;
+import com.systematic.trading.backtest.output.elastic.configuration.BackestOutputElasticConfiguration;
 import com.systematic.trading.backtest.output.elastic.dao.ElasticDao;
+import com.systematic.trading.backtest.output.elastic.exception.ElasticBulkApiException;
 import com.systematic.trading.backtest.output.elastic.exception.ElasticException;
 import com.systematic.trading.backtest.output.elastic.model.ElasticIndexName;
 import com.systematic.trading.backtest.output.elastic.resource.ElasticBulkApiResponseResource;
-import com.systematic.trading.backtest.output.elastic.serialize.ElasticSearchBulkApiMetaDataSerializer;
-import com.systematic.trading.backtest.output.elastic.serialize.NdjsonListSerializer;
 
 /**
  * Connection to Elastic search over the HTTP API.
  * 
+ * A single client is shared by all requests, with a pool of connections being kept alive between them.
+ * 
  * @author CJ Hare
  */
 public class HttpElasticDao implements ElasticDao {
 
-	// TODO inject this! - configuration value
-	/** Location of the elastic search end point. */
-	private static final String ELASTIC_ENDPOINT_URL = "http://localhost:9200";
+	/** Segments remaining for an index after a force merge. */
+	private static final int FORCE_MERGE_SEGMENTS = 1;
+
+	/** Path of the Bulk API, where the index is given by each action. */
+	private static final String BULK_API_PATH = "_bulk";
+
+	/** Type name of the mapping applied to every type created in an index. */
+	private static final String DEFAULT_MAPPING = "_default_";
 
 	/** Base of the elastic search Restful end point. */
 	private final WebTarget root;
 
-	/** Base of the elastic search Restful end point, serializes with Nd-json. */
-	private final WebTarget bulkApiRoot;
-
-	public HttpElasticDao() {
+	public HttpElasticDao( final BackestOutputElasticConfiguration elasticConfig ) {
 
 		// Registering the provider for POJO -> JSON
 		final ObjectMapper mapper = new ObjectMapper();
@@ -71,22 +74,12 @@ public class HttpElasticDao implements ElasticDao {
 		provider.setMapper(mapper);
 		final ClientConfig config = new ClientConfig(provider);
 
-		// End point target root
-		this.root = ClientBuilder.newClient(config).target(ELASTIC_ENDPOINT_URL);
-
-		// Registering the provider for POJO -> NDJSON
-		final ObjectMapper ndjsonMapper = new ObjectMapper();
-		final SimpleModule ndjsonModule = new SimpleModule("Ndjson List Serializer");
-		ndjsonModule.addSerializer(new NdjsonListSerializer());
-		ndjsonModule.addSerializer(new ElasticSearchBulkApiMetaDataSerializer());
-		ndjsonMapper.registerModule(ndjsonModule);
-		ndjsonMapper.registerModule(new JavaTimeModule());
-		final JacksonJsonProvider ndjsonProvider = new JacksonJsonProvider();
-		ndjsonProvider.setMapper(ndjsonMapper);
+		// Connections for each of the concurrent bulk requests, kept alive between them
+		final int connections = elasticConfig.numberOfConnections();
+		config.connectorProvider(( client, runtime ) -> new PooledHttpConnector(connections));
 
-		final ClientConfig ndjsonConfig = new ClientConfig(ndjsonProvider);
-
-		this.bulkApiRoot = ClientBuilder.newClient(ndjsonConfig).target(ELASTIC_ENDPOINT_URL);
+		// End point target root
+		this.root = ClientBuilder.newClient(config).target(elasticConfig.endpoint());
 	}
 
 	@Override
@@ -97,46 +90,38 @@ public class HttpElasticDao implements ElasticDao {
 	}
 
 	@Override
-	public Response mapping( final ElasticIndexName indexName, final BacktestBatchId id ) {
+	public ElasticBulkApiResponseResource bulk( final Entity<?> requestBody ) {
 
-		final String path = mappingPath(indexName, id);
-		return root.path(path).request(MediaType.APPLICATION_JSON).get();
-	}
-
-	@Override
-	public void postTypes( final ElasticIndexName indexName, final Entity<?> requestBody ) {
+		final WebTarget url = root.path(BULK_API_PATH);
 
-		final WebTarget url = bulkApiRoot.path(indexBulkApiPath(indexName));
+		final Response response;
 
-		// Bulk API uses only HTTP POST for all operations
-		final Response response = url.request(MediaType.APPLICATION_JSON).post(requestBody);
+		try {
+			// Bulk API uses only HTTP POST for all operations
+			response = url.request(MediaType.APPLICATION_JSON).post(requestBody);
+		} catch (final ProcessingException e) {
+			throw new ElasticBulkApiException(String.format("Failed to send the request, URL: %s", url), e);
+		}
 
 		if (response.getStatus() != 200) {
-			throw new ElasticException(
+			response.close();
+			throw new ElasticBulkApiException(
 			        String.format(
-			                "Expecting a HTTP 200 instead receieved HTTP %s, URL: %s, body: %s",
+			                "Expecting a HTTP 200 instead receieved HTTP %s, URL: %s",
 			                response.getStatus(),
-			                url,
-			                requestBody));
+			                url),
+			        response.getStatus());
 		}
 
-		final ElasticBulkApiResponseResource eventResponse = response.readEntity(ElasticBulkApiResponseResource.class);
-
-		if (isInvalidResponse(eventResponse)) {
-			throw new ElasticException(
-			        String.format(
-			                "Unexpected response: %s, to request URL: %s, body: %s",
-			                eventResponse,
-			                url,
-			                requestBody));
-		}
+		return response.readEntity(ElasticBulkApiResponseResource.class);
 	}
 
 	@Override
-	public void putMapping( final ElasticIndexName indexName, final BacktestBatchId id, final Entity<?> requestBody ) {
+	public void putDefaultMapping( final ElasticIndexName indexName, final Entity<?> requestBody ) {
 
-		final String path = mappingPath(indexName, id);
+		final String path = defaultMappingPath(indexName);
 		final Response response = root.path(path).request().put(requestBody);
+		response.close();
 
 		if (response.getStatus() != 200) {
 			throw new ElasticException(String.format("Failed to put the mapping to: %s", path));
@@ -148,6 +133,7 @@ public class HttpElasticDao implements ElasticDao {
 
 		final String path = indexName.indexName();
 		final Response response = root.path(path).request().put(requestBody);
+		response.close();
 
 		if (response.getStatus() != 200) {
 			throw new ElasticException(
@@ -162,6 +148,7 @@ public class HttpElasticDao implements ElasticDao {
 
 		final String path = settingPath(indexName);
 		final Response response = root.path(path).request().put(requestBody);
+		response.close();
 
 		if (response.getStatus() != 200) {
 			throw new ElasticException(String.format("Failed to put the index setting to: %s", path));
@@ -169,26 +156,35 @@ public class HttpElasticDao implements ElasticDao {
 
 	}
 
-	private String settingPath( final ElasticIndexName indexName ) {
+	@Override
+	public void forceMerge( final ElasticIndexName indexName ) {
 
-		return String.format("%s/_settings", indexName.indexName());
+		final String path = forceMergePath(indexName);
+		final Response response = root.path(path).queryParam("max_num_segments", FORCE_MERGE_SEGMENTS)
+		        .request(MediaType.APPLICATION_JSON).post(null);
+		response.close();
+
+		if (response.getStatus() != 200) {
+			throw new ElasticException(
+			        String.format("Failed to force merge: %s, http status: %s", path, response.getStatus()));
+		}
 	}
 
-	/**
-	 * Path for retrieving or putting mapping data to elastic search.
-	 */
-	private String mappingPath( final ElasticIndexName indexName, final BacktestBatchId id ) {
+	private String forceMergePath( final ElasticIndexName indexName ) {
 
-		return String.format("%s/_mapping/%s/", indexName.indexName(), id.name());
+		return String.format("%s/_forcemerge", indexName.indexName());
 	}
 
-	private String indexBulkApiPath( final ElasticIndexName indexName ) {
+	private String settingPath( final ElasticIndexName indexName ) {
 
-		return String.format("%s/_bulk", indexName.indexName());
+		return String.format("%s/_settings", indexName.indexName());
 	}
 
-	private boolean isInvalidResponse( final ElasticBulkApiResponseResource eventResponse ) {
+	/**
+	 * Path for putting the mapping applied to every type created in the index.
+	 */
+	private String defaultMappingPath( final ElasticIndexName indexName ) {
 
-		return eventResponse.hasErrors();
+		return String.format("%s/_mapping/%s", indexName.indexName(), DEFAULT_MAPPING);
 	}
 }
@@ -0,0 +1,212 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.output.elastic.dao.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.HttpHeaders;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.message.internal.Statuses;
+
+/**
+ * Jersey connector sending the requests with the Apache HTTP client, over a pool of connections
+ * that are kept alive between requests.
+ * <p/>
+ * The pool belongs to the connector, so unlike the JDK HTTP connection the number of connections is
+ * not a JVM wide setting. Request bodies are streamed using chunked transfer encoding, rather than
+ * buffering a copy to determine their length.
+ * 
+ * @author CJ Hare
+ */
+public class PooledHttpConnector implements Connector {
+
+	/** Empty body for responses without an entity. */
+	private static final byte[] NO_CONTENT = new byte[0];
+
+	/** Connections kept alive between requests. */
+	private final PoolingHttpClientConnectionManager connections;
+
+	/** Client sharing the pooled connections. */
+	private final CloseableHttpClient client;
+
+	/**
+	 * @param maximumConnections
+	 *            number of connections to keep alive to the destination, the most requests in-flight.
+	 */
+	public PooledHttpConnector( final int maximumConnections ) {
+
+		this.connections = new PoolingHttpClientConnectionManager();
+		this.connections.setMaxTotal(maximumConnections);
+		this.connections.setDefaultMaxPerRoute(maximumConnections);
+		this.client = HttpClients.custom().setConnectionManager(connections).build();
+	}
+
+	@Override
+	public ClientResponse apply( final ClientRequest request ) {
+
+		final HttpUriRequest httpRequest = RequestBuilder.create(request.getMethod()).setUri(request.getUri())
+		        .setEntity(request.hasEntity() ? new StreamingEntity(request) : null).build();
+
+		for (final Map.Entry<String, List<String>> header : request.getStringHeaders().entrySet()) {
+			if (isDelegatedToClient(header.getKey())) {
+				continue;
+			}
+
+			for (final String value : header.getValue()) {
+				httpRequest.addHeader(header.getKey(), value);
+			}
+		}
+
+		try {
+			final CloseableHttpResponse httpResponse = client.execute(httpRequest);
+			final ClientResponse response = new ClientResponse(
+			        Statuses.from(
+			                httpResponse.getStatusLine().getStatusCode(),
+			                httpResponse.getStatusLine().getReasonPhrase()),
+			        request);
+
+			for (final Header header : httpResponse.getAllHeaders()) {
+				response.getHeaders().add(header.getName(), header.getValue());
+			}
+
+			// Closing the content returns the connection to the pool
+			response.setEntityStream(content(httpResponse.getEntity()));
+
+			return response;
+
+		} catch (final IOException e) {
+			throw new ProcessingException(String.format("Failed to %s: %s", request.getMethod(), request.getUri()), e);
+		}
+	}
+
+	@Override
+	public Future<?> apply( final ClientRequest request, final AsyncConnectorCallback callback ) {
+
+		try {
+			callback.response(apply(request));
+		} catch (final ProcessingException e) {
+			callback.failure(e);
+		}
+
+		return CompletableFuture.completedFuture(null);
+	}
+
+	@Override
+	public String getName() {
+
+		return "Pooled Apache HTTP client";
+	}
+
+	@Override
+	public void close() {
+
+		try {
+			client.close();
+		} catch (final IOException e) {
+			throw new ProcessingException("Failed to close the HTTP client", e);
+		}
+	}
+
+	/**
+	 * The client derives the length and encoding headers from the entity, rejecting a request that
+	 * already has them.
+	 */
+	private boolean isDelegatedToClient( final String header ) {
+
+		return HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(header) || "Transfer-Encoding".equalsIgnoreCase(header);
+	}
+
+	private InputStream content( final HttpEntity entity ) throws IOException {
+
+		return entity == null ? new ByteArrayInputStream(NO_CONTENT) : entity.getContent();
+	}
+
+	/**
+	 * Request body written by Jersey directly to the connection.
+	 */
+	private static class StreamingEntity extends AbstractHttpEntity {
+
+		private final ClientRequest request;
+
+		StreamingEntity( final ClientRequest request ) {
+
+			this.request = request;
+			setChunked(true);
+		}
+
+		@Override
+		public void writeTo( final OutputStream out ) throws IOException {
+
+			request.setStreamProvider(contentLength -> out);
+			request.writeEntity();
+		}
+
+		@Override
+		public boolean isRepeatable() {
+
+			return false;
+		}
+
+		@Override
+		public long getContentLength() {
+
+			return -1;
+		}
+
+		@Override
+		public InputStream getContent() {
+
+			throw new UnsupportedOperationException("Request body is only streamed");
+		}
+
+		@Override
+		public boolean isStreaming() {
+
+			return false;
+		}
+	}
+}
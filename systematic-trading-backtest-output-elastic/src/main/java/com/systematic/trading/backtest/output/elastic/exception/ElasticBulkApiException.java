@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.output.elastic.exception;
+
+/**
+ * When a whole Bulk API request fails, either by Elastic Search refusing it or by the connection
+ * failing before a response was received.
+ * 
+ * @author CJ Hare
+ */
+public class ElasticBulkApiException extends ElasticException {
+
+	/** Serialization identity. */
+	private static final long serialVersionUID = 1L;
+
+	/** Status used when no HTTP response was received. */
+	private static final int NO_RESPONSE = 0;
+
+	/** HTTP status of the response, or zero when there was no response. */
+	private final int status;
+
+	public ElasticBulkApiException( final String message, final int status ) {
+
+		super(message);
+		this.status = status;
+	}
+
+	public ElasticBulkApiException( final String message, final Throwable cause ) {
+
+		super(message, cause);
+		this.status = NO_RESPONSE;
+	}
+
+	public int status() {
+
+		return status;
+	}
+
+	/**
+	 * Whether the failure was transient, when a repeat of the request could succeed: Elastic Search
+	 * rejecting for back-pressure, a server side error or the connection failing.
+	 */
+	public boolean isRetriable() {
+
+		return status == NO_RESPONSE || status == 429 || status >= 500;
+	}
+}
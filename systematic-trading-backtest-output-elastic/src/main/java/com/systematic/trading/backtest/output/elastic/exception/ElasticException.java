@@ -39,4 +39,9 @@ public class ElasticException extends RuntimeException {
 
 		super(message);
 	}
+
+	public ElasticException( final String message, final Throwable cause ) {
+
+		super(message, cause);
+	}
 }
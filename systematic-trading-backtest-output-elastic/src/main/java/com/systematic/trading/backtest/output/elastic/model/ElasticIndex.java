@@ -32,6 +32,7 @@ import java.util.Map;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 /**
  * An Object structure representation of an ElasticSearch index.
@@ -39,6 +40,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  * @author CJ Hare
  */
 @JsonInclude(Include.NON_NULL)
+@JsonPropertyOrder({ "settings", "mappings" })
 public class ElasticIndex {
 
 	/**
@@ -53,16 +55,35 @@ public class ElasticIndex {
 	 */
 	private static final String NUMBER_OF_REPLICAS = "number_of_replicas";
 
+	/** Mapping applied to every type subsequently created in the index. */
+	private static final String DEFAULT_MAPPING = "_default_";
+
 	@JsonProperty("settings")
 	private final Map<String, Object> settings;
 
+	@JsonProperty("mappings")
+	private final Map<String, Object> mappings;
+
 	public ElasticIndex( final int numberOfShards, final int numberOfReplicas ) {
 
+		this(numberOfShards, numberOfReplicas, null);
+	}
+
+	/**
+	 * @param defaultMapping
+	 *            mapping for every type created in the index, <code>null</code> for none.
+	 */
+	public ElasticIndex(
+	        final int numberOfShards,
+	        final int numberOfReplicas,
+	        final ElasticIndexMapping defaultMapping ) {
+
 		final Map<String, Object> message = new HashMap<>();
 		message.put(NUMBER_OF_SHARDS, numberOfShards);
 		message.put(NUMBER_OF_REPLICAS, numberOfReplicas);
 
 		settings = Collections.unmodifiableMap(message);
+		mappings = defaultMapping == null ? null : Collections.singletonMap(DEFAULT_MAPPING, defaultMapping);
 	}
 
 	public Map<String, Object> settings() {
@@ -70,11 +91,18 @@ public class ElasticIndex {
 		return settings;
 	}
 
+	public Map<String, Object> mappings() {
+
+		return mappings;
+	}
+
 	@Override
 	public String toString() {
 
 		final StringBuilder out = new StringBuilder("ElasticIndex [settings=");
 		out.append(settings);
+		out.append(", mappings=");
+		out.append(mappings);
 		out.append("]");
 		return out.toString();
 	}
@@ -25,9 +25,9 @@
  */
 package com.systematic.trading.backtest.output.elastic.model.index;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.ExecutorService;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
 
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.core.Response;
@@ -35,17 +35,17 @@ import javax.ws.rs.core.Response;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.systematic.trading.backtest.BacktestBatchId;
+import com.systematic.trading.backtest.output.elastic.bulk.ElasticBulkApiPipeline;
 import com.systematic.trading.backtest.output.elastic.configuration.BackestOutputElasticConfiguration;
 import com.systematic.trading.backtest.output.elastic.dao.ElasticDao;
 import com.systematic.trading.backtest.output.elastic.exception.ElasticException;
-import com.systematic.trading.backtest.output.elastic.model.ElasticEmptyIndexMapping;
 import com.systematic.trading.backtest.output.elastic.model.ElasticFieldName;
 import com.systematic.trading.backtest.output.elastic.model.ElasticFieldType;
 import com.systematic.trading.backtest.output.elastic.model.ElasticIndex;
 import com.systematic.trading.backtest.output.elastic.model.ElasticIndexMapping;
 import com.systematic.trading.backtest.output.elastic.model.ElasticIndexName;
-import com.systematic.trading.backtest.output.elastic.resource.ElasticBulkApiMetaDataRequestResource;
 import com.systematic.trading.backtest.output.elastic.resource.ElasticIndexSettingsRequestResource;
 
 /**
@@ -55,26 +55,23 @@ import com.systematic.trading.backtest.output.elastic.resource.ElasticIndexSetti
  */
 public abstract class ElasticCommonIndex {
 
-	/** Bulk API action for creating document and generating it's ID. */
-	private static final String ACTION_CREATE_GENERATE_DOCUMENT_ID = "index";
-
 	/** Value to disable the refresh interval. */
 	private static final String INDEX_SETTING_REFRESH_DISABLE = "-1";
 
 	/** Default value for the refresh interval. */
 	private static final String INDEX_SETTING_REFRESH_DEFAULT = "1s";
 
-	/** Access to Elastic Search endpoint. */
-	private final ElasticDao dao;
+	/** No replication while the bulk ingestion occurs, the replicas are built afterwards. */
+	private static final int INDEX_SETTING_REPLICAS_DISABLE = 0;
 
-	/** Number of requests that are grouped together for the Bulk API. */
-	private final int bulkApiQueueSize;
+	/** Key of the type mappings within an index definition. */
+	private static final String MAPPINGS = "mappings";
 
-	/** Storage for the meta and source requests. */
-	private List<Object> bulkApiQueue;
+	/** Access to Elastic Search endpoint. */
+	private final ElasticDao dao;
 
-	/** Delegate worker threads that deal with performing sending to Elastic. */
-	private final ExecutorService pool;
+	/** Bulk API requests shared by every index of the trial. */
+	private final ElasticBulkApiPipeline bulkApi;
 
 	/** Elastic Search primary shards. */
 	private final int numberOfShards;
@@ -84,36 +81,38 @@ public abstract class ElasticCommonIndex {
 
 	public ElasticCommonIndex(
 	        final ElasticDao dao,
-	        final ExecutorService pool,
+	        final ElasticBulkApiPipeline bulkApi,
 	        final BackestOutputElasticConfiguration config ) {
 
 		this.dao = dao;
-		this.pool = pool;
-
-		// Each source request (document to created) is accompanied by a meta object
-		this.bulkApiQueueSize = 2 * config.bulkApiQueueSize();
-		this.bulkApiQueue = new ArrayList<>(this.bulkApiQueueSize);
-
+		this.bulkApi = bulkApi;
 		this.numberOfShards = config.numberOfShards();
 		this.numberOfReplicas = config.numberOfReplicas();
 	}
 
 	/**
-	 * Ensures the index and mapping are created, and verifies there is not existing data.
+	 * Ensures the index and the mapping for the back tests are created, verifying there are no existing
+	 * results for any of them.
+	 * <p/>
+	 * A single default mapping covers the type of every back test, so each index needs only a request for
+	 * its definition and one to create either the index along with the mapping, or just the mapping.
 	 */
-	public void init( final BacktestBatchId id ) {
+	public void init( final Iterable<BacktestBatchId> ids ) {
 
-		if (isIndexMappingMissing(id)) {
-			putIndexMapping(id);
-		} else {
-			throw new ElasticException(
-			        String.format("Existing mapping (and potentially already existing results) found for: %s", id));
-		}
-	}
+		final Optional<Set<String>> types = types();
 
-	public void ensureIndexExists() {
+		if (types.isPresent()) {
+			for (final BacktestBatchId id : ids) {
+				if (types.get().contains(id.name())) {
+					throw new ElasticException(
+					        String.format(
+					                "Existing mapping (and potentially already existing results) found for: %s",
+					                id));
+				}
+			}
 
-		if (isIndexMissing()) {
+			putDefaultMapping();
+		} else {
 			putIndex();
 		}
 	}
@@ -127,39 +126,40 @@ public abstract class ElasticCommonIndex {
 		                        enabled ? INDEX_SETTING_REFRESH_DEFAULT : INDEX_SETTING_REFRESH_DISABLE)));
 	}
 
-	public void flush() {
-
-		if (!bulkApiQueue.isEmpty()) {
-			send(bulkApiQueue);
-		}
-	}
-
-	protected <T> void create( final BacktestBatchId id, final T requestResource ) {
-
-		bulkApiQueue.add(createBulkApiMeta(id));
-		bulkApiQueue.add(requestResource);
-
-		if (isBulkApiBucketFull()) {
-			send(bulkApiQueue);
-			bulkApiQueue = new ArrayList<>(bulkApiQueueSize);
+	/**
+	 * Bulk ingestion disables both refreshes and replicas, which are otherwise work repeated for every
+	 * Bulk API request.
+	 * 
+	 * @param enabled
+	 *            <code>true</code> when the trial is about to begin, <code>false</code> to restore the
+	 *            settings once it is complete.
+	 */
+	public void bulkIngestion( final boolean enabled ) {
 
-		}
+		dao.putSetting(
+		        indexName(),
+		        Entity.json(
+		                enabled ? new ElasticIndexSettingsRequestResource(
+		                        INDEX_SETTING_REFRESH_DISABLE,
+		                        INDEX_SETTING_REPLICAS_DISABLE)
+		                        : new ElasticIndexSettingsRequestResource(
+		                                INDEX_SETTING_REFRESH_DEFAULT,
+		                                numberOfReplicas)));
 	}
 
-	private void send( final List<?> requests ) {
+	public void forceMerge() {
 
-		pool.submit(() -> dao.postTypes(indexName(), Entity.json(requests)));
+		dao.forceMerge(indexName());
 	}
 
-	protected ElasticBulkApiMetaDataRequestResource createBulkApiMeta( final BacktestBatchId id ) {
+	protected <T> void create( final BacktestBatchId id, final T requestResource ) {
 
-		// TODO put this into a builder & move ACTION_CREATE_GENERATE_DOCUMENT_ID out of this class
-		return new ElasticBulkApiMetaDataRequestResource(ACTION_CREATE_GENERATE_DOCUMENT_ID, null, id.name(), null);
+		bulkApi.create(indexName(), id, requestResource);
 	}
 
 	protected ElasticIndex index() {
 
-		return new ElasticIndex(numberOfShards, numberOfReplicas);
+		return new ElasticIndex(numberOfShards, numberOfReplicas, indexMapping());
 	}
 
 	protected abstract ElasticIndexMapping indexMapping();
@@ -173,25 +173,26 @@ public abstract class ElasticCommonIndex {
 		return new ImmutablePair<>(name, type);
 	}
 
-	private boolean isBulkApiBucketFull() {
-
-		return bulkApiQueue.size() >= bulkApiQueueSize;
-	}
-
-	private boolean isIndexMissing() {
+	/**
+	 * @return names of the types (back tests) in the index, empty when there is no index.
+	 */
+	private Optional<Set<String>> types() {
 
 		final Response response = dao.index(indexName());
-		return response.getStatus() != 200;
-	}
 
-	private boolean isIndexMappingMissing( final BacktestBatchId id ) {
+		try {
+			if (response.getStatus() != 200) {
+				return Optional.empty();
+			}
 
-		final Response response = dao.mapping(indexName(), id);
+			final Set<String> types = new HashSet<>();
+			response.readEntity(JsonNode.class).path(indexName().indexName()).path(MAPPINGS).fieldNames()
+			        .forEachRemaining(types::add);
 
-		// TODO mapping shouls be 200 & empty JSON - test with data present - currently exceptional
-
-		return response.getStatus() != 200
-		        || (response.getStatus() == 200 && response.readEntity(ElasticEmptyIndexMapping.class) != null);
+			return Optional.of(types);
+		} finally {
+			response.close();
+		}
 	}
 
 	private void putIndex() {
@@ -199,8 +200,8 @@ public abstract class ElasticCommonIndex {
 		dao.put(indexName(), Entity.json(index()));
 	}
 
-	private void putIndexMapping( final BacktestBatchId id ) {
+	private void putDefaultMapping() {
 
-		dao.putMapping(indexName(), id, Entity.json(indexMapping()));
+		dao.putDefaultMapping(indexName(), Entity.json(indexMapping()));
 	}
 }
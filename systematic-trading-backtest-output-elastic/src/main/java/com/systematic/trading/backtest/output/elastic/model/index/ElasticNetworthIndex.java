@@ -26,9 +26,9 @@
 package com.systematic.trading.backtest.output.elastic.model.index;
 
 import java.util.Arrays;
-import java.util.concurrent.ExecutorService;
 
 import com.systematic.trading.backtest.BacktestBatchId;
+import com.systematic.trading.backtest.output.elastic.bulk.ElasticBulkApiPipeline;
 import com.systematic.trading.backtest.output.elastic.configuration.BackestOutputElasticConfiguration;
 import com.systematic.trading.backtest.output.elastic.dao.ElasticDao;
 import com.systematic.trading.backtest.output.elastic.model.ElasticFieldName;
@@ -47,10 +47,10 @@ public class ElasticNetworthIndex extends ElasticCommonIndex {
 
 	public ElasticNetworthIndex(
 	        final ElasticDao dao,
-	        final ExecutorService pool,
+	        final ElasticBulkApiPipeline bulkApi,
 	        final BackestOutputElasticConfiguration config ) {
 
-		super(dao, pool, config);
+		super(dao, bulkApi, config);
 	}
 
 	public void event( final BacktestBatchId id, final NetWorthEvent event ) {
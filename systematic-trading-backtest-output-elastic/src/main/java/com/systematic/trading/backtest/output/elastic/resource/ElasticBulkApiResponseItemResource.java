@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.output.elastic.resource;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Outcome of a single action within a Bulk API request.
+ * 
+ * @author CJ Hare
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ElasticBulkApiResponseItemResource {
+
+	/** HTTP status for the action, 200 or 201 being successful. */
+	private final int status;
+
+	/** Reason given by Elastic Search for failing the action (optional). */
+	private final Object error;
+
+	@JsonCreator
+	public ElasticBulkApiResponseItemResource(
+	        @JsonProperty("status") final int status,
+	        @JsonProperty("error") final Object error ) {
+
+		this.status = status;
+		this.error = error;
+	}
+
+	public int status() {
+
+		return status;
+	}
+
+	public Object error() {
+
+		return error;
+	}
+
+	public boolean isFailure() {
+
+		return status < 200 || status >= 300;
+	}
+
+	/**
+	 * Whether the failure was a transient condition on the Elastic Search side, when a repeat of the
+	 * action could succeed.
+	 */
+	public boolean isRetriable() {
+
+		return status == 429 || status >= 500;
+	}
+
+	@Override
+	public String toString() {
+
+		return String.format("status: %s, error: %s", status, error);
+	}
+}
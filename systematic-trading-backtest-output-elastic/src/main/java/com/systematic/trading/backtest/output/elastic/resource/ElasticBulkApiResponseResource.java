@@ -25,6 +25,11 @@
  */
 package com.systematic.trading.backtest.output.elastic.resource;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -32,8 +37,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 /**
  * Response object expected from Elastic Search on a Bulk API request.
  * 
- * There are a number of return elements, however only the boolean flag is needed as the use case is
- * all should succeed.
+ * Along with the boolean flag, the outcome of each action is retained, allowing any failed actions
+ * to be identified and resent on their own.
  * 
  * @author CJ Hare
  */
@@ -42,14 +47,41 @@ public class ElasticBulkApiResponseResource {
 
 	private final boolean errors;
 
+	/** Outcome of each action, in request order, keyed by the action name. */
+	private final List<Map<String, ElasticBulkApiResponseItemResource>> items;
+
 	@JsonCreator
-	public ElasticBulkApiResponseResource( @JsonProperty("errors") final boolean errors ) {
+	public ElasticBulkApiResponseResource(
+	        @JsonProperty("errors") final boolean errors,
+	        @JsonProperty("items") final List<Map<String, ElasticBulkApiResponseItemResource>> items ) {
 
 		this.errors = errors;
+		this.items = items == null ? Collections.emptyList() : items;
 	}
 
 	public boolean hasErrors() {
 
 		return errors;
 	}
+
+	/**
+	 * @return outcome of each action, in the same order as the actions were in the request.
+	 */
+	public List<ElasticBulkApiResponseItemResource> items() {
+
+		final List<ElasticBulkApiResponseItemResource> outcomes = new ArrayList<>(items.size());
+
+		for (final Map<String, ElasticBulkApiResponseItemResource> item : items) {
+			// Each item has a single entry, keyed by the action e.g. index
+			outcomes.add(item.values().iterator().next());
+		}
+
+		return outcomes;
+	}
+
+	@Override
+	public String toString() {
+
+		return String.format("errors: %s, items: %s", errors, items);
+	}
 }
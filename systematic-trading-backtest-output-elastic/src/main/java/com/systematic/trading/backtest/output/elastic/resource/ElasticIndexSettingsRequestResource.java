@@ -40,9 +40,18 @@ public class ElasticIndexSettingsRequestResource {
 	/** Seconds between refreshes of the index, default is 1, -1 is off. */
 	private final String interval;
 
+	/** Replications of the primary shards (optional). */
+	private final Integer replicas;
+
 	public ElasticIndexSettingsRequestResource( final String interval ) {
 
+		this(interval, null);
+	}
+
+	public ElasticIndexSettingsRequestResource( final String interval, final Integer replicas ) {
+
 		this.interval = interval;
+		this.replicas = replicas;
 	}
 
 	@JsonGetter("refresh_interval")
@@ -50,4 +59,10 @@ public class ElasticIndexSettingsRequestResource {
 
 		return interval;
 	}
+
+	@JsonGetter("number_of_replicas")
+	public Integer replicas() {
+
+		return replicas;
+	}
 }
@@ -0,0 +1,493 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.output.elastic.bulk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.systematic.trading.backtest.BacktestBatchId;
+import com.systematic.trading.backtest.output.elastic.configuration.impl.BackestOutputFileConfigurationImpl;
+import com.systematic.trading.backtest.output.elastic.dao.ElasticDao;
+import com.systematic.trading.backtest.output.elastic.exception.ElasticBulkApiException;
+import com.systematic.trading.backtest.output.elastic.exception.ElasticException;
+import com.systematic.trading.backtest.output.elastic.model.ElasticIndexName;
+import com.systematic.trading.backtest.output.elastic.resource.ElasticBulkApiResponseItemResource;
+import com.systematic.trading.backtest.output.elastic.resource.ElasticBulkApiResponseResource;
+
+/**
+ * Verifying the batching and retry behaviour of the ElasticBulkApiPipeline.
+ * 
+ * @author CJ Hare
+ */
+public class ElasticBulkApiPipelineTest {
+
+	private static final String META_CASH = "{\"index\":{\"_index\":\"cash\",\"_type\":\"BatchForTesting\"}}\n";
+	private static final String META_ORDER = "{\"index\":{\"_index\":\"order\",\"_type\":\"BatchForTesting\"}}\n";
+
+	/** Records the Bulk API request bodies. */
+	private RecordingElasticDao dao;
+
+	private ExecutorService pool;
+
+	/** Pipeline instance being tested. */
+	private ElasticBulkApiPipeline pipeline;
+
+	@Before
+	public void setUp() {
+
+		dao = new RecordingElasticDao();
+		pool = Executors.newSingleThreadExecutor();
+	}
+
+	@After
+	public void tearDown() {
+
+		pool.shutdown();
+	}
+
+	@Test
+	public void multiplexIndexes() {
+
+		setUpPipeline(10, 1024);
+
+		create(ElasticIndexName.CASH, "first");
+		create(ElasticIndexName.ORDER, "second");
+		close();
+
+		verifyRequests(META_CASH + "\"first\"\n" + META_ORDER + "\"second\"\n");
+	}
+
+	@Test
+	public void boundedByActions() {
+
+		setUpPipeline(2, 1024);
+
+		create(ElasticIndexName.CASH, "first");
+		create(ElasticIndexName.CASH, "second");
+		create(ElasticIndexName.CASH, "third");
+		close();
+
+		verifyRequests(META_CASH + "\"first\"\n" + META_CASH + "\"second\"\n", META_CASH + "\"third\"\n");
+	}
+
+	@Test
+	public void boundedByBytes() {
+
+		setUpPipeline(10, 1);
+
+		create(ElasticIndexName.CASH, "first");
+		create(ElasticIndexName.ORDER, "second");
+		close();
+
+		verifyRequests(META_CASH + "\"first\"\n", META_ORDER + "\"second\"\n");
+	}
+
+	@Test
+	public void metaLinePerBatchId() {
+
+		setUpPipeline(10, 1024);
+
+		create(ElasticIndexName.CASH, "first");
+		pipeline.create(ElasticIndexName.CASH, new BacktestBatchId("AnotherBatch"), "second");
+		create(ElasticIndexName.CASH, "third");
+		close();
+
+		verifyRequests(
+		        META_CASH + "\"first\"\n" + "{\"index\":{\"_index\":\"cash\",\"_type\":\"AnotherBatch\"}}\n"
+		                + "\"second\"\n" + META_CASH + "\"third\"\n");
+	}
+
+	@Test
+	public void reuseBatchBuffers() {
+
+		setUpPipeline(1, 1024);
+
+		create(ElasticIndexName.CASH, "first");
+		close();
+		create(ElasticIndexName.ORDER, "second");
+		close();
+
+		verifyRequests(META_CASH + "\"first\"\n", META_ORDER + "\"second\"\n");
+	}
+
+	@Test
+	public void retryFailedAction() {
+
+		setUpPipeline(10, 1024);
+		dao.respond(response(201, 429));
+		dao.respond(response(201));
+
+		create(ElasticIndexName.CASH, "first");
+		create(ElasticIndexName.ORDER, "second");
+		close();
+
+		verifyRequests(META_CASH + "\"first\"\n" + META_ORDER + "\"second\"\n", META_ORDER + "\"second\"\n");
+	}
+
+	@Test
+	public void retryFailedActionsTogether() {
+
+		setUpPipeline(10, 1024);
+		dao.respond(response(429, 201, 503));
+		dao.respond(response(201, 429));
+		dao.respond(response(201));
+
+		create(ElasticIndexName.CASH, "first");
+		create(ElasticIndexName.ORDER, "second");
+		create(ElasticIndexName.CASH, "third");
+		close();
+
+		verifyRequests(
+		        META_CASH + "\"first\"\n" + META_ORDER + "\"second\"\n" + META_CASH + "\"third\"\n",
+		        META_CASH + "\"first\"\n" + META_CASH + "\"third\"\n",
+		        META_CASH + "\"third\"\n");
+	}
+
+	@Test
+	public void noRetryOfRejectedAction() {
+
+		setUpPipeline(10, 1024);
+		dao.respond(response(400, 201));
+
+		create(ElasticIndexName.CASH, "first");
+		create(ElasticIndexName.ORDER, "second");
+
+		verifyCloseFails("1 of 2 Bulk API actions were not indexed");
+		verifyRequests(META_CASH + "\"first\"\n" + META_ORDER + "\"second\"\n");
+	}
+
+	@Test
+	public void retryOnlyTransientFailures() {
+
+		setUpPipeline(10, 1024);
+		dao.respond(response(400, 429));
+		dao.respond(response(201));
+
+		create(ElasticIndexName.CASH, "first");
+		create(ElasticIndexName.ORDER, "second");
+
+		verifyCloseFails("1 of 2 Bulk API actions were not indexed");
+		verifyRequests(META_CASH + "\"first\"\n" + META_ORDER + "\"second\"\n", META_ORDER + "\"second\"\n");
+	}
+
+	@Test
+	public void reportActionExhaustingRetries() {
+
+		setUpPipeline(10, 1024);
+
+		for (int i = 0; i < 4; i++) {
+			dao.respond(response(429));
+		}
+
+		create(ElasticIndexName.CASH, "first");
+
+		verifyCloseFails("1 of 1 Bulk API actions were not indexed");
+		assertEquals(4, dao.requests().size());
+	}
+
+	@Test
+	public void retryFailedRequest() {
+
+		setUpPipeline(10, 1024);
+		dao.fail(new ElasticBulkApiException("Service unavailable for testing", 503));
+
+		create(ElasticIndexName.CASH, "first");
+		create(ElasticIndexName.ORDER, "second");
+		close();
+
+		verifyRequests(
+		        META_CASH + "\"first\"\n" + META_ORDER + "\"second\"\n",
+		        META_CASH + "\"first\"\n" + META_ORDER + "\"second\"\n");
+	}
+
+	@Test
+	public void retryFailedConnection() {
+
+		setUpPipeline(10, 1024);
+		dao.fail(new ElasticBulkApiException("Connection refused for testing", new IOException()));
+
+		create(ElasticIndexName.CASH, "first");
+		close();
+
+		verifyRequests(META_CASH + "\"first\"\n", META_CASH + "\"first\"\n");
+	}
+
+	@Test
+	public void reportRejectedRequest() {
+
+		setUpPipeline(10, 1024);
+		final ElasticBulkApiException rejected = new ElasticBulkApiException("Bad request for testing", 400);
+		dao.fail(rejected);
+
+		create(ElasticIndexName.CASH, "first");
+		verifyCloseFails(rejected);
+
+		verifyRequests(META_CASH + "\"first\"\n");
+	}
+
+	@Test
+	public void reportRequestExhaustingRetries() {
+
+		setUpPipeline(10, 1024);
+		final ElasticBulkApiException unavailable = new ElasticBulkApiException("Too many requests for testing", 429);
+
+		for (int i = 0; i < 4; i++) {
+			dao.fail(unavailable);
+		}
+
+		create(ElasticIndexName.CASH, "first");
+		verifyCloseFails(unavailable);
+
+		verifyRequests(
+		        META_CASH + "\"first\"\n",
+		        META_CASH + "\"first\"\n",
+		        META_CASH + "\"first\"\n",
+		        META_CASH + "\"first\"\n");
+	}
+
+	@Test
+	public void failureReportedOnce() {
+
+		setUpPipeline(10, 1024);
+		dao.fail(new ElasticBulkApiException("Bad request for testing", 400));
+
+		create(ElasticIndexName.CASH, "first");
+
+		try {
+			close();
+		} catch (final ElasticException e) {
+			// Expected, the subsequent close follows a successful request
+		}
+
+		create(ElasticIndexName.CASH, "second");
+		close();
+
+		verifyRequests(META_CASH + "\"first\"\n", META_CASH + "\"second\"\n");
+	}
+
+	@Test
+	public void failedSerializationRemovedFromBatch() {
+
+		setUpPipeline(10, 1024);
+
+		create(ElasticIndexName.CASH, "first");
+
+		try {
+			create(ElasticIndexName.ORDER, new UnserializableDocument());
+			fail("Expecting the serialization to fail");
+		} catch (final ElasticException e) {
+			assertTrue(e.getCause() instanceof IOException);
+		}
+
+		create(ElasticIndexName.ORDER, "third");
+		close();
+
+		verifyRequests(META_CASH + "\"first\"\n" + META_ORDER + "\"third\"\n");
+	}
+
+	private void setUpPipeline( final int maximumActions, final int maximumBytes ) {
+
+		pipeline = new ElasticBulkApiPipeline(
+		        dao,
+		        pool,
+		        new BackestOutputFileConfigurationImpl(
+		                "http://localhost:9200",
+		                1,
+		                5,
+		                1,
+		                maximumActions,
+		                maximumBytes));
+	}
+
+	private void create( final ElasticIndexName index, final Object source ) {
+
+		pipeline.create(index, new BacktestBatchId("BatchForTesting"), source);
+	}
+
+	private void close() {
+
+		pipeline.close();
+	}
+
+	private void verifyCloseFails( final ElasticBulkApiException expected ) {
+
+		try {
+			close();
+			fail("Expecting the Bulk API failure to be reported");
+		} catch (final ElasticException e) {
+			assertSame(expected, e.getCause());
+		}
+	}
+
+	private void verifyCloseFails( final String expectedCause ) {
+
+		try {
+			close();
+			fail("Expecting the Bulk API failure to be reported");
+		} catch (final ElasticException e) {
+			assertTrue(e.getCause().getMessage().startsWith(expectedCause));
+		}
+	}
+
+	private void verifyRequests( final String... expected ) {
+
+		assertEquals(expected.length, dao.requests().size());
+
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], dao.requests().get(i));
+		}
+	}
+
+	private ElasticBulkApiResponseResource response( final int... statuses ) {
+
+		final List<Map<String, ElasticBulkApiResponseItemResource>> items = new ArrayList<>();
+		boolean errors = false;
+
+		for (final int status : statuses) {
+			final ElasticBulkApiResponseItemResource item = new ElasticBulkApiResponseItemResource(status, null);
+			errors |= item.isFailure();
+			items.add(Collections.singletonMap("index", item));
+		}
+
+		return new ElasticBulkApiResponseResource(errors, items);
+	}
+
+	/**
+	 * Document failing part way through serialization, after the first property is written.
+	 */
+	private static class UnserializableDocument {
+
+		@SuppressWarnings("unused")
+		public String getFirst() {
+
+			return "written";
+		}
+
+		@SuppressWarnings("unused")
+		public String getSecond() {
+
+			throw new IllegalStateException("Serializer failure for testing");
+		}
+	}
+
+	/**
+	 * Elastic Search stand in, recording each Bulk API request.
+	 */
+	private static class RecordingElasticDao implements ElasticDao {
+
+		private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+		private final Deque<ElasticBulkApiResponseResource> responses = new LinkedList<>();
+		private final Deque<ElasticBulkApiException> failures = new LinkedList<>();
+
+		void respond( final ElasticBulkApiResponseResource response ) {
+
+			responses.add(response);
+		}
+
+		/**
+		 * The next request fails as a whole, before any queued response is given.
+		 */
+		void fail( final ElasticBulkApiException failure ) {
+
+			failures.add(failure);
+		}
+
+		List<String> requests() {
+
+			return requests;
+		}
+
+		@Override
+		public synchronized ElasticBulkApiResponseResource bulk( final Entity<?> requestBody ) {
+
+			final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+			try {
+				((StreamingOutput) requestBody.getEntity()).write(body);
+			} catch (final IOException e) {
+				throw new IllegalStateException(e);
+			}
+
+			requests.add(new String(body.toByteArray(), StandardCharsets.UTF_8));
+
+			if (!failures.isEmpty()) { throw failures.poll(); }
+
+			return responses.isEmpty() ? new ElasticBulkApiResponseResource(false, null) : responses.poll();
+		}
+
+		@Override
+		public Response index( final ElasticIndexName indexName ) {
+
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void putDefaultMapping( final ElasticIndexName indexName, final Entity<?> body ) {
+
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void put( final ElasticIndexName indexName, final Entity<?> requestBody ) {
+
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void putSetting( final ElasticIndexName indexName, final Entity<?> requestBody ) {
+
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void forceMerge( final ElasticIndexName indexName ) {
+
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -27,6 +27,7 @@ package com.systematic.trading.backtest.output.elastic.model;
 
 import static org.junit.Assert.assertEquals;
 
+import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -73,6 +74,24 @@ public class ElasticIndexTest {
 		verifyJson(numberOfShards, numberOfReplicas, json);
 	}
 
+	@Test
+	public void jsonDefaultMapping() throws JsonProcessingException {
+
+		final ElasticIndex index = new ElasticIndex(
+		        2,
+		        1,
+		        new ElasticIndexMapping(
+		                new ImmutablePair<ElasticFieldName, ElasticFieldType>(
+		                        ElasticFieldName.EVENT,
+		                        ElasticFieldType.TEXT)));
+
+		final String json = write(index);
+
+		assertEquals(
+		        "{\"settings\":{\"number_of_shards\":2,\"number_of_replicas\":1},\"mappings\":{\"_default_\":{\"properties\":{\"event\":{\"type\":\"text\"}}}}}",
+		        json);
+	}
+
 	private String write( final ElasticIndex index ) throws JsonProcessingException {
 
 		return mapper.writeValueAsString(index);
@@ -38,7 +38,7 @@ import com.systematic.trading.backtest.output.elastic.model.ElasticIndexName;
 @RunWith(MockitoJUnitRunner.class)
 public class ElasticBrokerageIndexTest extends ElasticIndexTestBase {
 
-	private static final String JSON_PUT_INDEX = "{\"settings\":{\"number_of_shards\":5,\"number_of_replicas\":1}}";
+	private static final String JSON_PUT_INDEX = "{\"settings\":{\"number_of_shards\":5,\"number_of_replicas\":1}";
 	private static final String JSON_PUT_INDEX_MAPPING = "{\"properties\":{\"transaction_date\":{\"type\":\"date\"},\"starting_equity_balance\":{\"type\":\"float\"},\"end_equity_balance\":{\"type\":\"float\"},\"equity_amount\":{\"type\":\"float\"},\"equity_value\":{\"type\":\"float\"},\"transaction_fee\":{\"type\":\"float\"},\"event\":{\"type\":\"keyword\"}}}";
 
 	@Override
@@ -62,6 +62,6 @@ public class ElasticBrokerageIndexTest extends ElasticIndexTestBase {
 	@Override
 	protected ElasticCommonIndex index() {
 
-		return new ElasticBrokerageIndex(dao(), pool(), elasticConfig());
+		return new ElasticBrokerageIndex(dao(), bulkApi(), elasticConfig());
 	}
 }
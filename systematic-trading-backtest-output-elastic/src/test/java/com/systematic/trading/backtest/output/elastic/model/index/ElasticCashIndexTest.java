@@ -38,7 +38,7 @@ import com.systematic.trading.backtest.output.elastic.model.ElasticIndexName;
 @RunWith(MockitoJUnitRunner.class)
 public class ElasticCashIndexTest extends ElasticIndexTestBase {
 
-	private static final String JSON_PUT_INDEX = "{\"settings\":{\"number_of_shards\":5,\"number_of_replicas\":1}}";
+	private static final String JSON_PUT_INDEX = "{\"settings\":{\"number_of_shards\":5,\"number_of_replicas\":1}";
 	private static final String JSON_PUT_INDEX_MAPPING = "{\"properties\":{\"transaction_date\":{\"type\":\"date\"},\"amount\":{\"type\":\"float\"},\"funds_after\":{\"type\":\"float\"},\"funds_before\":{\"type\":\"float\"},\"event\":{\"type\":\"keyword\"}}";
 
 	@Override
@@ -62,6 +62,6 @@ public class ElasticCashIndexTest extends ElasticIndexTestBase {
 	@Override
 	protected ElasticCommonIndex index() {
 
-		return new ElasticCashIndex(dao(), pool(), elasticConfig());
+		return new ElasticCashIndex(dao(), bulkApi(), elasticConfig());
 	}
 }
@@ -25,20 +25,21 @@
  */
 package com.systematic.trading.backtest.output.elastic.model.index;
 
-import static com.systematic.trading.backtest.output.elastic.model.index.matcher.ElasticMatcher.equalsBacktestId;
 import static com.systematic.trading.backtest.output.elastic.model.index.matcher.ElasticMatcher.equalsJson;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
-import java.util.concurrent.ExecutorService;
+import java.util.Arrays;
 import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import javax.ws.rs.core.Response;
 
@@ -49,12 +50,15 @@ import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.systematic.trading.backtest.BacktestBatchId;
+import com.systematic.trading.backtest.output.elastic.bulk.ElasticBulkApiPipeline;
 import com.systematic.trading.backtest.output.elastic.configuration.BackestOutputElasticConfiguration;
 import com.systematic.trading.backtest.output.elastic.configuration.impl.BackestOutputFileConfigurationImpl;
 import com.systematic.trading.backtest.output.elastic.dao.ElasticDao;
 import com.systematic.trading.backtest.output.elastic.exception.ElasticException;
-import com.systematic.trading.backtest.output.elastic.model.ElasticEmptyIndexMapping;
 import com.systematic.trading.backtest.output.elastic.model.ElasticIndexName;
 
 /**
@@ -77,9 +81,6 @@ public abstract class ElasticIndexTestBase {
 	@Mock
 	private Response getIndexResponse;
 
-	@Mock
-	private Response getIndexTypeResponse;
-
 	/** Index instance being tested. */
 	private ElasticCommonIndex index;
 
@@ -87,42 +88,38 @@ public abstract class ElasticIndexTestBase {
 	public void setUp() {
 
 		when(dao.index(any(ElasticIndexName.class))).thenReturn(getIndexResponse);
-		when(dao.mapping(any(ElasticIndexName.class), any(BacktestBatchId.class))).thenReturn(getIndexTypeResponse);
 	}
 
 	@Test
 	public void initMissingIndex() {
 
-		final String batchId = "MissingIndexBatchForTesting";
 		setUpIndex();
 
-		initIndex(batchId);
+		initIndex("MissingIndexBatchForTesting", "AnotherMissingIndexBatchForTesting");
 
-		verifyMissingIndexCalls(batchId);
+		verifyPutIndexCall();
 	}
 
 	@Test
 	public void initPresentIndexMissingMapping() {
 
-		setUpIndexAsPresent();
-		final String batchId = "MissingIndexBatchForTesting";
+		setUpIndexAsPresent("AnotherBatchForTesting");
 		setUpIndex();
 
-		initIndex(batchId);
+		initIndex("MissingIndexBatchForTesting", "AnotherMissingIndexBatchForTesting");
 
-		verifyMissingMappingCalls(batchId);
+		verifyPutDefaultMappingCall();
 	}
 
 	@Test
 	public void initPresentIndexPresentMapping() {
 
-		setUpIndexAsPresent();
-		setUpMappingAsPresent();
-		final String batchId = "MissingIndexBatchForTesting";
+		final String batchId = "PresentIndexBatchForTesting";
+		setUpIndexAsPresent(batchId);
 		setUpIndex();
 
 		try {
-			initIndex(batchId);
+			initIndex("MissingIndexBatchForTesting", batchId);
 			fail("Expecting an Elastic Exception");
 		} catch (final ElasticException e) {
 			assertEquals(
@@ -130,7 +127,9 @@ public abstract class ElasticIndexTestBase {
 			        e.getMessage());
 		}
 
-		verifyPresentMappingCalls(batchId);
+		verify(dao).index(indexName());
+		verifyNoMoreInteractions(dao);
+		verifyGetIndex();
 	}
 
 	@Test
@@ -154,90 +153,97 @@ public abstract class ElasticIndexTestBase {
 	}
 
 	@Test
-	public void ensureIndexExists() {
+	public void enableBulkIngestion() {
 
 		setUpIndex();
 
-		createIndexIfAbsent();
+		setBulkIngestion(true);
 
-		verifyPutIndexCall();
+		verifyBulkIngestion("\"refresh_interval\":\"-1\",\"number_of_replicas\":0");
 	}
 
-	private void createIndexIfAbsent() {
+	@Test
+	public void disableBulkIngestion() {
 
-		index.ensureIndexExists();
-	}
+		setUpIndex();
 
-	private void setRefreshInterval( final boolean refresh ) {
+		setBulkIngestion(false);
 
-		index.refreshInterval(refresh);
+		verifyBulkIngestion("\"refresh_interval\":\"1s\",\"number_of_replicas\":1");
 	}
 
-	private void initIndex( final String batchId ) {
+	@Test
+	public void forceMerge() {
 
-		index.init(batchId(batchId));
-	}
+		setUpIndex();
 
-	private BacktestBatchId batchId( final String id ) {
+		index.forceMerge();
 
-		return new BacktestBatchId(id);
+		verify(dao).forceMerge(indexName());
+		verifyNoMoreInteractions(dao);
 	}
 
-	private void verifyGetIndex() {
+	private void setBulkIngestion( final boolean enabled ) {
 
-		verify(getIndexResponse).getStatus();
-		verifyNoMoreInteractions(getIndexResponse);
+		index.bulkIngestion(enabled);
 	}
 
-	private void verifyGetIndexType() {
+	private void verifyBulkIngestion( final String expectedJson ) {
 
-		verify(getIndexTypeResponse, atLeastOnce()).getStatus();
-		verify(getIndexTypeResponse).readEntity(ElasticEmptyIndexMapping.class);
-		verifyNoMoreInteractions(getIndexTypeResponse);
+		verify(dao).putSetting(eq(indexName()), equalsJson(expectedJson));
+		verifyNoMoreInteractions(dao);
 	}
 
-	private void verifyPresentMappingCalls( final String batchId ) {
+	private void setRefreshInterval( final boolean refresh ) {
 
-		verify(dao).mapping(eq(indexName()), equalsBacktestId(batchId));
-		verifyNoMoreInteractions(dao);
+		index.refreshInterval(refresh);
+	}
 
-		verifyGetIndexType();
+	private void initIndex( final String... batchIds ) {
+
+		index.init(Arrays.stream(batchIds).map(BacktestBatchId::new).collect(Collectors.toList()));
 	}
 
-	private void verifyMissingMappingCalls( final String batchId ) {
+	private void verifyGetIndex() {
 
-		final InOrder order = inOrder(dao);
-		order.verify(dao).mapping(eq(indexName()), equalsBacktestId(batchId));
-		order.verify(dao).putMapping(eq(indexName()), equalsBacktestId(batchId), equalsJson(jsonPutIndexMapping()));
-		verifyNoMoreInteractions(dao);
+		verify(getIndexResponse, atLeastOnce()).getStatus();
+		verify(getIndexResponse, atMost(1)).readEntity(JsonNode.class);
+		verify(getIndexResponse).close();
+		verifyNoMoreInteractions(getIndexResponse);
 	}
 
-	private void verifyPutIndexCall() {
+	private void verifyPutDefaultMappingCall() {
 
 		final InOrder order = inOrder(dao);
 		order.verify(dao).index(indexName());
-		order.verify(dao).put(eq(indexName()), equalsJson(jsonPutIndex()));
+		order.verify(dao).putDefaultMapping(eq(indexName()), equalsJson(jsonPutIndexMapping()));
 		verifyNoMoreInteractions(dao);
 
 		verifyGetIndex();
 	}
 
-	private void verifyMissingIndexCalls( final String batchId ) {
+	private void verifyPutIndexCall() {
 
 		final InOrder order = inOrder(dao);
-		order.verify(dao).mapping(eq(indexName()), equalsBacktestId(batchId));
-		order.verify(dao).putMapping(eq(indexName()), equalsBacktestId(batchId), equalsJson(jsonPutIndexMapping()));
+		order.verify(dao).index(indexName());
+		order.verify(dao).put(
+		        eq(indexName()),
+		        equalsJson(String.format("%s,\"mappings\":{\"_default_\":%s", jsonPutIndex(), jsonPutIndexMapping())));
 		verifyNoMoreInteractions(dao);
+
+		verifyGetIndex();
 	}
 
-	private void setUpIndexAsPresent() {
+	/**
+	 * Index definition listing the mapping for the type.
+	 */
+	private void setUpIndexAsPresent( final String type ) {
 
 		when(getIndexResponse.getStatus()).thenReturn(200);
-	}
-
-	private void setUpMappingAsPresent() {
 
-		when(getIndexTypeResponse.getStatus()).thenReturn(200);
+		final ObjectNode definition = new ObjectMapper().createObjectNode();
+		definition.putObject(indexName().indexName()).putObject("mappings").putObject(type);
+		when(getIndexResponse.readEntity(JsonNode.class)).thenReturn(definition);
 	}
 
 	private void verfiyRefreshInterval( final boolean enabled ) {
@@ -260,14 +266,14 @@ public abstract class ElasticIndexTestBase {
 		return dao;
 	}
 
-	protected ExecutorService pool() {
+	protected ElasticBulkApiPipeline bulkApi() {
 
-		return Executors.newSingleThreadExecutor();
+		return new ElasticBulkApiPipeline(dao, Executors.newSingleThreadExecutor(), elasticConfig());
 	}
 
 	protected BackestOutputElasticConfiguration elasticConfig() {
 
-		return new BackestOutputFileConfigurationImpl(7, 5, 1, 1);
+		return new BackestOutputFileConfigurationImpl("http://localhost:9200", 7, 5, 1, 1, 1024);
 	}
 
 	protected abstract String jsonPutIndex();
@@ -38,7 +38,7 @@ import com.systematic.trading.backtest.output.elastic.model.ElasticIndexName;
 @RunWith(MockitoJUnitRunner.class)
 public class ElasticNetworthIndexTest extends ElasticIndexTestBase {
 
-	private static final String JSON_PUT_INDEX = "{\"settings\":{\"number_of_shards\":5,\"number_of_replicas\":1}}";
+	private static final String JSON_PUT_INDEX = "{\"settings\":{\"number_of_shards\":5,\"number_of_replicas\":1}";
 	private static final String JSON_PUT_INDEX_MAPPING = "{\"properties\":{\"equity_balance_value\":{\"type\":\"float\"},\"event_date\":{\"type\":\"date\"},\"networth\":{\"type\":\"float\"},\"event\":{\"type\":\"keyword\"},\"cash_balance\":{\"type\":\"float\"},\"equity_balance\":{\"type\":\"float\"}}";
 
 	@Override
@@ -62,6 +62,6 @@ public class ElasticNetworthIndexTest extends ElasticIndexTestBase {
 	@Override
 	protected ElasticCommonIndex index() {
 
-		return new ElasticNetworthIndex(dao(), pool(), elasticConfig());
+		return new ElasticNetworthIndex(dao(), bulkApi(), elasticConfig());
 	}
 }
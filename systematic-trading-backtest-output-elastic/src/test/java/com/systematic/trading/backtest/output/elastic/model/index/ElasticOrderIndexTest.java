@@ -38,7 +38,7 @@ import com.systematic.trading.backtest.output.elastic.model.ElasticIndexName;
 @RunWith(MockitoJUnitRunner.class)
 public class ElasticOrderIndexTest extends ElasticIndexTestBase {
 
-	private static final String JSON_PUT_INDEX = "{\"settings\":{\"number_of_shards\":5,\"number_of_replicas\":1}}";
+	private static final String JSON_PUT_INDEX = "{\"settings\":{\"number_of_shards\":5,\"number_of_replicas\":1}";
 	private static final String JSON_PUT_INDEX_MAPPING = "{\"properties\":{\"transaction_date\":{\"type\":\"date\"},\"total_cost\":{\"type\":\"float\"},\"event\":{\"type\":\"keyword\"}}}";
 
 	@Override
@@ -62,6 +62,6 @@ public class ElasticOrderIndexTest extends ElasticIndexTestBase {
 	@Override
 	protected ElasticCommonIndex index() {
 
-		return new ElasticOrderIndex(dao(), pool(), elasticConfig());
+		return new ElasticOrderIndex(dao(), bulkApi(), elasticConfig());
 	}
 }
@@ -38,7 +38,7 @@ import com.systematic.trading.backtest.output.elastic.model.ElasticIndexName;
 @RunWith(MockitoJUnitRunner.class)
 public class ElasticReturnOnInvestmentIndexTest extends ElasticIndexTestBase {
 
-	private static final String JSON_PUT_INDEX = "{\"settings\":{\"number_of_shards\":5,\"number_of_replicas\":1}}";
+	private static final String JSON_PUT_INDEX = "{\"settings\":{\"number_of_shards\":5,\"number_of_replicas\":1}";
 	private static final String JSON_PUT_INDEX_MAPPING = "{\"properties\":{\"start_date_inclusive\":{\"type\":\"date\"},\"percentage_change\":{\"type\":\"float\"},\"end_date_exclusive\":{\"type\":\"date\"},\"frequency\":{\"type\":\"keyword\"}}}";
 
 	@Override
@@ -62,6 +62,6 @@ public class ElasticReturnOnInvestmentIndexTest extends ElasticIndexTestBase {
 	@Override
 	protected ElasticCommonIndex index() {
 
-		return new ElasticReturnOnInvestmentIndex(dao(), pool(), elasticConfig());
+		return new ElasticReturnOnInvestmentIndex(dao(), bulkApi(), elasticConfig());
 	}
 }
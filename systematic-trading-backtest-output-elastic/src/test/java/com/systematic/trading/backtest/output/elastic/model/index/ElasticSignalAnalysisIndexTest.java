@@ -38,7 +38,7 @@ import com.systematic.trading.backtest.output.elastic.model.ElasticIndexName;
 @RunWith(MockitoJUnitRunner.class)
 public class ElasticSignalAnalysisIndexTest extends ElasticIndexTestBase {
 
-	private static final String JSON_PUT_INDEX = "{\"settings\":{\"number_of_shards\":5,\"number_of_replicas\":1}}";
+	private static final String JSON_PUT_INDEX = "{\"settings\":{\"number_of_shards\":5,\"number_of_replicas\":1}";
 	private static final String JSON_PUT_INDEX_MAPPING = "{\"properties\":{\"signal_date\":{\"type\":\"date\"},\"signal_type\":{\"type\":\"keyword\"},\"direction_type\":{\"type\":\"text\"}}}";
 
 	@Override
@@ -62,6 +62,6 @@ public class ElasticSignalAnalysisIndexTest extends ElasticIndexTestBase {
 	@Override
 	protected ElasticCommonIndex index() {
 
-		return new ElasticSignalAnalysisIndex(dao(), pool(), elasticConfig());
+		return new ElasticSignalAnalysisIndex(dao(), bulkApi(), elasticConfig());
 	}
 }
@@ -0,0 +1,261 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.output.elastic.standin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.systematic.trading.backtest.BacktestBatchId;
+import com.systematic.trading.backtest.event.BacktestEventListener;
+import com.systematic.trading.backtest.output.elastic.ElasticBacktestOutputPreparation;
+import com.systematic.trading.backtest.output.elastic.configuration.impl.BackestOutputFileConfigurationImpl;
+import com.systematic.trading.backtest.output.elastic.model.ElasticIndexName;
+import com.systematic.trading.simulation.SimulationStateListener.SimulationState;
+import com.systematic.trading.simulation.cash.event.CashEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent.CashEventType;
+
+/**
+ * Throughput and soak runs of the Elastic Search output against the in-process stand in, needing no
+ * cluster.
+ * <p/>
+ * The size of the runs default to suit every build, with larger runs given by the system properties
+ * <code>elastic.standin.backtests</code> and <code>elastic.standin.events</code>.
+ * 
+ * @author CJ Hare
+ */
+public class ElasticOutputThroughputTest {
+
+	/** Classes logger. */
+	private static final Logger LOG = LogManager.getLogger(ElasticOutputThroughputTest.class);
+
+	private static final LocalDate START = LocalDate.of(2018, 1, 1);
+
+	/** Back tests output by each run. */
+	private static final int BACKTESTS = Integer.getInteger("elastic.standin.backtests", 24);
+
+	/** Cash events output by each back test. */
+	private static final int EVENTS = Integer.getInteger("elastic.standin.events", 250);
+
+	/** Threads simulating the back tests concurrently. */
+	private static final int SIMULATION_THREADS = 4;
+
+	private static final int CONNECTIONS = 4;
+	private static final int BULK_API_ACTIONS = 500;
+	private static final int BULK_API_BYTES = 5242880;
+
+	private ElasticStandInServer server;
+	private ExecutorService outputPool;
+	private ExecutorService simulationPool;
+
+	@Before
+	public void setUp() {
+
+		outputPool = Executors.newFixedThreadPool(CONNECTIONS);
+		simulationPool = Executors.newFixedThreadPool(SIMULATION_THREADS);
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+
+		simulationPool.shutdown();
+		simulationPool.awaitTermination(1, TimeUnit.MINUTES);
+		outputPool.shutdown();
+
+		if (server != null) {
+			server.stop();
+		}
+	}
+
+	@Test
+	public void throughput() throws IOException, InterruptedException, ExecutionException {
+
+		startServer(1, 0);
+
+		final long elapsedNanos = output();
+
+		assertEquals(BACKTESTS * EVENTS, server.documents(ElasticIndexName.CASH));
+		assertEquals(0, server.failedActions());
+		assertTrue(server.bulkRequests() >= (long) BACKTESTS * EVENTS / BULK_API_ACTIONS);
+		logThroughput("Throughput", elapsedNanos);
+	}
+
+	/**
+	 * Concurrent back tests with the Bulk API rejecting a share of the actions, as an overloaded cluster
+	 * does, with every document still being indexed exactly once.
+	 */
+	@Test
+	public void soakWithRejectedActions() throws IOException, InterruptedException, ExecutionException {
+
+		startServer(2, 50);
+
+		final long elapsedNanos = output();
+
+		assertEquals(BACKTESTS * EVENTS, server.documents(ElasticIndexName.CASH));
+		assertTrue(server.failedActions() > 0);
+		assertEquals(server.documents(ElasticIndexName.CASH) + server.failedActions(), server.actions());
+		logThroughput("Soak", elapsedNanos);
+	}
+
+	/**
+	 * Sets up, outputs every back test from the simulation threads, then tears down the output.
+	 * 
+	 * @return nanoseconds taken by the whole output.
+	 */
+	private long output() throws InterruptedException, ExecutionException {
+
+		final ElasticBacktestOutputPreparation preparation = new ElasticBacktestOutputPreparation(
+		        new BackestOutputFileConfigurationImpl(
+		                server.endpoint(),
+		                CONNECTIONS,
+		                1,
+		                0,
+		                BULK_API_ACTIONS,
+		                BULK_API_BYTES),
+		        outputPool);
+		final List<BacktestBatchId> batchIds = IntStream.range(0, BACKTESTS)
+		        .mapToObj(i -> new BacktestBatchId("Backtest" + i)).collect(Collectors.toList());
+
+		final long start = System.nanoTime();
+		preparation.setUp(batchIds);
+
+		try {
+			final List<Future<?>> simulations = new ArrayList<>(BACKTESTS);
+
+			for (final BacktestBatchId batchId : batchIds) {
+				simulations.add(simulationPool.submit(() -> simulate(preparation.output(batchId))));
+			}
+
+			for (final Future<?> simulation : simulations) {
+				simulation.get();
+			}
+		} finally {
+			preparation.tearDown();
+		}
+
+		return System.nanoTime() - start;
+	}
+
+	private void simulate( final BacktestEventListener output ) {
+
+		for (int i = 0; i < EVENTS; i++) {
+			output.event(new DepositEvent(BigDecimal.valueOf(i), START.plusDays(i)));
+		}
+
+		output.stateChanged(SimulationState.COMPLETE);
+	}
+
+	private void startServer( final long latencyMillis, final int failureInterval ) throws IOException {
+
+		server = new ElasticStandInServer(latencyMillis, failureInterval, 429);
+		server.start();
+	}
+
+	private void logThroughput( final String run, final long elapsedNanos ) {
+
+		final double seconds = elapsedNanos / 1e9;
+
+		LOG.info(
+		        String.format(
+		                "%s: %d documents in %.3fs, %.0f documents/s, %.0f bytes/s, %d bulk requests, %d failed actions",
+		                run,
+		                server.documents(ElasticIndexName.CASH),
+		                seconds,
+		                server.documents(ElasticIndexName.CASH) / seconds,
+		                server.bytesReceived() / seconds,
+		                server.bulkRequests(),
+		                server.failedActions()));
+	}
+
+	/**
+	 * Deposit of a single unit of cash.
+	 */
+	private static class DepositEvent implements CashEvent {
+
+		private final BigDecimal fundsBefore;
+		private final LocalDate transactionDate;
+
+		DepositEvent( final BigDecimal fundsBefore, final LocalDate transactionDate ) {
+
+			this.fundsBefore = fundsBefore;
+			this.transactionDate = transactionDate;
+		}
+
+		@Override
+		public CashEventType type() {
+
+			return CashEventType.DEPOSIT;
+		}
+
+		@Override
+		public BigDecimal amount() {
+
+			return BigDecimal.ONE;
+		}
+
+		@Override
+		public BigDecimal fundsBefore() {
+
+			return fundsBefore;
+		}
+
+		@Override
+		public BigDecimal fundsAfter() {
+
+			return fundsBefore.add(BigDecimal.ONE);
+		}
+
+		@Override
+		public LocalDate transactionDate() {
+
+			return transactionDate;
+		}
+
+		@Override
+		public String toString() {
+
+			return String.format("Deposit of 1 on %s", transactionDate);
+		}
+	}
+}
@@ -0,0 +1,403 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.output.elastic.standin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.systematic.trading.backtest.output.elastic.model.ElasticIndexName;
+
+/**
+ * In-process stand in for an Elastic Search node, supporting only the index, mapping, settings, force
+ * merge and Bulk API end points used by the back test output.
+ * <p/>
+ * Documents are counted rather than stored, allowing output throughput to be measured without a
+ * cluster. Latency may be added to every request and a proportion of the Bulk API actions failed, to
+ * exercise the retry behaviour.
+ * 
+ * @author CJ Hare
+ */
+public class ElasticStandInServer {
+
+	/** Classes logger. */
+	private static final Logger LOG = LogManager.getLogger(ElasticStandInServer.class);
+
+	/** NDJSON is JSON (non-pretty printed) with a new line delimiter after each line. */
+	private static final String NEW_LINE_DELIMITER = "\n";
+
+	private static final String ACKNOWLEDGED = "{\"acknowledged\":true}";
+	private static final String EMPTY = "{}";
+
+	private static final int HTTP_OK = 200;
+	private static final int HTTP_CREATED = 201;
+	private static final int HTTP_BAD_REQUEST = 400;
+	private static final int HTTP_NOT_FOUND = 404;
+
+	static {
+		// Without, the separate writes of the response headers and body each wait on a delayed ACK
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+	}
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final HttpServer server;
+	private final ExecutorService pool;
+
+	/** Delay added to every request. */
+	private final long latencyMillis;
+
+	/** Every n-th Bulk API action is failed, zero for never. */
+	private final int failureInterval;
+
+	/** HTTP status given to the failed Bulk API actions. */
+	private final int failureStatus;
+
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong bulkRequests = new AtomicLong();
+	private final AtomicLong bytesReceived = new AtomicLong();
+	private final AtomicLong actions = new AtomicLong();
+	private final AtomicLong failedActions = new AtomicLong();
+	private final AtomicLong forceMerges = new AtomicLong();
+	private final Set<String> indexes = ConcurrentHashMap.newKeySet();
+	private final Set<String> mappings = ConcurrentHashMap.newKeySet();
+	private final Map<String, String> settings = new ConcurrentHashMap<>();
+	private final Map<String, AtomicLong> documents = new ConcurrentHashMap<>();
+
+	public ElasticStandInServer() throws IOException {
+
+		this(0, 0, 0);
+	}
+
+	/**
+	 * @param latencyMillis
+	 *            delay added to the handling of every request.
+	 * @param failureInterval
+	 *            every n-th Bulk API action is failed, zero to never fail.
+	 * @param failureStatus
+	 *            HTTP status for the failed Bulk API actions e.g. 429 when Elastic Search is
+	 *            overloaded.
+	 */
+	public ElasticStandInServer( final long latencyMillis, final int failureInterval, final int failureStatus )
+	        throws IOException {
+
+		this.latencyMillis = latencyMillis;
+		this.failureInterval = failureInterval;
+		this.failureStatus = failureStatus;
+		this.pool = Executors.newCachedThreadPool();
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		this.server.createContext("/", this::handle);
+		this.server.setExecutor(pool);
+	}
+
+	public void start() {
+
+		server.start();
+	}
+
+	public void stop() {
+
+		server.stop(0);
+		pool.shutdown();
+	}
+
+	/**
+	 * @return URL for the stand in, to use as the Elastic Search end point.
+	 */
+	public String endpoint() {
+
+		return String.format(
+		        "http://%s:%s",
+		        server.getAddress().getAddress().getHostAddress(),
+		        server.getAddress().getPort());
+	}
+
+	/**
+	 * @return number of HTTP requests received, across every end point.
+	 */
+	public long requests() {
+
+		return requests.get();
+	}
+
+	public long bulkRequests() {
+
+		return bulkRequests.get();
+	}
+
+	/**
+	 * @return number of request body bytes received by the Bulk API.
+	 */
+	public long bytesReceived() {
+
+		return bytesReceived.get();
+	}
+
+	/**
+	 * @return number of actions received by the Bulk API, including those failed.
+	 */
+	public long actions() {
+
+		return actions.get();
+	}
+
+	public long failedActions() {
+
+		return failedActions.get();
+	}
+
+	public long forceMerges() {
+
+		return forceMerges.get();
+	}
+
+	/**
+	 * @return number of documents successfully indexed.
+	 */
+	public long documents( final ElasticIndexName index ) {
+
+		final AtomicLong count = documents.get(index.indexName());
+		return count == null ? 0 : count.get();
+	}
+
+	public boolean hasIndex( final ElasticIndexName index ) {
+
+		return indexes.contains(index.indexName());
+	}
+
+	/**
+	 * @return whether the type is mapped, either explicitly or by indexing a document of that type.
+	 */
+	public boolean hasMapping( final ElasticIndexName index, final String type ) {
+
+		return mappings.contains(mappingKey(index.indexName(), type));
+	}
+
+	/**
+	 * @return body of the most recent request to update the settings of the index.
+	 */
+	public String settings( final ElasticIndexName index ) {
+
+		return settings.get(index.indexName());
+	}
+
+	private void handle( final HttpExchange exchange ) throws IOException {
+
+		requests.incrementAndGet();
+		delay();
+
+		try {
+			final String method = exchange.getRequestMethod();
+			final String[] path = path(exchange);
+			final byte[] body = body(exchange);
+
+			if (path.length == 1 && "_bulk".equals(path[0]) && "POST".equals(method)) {
+				respond(exchange, HTTP_OK, bulk(body));
+			} else if (path.length == 1) {
+				index(exchange, method, path[0], body);
+			} else if (path.length == 2 && "_settings".equals(path[1]) && "PUT".equals(method)) {
+				settings.put(path[0], new String(body, StandardCharsets.UTF_8));
+				respond(exchange, HTTP_OK, ACKNOWLEDGED);
+			} else if (path.length == 2 && "_forcemerge".equals(path[1]) && "POST".equals(method)) {
+				forceMerges.incrementAndGet();
+				respond(exchange, HTTP_OK, EMPTY);
+			} else if (path.length == 3 && "_mapping".equals(path[1])) {
+				mapping(exchange, method, path[0], path[2]);
+			} else {
+				respond(exchange, HTTP_BAD_REQUEST, EMPTY);
+			}
+		} catch (final IOException | RuntimeException e) {
+			LOG.error(e);
+			respond(exchange, HTTP_BAD_REQUEST, EMPTY);
+		}
+	}
+
+	/**
+	 * Index creation may include the type mappings, with the index definition listing them.
+	 */
+	private void index( final HttpExchange exchange, final String method, final String index, final byte[] body )
+	        throws IOException {
+
+		if ("PUT".equals(method)) {
+			indexes.add(index);
+			mapper.readTree(body).path("mappings").fieldNames()
+			        .forEachRemaining(type -> mappings.add(mappingKey(index, type)));
+			respond(exchange, HTTP_OK, ACKNOWLEDGED);
+		} else if (indexes.contains(index)) {
+			final ObjectNode definition = mapper.createObjectNode();
+			final ObjectNode types = definition.putObject(index).putObject("mappings");
+
+			for (final String key : mappings) {
+				if (key.startsWith(mappingKey(index, ""))) {
+					types.putObject(key.substring(mappingKey(index, "").length()));
+				}
+			}
+
+			respond(exchange, HTTP_OK, mapper.writeValueAsString(definition));
+		} else {
+			respond(exchange, HTTP_NOT_FOUND, EMPTY);
+		}
+	}
+
+	/**
+	 * A missing mapping is an empty JSON object, with a present mapping being the type definition.
+	 */
+	private void mapping( final HttpExchange exchange, final String method, final String index, final String type )
+	        throws IOException {
+
+		final String key = mappingKey(index, type);
+
+		if ("PUT".equals(method)) {
+			mappings.add(key);
+			respond(exchange, HTTP_OK, ACKNOWLEDGED);
+		} else if (mappings.contains(key)) {
+			respond(exchange, HTTP_OK, String.format("{\"%s\":{\"mappings\":{\"%s\":{}}}}", index, type));
+		} else {
+			respond(exchange, HTTP_OK, EMPTY);
+		}
+	}
+
+	/**
+	 * Pairs of meta data and source document lines, with each action outcome given in request order.
+	 */
+	private String bulk( final byte[] body ) throws IOException {
+
+		bulkRequests.incrementAndGet();
+		bytesReceived.addAndGet(body.length);
+
+		final String[] lines = new String(body, StandardCharsets.UTF_8).split(NEW_LINE_DELIMITER);
+		final List<ObjectNode> items = new ArrayList<>(lines.length / 2);
+		boolean errors = false;
+
+		for (int i = 0; i + 1 < lines.length; i += 2) {
+			final JsonNode meta = mapper.readTree(lines[i]);
+			final String action = meta.fieldNames().next();
+			final String index = meta.get(action).path("_index").asText();
+			final String type = meta.get(action).path("_type").asText();
+			final long actionNumber = actions.incrementAndGet();
+			final boolean failed = failureInterval > 0 && actionNumber % failureInterval == 0;
+
+			final ObjectNode outcome = mapper.createObjectNode();
+			outcome.put("_index", index);
+
+			if (failed) {
+				errors = true;
+				failedActions.incrementAndGet();
+				outcome.put("status", failureStatus);
+				outcome.putObject("error").put("type", "stand_in_injected_failure");
+			} else {
+				documents.computeIfAbsent(index, key -> new AtomicLong()).incrementAndGet();
+				indexes.add(index);
+				mappings.add(mappingKey(index, type));
+				outcome.put("status", HTTP_CREATED);
+			}
+
+			final ObjectNode item = mapper.createObjectNode();
+			item.set(action, outcome);
+			items.add(item);
+		}
+
+		final ObjectNode response = mapper.createObjectNode();
+		response.put("took", 0);
+		response.put("errors", errors);
+		final ArrayNode responseItems = response.putArray("items");
+		responseItems.addAll(items);
+
+		return mapper.writeValueAsString(response);
+	}
+
+	/**
+	 * @return path segments, without the leading empty segment.
+	 */
+	private String[] path( final HttpExchange exchange ) {
+
+		final String path = exchange.getRequestURI().getPath();
+		return path.length() > 1 ? path.substring(1).split("/") : new String[0];
+	}
+
+	private byte[] body( final HttpExchange exchange ) throws IOException {
+
+		final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+		try (final InputStream in = exchange.getRequestBody()) {
+			final byte[] buffer = new byte[8192];
+			int read;
+
+			while ((read = in.read(buffer)) != -1) {
+				body.write(buffer, 0, read);
+			}
+		}
+
+		return body.toByteArray();
+	}
+
+	private void respond( final HttpExchange exchange, final int status, final String json ) throws IOException {
+
+		final byte[] body = json.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+		exchange.sendResponseHeaders(status, body.length);
+
+		try (final OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	private void delay() {
+
+		if (latencyMillis > 0) {
+			try {
+				Thread.sleep(latencyMillis);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private String mappingKey( final String index, final String type ) {
+
+		return index + "/" + type;
+	}
+}
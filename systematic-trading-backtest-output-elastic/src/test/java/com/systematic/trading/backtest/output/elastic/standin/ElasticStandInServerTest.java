@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.output.elastic.standin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.systematic.trading.backtest.BacktestBatchId;
+import com.systematic.trading.backtest.output.elastic.ElasticBacktestOutputPreparation;
+import com.systematic.trading.backtest.output.elastic.bulk.ElasticBulkApiPipeline;
+import com.systematic.trading.backtest.output.elastic.configuration.BackestOutputElasticConfiguration;
+import com.systematic.trading.backtest.output.elastic.configuration.impl.BackestOutputFileConfigurationImpl;
+import com.systematic.trading.backtest.output.elastic.dao.impl.HttpElasticDao;
+import com.systematic.trading.backtest.output.elastic.exception.ElasticException;
+import com.systematic.trading.backtest.output.elastic.model.ElasticIndexName;
+
+/**
+ * Verifying the HTTP output against the in-process Elastic Search stand in.
+ * 
+ * @author CJ Hare
+ */
+public class ElasticStandInServerTest {
+
+	/** Mapping applied to every type created in an index. */
+	private static final String DEFAULT_MAPPING = "_default_";
+
+	private ElasticStandInServer server;
+	private ExecutorService pool;
+
+	@Before
+	public void setUp() {
+
+		pool = Executors.newFixedThreadPool(2);
+	}
+
+	@After
+	public void tearDown() {
+
+		pool.shutdown();
+
+		if (server != null) {
+			server.stop();
+		}
+	}
+
+	@Test
+	public void bulk() throws IOException {
+
+		startServer(0);
+		final ElasticBulkApiPipeline pipeline = pipeline(2);
+
+		create(pipeline, ElasticIndexName.CASH, 3);
+		create(pipeline, ElasticIndexName.ORDER, 2);
+		pipeline.close();
+
+		assertEquals(3, server.documents(ElasticIndexName.CASH));
+		assertEquals(2, server.documents(ElasticIndexName.ORDER));
+		assertEquals(5, server.actions());
+		assertEquals(3, server.bulkRequests());
+		assertTrue(server.bytesReceived() > 0);
+	}
+
+	@Test
+	public void retryInjectedFailures() throws IOException {
+
+		startServer(3);
+		final ElasticBulkApiPipeline pipeline = pipeline(10);
+
+		create(pipeline, ElasticIndexName.EQUITY, 6);
+		pipeline.close();
+
+		assertEquals(6, server.documents(ElasticIndexName.EQUITY));
+		assertTrue(server.failedActions() > 0);
+		assertEquals(6 + server.failedActions(), server.actions());
+	}
+
+	@Test
+	public void preparation() throws IOException {
+
+		startServer(0);
+		final ElasticBacktestOutputPreparation preparation = new ElasticBacktestOutputPreparation(config(10), pool);
+
+		preparation.setUp(batchIds(2));
+
+		for (final ElasticIndexName index : ElasticIndexName.values()) {
+			assertTrue(server.hasIndex(index));
+			assertTrue(server.hasMapping(index, DEFAULT_MAPPING));
+			assertTrue(server.settings(index).contains("\"refresh_interval\":\"-1\""));
+		}
+
+		preparation.tearDown();
+
+		for (final ElasticIndexName index : ElasticIndexName.values()) {
+			assertTrue(server.settings(index).contains("\"refresh_interval\":\"1s\""));
+		}
+
+		assertEquals(ElasticIndexName.values().length, server.forceMerges());
+	}
+
+	/**
+	 * Requests to set up the indexes are independent of the number of back tests.
+	 */
+	@Test
+	public void preparationRequests() throws IOException {
+
+		startServer(0);
+
+		new ElasticBacktestOutputPreparation(config(10), pool).setUp(batchIds(250));
+
+		// Per index: get the definition, put the index with the mapping, put the bulk ingestion settings
+		assertEquals(3 * ElasticIndexName.values().length, server.requests());
+	}
+
+	@Test
+	public void preparationPresentIndexes() throws IOException {
+
+		startServer(0);
+		new ElasticBacktestOutputPreparation(config(10), pool).setUp(batchIds(2));
+		final long created = server.requests();
+
+		new ElasticBacktestOutputPreparation(config(10), pool).setUp(Arrays.asList(new BacktestBatchId("another")));
+
+		// Per index: get the definition, put the mapping, put the bulk ingestion settings
+		assertEquals(3 * ElasticIndexName.values().length, server.requests() - created);
+	}
+
+	@Test
+	public void preparationExistingResults() throws IOException {
+
+		startServer(0);
+		final ElasticBulkApiPipeline pipeline = pipeline(1);
+		create(pipeline, ElasticIndexName.CASH, 1);
+		pipeline.close();
+
+		try {
+			new ElasticBacktestOutputPreparation(config(10), pool).setUp(batchIds(2));
+			fail("Expecting an Elastic Exception");
+		} catch (final ElasticException e) {
+			assertTrue(e.getMessage().contains("BatchForTesting"));
+		}
+	}
+
+	private void startServer( final int failureInterval ) throws IOException {
+
+		server = new ElasticStandInServer(0, failureInterval, 429);
+		server.start();
+	}
+
+	private ElasticBulkApiPipeline pipeline( final int maximumActions ) {
+
+		final BackestOutputElasticConfiguration config = config(maximumActions);
+		return new ElasticBulkApiPipeline(new HttpElasticDao(config), pool, config);
+	}
+
+	private BackestOutputElasticConfiguration config( final int maximumActions ) {
+
+		return new BackestOutputFileConfigurationImpl(server.endpoint(), 2, 1, 0, maximumActions, 1048576);
+	}
+
+	private List<BacktestBatchId> batchIds( final int count ) {
+
+		return IntStream.range(0, count).mapToObj(i -> new BacktestBatchId(i == 0 ? "BatchForTesting" : "Batch" + i))
+		        .collect(Collectors.toList());
+	}
+
+	private void create( final ElasticBulkApiPipeline pipeline, final ElasticIndexName index, final int documents ) {
+
+		for (int i = 0; i < documents; i++) {
+			pipeline.create(index, new BacktestBatchId("BatchForTesting"), "document " + i);
+		}
+	}
+}
@@ -34,6 +34,8 @@ import java.util.concurrent.ExecutorService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.systematic.trading.backtest.output.file.jfr.FileWriteEvent;
+
 /**
  * Handles the multi-threading
  * 
@@ -65,14 +67,24 @@ public class FileMultithreading {
 	public void write( final String content ) {
 
 		final Runnable task = () -> {
+			final FileWriteEvent event = new FileWriteEvent();
+			event.begin();
+
 			try (final FileOutputStream out = new FileOutputStream(outputFilename, true);
 			        final FileChannel fileChannel = out.getChannel()) {
 
-				fileChannel.write(ByteBuffer.wrap(content.getBytes()));
+				event.bytes = fileChannel.write(ByteBuffer.wrap(content.getBytes()));
 
 			} catch (final IOException e) {
 				LOG.error(e);
 			}
+
+			event.end();
+
+			if (event.shouldCommit()) {
+				event.file = outputFilename;
+				event.commit();
+			}
 		};
 
 		pool.execute(task);
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RecursiveAction;
+
+import com.systematic.trading.backtest.configuration.BacktestBootstrapConfiguration;
+import com.systematic.trading.backtest.configuration.equity.EquityConfiguration;
+import com.systematic.trading.exception.ServiceException;
+
+/**
+ * Fork join task over a lazy source of configurations for an equity.
+ * <p/>
+ * The configurations are split until the remainder fits within a single batch, with the split off
+ * portions forked for idle workers to steal. Configurations are only generated by the worker
+ * draining them into its batch, keeping the memory in use to the batches being back tested.
+ * 
+ * @author CJ Hare
+ */
+public class BacktestBatchTask extends RecursiveAction {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Equity shared by every configuration. */
+	private final transient EquityConfiguration equity;
+
+	/** Configurations yet to be generated. */
+	private final transient Spliterator<BacktestBootstrapConfiguration> configurations;
+
+	/** Back test of each batch of configurations. */
+	private final transient BacktestBatch backtest;
+
+	/** Maximum number of configurations back tested together. */
+	private final int batchSize;
+
+	public BacktestBatchTask(
+	        final EquityConfiguration equity,
+	        final Spliterator<BacktestBootstrapConfiguration> configurations,
+	        final BacktestBatch backtest,
+	        final int batchSize ) {
+
+		this.equity = equity;
+		this.configurations = configurations;
+		this.backtest = backtest;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * @throws CompletionException
+	 *             wrapping the service exception when a back test fails.
+	 */
+	@Override
+	protected void compute() {
+
+		final List<BacktestBatchTask> forked = new ArrayList<>();
+
+		// Splitting ends when the prefix cannot be split off, or the remainder fits into a batch
+		while (configurations.estimateSize() > batchSize) {
+			final Spliterator<BacktestBootstrapConfiguration> prefix = configurations.trySplit();
+
+			if (prefix == null) {
+				break;
+			}
+
+			final BacktestBatchTask task = new BacktestBatchTask(equity, prefix, backtest, batchSize);
+			task.fork();
+			forked.add(task);
+		}
+
+		final List<BacktestBootstrapConfiguration> batch = new ArrayList<>(batchSize);
+
+		while (configurations.tryAdvance(batch::add)) {
+			if (batch.size() == batchSize) {
+				backtest(batch);
+				batch.clear();
+			}
+		}
+
+		if (!batch.isEmpty()) {
+			backtest(batch);
+		}
+
+		for (final BacktestBatchTask task : forked) {
+			task.join();
+		}
+	}
+
+	private void backtest( final List<BacktestBootstrapConfiguration> batch ) {
+
+		try {
+			backtest.run(equity, batch);
+		} catch (final ServiceException e) {
+			throw new CompletionException(e);
+		}
+	}
+}
@@ -0,0 +1,239 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.systematic.trading.backtest.cache.BacktestResultCache;
+import com.systematic.trading.backtest.cache.BacktestResultCacheMode;
+import com.systematic.trading.backtest.cache.RecordingBacktestEventListener;
+import com.systematic.trading.backtest.configuration.BacktestBootstrapConfiguration;
+import com.systematic.trading.backtest.description.DescriptionGenerator;
+import com.systematic.trading.backtest.event.BacktestEventListener;
+import com.systematic.trading.backtest.event.channel.AsynchronousBacktestEventListener;
+import com.systematic.trading.backtest.event.channel.EventChannel;
+import com.systematic.trading.backtest.event.channel.EventChannelConsumers;
+import com.systematic.trading.backtest.event.channel.configuration.BacktestOutputChannelConfiguration;
+import com.systematic.trading.backtest.event.filter.FilteredBacktestEventListener;
+import com.systematic.trading.backtest.event.filter.NetWorthRanking;
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
+import com.systematic.trading.backtest.event.filter.configuration.BacktestOutputFilterConfiguration;
+import com.systematic.trading.backtest.event.universe.UniverseSummary;
+import com.systematic.trading.backtest.event.universe.UniverseSummaryBacktestEventListener;
+import com.systematic.trading.backtest.journal.JournalledBatch;
+import com.systematic.trading.backtest.journal.JournallingBacktestEventListener;
+import com.systematic.trading.backtest.journal.TrackedOutputPool;
+import com.systematic.trading.backtest.metrics.TrialMetrics;
+import com.systematic.trading.model.TickerSymbolTradingData;
+
+/**
+ * Decorators of the trial applied around the output of every back test, from the innermost:
+ * <ol>
+ * <li>journalling, noting when the writes of the output are complete.</li>
+ * <li>channel, handing the events to the output away from the simulation thread.</li>
+ * <li>filter, selecting the events given to the output.</li>
+ * <li>summary, recording the final net worth of every back test.</li>
+ * <li>recorder, storing the results for replay by a later trial.</li>
+ * <li>metrics, counting every event the simulation emits.</li>
+ * </ol>
+ * 
+ * @author CJ Hare
+ */
+public class BacktestOutputChain {
+
+	/** Instruments of the trial. */
+	private final TrialMetrics metrics;
+
+	/** Selection of the events given to the output. */
+	private final BacktestOutputFilterConfiguration outputFilter;
+
+	/** Ranking of the final net worths, shared across the trial. */
+	private final NetWorthRanking ranking;
+
+	/** Hand over of the events to the output. */
+	private final BacktestOutputChannelConfiguration outputChannel;
+
+	/** Threads consuming the events, when the hand over is asynchronous. */
+	private final Optional<EventChannelConsumers> consumers;
+
+	/** Trial wide summary of the final net worths, when there is one. */
+	private final Optional<UniverseSummary> summary;
+
+	/** Describes the strategy of a back test for the summary. */
+	private final DescriptionGenerator description;
+
+	/** Whether the results are replayed, recorded or neither. */
+	private final BacktestResultCacheMode resultCacheMode;
+
+	/** Store of the recorded results. */
+	private final BacktestResultCache resultCache;
+
+	/** Pool performing the writes of the output. */
+	private final TrackedOutputPool outputPool;
+
+	BacktestOutputChain(
+	        final TrialMetrics metrics,
+	        final BacktestOutputFilterConfiguration outputFilter,
+	        final BacktestOutputChannelConfiguration outputChannel,
+	        final Optional<EventChannelConsumers> consumers,
+	        final Optional<UniverseSummary> summary,
+	        final DescriptionGenerator description,
+	        final BacktestResultCacheMode resultCacheMode,
+	        final BacktestResultCache resultCache,
+	        final TrackedOutputPool outputPool ) {
+
+		this.metrics = metrics;
+		this.outputFilter = outputFilter;
+		this.ranking = new NetWorthRanking(outputFilter.detailedConfigurations());
+		this.outputChannel = outputChannel;
+		this.consumers = consumers;
+		this.summary = summary;
+		this.description = description;
+		this.resultCacheMode = resultCacheMode;
+		this.resultCache = resultCache;
+		this.outputPool = outputPool;
+	}
+
+	/**
+	 * Decorates the output of a single back test.
+	 * 
+	 * @param output
+	 *            destination of the events of the back test.
+	 * @param configuration
+	 *            of the back test.
+	 * @param batchId
+	 *            identity of the back test.
+	 * @param journalled
+	 *            batch the back test is journalled with, when the trial has a journal.
+	 * @param recorders
+	 *            recorders of the batch, added to when the results are recorded.
+	 * @return the listener to give the events of the simulation.
+	 */
+	public BacktestEventListener wrap(
+	        final BacktestEventListener output,
+	        final BacktestBootstrapConfiguration configuration,
+	        final BacktestBatchId batchId,
+	        final Optional<JournalledBatch> journalled,
+	        final List<RecordingBacktestEventListener> recorders ) {
+
+		BacktestEventListener listener = summary(filter(channel(journalled(output, journalled))), configuration);
+
+		// Around the output, so the recording includes the signal analysis given by the context
+		if (resultCacheMode.isWrite()) {
+			final RecordingBacktestEventListener recorder = new RecordingBacktestEventListener(
+			        listener,
+			        resultCache,
+			        configuration);
+			recorders.add(recorder);
+			listener = recorder;
+		}
+
+		// Outermost, wrapping the recording, counting every event the simulation emits
+		return metrics.meter(listener, batchId.name());
+	}
+
+	/**
+	 * Replays the recorded results of a back test in place of simulating it, when they are known.
+	 * 
+	 * @return <code>true</code> when the results were replayed, <code>false</code> when the back test
+	 *         must be simulated.
+	 */
+	public boolean replay(
+	        final List<RecordingBacktestEventListener> recorders,
+	        final int index,
+	        final TickerSymbolTradingData tradingData,
+	        final BacktestSimulationDates dates ) {
+
+		return resultCacheMode.isRead() && recorders.get(index).replay(tradingData, dates);
+	}
+
+	/**
+	 * Waits on every event handed over to reach the output, before the output is torn down.
+	 * <p/>
+	 * With every back test complete, the final ranking is known and the detail of the top ranked back
+	 * tests is first handed over, from this thread in place of their simulation threads.
+	 */
+	public void drain() {
+
+		ranking.release();
+		consumers.ifPresent(EventChannelConsumers::close);
+	}
+
+	/**
+	 * Directly around the output, inside any channel, so the completion follows every event.
+	 */
+	private BacktestEventListener journalled(
+	        final BacktestEventListener output,
+	        final Optional<JournalledBatch> batch ) {
+
+		return batch.isPresent() ? new JournallingBacktestEventListener(output, outputPool, batch.get()) : output;
+	}
+
+	/**
+	 * Silent output has no events to hand over, otherwise with consumers they receive the events.
+	 */
+	private BacktestEventListener channel( final BacktestEventListener output ) {
+
+		if (!consumers.isPresent() || isSilent(output)) {
+			return output;
+		}
+
+		return new AsynchronousBacktestEventListener(
+		        output,
+		        new EventChannel(outputChannel.channelCapacity(), outputChannel.waitStrategy()),
+		        consumers.get());
+	}
+
+	private BacktestEventListener filter( final BacktestEventListener output ) {
+
+		return outputFilter.isUnfiltered() ? output : new FilteredBacktestEventListener(output, outputFilter, ranking);
+	}
+
+	private BacktestEventListener summary(
+	        final BacktestEventListener output,
+	        final BacktestBootstrapConfiguration configuration ) {
+
+		return summary.isPresent()
+		        ? new UniverseSummaryBacktestEventListener(
+		                output,
+		                summary.get(),
+		                configuration.strategy().description(description),
+		                configuration.equity().equityIdentity().tickerSymbol())
+		        : output;
+	}
+
+	private boolean isSilent( final BacktestEventListener output ) {
+
+		for (final OutputEventFamily family : OutputEventFamily.values()) {
+			if (output.listensTo(family)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest;
+
+import java.util.Optional;
+
+import com.systematic.trading.backtest.cache.BacktestResultCache;
+import com.systematic.trading.backtest.cache.BacktestResultCacheMode;
+import com.systematic.trading.backtest.cache.FileBacktestResultCache;
+import com.systematic.trading.backtest.cache.configuration.BacktestResultCacheConfiguration;
+import com.systematic.trading.backtest.description.DescriptionGenerator;
+import com.systematic.trading.backtest.event.channel.EventChannelConsumers;
+import com.systematic.trading.backtest.event.channel.configuration.BacktestOutputChannelConfiguration;
+import com.systematic.trading.backtest.event.filter.configuration.BacktestOutputFilterConfiguration;
+import com.systematic.trading.backtest.event.universe.UniverseSummary;
+import com.systematic.trading.backtest.journal.TrackedOutputPool;
+import com.systematic.trading.backtest.metrics.TrialMetrics;
+
+/**
+ * Creates the chain of decorators around the output of the back tests of a trial.
+ * 
+ * @author CJ Hare
+ */
+public class BacktestOutputChainBuilder {
+
+	private TrialMetrics metrics;
+
+	private BacktestOutputFilterConfiguration outputFilter;
+
+	private BacktestOutputChannelConfiguration outputChannel;
+
+	/** Trial wide summary, when not given the final net worths are not summarised. */
+	private Optional<UniverseSummary> summary = Optional.empty();
+
+	private DescriptionGenerator description;
+
+	private BacktestResultCacheMode resultCacheMode = BacktestResultCacheMode.DISABLED;
+
+	private BacktestResultCache resultCache;
+
+	private TrackedOutputPool outputPool;
+
+	public BacktestOutputChainBuilder withMetrics( final TrialMetrics metrics ) {
+
+		this.metrics = metrics;
+		return this;
+	}
+
+	public BacktestOutputChainBuilder withFilter( final BacktestOutputFilterConfiguration outputFilter ) {
+
+		this.outputFilter = outputFilter;
+		return this;
+	}
+
+	public BacktestOutputChainBuilder withChannel( final BacktestOutputChannelConfiguration outputChannel ) {
+
+		this.outputChannel = outputChannel;
+		return this;
+	}
+
+	public BacktestOutputChainBuilder withSummary(
+	        final Optional<UniverseSummary> summary,
+	        final DescriptionGenerator description ) {
+
+		this.summary = summary;
+		this.description = description;
+		return this;
+	}
+
+	public BacktestOutputChainBuilder withResultCache( final BacktestResultCacheConfiguration resultCache ) {
+
+		this.resultCacheMode = resultCache.mode();
+		this.resultCache = new FileBacktestResultCache(resultCache.directory());
+		return this;
+	}
+
+	public BacktestOutputChainBuilder withOutputPool( final TrackedOutputPool outputPool ) {
+
+		this.outputPool = outputPool;
+		return this;
+	}
+
+	/**
+	 * The consumer threads of an asynchronous channel are started, to be stopped by draining the chain.
+	 */
+	public BacktestOutputChain build() {
+
+		final Optional<EventChannelConsumers> consumers = outputChannel.isAsynchronous()
+		        ? Optional.of(
+		                new EventChannelConsumers(
+		                        outputChannel.consumerThreads(),
+		                        outputChannel.waitStrategy(),
+		                        outputChannel.batchSize()))
+		        : Optional.empty();
+
+		return new BacktestOutputChain(
+		        metrics,
+		        outputFilter,
+		        outputChannel,
+		        consumers,
+		        summary,
+		        description,
+		        resultCacheMode,
+		        resultCache,
+		        outputPool);
+	}
+}
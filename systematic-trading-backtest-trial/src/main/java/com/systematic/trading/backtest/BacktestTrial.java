@@ -27,20 +27,33 @@ package com.systematic.trading.backtest;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.lang3.time.StopWatch;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.systematic.trading.backtest.cache.RecordingBacktestEventListener;
+import com.systematic.trading.backtest.cache.dao.impl.FileValidatedBacktestResultCacheConfigurationDao;
 import com.systematic.trading.backtest.configuration.BacktestBootstrapConfiguration;
 import com.systematic.trading.backtest.configuration.cash.CashAccountConfiguration;
 import com.systematic.trading.backtest.configuration.cash.DepositConfiguration;
@@ -51,28 +64,55 @@ import com.systematic.trading.backtest.description.DescriptionGenerator;
 import com.systematic.trading.backtest.description.DirectoryDescriptionGenerator;
 import com.systematic.trading.backtest.description.StandardDescriptionGenerator;
 import com.systematic.trading.backtest.description.StandardDirectoryDescriptionGenerator;
+import com.systematic.trading.backtest.equity.TickerSymbol;
+import com.systematic.trading.backtest.equity.TickerUniverse;
 import com.systematic.trading.backtest.event.BacktestEventListener;
 import com.systematic.trading.backtest.event.BacktestEventListenerPreparation;
 import com.systematic.trading.backtest.event.SilentBacktestEventLisener;
+import com.systematic.trading.backtest.event.channel.dao.impl.FileValidatedBacktestOutputChannelConfigurationDao;
+import com.systematic.trading.backtest.event.filter.dao.impl.FileValidatedBacktestOutputFilterConfigurationDao;
+import com.systematic.trading.backtest.event.universe.UniverseSummary;
+import com.systematic.trading.backtest.event.universe.UniverseSummary.StrategySummary;
 import com.systematic.trading.backtest.exception.BacktestInitialisationException;
-import com.systematic.trading.backtest.input.BacktestEndDate;
-import com.systematic.trading.backtest.input.BacktestStartDate;
 import com.systematic.trading.backtest.input.DepositFrequency;
 import com.systematic.trading.backtest.input.OutputType;
-import com.systematic.trading.backtest.output.elastic.ElasticBacktestOutput;
+import com.systematic.trading.backtest.input.TrialDistribution;
+import com.systematic.trading.backtest.journal.FileTrialJournal;
+import com.systematic.trading.backtest.journal.JournalledBatch;
+import com.systematic.trading.backtest.journal.JournalledSummaryFile;
+import com.systematic.trading.backtest.journal.TrackedOutputPool;
+import com.systematic.trading.backtest.journal.TrialJournal;
+import com.systematic.trading.backtest.journal.dao.impl.FileValidatedTrialJournalConfigurationDao;
+import com.systematic.trading.backtest.metrics.TrialMetrics;
+import com.systematic.trading.backtest.metrics.configuration.BacktestMetricsConfiguration;
+import com.systematic.trading.backtest.metrics.dao.impl.FileValidatedBacktestMetricsConfigurationDao;
 import com.systematic.trading.backtest.output.elastic.ElasticBacktestOutputPreparation;
 import com.systematic.trading.backtest.output.elastic.configuration.BackestOutputElasticConfigurationSingleton;
 import com.systematic.trading.backtest.output.file.CompleteFileOutputService;
 import com.systematic.trading.backtest.output.file.MinimalFileOutputService;
 import com.systematic.trading.backtest.output.file.dao.impl.FileValidatedBackestOutputFileConfigurationDao;
 import com.systematic.trading.backtest.output.file.util.ClearFileDestination;
+import com.systematic.trading.backtest.prefetch.PrefetchingPriceLoader;
+import com.systematic.trading.backtest.prefetch.configuration.PricePrefetchConfiguration;
+import com.systematic.trading.backtest.prefetch.dao.impl.FileValidatedPricePrefetchConfigurationDao;
+import com.systematic.trading.backtest.progress.TrialProgress;
+import com.systematic.trading.backtest.progress.TrialProgressReporter;
+import com.systematic.trading.backtest.progress.configuration.TrialProgressConfiguration;
+import com.systematic.trading.backtest.progress.dao.impl.FileValidatedTrialProgressConfigurationDao;
+import com.systematic.trading.backtest.search.SuccessiveHalving;
+import com.systematic.trading.backtest.search.configuration.TrialSearchConfiguration;
+import com.systematic.trading.backtest.search.dao.impl.FileValidatedTrialSearchConfigurationDao;
+import com.systematic.trading.backtest.walkforward.WalkForwardWindows;
+import com.systematic.trading.backtest.walkforward.configuration.WalkForwardConfiguration;
+import com.systematic.trading.backtest.walkforward.dao.impl.FileValidatedWalkForwardConfigurationDao;
 import com.systematic.trading.configuration.exception.ConfigurationValidationException;
 import com.systematic.trading.data.DataService;
 import com.systematic.trading.data.DataServiceType;
 import com.systematic.trading.data.DataServiceUpdater;
 import com.systematic.trading.data.DataServiceUpdaterImpl;
 import com.systematic.trading.data.EquityApiFactory;
-import com.systematic.trading.data.HibernateDataService;
+import com.systematic.trading.data.JdbcDataService;
+import com.systematic.trading.data.SynchronizedDataServiceUpdater;
 import com.systematic.trading.data.api.EquityApi;
 import com.systematic.trading.data.api.configuration.EquityApiLaunchArgument;
 import com.systematic.trading.data.exception.CannotRetrieveConfigurationException;
@@ -84,6 +124,7 @@ import com.systematic.trading.input.EquityApiLaunchArgumentFactory;
 import com.systematic.trading.input.LaunchArgument;
 import com.systematic.trading.input.LaunchArgumentKey;
 import com.systematic.trading.input.LaunchArgumentValidator;
+import com.systematic.trading.maths.indicator.sma.ClosingPricePrefixSums;
 
 /**
  * Setup specific behaviour for the Trial of back tests.
@@ -95,6 +136,15 @@ public class BacktestTrial {
 	/** Classes logger. */
 	private static final Logger LOG = LogManager.getLogger(BacktestTrial.class);
 
+	/** Back tests simulated together in a single pass over the trading data. */
+	private static final int MAXIMUM_BATCH_SIZE = 250;
+
+	/** Scale and precision used when summarising the universe of ticker symbols. */
+	private static final MathContext MATH_CONTEXT = MathContext.DECIMAL64;
+
+	/** Summary of the file output, one row per back test, in the deposit output directory. */
+	private static final String SUMMARY_FILE = "summary.csv";
+
 	// TODO the description is specific to the type of output - file, console, elastic :. refactor -
 	// move into
 	// BacktestLaunchArgumentParser
@@ -113,68 +163,439 @@ public class BacktestTrial {
 	        throws BacktestInitialisationException {
 
 		this.dataServiceUpdater = new DataServiceUpdaterImpl(equityApi(arguments, validator));
-		this.dataService = new HibernateDataService();
+		this.dataService = new JdbcDataService();
 	}
 
 	public void runBacktest( final BacktestConfiguration configuration, final BacktestLaunchArguments parserdArguments )
 	        throws ServiceException {
 
-		final BacktestStartDate simulationStartDateInclusive = parserdArguments.startDateInclusive();
-		final BacktestEndDate simulationEndDateExclusive = parserdArguments.endDateExclusive();
+		final TrialDistribution distribution = parserdArguments.trialDistribution();
+
+		// Shared by every stage of the trial
+		final TrialConfigurations trialConfigurations = trialConfigurations();
+
+		switch (distribution.role()) {
+			case STANDALONE:
+				standalone(configuration, parserdArguments, trialConfigurations);
+			break;
+			case COORDINATOR:
+				coordinate(configuration, parserdArguments, distribution);
+			break;
+			case WORKER:
+				work(configuration, parserdArguments, trialConfigurations, distribution);
+			break;
+			default:
+				throw new IllegalArgumentException(String.format("Trial role unsupported: %s", distribution.role()));
+		}
+	}
+
+	private void standalone(
+	        final BacktestConfiguration configuration,
+	        final BacktestLaunchArguments parserdArguments,
+	        final TrialConfigurations trialConfigurations ) throws ServiceException {
+
+		final TickerUniverse universe = parserdArguments.tickerUniverse();
+		final BacktestSchedule schedule = universe.isMultiple() ? new ConcurrentBacktestSchedule(MAXIMUM_BATCH_SIZE)
+		        : new SequentialBacktestSchedule(MAXIMUM_BATCH_SIZE);
+		final BacktestSimulationDates simulationDates = new BacktestSimulationDates(
+		        parserdArguments.startDateInclusive(),
+		        parserdArguments.endDateExclusive());
+
+		final WalkForwardConfiguration walkForward = new FileValidatedWalkForwardConfigurationDao().configuration();
+
+		if (walkForward.isEnabled()) {
+			walkForward(
+			        configuration,
+			        parserdArguments,
+			        trialConfigurations,
+			        simulationDates,
+			        new WalkForwardWindows(walkForward).windows(simulationDates));
+			return;
+		}
+
+		final TrialSearchConfiguration search = new FileValidatedTrialSearchConfigurationDao().configuration();
+
+		if (search.isEnabled()) {
+			final UniverseSummary summary = new SuccessiveHalvingRunner(
+			        new SuccessiveHalving(search),
+			        ( stage, stageSchedule, stageSummary ) -> runBacktest(
+			                configuration,
+			                parserdArguments,
+			                trialConfigurations,
+			                stage,
+			                stageSchedule,
+			                Optional.of(stageSummary),
+			                Optional.empty(),
+			                false)).run(simulationDates, schedule);
+
+			logUniverseSummary(summary);
+			return;
+		}
+
+		// Cross-sectional results, only when there is more then a single ticker symbol
+		final Optional<UniverseSummary> summary = universe.isMultiple()
+		        ? Optional.of(new UniverseSummary(MATH_CONTEXT))
+		        : Optional.empty();
+
+		runBacktest(
+		        configuration,
+		        parserdArguments,
+		        trialConfigurations,
+		        new TrialStage(simulationDates),
+		        schedule,
+		        summary,
+		        Optional.of(journal(configuration, parserdArguments)),
+		        false);
+
+		summary.ifPresent(this::logUniverseSummary);
+	}
+
+	private void walkForward(
+	        final BacktestConfiguration configuration,
+	        final BacktestLaunchArguments parserdArguments,
+	        final TrialConfigurations trialConfigurations,
+	        final BacktestSimulationDates simulationDates,
+	        final List<BacktestSimulationDates> windows ) throws ServiceException {
 
-		final EquityConfiguration equity = equity(parserdArguments);
 		final CashAccountConfiguration cashAccount = cashAcount(parserdArguments);
 		final DepositConfiguration deposit = deposit(cashAccount);
+		recordSimulationDates(simulationDates);
 
-		// Move the date to included the necessary wind up time for the signals to behave correctly
+		// Each equity in turn, as the windows of an equity already occupy the pool
+		new WalkForwardRunner(
+		        dataService,
+		        dataServiceUpdater,
+		        trialConfigurations,
+		        new SequentialBacktestSchedule(MAXIMUM_BATCH_SIZE),
+		        this::strategy,
+		        backtestConfiguration -> batchId(backtestConfiguration, deposit).name()).run(
+		                parserdArguments,
+		                equities(parserdArguments, parserdArguments.tickerUniverse()),
+		                equity -> configuration.stream(equity, simulationDates, cashAccount).spliterator(),
+		                windows);
+	}
+
+	private void coordinate(
+	        final BacktestConfiguration configuration,
+	        final BacktestLaunchArguments parserdArguments,
+	        final TrialDistribution distribution ) throws ServiceException {
+
+		final CashAccountConfiguration cashAccount = cashAcount(parserdArguments);
 		final BacktestSimulationDates simulationDates = new BacktestSimulationDates(
-		        simulationStartDateInclusive,
-		        simulationEndDateExclusive);
+		        parserdArguments.startDateInclusive(),
+		        parserdArguments.endDateExclusive());
 		recordSimulationDates(simulationDates);
 
-		// Multi-threading support for output classes
-		final ExecutorService outputPool = outputPool(parserdArguments);
+		// Workers generate the same configurations, with a unit identifying them by position
+		final UniverseSummary summary = new CoordinatorRunner(distribution, MAXIMUM_BATCH_SIZE).run(
+		        equities(parserdArguments, parserdArguments.tickerUniverse()),
+		        equity -> configuration.stream(equity, simulationDates, cashAccount).spliterator());
+
+		logUniverseSummary(summary);
+	}
+
+	private void work(
+	        final BacktestConfiguration configuration,
+	        final BacktestLaunchArguments parserdArguments,
+	        final TrialConfigurations trialConfigurations,
+	        final TrialDistribution distribution ) throws ServiceException {
+
+		new WorkerRunner(
+		        distribution,
+		        this::strategy,
+		        ( stage, schedule, summary ) -> runBacktest(
+		                configuration,
+		                parserdArguments,
+		                trialConfigurations,
+		                stage,
+		                schedule,
+		                Optional.of(summary),
+		                Optional.empty(),
+		                true)).run(parserdArguments);
+	}
+
+	/**
+	 * @param stage
+	 *            period and strategies back tested, with the stages of a search being back tested
+	 *            without output until the last.
+	 * @param isWorker
+	 *            <code>true</code> when sharing the output with other processes, clearing only the
+	 *            output of the back tests being run.
+	 */
+	private void runBacktest(
+	        final BacktestConfiguration configuration,
+	        final BacktestLaunchArguments parserdArguments,
+	        final TrialConfigurations trialConfigurations,
+	        final TrialStage stage,
+	        final BacktestSchedule schedule,
+	        final Optional<UniverseSummary> summary,
+	        final Optional<TrialJournal> journal,
+	        final boolean isWorker ) throws ServiceException {
+
+		final TickerUniverse universe = parserdArguments.tickerUniverse();
+		final CashAccountConfiguration cashAccount = cashAcount(parserdArguments);
+		final DepositConfiguration deposit = deposit(cashAccount);
+
+		// Move the date to included the necessary wind up time for the signals to behave correctly
+		final BacktestSimulationDates simulationDates = stage.dates();
+		recordSimulationDates(simulationDates);
+
+		// Instruments are retrieved as the back tests are created, the metrics must already be registered
+		final TrialMetrics metrics = metrics(trialConfigurations.metrics());
+
+		// Multi-threading support for output classes, tracking the writes for the journal
+		final ExecutorService outputThreads = outputPool(parserdArguments);
+		final TrackedOutputPool outputPool = new TrackedOutputPool(outputThreads);
+
+		// Periodic reports of the progress, including how far the output has fallen behind
+		final TrialProgress progress = new TrialProgress();
+		final TrialProgressConfiguration progressConfiguration = trialConfigurations.progress();
+		final Optional<TrialProgressReporter> progressReporter = progressConfiguration.isEnabled()
+		        ? Optional.of(
+		                new TrialProgressReporter(
+		                        progress,
+		                        () -> outputBacklog(outputThreads),
+		                        progressConfiguration.statusFile()))
+		        : Optional.empty();
+
+		// Decorators around the output of every back test, with any channel consumers started
+		final BacktestOutputChain outputChain = new BacktestOutputChainBuilder().withMetrics(metrics)
+		        .withFilter(trialConfigurations.outputFilter()).withChannel(trialConfigurations.outputChannel())
+		        .withSummary(summary, description).withResultCache(trialConfigurations.resultCache())
+		        .withOutputPool(outputPool).build();
+
+		// Stages without output only need the summary, leaving any earlier output untouched
+		final BacktestEventListenerPreparation outputPreparation = stage.isOutput()
+		        ? output(parserdArguments, outputPool)
+		        : new BacktestEventListenerPreparation() {};
+
+		// Completed back tests of an interrupted run are skipped, keeping their output
+		final TrialJournalStep journalStep = new TrialJournalStep(journal, parserdArguments.isResume());
+		final boolean resuming = journalStep.isResuming();
+		final boolean partialOutput = resuming || isWorker;
+
+		// Concurrent back tests share the equity API, which is throttled per retrieval
+		final DataServiceUpdater updater = universe.isMultiple()
+		        ? new SynchronizedDataServiceUpdater(dataServiceUpdater)
+		        : dataServiceUpdater;
 
 		// TODO run the test over the full period with exclusion on filters
 		// TODO no deposits until actual start date, rather then from the warm-up period
 
-		final BacktestEventListenerPreparation outputPreparation = output(parserdArguments);
-		outputPreparation.setUp();
-
 		final StopWatch timer = new StopWatch();
 		timer.start();
 
-		final List<BacktestBootstrapConfiguration> backtestConfigurations = configuration
-		        .configuration(equity, simulationDates, cashAccount);
-
-		try {
-			clearOutputDirectory(cashAccount, parserdArguments);
+		final List<EquityConfiguration> equities = equities(parserdArguments, universe);
+
+		// Prices of the upcoming equities are loaded while the current ones are simulated
+		final Optional<PrefetchingPriceLoader> prefetch = prefetch(trialConfigurations.prefetch(), updater, equities);
+		final DataService prices = prefetch.isPresent() ? prefetch.get() : dataService;
+		final DataServiceUpdater retrieval = prefetch.isPresent() ? prefetch.get() : updater;
+
+		// Configurations are generated as they are consumed, never all held at once
+		final Function<EquityConfiguration, Stream<BacktestBootstrapConfiguration>> candidates = equity -> stage
+		        .isNarrowed()
+		                ? configuration.stream(equity, simulationDates, cashAccount).filter(
+		                        backtestConfiguration -> stage
+		                                .isCandidate(backtestConfiguration.strategy().description(description)))
+		                : configuration.stream(equity, simulationDates, cashAccount);
+		final Function<EquityConfiguration, Spliterator<BacktestBootstrapConfiguration>> configurations = equity -> journalStep
+		        .pending(candidates.apply(equity), backtestConfiguration -> batchId(backtestConfiguration, deposit).name())
+		        .spliterator();
+
+		// Preparation for every back test was completed before the interrupted run began simulating
+		outputPreparation.setUp(
+		        partialOutput || !stage.isOutput() ? Collections.emptyList()
+		                : () -> equities.stream().flatMap(candidates)
+		                        .map(backtestConfiguration -> batchId(backtestConfiguration, deposit)).iterator());
+
+		final LongAdder backtests = new LongAdder();
+		final BacktestBatch backtest = ( equity, batch ) -> {
+			final List<String> batchIds = new ArrayList<>(batch.size());
+
+			for (final BacktestBootstrapConfiguration backtestConfiguration : batch) {
+				batchIds.add(batchId(backtestConfiguration, deposit).name());
+			}
 
-			for (final BacktestBootstrapConfiguration backtestConfiguration : backtestConfigurations) {
-				final BacktestEventListener output = output(
-				        deposit,
-				        parserdArguments,
+			// One sync for the whole batch, once the output of every back test is durable
+			final Optional<JournalledBatch> journalled = journalStep.batch(batchIds);
+
+			final List<BacktestEventListener> outputs = new ArrayList<>(batch.size());
+			final List<BacktestBootstrapContext> contexts = new ArrayList<>(batch.size());
+			final List<RecordingBacktestEventListener> recorders = new ArrayList<>(batch.size());
+
+			// A batch runs on a single thread over one equity, letting every SMA lookback share the sums
+			final ClosingPricePrefixSums closingPriceSums = new ClosingPricePrefixSums();
+
+			for (final BacktestBootstrapConfiguration backtestConfiguration : batch) {
+				final BacktestBatchId batchId = batchId(backtestConfiguration, deposit);
+				final BacktestEventListener output = outputChain.wrap(
+				        stage.isOutput()
+				                ? output(
+				                        deposit,
+				                        parserdArguments,
+				                        backtestConfiguration,
+				                        outputPool,
+				                        outputPreparation,
+				                        partialOutput)
+				                : new SilentBacktestEventLisener(),
 				        backtestConfiguration,
-				        outputPool);
-				final BacktestBootstrapContext context = context(backtestConfiguration, output);
+				        batchId,
+				        journalled,
+				        recorders);
+
+				outputs.add(output);
+				contexts.add(context(backtestConfiguration, batchId, output, closingPriceSums));
 
 				logBacktestBegun(backtestConfiguration, deposit);
+			}
 
-				new Backtest(dataService, dataServiceUpdater)
-				        .run(equity, backtestConfiguration.backtestDates(), context, output);
+			// Every configuration of the trial shares the same simulation dates
+			final long tradingDays = new Backtest(prices, retrieval).run(
+			        equity,
+			        simulationDates,
+			        contexts,
+			        outputs,
+			        ( index, tradingData ) -> outputChain.replay(recorders, index, tradingData, simulationDates));
 
+			for (final BacktestBootstrapConfiguration backtestConfiguration : batch) {
 				logBacktestComplete(backtestConfiguration, deposit);
 			}
+
+			backtests.add(batch.size());
+			progress.completed(batch.size(), tradingDays);
+		};
+
+		// Workers are given their back tests a unit at a time, never knowing the total
+		progressReporter.ifPresent(
+		        reporter -> reporter.start(
+		                () -> isWorker ? TrialProgress.UNKNOWN : count(equities, configurations),
+		                progressConfiguration.interval()));
+
+		try {
+			if (resuming) {
+				logBacktestResumed(journalStep.completed().size());
+
+				if (stage.isOutput()) {
+					retainSummary(cashAccount, parserdArguments, journalStep.completed());
+				}
+			}
+			if (!partialOutput && stage.isOutput()) {
+				clearOutputDirectory(cashAccount, parserdArguments);
+			}
+
+			schedule.run(equities, configurations, backtest);
 		} finally {
-			HibernateUtil.sessionFactory().close();
+			prefetch.ifPresent(PrefetchingPriceLoader::close);
+			HibernateUtil.close();
+
+			// Every event must reach the output before it is torn down
+			outputChain.drain();
+
+			// Tear down may still need the pool, to send any remaining output
+			outputPreparation.tearDown();
 			closePool(outputPool);
+
+			// Batches are recorded as their output writes complete, the last with the pool closing
+			journalStep.close();
+
+			progressReporter.ifPresent(TrialProgressReporter::close);
+
+			// Exported once the output channels are drained, including their hand over latency
+			close(metrics);
 		}
 
 		timer.stop();
 
-		outputPreparation.tearDown();
+		logBacktestComplete(backtests.sum(), timer);
+	}
+
+	private TrialJournal journal(
+	        final BacktestConfiguration configuration,
+	        final BacktestLaunchArguments arguments ) throws ServiceException {
 
-		logBacktestComplete(backtestConfigurations, timer);
+		final Path directory = new FileValidatedTrialJournalConfigurationDao().configuration().directory();
+		final String trial = configuration.getClass().getSimpleName();
+
+		// Any launch argument altering the back test results, that is not already part of the batch id
+		return new FileTrialJournal(
+		        directory.resolve(trial + ".journal"),
+		        String.format(
+		                "%s %s %s %s %s %s %s",
+		                trial,
+		                arguments.tickerDataset().dataset(),
+		                arguments.startDateInclusive().date(),
+		                arguments.endDateExclusive().date(),
+		                arguments.openingFunds().toPlainString(),
+		                arguments.interestRate().toPlainString(),
+		                arguments.outputType()));
+	}
+
+	private Optional<PrefetchingPriceLoader> prefetch(
+	        final PricePrefetchConfiguration prefetch,
+	        final DataServiceUpdater updater,
+	        final List<EquityConfiguration> equities ) {
+
+		return prefetch.isEnabled()
+		        ? Optional.of(
+		                new PrefetchingPriceLoader(
+		                        dataService,
+		                        updater,
+		                        equities,
+		                        prefetch.lookAhead(),
+		                        prefetch.budgetBytes(),
+		                        prefetch.threads()))
+		        : Optional.empty();
+	}
+
+	private long count(
+	        final List<EquityConfiguration> equities,
+	        final Function<EquityConfiguration, Spliterator<BacktestBootstrapConfiguration>> configurations ) {
+
+		return equities.stream().mapToLong(equity -> StreamSupport.stream(configurations.apply(equity), false).count())
+		        .sum();
+	}
+
+	/**
+	 * Output tasks queued on the pool, waiting on a thread.
+	 */
+	private long outputBacklog( final ExecutorService outputPool ) {
+
+		return outputPool instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) outputPool).getQueue().size() : 0;
+	}
+
+	private TrialConfigurations trialConfigurations() throws ServiceException {
+
+		return new TrialConfigurations(
+		        new FileValidatedBacktestMetricsConfigurationDao().configuration(),
+		        new FileValidatedTrialProgressConfigurationDao().configuration(),
+		        new FileValidatedBacktestOutputFilterConfigurationDao().configuration(),
+		        new FileValidatedBacktestOutputChannelConfigurationDao().configuration(),
+		        new FileValidatedBacktestResultCacheConfigurationDao().configuration(),
+		        new FileValidatedPricePrefetchConfigurationDao().configuration());
+	}
+
+	private TrialMetrics metrics( final BacktestMetricsConfiguration configuration ) throws ServiceException {
+
+		try {
+			return new TrialMetrics(configuration);
+		} catch (final IOException e) {
+			throw new BacktestInitialisationException(e);
+		}
+	}
+
+	private void close( final TrialMetrics metrics ) {
+
+		try {
+			metrics.close();
+		} catch (final IOException e) {
+			LOG.warn("Failed to export the trial metrics", e);
+		}
+	}
+
+	private void logBacktestResumed( final int completed ) {
+
+		LOG.info("Resuming the trial, skipping {} completed back tests", completed);
 	}
 
 	private void logBacktestBegun(
@@ -195,17 +616,30 @@ public class BacktestTrial {
 		        () -> description.bootstrapConfigurationWithDeposit(configuration, deposit));
 	}
 
-	private void logBacktestComplete(
-	        final List<BacktestBootstrapConfiguration> configurations,
-	        final StopWatch timer ) {
+	private void logBacktestComplete( final long backtests, final StopWatch timer ) {
 
 		LOG.info(
 		        () -> String.format(
 		                "Finished outputting %s results, time taken: %s",
-		                configurations.size(),
+		                backtests,
 		                Duration.ofMillis(timer.getTime())));
 	}
 
+	private void logUniverseSummary( final UniverseSummary summary ) {
+
+		for (final StrategySummary strategy : summary.strategies()) {
+			LOG.info(
+			        "Universe of {} ticker symbols, mean net worth: {}, best: {} {}, worst: {} {}, for: {}",
+			        strategy.tickerSymbols(),
+			        strategy.meanNetWorth(),
+			        strategy.bestTickerSymbol(),
+			        strategy.netWorths().get(strategy.bestTickerSymbol()),
+			        strategy.worstTickerSymbol(),
+			        strategy.netWorths().get(strategy.worstTickerSymbol()),
+			        strategy.strategy());
+		}
+	}
+
 	private static EquityApi equityApi(
 	        final Map<LaunchArgumentKey, String> arguments,
 	        final LaunchArgumentValidator validator ) throws BacktestInitialisationException {
@@ -239,15 +673,25 @@ public class BacktestTrial {
 
 	private BacktestBootstrapContext context(
 	        final BacktestBootstrapConfiguration config,
-	        final BacktestEventListener listener ) {
+	        final BacktestBatchId batchId,
+	        final BacktestEventListener listener,
+	        final ClosingPricePrefixSums closingPriceSums ) {
 
 		return new BacktestBootstrapContextBulider().withConfiguration(config).withSignalAnalysisListeners(listener)
-		        .build();
+		        .withClosingPricePrefixSums(closingPriceSums).withBatchId(batchId).build();
 	}
 
-	private EquityConfiguration equity( final BacktestLaunchArguments launchArgs ) {
+	private List<EquityConfiguration> equities(
+	        final BacktestLaunchArguments launchArgs,
+	        final TickerUniverse universe ) {
+
+		final List<EquityConfiguration> equities = new ArrayList<>(universe.size());
+
+		for (final TickerSymbol tickerSymbol : universe.symbols()) {
+			equities.add(new EquityConfiguration(launchArgs.tickerDataset(), tickerSymbol));
+		}
 
-		return new EquityConfiguration(launchArgs.tickerDataset(), launchArgs.tickerSymbol());
+		return equities;
 	}
 
 	private void closePool( final ExecutorService pool ) {
@@ -266,7 +710,9 @@ public class BacktestTrial {
 	        final DepositConfiguration deposit,
 	        final BacktestLaunchArguments arguments,
 	        final BacktestBootstrapConfiguration configuration,
-	        final ExecutorService pool ) throws BacktestInitialisationException {
+	        final ExecutorService pool,
+	        final BacktestEventListenerPreparation preparation,
+	        final boolean partialOutput ) throws BacktestInitialisationException {
 
 		final BacktestBatchId batchId = batchId(configuration, deposit);
 		final OutputType type = arguments.outputType();
@@ -274,19 +720,16 @@ public class BacktestTrial {
 		try {
 			switch (type) {
 				case ELASTIC_SEARCH:
-					return new ElasticBacktestOutput(
-					        batchId,
-					        pool,
-					        BackestOutputElasticConfigurationSingleton.configuration());
+					return elasticOutput(batchId, preparation);
 				case FILE_COMPLETE:
 					return new CompleteFileOutputService(
 					        batchId,
-					        outputDirectory(outputDirectory(deposit, arguments), configuration),
+					        backtestOutputDirectory(outputDirectory(deposit, arguments), configuration, partialOutput),
 					        pool);
 				case FILE_MINIMUM:
 					return new MinimalFileOutputService(
 					        batchId,
-					        outputDirectory(outputDirectory(deposit, arguments), configuration),
+					        backtestOutputDirectory(outputDirectory(deposit, arguments), configuration, partialOutput),
 					        pool);
 				case NO_DISPLAY:
 					return new SilentBacktestEventLisener();
@@ -298,6 +741,11 @@ public class BacktestTrial {
 		}
 	}
 
+	private String strategy( final BacktestBootstrapConfiguration configuration ) {
+
+		return configuration.strategy().description(description);
+	}
+
 	private DepositConfiguration deposit( final CashAccountConfiguration cashAccount ) {
 
 		final Optional<DepositConfiguration> deposit = cashAccount.deposit();
@@ -330,13 +778,51 @@ public class BacktestTrial {
 		return String.format("%s%s", baseOutputDirectory, description.bootstrapConfiguration(configuration));
 	}
 
-	private BacktestEventListenerPreparation output( final BacktestLaunchArguments arguments ) {
+	/**
+	 * File output is appended, when the output directory was not cleared any earlier output of the
+	 * back test must go.
+	 */
+	private String backtestOutputDirectory(
+	        final String baseOutputDirectory,
+	        final BacktestBootstrapConfiguration configuration,
+	        final boolean partialOutput ) throws IOException {
+
+		final String outputDirectory = outputDirectory(baseOutputDirectory, configuration);
+
+		if (partialOutput) {
+			new ClearFileDestination(outputDirectory).clear();
+		}
+
+		return outputDirectory;
+	}
+
+	/**
+	 * Elastic Search outputs share the connection and Bulk API pipeline of the trial, owned by the
+	 * preparation.
+	 */
+	private BacktestEventListener elasticOutput(
+	        final BacktestBatchId batchId,
+	        final BacktestEventListenerPreparation preparation ) {
+
+		if (preparation instanceof ElasticBacktestOutputPreparation) {
+			return ((ElasticBacktestOutputPreparation) preparation).output(batchId);
+		}
+
+		throw new IllegalArgumentException(
+		        String.format("Expecting Elastic Search output preparation, instead: %s", preparation));
+	}
+
+	private BacktestEventListenerPreparation output(
+	        final BacktestLaunchArguments arguments,
+	        final ExecutorService pool ) {
 
 		final OutputType type = arguments.outputType();
 
 		switch (type) {
 			case ELASTIC_SEARCH:
-				return new ElasticBacktestOutputPreparation(BackestOutputElasticConfigurationSingleton.configuration());
+				return new ElasticBacktestOutputPreparation(
+				        BackestOutputElasticConfigurationSingleton.configuration(),
+				        pool);
 			case FILE_COMPLETE:
 			case FILE_MINIMUM:
 			case NO_DISPLAY:
@@ -391,6 +877,27 @@ public class BacktestTrial {
 		}
 	}
 
+	/**
+	 * Summary rows appended by the interrupted batch are removed, as those back tests are run again.
+	 */
+	private void retainSummary(
+	        final CashAccountConfiguration cashAccount,
+	        final BacktestLaunchArguments arguments,
+	        final Set<String> completed ) throws ServiceException {
+
+		final Optional<DepositConfiguration> deposit = cashAccount.deposit();
+
+		if (isFileBasedDisplay(arguments) && deposit.isPresent()) {
+
+			final String outputDirectory = arguments.outputDirectory(directoryDescription.deposit(deposit.get()));
+			try {
+				new JournalledSummaryFile(Paths.get(outputDirectory, SUMMARY_FILE)).retain(completed);
+			} catch (final IOException e) {
+				throw new BacktestInitialisationException(e);
+			}
+		}
+	}
+
 	private boolean isFileBasedDisplay( final BacktestLaunchArguments arguments ) {
 
 		return arguments.outputType() == OutputType.FILE_COMPLETE || arguments.outputType() == OutputType.FILE_MINIMUM;
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import com.systematic.trading.backtest.configuration.BacktestBootstrapConfiguration;
+import com.systematic.trading.backtest.configuration.equity.EquityConfiguration;
+import com.systematic.trading.backtest.exception.BacktestInitialisationException;
+import com.systematic.trading.exception.ServiceException;
+
+/**
+ * Batches of the different ticker symbols are independent, with the work-stealing pool keeping
+ * every core busy while batches of uneven duration complete.
+ * 
+ * @author CJ Hare
+ */
+public class ConcurrentBacktestSchedule implements BacktestSchedule {
+
+	/** Maximum number of configurations back tested together. */
+	private final int batchSize;
+
+	public ConcurrentBacktestSchedule( final int batchSize ) {
+
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public void run(
+	        final List<EquityConfiguration> equities,
+	        final Function<EquityConfiguration, Spliterator<BacktestBootstrapConfiguration>> configurations,
+	        final BacktestBatch backtest ) throws ServiceException {
+
+		final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+		try {
+			final List<Future<Void>> pending = new ArrayList<>(equities.size());
+
+			for (final EquityConfiguration equity : equities) {
+				pending.add(pool.submit(new BacktestBatchTask(equity, configurations.apply(equity), backtest, batchSize)));
+			}
+
+			for (final Future<Void> equity : pending) {
+				await(equity);
+			}
+
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private void await( final Future<Void> equity ) throws ServiceException {
+
+		try {
+			equity.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BacktestInitialisationException(e);
+		} catch (final ExecutionException e) {
+			Throwable cause = e.getCause();
+
+			// Forked tasks may wrap the failure more then once
+			while (cause instanceof CompletionException && cause.getCause() != null) {
+				cause = cause.getCause();
+			}
+
+			if (cause instanceof ServiceException) {
+				throw (ServiceException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+
+			throw new BacktestInitialisationException(e);
+		}
+	}
+}
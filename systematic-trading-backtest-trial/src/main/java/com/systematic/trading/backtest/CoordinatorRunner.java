@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest;
+
+import java.io.IOException;
+import java.math.MathContext;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Function;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.systematic.trading.backtest.configuration.BacktestBootstrapConfiguration;
+import com.systematic.trading.backtest.configuration.equity.EquityConfiguration;
+import com.systematic.trading.backtest.distributed.TrialCoordinator;
+import com.systematic.trading.backtest.distributed.WorkUnitQueue;
+import com.systematic.trading.backtest.event.universe.UniverseSummary;
+import com.systematic.trading.backtest.exception.BacktestInitialisationException;
+import com.systematic.trading.backtest.input.TrialDistribution;
+import com.systematic.trading.exception.ServiceException;
+
+/**
+ * Partitions the configurations of every ticker symbol into work units, handed out to the workers
+ * as they become idle. The coordinator back tests nothing itself.
+ * 
+ * @author CJ Hare
+ */
+public class CoordinatorRunner {
+
+	/** Classes logger. */
+	private static final Logger LOG = LogManager.getLogger(CoordinatorRunner.class);
+
+	/** Smallest unit of work handed to a worker, as the trial nears the end. */
+	private static final int MINIMUM_UNIT_SIZE = 10;
+
+	/** Workers waiting to connect to the coordinator, before any are refused. */
+	private static final int WORKER_BACKLOG = 50;
+
+	/** Scale and precision used when summarising the universe of ticker symbols. */
+	private static final MathContext MATH_CONTEXT = MathContext.DECIMAL64;
+
+	/** Address the workers connect to. */
+	private final TrialDistribution distribution;
+
+	/** Largest unit of work, as a worker back tests a unit in a single batch. */
+	private final int batchSize;
+
+	public CoordinatorRunner( final TrialDistribution distribution, final int batchSize ) {
+
+		this.distribution = distribution;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * @param configurations
+	 *            the same configurations as the workers generate, as a unit identifies them by
+	 *            position.
+	 * @return final net worth of every back test the workers ran.
+	 */
+	public UniverseSummary run(
+	        final List<EquityConfiguration> equities,
+	        final Function<EquityConfiguration, Spliterator<BacktestBootstrapConfiguration>> configurations )
+	        throws ServiceException {
+
+		final Map<String, Long> sizes = new LinkedHashMap<>();
+		for (final EquityConfiguration equity : equities) {
+			sizes.put(
+			        equity.equityIdentity().tickerSymbol(),
+			        StreamSupport.stream(configurations.apply(equity), false).count());
+		}
+
+		final WorkUnitQueue units = new WorkUnitQueue(sizes, MINIMUM_UNIT_SIZE, batchSize);
+		final UniverseSummary summary = new UniverseSummary(MATH_CONTEXT);
+
+		final StopWatch timer = new StopWatch();
+		timer.start();
+
+		try (final ServerSocket server = new ServerSocket(
+		        distribution.port(),
+		        WORKER_BACKLOG,
+		        InetAddress.getByName(distribution.host()))) {
+			new TrialCoordinator(units, summary).run(server);
+		} catch (final IOException e) {
+			throw new BacktestInitialisationException(e);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BacktestInitialisationException(e);
+		}
+
+		timer.stop();
+
+		logBacktestComplete(units.size(), timer);
+		return summary;
+	}
+
+	private void logBacktestComplete( final long backtests, final StopWatch timer ) {
+
+		LOG.info(
+		        () -> String.format(
+		                "Finished outputting %s results, time taken: %s",
+		                backtests,
+		                Duration.ofMillis(timer.getTime())));
+	}
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+
+import com.systematic.trading.backtest.configuration.BacktestBootstrapConfiguration;
+import com.systematic.trading.backtest.configuration.equity.EquityConfiguration;
+import com.systematic.trading.backtest.distributed.ConfigurationCursor;
+import com.systematic.trading.backtest.distributed.TrialCoordinatorClient;
+import com.systematic.trading.backtest.distributed.WorkUnit;
+import com.systematic.trading.backtest.distributed.WorkUnitResult;
+import com.systematic.trading.backtest.event.universe.UniverseSummary;
+import com.systematic.trading.backtest.exception.BacktestInitialisationException;
+import com.systematic.trading.exception.ServiceException;
+
+/**
+ * Worker schedule, back testing the units handed out by the coordinator one at a time until the
+ * trial is finished, returning the final net worth of each back test.
+ * <p/>
+ * The worker generates the same configurations as the coordinator, from the same trial and launch
+ * arguments, with a unit identifying its configurations by their position.
+ * 
+ * @author CJ Hare
+ */
+public class DistributedBacktestSchedule implements BacktestSchedule {
+
+	/** Connection to the coordinator handing out the units. */
+	private final TrialCoordinatorClient coordinator;
+
+	/** Receives the final net worth of every back test run by the worker. */
+	private final UniverseSummary summary;
+
+	/** Description of the strategy, matching the summary. */
+	private final Function<BacktestBootstrapConfiguration, String> strategy;
+
+	public DistributedBacktestSchedule(
+	        final TrialCoordinatorClient coordinator,
+	        final UniverseSummary summary,
+	        final Function<BacktestBootstrapConfiguration, String> strategy ) {
+
+		this.coordinator = coordinator;
+		this.summary = summary;
+		this.strategy = strategy;
+	}
+
+	@Override
+	public void run(
+	        final List<EquityConfiguration> equities,
+	        final Function<EquityConfiguration, Spliterator<BacktestBootstrapConfiguration>> configurations,
+	        final BacktestBatch backtest ) throws ServiceException {
+
+		final Map<String, EquityConfiguration> equityBySymbol = new HashMap<>();
+		final Map<String, ConfigurationCursor<BacktestBootstrapConfiguration>> cursors = new HashMap<>();
+
+		for (final EquityConfiguration equity : equities) {
+			final String tickerSymbol = equity.equityIdentity().tickerSymbol();
+			equityBySymbol.put(tickerSymbol, equity);
+			cursors.put(
+			        tickerSymbol,
+			        new ConfigurationCursor<>(() -> Spliterators.iterator(configurations.apply(equity))));
+		}
+
+		try {
+			Optional<WorkUnit> unit = coordinator.next();
+
+			while (unit.isPresent()) {
+				final String tickerSymbol = unit.get().tickerSymbol();
+				final EquityConfiguration equity = equityBySymbol.get(tickerSymbol);
+
+				if (equity == null) {
+					throw new IllegalArgumentException(
+					        String.format("Ticker symbol %s is not in the universe of the worker", tickerSymbol));
+				}
+
+				final List<BacktestBootstrapConfiguration> batch = cursors.get(tickerSymbol)
+				        .range(unit.get().fromInclusive(), unit.get().toExclusive());
+
+				backtest.run(equity, batch);
+
+				coordinator.complete(unit.get(), results(tickerSymbol, batch));
+				unit = coordinator.next();
+			}
+
+		} catch (final IOException e) {
+			throw new BacktestInitialisationException(e);
+		}
+	}
+
+	private List<WorkUnitResult> results(
+	        final String tickerSymbol,
+	        final List<BacktestBootstrapConfiguration> batch ) {
+
+		final List<WorkUnitResult> results = new ArrayList<>(batch.size());
+
+		for (final BacktestBootstrapConfiguration configuration : batch) {
+			final String description = strategy.apply(configuration);
+			final Optional<BigDecimal> netWorth = summary.netWorth(description, tickerSymbol);
+
+			if (netWorth.isPresent()) {
+				results.add(new WorkUnitResult(description, tickerSymbol, netWorth.get()));
+			}
+		}
+
+		return results;
+	}
+}
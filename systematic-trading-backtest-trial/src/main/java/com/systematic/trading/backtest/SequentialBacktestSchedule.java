@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+
+import com.systematic.trading.backtest.configuration.BacktestBootstrapConfiguration;
+import com.systematic.trading.backtest.configuration.equity.EquityConfiguration;
+import com.systematic.trading.exception.ServiceException;
+
+/**
+ * Back tests the batches of every equity in turn, on the calling thread.
+ * 
+ * @author CJ Hare
+ */
+public class SequentialBacktestSchedule implements BacktestSchedule {
+
+	/** Maximum number of configurations back tested together. */
+	private final int batchSize;
+
+	public SequentialBacktestSchedule( final int batchSize ) {
+
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public void run(
+	        final List<EquityConfiguration> equities,
+	        final Function<EquityConfiguration, Spliterator<BacktestBootstrapConfiguration>> configurations,
+	        final BacktestBatch backtest ) throws ServiceException {
+
+		for (final EquityConfiguration equity : equities) {
+			final Iterator<BacktestBootstrapConfiguration> remaining = Spliterators
+			        .iterator(configurations.apply(equity));
+
+			while (remaining.hasNext()) {
+				final List<BacktestBootstrapConfiguration> batch = new ArrayList<>(batchSize);
+
+				while (remaining.hasNext() && batch.size() < batchSize) {
+					batch.add(remaining.next());
+				}
+
+				backtest.run(equity, batch);
+			}
+		}
+	}
+}
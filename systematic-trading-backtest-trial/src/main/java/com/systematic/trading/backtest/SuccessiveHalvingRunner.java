@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest;
+
+import java.math.MathContext;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.systematic.trading.backtest.event.universe.UniverseSummary;
+import com.systematic.trading.backtest.search.SuccessiveHalving;
+import com.systematic.trading.exception.ServiceException;
+
+/**
+ * Every configuration is back tested over the shortest period, with only the survivors of each
+ * period back tested over the next, until the last survivors are back tested over the whole trial
+ * period, with their output.
+ * <p/>
+ * The survivors are ranked on their own period, making a resumed trial meaningless.
+ * 
+ * @author CJ Hare
+ */
+public class SuccessiveHalvingRunner {
+
+	/** Classes logger. */
+	private static final Logger LOG = LogManager.getLogger(SuccessiveHalvingRunner.class);
+
+	/** Scale and precision used when ranking the configurations. */
+	private static final MathContext MATH_CONTEXT = MathContext.DECIMAL64;
+
+	/** Periods of the rungs and the survivors of each. */
+	private final SuccessiveHalving halving;
+
+	/** Back test of each rung. */
+	private final TrialStageBacktest backtest;
+
+	public SuccessiveHalvingRunner( final SuccessiveHalving halving, final TrialStageBacktest backtest ) {
+
+		this.halving = halving;
+		this.backtest = backtest;
+	}
+
+	/**
+	 * @return summary of the last survivors, back tested over the whole trial period.
+	 */
+	public UniverseSummary run( final BacktestSimulationDates simulationDates, final BacktestSchedule schedule )
+	        throws ServiceException {
+
+		final List<BacktestSimulationDates> rungs = halving.rungs(simulationDates);
+		Optional<Set<String>> candidates = Optional.empty();
+
+		for (int rung = 0; rung < rungs.size() - 1; rung++) {
+
+			// Ranking of the configurations, over the period of the rung
+			final UniverseSummary summary = new UniverseSummary(MATH_CONTEXT);
+			backtest.run(new TrialStage(rungs.get(rung), candidates, false), schedule, summary);
+
+			final Set<String> survivors = halving.survivors(summary);
+			logSearchRung(rungs.get(rung), summary.strategies().size(), survivors.size());
+			candidates = Optional.of(survivors);
+		}
+
+		final UniverseSummary summary = new UniverseSummary(MATH_CONTEXT);
+		backtest.run(new TrialStage(rungs.get(rungs.size() - 1), candidates, true), schedule, summary);
+		return summary;
+	}
+
+	private void logSearchRung( final BacktestSimulationDates rung, final int strategies, final int survivors ) {
+
+		LOG.info(
+		        "Search until {} ranked {} strategies, extending the best {} to the next period",
+		        rung.endDateExclusive(),
+		        strategies,
+		        survivors);
+	}
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest;
+
+import com.systematic.trading.backtest.cache.configuration.BacktestResultCacheConfiguration;
+import com.systematic.trading.backtest.event.channel.configuration.BacktestOutputChannelConfiguration;
+import com.systematic.trading.backtest.event.filter.configuration.BacktestOutputFilterConfiguration;
+import com.systematic.trading.backtest.metrics.configuration.BacktestMetricsConfiguration;
+import com.systematic.trading.backtest.prefetch.configuration.PricePrefetchConfiguration;
+import com.systematic.trading.backtest.progress.configuration.TrialProgressConfiguration;
+
+/**
+ * Configuration of the services shared by the back tests, read once as the trial begins rather
+ * then for each stage of the trial.
+ * 
+ * @author CJ Hare
+ */
+public class TrialConfigurations {
+
+	/** Instruments recorded for the back tests. */
+	private final BacktestMetricsConfiguration metrics;
+
+	/** Periodic reports of the progress through the trial. */
+	private final TrialProgressConfiguration progress;
+
+	/** Selection of the events given to the output. */
+	private final BacktestOutputFilterConfiguration outputFilter;
+
+	/** Hand over of the events to the output. */
+	private final BacktestOutputChannelConfiguration outputChannel;
+
+	/** Replay and storage of the back test results. */
+	private final BacktestResultCacheConfiguration resultCache;
+
+	/** Loading of the prices ahead of their back tests. */
+	private final PricePrefetchConfiguration prefetch;
+
+	public TrialConfigurations(
+	        final BacktestMetricsConfiguration metrics,
+	        final TrialProgressConfiguration progress,
+	        final BacktestOutputFilterConfiguration outputFilter,
+	        final BacktestOutputChannelConfiguration outputChannel,
+	        final BacktestResultCacheConfiguration resultCache,
+	        final PricePrefetchConfiguration prefetch ) {
+
+		this.metrics = metrics;
+		this.progress = progress;
+		this.outputFilter = outputFilter;
+		this.outputChannel = outputChannel;
+		this.resultCache = resultCache;
+		this.prefetch = prefetch;
+	}
+
+	public BacktestMetricsConfiguration metrics() {
+
+		return metrics;
+	}
+
+	public TrialProgressConfiguration progress() {
+
+		return progress;
+	}
+
+	public BacktestOutputFilterConfiguration outputFilter() {
+
+		return outputFilter;
+	}
+
+	public BacktestOutputChannelConfiguration outputChannel() {
+
+		return outputChannel;
+	}
+
+	public BacktestResultCacheConfiguration resultCache() {
+
+		return resultCache;
+	}
+
+	public PricePrefetchConfiguration prefetch() {
+
+		return prefetch;
+	}
+}
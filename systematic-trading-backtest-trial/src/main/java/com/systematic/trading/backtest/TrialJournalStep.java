@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.systematic.trading.backtest.configuration.BacktestBootstrapConfiguration;
+import com.systematic.trading.backtest.exception.BacktestInitialisationException;
+import com.systematic.trading.backtest.journal.JournalledBatch;
+import com.systematic.trading.backtest.journal.TrialJournal;
+
+/**
+ * Journal of the trial, when it has one, recording the completed batches and on resume skipping the
+ * back tests an interrupted run completed.
+ * 
+ * @author CJ Hare
+ */
+public class TrialJournalStep {
+
+	/** Classes logger. */
+	private static final Logger LOG = LogManager.getLogger(TrialJournalStep.class);
+
+	/** Durable record of the completed back tests, when the trial is journalled. */
+	private final Optional<TrialJournal> journal;
+
+	/** Back tests completed by the interrupted run being resumed. */
+	private final Set<String> completed;
+
+	/**
+	 * @param journal
+	 *            the trial journal, when the trial is journalled.
+	 * @param resume
+	 *            <code>true</code> to continue an interrupted run, <code>false</code> to start afresh.
+	 * @throws BacktestInitialisationException
+	 *             problem encountered opening the journal.
+	 */
+	public TrialJournalStep( final Optional<TrialJournal> journal, final boolean resume )
+	        throws BacktestInitialisationException {
+
+		this.journal = journal;
+		this.completed = journal.isPresent() ? open(journal.get(), resume) : Collections.emptySet();
+	}
+
+	/**
+	 * @return <code>true</code> when back tests of an interrupted run are being skipped.
+	 */
+	public boolean isResuming() {
+
+		return !completed.isEmpty();
+	}
+
+	/**
+	 * @return identifiers of the back tests completed by the interrupted run.
+	 */
+	public Set<String> completed() {
+
+		return completed;
+	}
+
+	/**
+	 * Removes the back tests the interrupted run completed, keeping their output.
+	 * 
+	 * @param candidates
+	 *            configurations of the back tests to run.
+	 * @param batchId
+	 *            identity of the back test of a configuration.
+	 * @return the candidates yet to be completed.
+	 */
+	public Stream<BacktestBootstrapConfiguration> pending(
+	        final Stream<BacktestBootstrapConfiguration> candidates,
+	        final Function<BacktestBootstrapConfiguration, String> batchId ) {
+
+		return isResuming() ? candidates.filter(candidate -> !completed.contains(batchId.apply(candidate)))
+		        : candidates;
+	}
+
+	/**
+	 * @param batchIds
+	 *            identifiers of the back tests being run together.
+	 * @return batch to record once the output of its back tests is durable, when the trial is
+	 *         journalled.
+	 */
+	public Optional<JournalledBatch> batch( final List<String> batchIds ) {
+
+		return journal.map(entries -> new JournalledBatch(entries, batchIds));
+	}
+
+	/**
+	 * Closes the journal, once every batch that is going to be recorded has been.
+	 */
+	public void close() {
+
+		if (journal.isPresent()) {
+			try {
+				journal.get().close();
+			} catch (final IOException e) {
+				LOG.warn("Failed to close the trial journal", e);
+			}
+		}
+	}
+
+	private Set<String> open( final TrialJournal journal, final boolean resume )
+	        throws BacktestInitialisationException {
+
+		try {
+			return journal.open(resume);
+		} catch (final IOException e) {
+			throw new BacktestInitialisationException(e);
+		}
+	}
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Period and strategy configurations of the trial that are back tested together, with output only
+ * when their results are those of the trial.
+ * 
+ * @author CJ Hare
+ */
+public class TrialStage {
+
+	/** Period every configuration of the stage is back tested over. */
+	private final BacktestSimulationDates dates;
+
+	/** Descriptions of the strategies back tested, empty for every strategy. */
+	private final Optional<Set<String>> candidates;
+
+	/** Whether the back tests are given to the output, or only summarised. */
+	private final boolean isOutput;
+
+	/**
+	 * Every strategy configuration, with output.
+	 */
+	public TrialStage( final BacktestSimulationDates dates ) {
+
+		this(dates, Optional.empty(), true);
+	}
+
+	public TrialStage(
+	        final BacktestSimulationDates dates,
+	        final Optional<Set<String>> candidates,
+	        final boolean isOutput ) {
+
+		this.dates = dates;
+		this.candidates = candidates;
+		this.isOutput = isOutput;
+	}
+
+	public BacktestSimulationDates dates() {
+
+		return dates;
+	}
+
+	/**
+	 * @return <code>true</code> when only some of the strategies are back tested.
+	 */
+	public boolean isNarrowed() {
+
+		return candidates.isPresent();
+	}
+
+	public boolean isCandidate( final String strategy ) {
+
+		return !candidates.isPresent() || candidates.get().contains(strategy);
+	}
+
+	public boolean isOutput() {
+
+		return isOutput;
+	}
+}
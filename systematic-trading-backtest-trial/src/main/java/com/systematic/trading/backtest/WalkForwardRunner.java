@@ -0,0 +1,269 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest;
+
+import java.io.IOException;
+import java.math.MathContext;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.systematic.trading.backtest.cache.BacktestResultCacheMode;
+import com.systematic.trading.backtest.configuration.BacktestBootstrapConfiguration;
+import com.systematic.trading.backtest.configuration.equity.EquityConfiguration;
+import com.systematic.trading.backtest.event.SilentBacktestEventLisener;
+import com.systematic.trading.backtest.event.universe.UniverseSummary;
+import com.systematic.trading.backtest.event.universe.UniverseSummary.StrategySummary;
+import com.systematic.trading.backtest.event.universe.UniverseSummaryBacktestEventListener;
+import com.systematic.trading.backtest.exception.BacktestInitialisationException;
+import com.systematic.trading.backtest.input.OutputType;
+import com.systematic.trading.backtest.metrics.TrialMetrics;
+import com.systematic.trading.backtest.progress.TrialProgress;
+import com.systematic.trading.backtest.progress.TrialProgressReporter;
+import com.systematic.trading.backtest.progress.configuration.TrialProgressConfiguration;
+import com.systematic.trading.backtest.walkforward.WalkForwardBacktest;
+import com.systematic.trading.data.DataService;
+import com.systematic.trading.data.DataServiceUpdater;
+import com.systematic.trading.data.util.HibernateUtil;
+import com.systematic.trading.exception.ServiceException;
+import com.systematic.trading.input.BacktestLaunchArguments;
+
+/**
+ * Every configuration is back tested over each of the rolling windows, with the windows of an
+ * equity back tested concurrently and only the net worth of each window summarised.
+ * <p/>
+ * The windows have no output of their own, nor any use of the result cache or journal, so
+ * launching with either is rejected rather then ignored.
+ * 
+ * @author CJ Hare
+ */
+public class WalkForwardRunner {
+
+	/** Classes logger. */
+	private static final Logger LOG = LogManager.getLogger(WalkForwardRunner.class);
+
+	/** Scale and precision used when summarising the windows. */
+	private static final MathContext MATH_CONTEXT = MathContext.DECIMAL64;
+
+	/** Local source of the trading prices. */
+	private final DataService dataService;
+
+	/** Ensures all the necessary trading data get retrieved into the local source. */
+	private final DataServiceUpdater dataServiceUpdater;
+
+	/** Services shared by the back tests of the trial. */
+	private final TrialConfigurations trialConfigurations;
+
+	/** Each equity in turn, as the windows of an equity already occupy the pool. */
+	private final BacktestSchedule schedule;
+
+	/** Description of the strategy, matching the summary. */
+	private final Function<BacktestBootstrapConfiguration, String> strategy;
+
+	/** Identity of the back test, for the metrics. */
+	private final Function<BacktestBootstrapConfiguration, String> batchId;
+
+	public WalkForwardRunner(
+	        final DataService dataService,
+	        final DataServiceUpdater dataServiceUpdater,
+	        final TrialConfigurations trialConfigurations,
+	        final BacktestSchedule schedule,
+	        final Function<BacktestBootstrapConfiguration, String> strategy,
+	        final Function<BacktestBootstrapConfiguration, String> batchId ) {
+
+		this.dataService = dataService;
+		this.dataServiceUpdater = dataServiceUpdater;
+		this.trialConfigurations = trialConfigurations;
+		this.schedule = schedule;
+		this.strategy = strategy;
+		this.batchId = batchId;
+	}
+
+	/**
+	 * @param windows
+	 *            periods each configuration is back tested over, in order of their start.
+	 */
+	public void run(
+	        final BacktestLaunchArguments arguments,
+	        final List<EquityConfiguration> equities,
+	        final Function<EquityConfiguration, Spliterator<BacktestBootstrapConfiguration>> configurations,
+	        final List<BacktestSimulationDates> windows ) throws ServiceException {
+
+		if (arguments.outputType() != OutputType.NO_DISPLAY) {
+			throw new IllegalArgumentException(
+			        String.format("Output Type unsupported by walk forward: %s", arguments.outputType()));
+		}
+		if (arguments.isResume()) {
+			throw new IllegalArgumentException("Resume unsupported by walk forward");
+		}
+
+		final BacktestResultCacheMode resultCacheMode = trialConfigurations.resultCache().mode();
+		if (resultCacheMode != BacktestResultCacheMode.DISABLED) {
+			throw new IllegalArgumentException(
+			        String.format("Result cache mode unsupported by walk forward: %s", resultCacheMode));
+		}
+
+		logWalkForward(windows);
+
+		// Instruments are retrieved as the back tests are created, the metrics must already be registered
+		final TrialMetrics metrics = metrics();
+
+		// Every window of a configuration counts as a back test
+		final TrialProgress progress = new TrialProgress();
+		final TrialProgressConfiguration progressConfiguration = trialConfigurations.progress();
+		final Optional<TrialProgressReporter> progressReporter = progressConfiguration.isEnabled()
+		        ? Optional.of(new TrialProgressReporter(progress, () -> 0, progressConfiguration.statusFile()))
+		        : Optional.empty();
+
+		// Windows take the place of the ticker symbols, giving the spread of each strategy across them
+		final UniverseSummary summary = new UniverseSummary(MATH_CONTEXT);
+
+		// Windows of an equity share the retrieved prices and signals, while running concurrently
+		final ExecutorService windowPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		final WalkForwardBacktest walkForward = new WalkForwardBacktest(dataService, dataServiceUpdater, windowPool);
+
+		final LongAdder backtests = new LongAdder();
+		final BacktestBatch backtest = ( equity, batch ) -> {
+			final long tradingDays = walkForward.run(
+			        equity,
+			        windows,
+			        batch,
+			        ( backtestConfiguration, window ) -> metrics.meter(
+			                new UniverseSummaryBacktestEventListener(
+			                        new SilentBacktestEventLisener(),
+			                        summary,
+			                        strategy.apply(backtestConfiguration),
+			                        window(equity, window)),
+			                String.format(
+			                        "%s %s",
+			                        batchId.apply(backtestConfiguration),
+			                        window.startDateInclusive())));
+
+			final long windowBacktests = (long) batch.size() * windows.size();
+			backtests.add(windowBacktests);
+			progress.completed(windowBacktests, tradingDays);
+		};
+
+		progressReporter.ifPresent(
+		        reporter -> reporter.start(
+		                () -> count(equities, configurations) * windows.size(),
+		                progressConfiguration.interval()));
+
+		final StopWatch timer = new StopWatch();
+		timer.start();
+
+		try {
+			schedule.run(equities, configurations, backtest);
+		} finally {
+			windowPool.shutdownNow();
+			HibernateUtil.close();
+			progressReporter.ifPresent(TrialProgressReporter::close);
+			close(metrics);
+		}
+
+		timer.stop();
+
+		logBacktestComplete(backtests.sum(), timer);
+		logWalkForwardSummary(summary);
+	}
+
+	/**
+	 * Summary identity of a window, taking the place of the ticker symbol.
+	 */
+	private String window( final EquityConfiguration equity, final BacktestSimulationDates window ) {
+
+		return String.format("%s %s", equity.equityIdentity().tickerSymbol(), window.startDateInclusive());
+	}
+
+	private long count(
+	        final List<EquityConfiguration> equities,
+	        final Function<EquityConfiguration, Spliterator<BacktestBootstrapConfiguration>> configurations ) {
+
+		return equities.stream().mapToLong(equity -> StreamSupport.stream(configurations.apply(equity), false).count())
+		        .sum();
+	}
+
+	private TrialMetrics metrics() throws ServiceException {
+
+		try {
+			return new TrialMetrics(trialConfigurations.metrics());
+		} catch (final IOException e) {
+			throw new BacktestInitialisationException(e);
+		}
+	}
+
+	private void close( final TrialMetrics metrics ) {
+
+		try {
+			metrics.close();
+		} catch (final IOException e) {
+			LOG.warn("Failed to export the trial metrics", e);
+		}
+	}
+
+	private void logWalkForward( final List<BacktestSimulationDates> windows ) {
+
+		LOG.info(
+		        "Walk forward over {} windows, from {} to {}",
+		        windows.size(),
+		        windows.get(0).startDateInclusive(),
+		        windows.get(windows.size() - 1).endDateExclusive());
+	}
+
+	private void logBacktestComplete( final long backtests, final StopWatch timer ) {
+
+		LOG.info(
+		        () -> String.format(
+		                "Finished outputting %s results, time taken: %s",
+		                backtests,
+		                Duration.ofMillis(timer.getTime())));
+	}
+
+	private void logWalkForwardSummary( final UniverseSummary summary ) {
+
+		for (final StrategySummary strategySummary : summary.strategies()) {
+			LOG.info(
+			        "Walk forward of {} windows, mean net worth: {}, best: {} {}, worst: {} {}, for: {}",
+			        strategySummary.tickerSymbols(),
+			        strategySummary.meanNetWorth(),
+			        strategySummary.bestTickerSymbol(),
+			        strategySummary.netWorths().get(strategySummary.bestTickerSymbol()),
+			        strategySummary.worstTickerSymbol(),
+			        strategySummary.netWorths().get(strategySummary.worstTickerSymbol()),
+			        strategySummary.strategy());
+		}
+	}
+}
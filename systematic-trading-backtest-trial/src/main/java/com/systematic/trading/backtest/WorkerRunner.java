@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest;
+
+import java.io.IOException;
+import java.math.MathContext;
+import java.util.function.Function;
+
+import com.systematic.trading.backtest.configuration.BacktestBootstrapConfiguration;
+import com.systematic.trading.backtest.distributed.TrialCoordinatorClient;
+import com.systematic.trading.backtest.event.universe.UniverseSummary;
+import com.systematic.trading.backtest.exception.BacktestInitialisationException;
+import com.systematic.trading.backtest.input.OutputType;
+import com.systematic.trading.backtest.input.TrialDistribution;
+import com.systematic.trading.exception.ServiceException;
+import com.systematic.trading.input.BacktestLaunchArguments;
+
+/**
+ * Back tests the work units handed out by the coordinator, until the trial is finished.
+ * <p/>
+ * Workers share the output directory, so only the output of the back tests they run is cleared.
+ * Elastic Search needs the mappings of every back test put in place before the trial, which no
+ * single worker is able to do.
+ * 
+ * @author CJ Hare
+ */
+public class WorkerRunner {
+
+	/** Scale and precision used when summarising the back tests. */
+	private static final MathContext MATH_CONTEXT = MathContext.DECIMAL64;
+
+	/** Address of the coordinator. */
+	private final TrialDistribution distribution;
+
+	/** Description of the strategy, matching the summary. */
+	private final Function<BacktestBootstrapConfiguration, String> strategy;
+
+	/** Back test of the units, sharing the output with the other workers. */
+	private final TrialStageBacktest backtest;
+
+	public WorkerRunner(
+	        final TrialDistribution distribution,
+	        final Function<BacktestBootstrapConfiguration, String> strategy,
+	        final TrialStageBacktest backtest ) {
+
+		this.distribution = distribution;
+		this.strategy = strategy;
+		this.backtest = backtest;
+	}
+
+	public void run( final BacktestLaunchArguments arguments ) throws ServiceException {
+
+		if (arguments.outputType() == OutputType.ELASTIC_SEARCH) {
+			throw new IllegalArgumentException(
+			        String.format("Output Type unsupported by trial workers: %s", OutputType.ELASTIC_SEARCH));
+		}
+
+		// Final net worth of the back tests, returned to the coordinator
+		final UniverseSummary summary = new UniverseSummary(MATH_CONTEXT);
+
+		try (final TrialCoordinatorClient coordinator = new TrialCoordinatorClient(
+		        distribution.host(),
+		        distribution.port())) {
+			backtest.run(
+			        new TrialStage(
+			                new BacktestSimulationDates(arguments.startDateInclusive(), arguments.endDateExclusive())),
+			        new DistributedBacktestSchedule(coordinator, summary, strategy),
+			        summary);
+		} catch (final IOException e) {
+			throw new BacktestInitialisationException(e);
+		}
+	}
+}
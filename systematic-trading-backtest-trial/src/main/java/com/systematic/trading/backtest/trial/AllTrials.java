@@ -25,9 +25,11 @@
  */
 package com.systematic.trading.backtest.trial;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.tuple.Pair;
 
@@ -38,6 +40,7 @@ import com.systematic.trading.backtest.configuration.cash.CashAccountConfigurati
 import com.systematic.trading.backtest.configuration.equity.EquityConfiguration;
 import com.systematic.trading.backtest.configuration.strategy.StrategyConfiguration;
 import com.systematic.trading.backtest.configuration.strategy.StrategyConfigurationFactory;
+import com.systematic.trading.backtest.configuration.strategy.confirmation.ConfirmaByConfiguration;
 import com.systematic.trading.backtest.configuration.strategy.entry.EntryConfiguration;
 import com.systematic.trading.backtest.configuration.strategy.entry.size.EntrySizeConfiguration;
 import com.systematic.trading.backtest.configuration.strategy.exit.ExitConfiguration;
@@ -49,18 +52,30 @@ import com.systematic.trading.backtest.configuration.strategy.indicator.RsiConfi
 import com.systematic.trading.backtest.configuration.strategy.indicator.SmaUptrendConfiguration;
 import com.systematic.trading.backtest.configuration.strategy.operator.OperatorConfiguration;
 import com.systematic.trading.backtest.configuration.strategy.periodic.PeriodicConfiguration;
+import com.systematic.trading.backtest.configuration.sweep.ConfigurationSweep;
+import com.systematic.trading.backtest.configuration.sweep.SweepIndex;
 import com.systematic.trading.backtest.trade.MaximumTrade;
 import com.systematic.trading.backtest.trade.MinimumTrade;
 import com.systematic.trading.simulation.brokerage.fee.BrokerageTransactionFeeStructure;
 
 /**
  * Executes all trials, allowing different configuration for the trade sizes.
+ * <p/>
+ * The configurations are swept lazily, each generated from its position in the sweep only when
+ * consumed, as the combinations of indicators and trade sizes quickly grow large.
  * 
  * @author CJ Hare
  */
 public abstract class AllTrials extends BaseTrial implements BacktestConfiguration {
 
+	private static final MacdConfiguration[] MACD = MacdConfiguration.values();
+	private static final RsiConfiguration[] RSI = RsiConfiguration.values();
+	private static final SmaUptrendConfiguration[] SMA = SmaUptrendConfiguration.values();
+	private static final EmaUptrendConfiguration[] EMA = EmaUptrendConfiguration.values();
+	private static final ConfirmaByConfiguration[] CONFIRM_BY = ConfirmaByConfiguration.values();
+
 	private final IndicatorConfigurationTranslator converter = new IndicatorConfigurationTranslator();
+	private final StrategyConfigurationFactory factory = new StrategyConfigurationFactory();
 	private final BrokerageTransactionFeeStructure brokerage;
 	private final Set<Pair<MinimumTrade, MaximumTrade>> tradeSizes;
 
@@ -78,252 +93,209 @@ public abstract class AllTrials extends BaseTrial implements BacktestConfigurati
 	        final BacktestSimulationDates simulationDates,
 	        final CashAccountConfiguration cashAccount ) {
 
-		final List<BacktestBootstrapConfiguration> configurations = new ArrayList<>();
+		return stream(equity, simulationDates, cashAccount).collect(Collectors.toList());
+	}
+
+	@Override
+	public Stream<BacktestBootstrapConfiguration> stream(
+	        final EquityConfiguration equity,
+	        final BacktestSimulationDates simulationDates,
+	        final CashAccountConfiguration cashAccount ) {
+
+		final ConfigurationSweep<BacktestBootstrapConfiguration> sweep = new ConfigurationSweep<>();
 
 		// Date based buying
-		configurations.add(periodic(equity, simulationDates, cashAccount, brokerage, PeriodicConfiguration.WEEKLY));
-		configurations.add(periodic(equity, simulationDates, cashAccount, brokerage, PeriodicConfiguration.MONTHLY));
+		sweep.add(1, index -> periodic(equity, simulationDates, cashAccount, brokerage, PeriodicConfiguration.WEEKLY));
+		sweep.add(1, index -> periodic(equity, simulationDates, cashAccount, brokerage, PeriodicConfiguration.MONTHLY));
 
 		for (final Pair<MinimumTrade, MaximumTrade> tradeSize : tradeSizes) {
 			final MinimumTrade minimumTrade = tradeSize.getLeft();
 			final MaximumTrade maximumTrade = tradeSize.getRight();
+			final Function<EntryConfiguration, BacktestBootstrapConfiguration> signal = entry -> signal(
+			        equity,
+			        simulationDates,
+			        cashAccount,
+			        minimumTrade,
+			        maximumTrade,
+			        entry);
 
 			// Signal based buying
-			configurations.addAll(
-			        macdConfirmedByRsi(equity, simulationDates, cashAccount, brokerage, minimumTrade, maximumTrade));
-			configurations.addAll(
-			        sameDayMacdRsi(equity, simulationDates, cashAccount, brokerage, minimumTrade, maximumTrade));
-			configurations
-			        .addAll(emaUptrends(equity, simulationDates, cashAccount, brokerage, minimumTrade, maximumTrade));
-			configurations.addAll(macd(equity, simulationDates, cashAccount, brokerage, minimumTrade, maximumTrade));
-			configurations
-			        .addAll(sameDayEmaRsi(equity, simulationDates, cashAccount, brokerage, minimumTrade, maximumTrade));
-			configurations.addAll(
-			        sameDayMacdSmaRsi(equity, simulationDates, cashAccount, brokerage, minimumTrade, maximumTrade));
-			configurations.addAll(
-			        sameDayMacdEmaRsi(equity, simulationDates, cashAccount, brokerage, minimumTrade, maximumTrade));
-			configurations.addAll(
-			        sameDayMacdSma(equity, simulationDates, cashAccount, brokerage, minimumTrade, maximumTrade));
-			configurations
-			        .addAll(sameDaySmaRsi(equity, simulationDates, cashAccount, brokerage, minimumTrade, maximumTrade));
-			configurations
-			        .addAll(smaUptrends(equity, simulationDates, cashAccount, brokerage, minimumTrade, maximumTrade));
-			configurations.addAll(
-			        smaOrEmaUptrends(equity, simulationDates, cashAccount, brokerage, minimumTrade, maximumTrade));
+			macdConfirmedByRsi(sweep, signal);
+			sameDayMacdRsi(sweep, signal);
+			emaUptrends(sweep, signal);
+			macd(sweep, signal);
+			sameDayEmaRsi(sweep, signal);
+			sameDayMacdSmaRsi(sweep, signal);
+			sameDayMacdEmaRsi(sweep, signal);
+			sameDayMacdSma(sweep, signal);
+			sameDaySmaRsi(sweep, signal);
+			smaUptrends(sweep, signal);
+			smaOrEmaUptrends(sweep, signal);
 		}
 
-		return configurations;
+		return sweep.stream();
 	}
 
-	private List<BacktestBootstrapConfiguration> sameDayMacdRsi(
-	        final EquityConfiguration equity,
-	        final BacktestSimulationDates simulationDates,
-	        final CashAccountConfiguration cashAccount,
-	        final BrokerageTransactionFeeStructure brokerage,
-	        final MinimumTrade minimumTrade,
-	        final MaximumTrade maximumTrade ) {
-
-		final StrategyConfigurationFactory factory = new StrategyConfigurationFactory();
-		final List<BacktestBootstrapConfiguration> configurations = new ArrayList<>(
-		        MacdConfiguration.values().length * RsiConfiguration.values().length);
-
-		for (final MacdConfiguration macdConfiguration : MacdConfiguration.values()) {
-			for (final RsiConfiguration rsiConfiguration : RsiConfiguration.values()) {
-
-				final EntryConfiguration entry = factory.entry(
-				        factory.entry(converter.translate(macdConfiguration)),
-				        OperatorConfiguration.Selection.AND,
-				        factory.entry(converter.translate(rsiConfiguration)));
-				final EntrySizeConfiguration entryPositionSizing = new EntrySizeConfiguration(
-				        minimumTrade,
-				        maximumTrade);
-				final ExitConfiguration exit = factory.exit();
-				final ExitSizeConfiguration exitPositionSizing = new ExitSizeConfiguration();
-				final StrategyConfiguration strategy = factory
-				        .strategy(entry, entryPositionSizing, exit, exitPositionSizing);
-				configurations.add(configuration(equity, simulationDates, cashAccount, brokerage, strategy));
-			}
-		}
+	private void macdConfirmedByRsi(
+	        final ConfigurationSweep<BacktestBootstrapConfiguration> sweep,
+	        final Function<EntryConfiguration, BacktestBootstrapConfiguration> signal ) {
 
-		return configurations;
+		final SweepIndex dimensions = new SweepIndex(MACD.length, RSI.length, CONFIRM_BY.length);
+
+		sweep.add(
+		        dimensions.size(),
+		        index -> signal.apply(
+		                factory.entry(
+		                        factory.entry(converter.translate(MACD[dimensions.coordinate(index, 0)])),
+		                        CONFIRM_BY[dimensions.coordinate(index, 2)],
+		                        factory.entry(converter.translate(RSI[dimensions.coordinate(index, 1)])))));
 	}
 
-	private List<BacktestBootstrapConfiguration> sameDayMacdSmaRsi(
-	        final EquityConfiguration equity,
-	        final BacktestSimulationDates simulationDates,
-	        final CashAccountConfiguration cashAccount,
-	        final BrokerageTransactionFeeStructure brokerage,
-	        final MinimumTrade minimumTrade,
-	        final MaximumTrade maximumTrade ) {
-
-		final StrategyConfigurationFactory factory = new StrategyConfigurationFactory();
-		final List<BacktestBootstrapConfiguration> configurations = new ArrayList<>(
-		        MacdConfiguration.values().length * SmaUptrendConfiguration.values().length
-		                * RsiConfiguration.values().length);
-
-		for (final MacdConfiguration macdConfiguration : MacdConfiguration.values()) {
-			for (final SmaUptrendConfiguration smaConfiguration : SmaUptrendConfiguration.values()) {
-				for (final RsiConfiguration rsiConfiguration : RsiConfiguration.values()) {
-
-					final EntryConfiguration entry = factory.entry(
-					        factory.entry(
-					                factory.entry(converter.translate(macdConfiguration)),
-					                OperatorConfiguration.Selection.AND,
-					                factory.entry(converter.translate(smaConfiguration))),
-					        OperatorConfiguration.Selection.AND,
-					        factory.entry(converter.translate(rsiConfiguration)));
-
-					final EntrySizeConfiguration entryPositionSizing = new EntrySizeConfiguration(
-					        minimumTrade,
-					        maximumTrade);
-					final ExitConfiguration exit = factory.exit();
-					final ExitSizeConfiguration exitPositionSizing = new ExitSizeConfiguration();
-					final StrategyConfiguration strategy = factory
-					        .strategy(entry, entryPositionSizing, exit, exitPositionSizing);
-					configurations.add(configuration(equity, simulationDates, cashAccount, brokerage, strategy));
-				}
-			}
-		}
+	private void sameDayMacdRsi(
+	        final ConfigurationSweep<BacktestBootstrapConfiguration> sweep,
+	        final Function<EntryConfiguration, BacktestBootstrapConfiguration> signal ) {
+
+		final SweepIndex dimensions = new SweepIndex(MACD.length, RSI.length);
 
-		return configurations;
+		sweep.add(
+		        dimensions.size(),
+		        index -> signal.apply(
+		                factory.entry(
+		                        factory.entry(converter.translate(MACD[dimensions.coordinate(index, 0)])),
+		                        OperatorConfiguration.Selection.AND,
+		                        factory.entry(converter.translate(RSI[dimensions.coordinate(index, 1)])))));
 	}
 
-	private List<BacktestBootstrapConfiguration> sameDayMacdEmaRsi(
-	        final EquityConfiguration equity,
-	        final BacktestSimulationDates simulationDates,
-	        final CashAccountConfiguration cashAccount,
-	        final BrokerageTransactionFeeStructure brokerage,
-	        final MinimumTrade minimumTrade,
-	        final MaximumTrade maximumTrade ) {
-
-		final StrategyConfigurationFactory factory = new StrategyConfigurationFactory();
-		final List<BacktestBootstrapConfiguration> configurations = new ArrayList<>(
-		        MacdConfiguration.values().length * SmaUptrendConfiguration.values().length
-		                * RsiConfiguration.values().length);
-
-		for (final MacdConfiguration macdConfiguration : MacdConfiguration.values()) {
-			for (final EmaUptrendConfiguration emaConfiguration : EmaUptrendConfiguration.values()) {
-				for (final RsiConfiguration rsiConfiguration : RsiConfiguration.values()) {
-
-					final EntryConfiguration entry = factory.entry(
-					        factory.entry(
-					                factory.entry(converter.translate(macdConfiguration)),
-					                OperatorConfiguration.Selection.AND,
-					                factory.entry(converter.translate(emaConfiguration))),
-					        OperatorConfiguration.Selection.AND,
-					        factory.entry(converter.translate(rsiConfiguration)));
-
-					final EntrySizeConfiguration entryPositionSizing = new EntrySizeConfiguration(
-					        minimumTrade,
-					        maximumTrade);
-					final ExitConfiguration exit = factory.exit();
-					final ExitSizeConfiguration exitPositionSizing = new ExitSizeConfiguration();
-					final StrategyConfiguration strategy = factory
-					        .strategy(entry, entryPositionSizing, exit, exitPositionSizing);
-					configurations.add(configuration(equity, simulationDates, cashAccount, brokerage, strategy));
-				}
-			}
-		}
+	private void emaUptrends(
+	        final ConfigurationSweep<BacktestBootstrapConfiguration> sweep,
+	        final Function<EntryConfiguration, BacktestBootstrapConfiguration> signal ) {
 
-		return configurations;
+		sweep.add(EMA.length, index -> signal.apply(factory.entry(converter.translate(EMA[(int) index]))));
 	}
 
-	private List<BacktestBootstrapConfiguration> sameDayMacdSma(
-	        final EquityConfiguration equity,
-	        final BacktestSimulationDates simulationDates,
-	        final CashAccountConfiguration cashAccount,
-	        final BrokerageTransactionFeeStructure brokerage,
-	        final MinimumTrade minimumTrade,
-	        final MaximumTrade maximumTrade ) {
-
-		final StrategyConfigurationFactory factory = new StrategyConfigurationFactory();
-		final List<BacktestBootstrapConfiguration> configurations = new ArrayList<>(
-		        MacdConfiguration.values().length * SmaUptrendConfiguration.values().length);
-
-		for (final MacdConfiguration macdConfiguration : MacdConfiguration.values()) {
-			for (final SmaUptrendConfiguration smaConfiguration : SmaUptrendConfiguration.values()) {
-
-				final EntryConfiguration entry = factory.entry(
-				        factory.entry(converter.translate(macdConfiguration)),
-				        OperatorConfiguration.Selection.AND,
-				        factory.entry(converter.translate(smaConfiguration)));
-				final EntrySizeConfiguration entryPositionSizing = new EntrySizeConfiguration(
-				        minimumTrade,
-				        maximumTrade);
-				final ExitConfiguration exit = factory.exit();
-				final ExitSizeConfiguration exitPositionSizing = new ExitSizeConfiguration();
-				final StrategyConfiguration strategy = factory
-				        .strategy(entry, entryPositionSizing, exit, exitPositionSizing);
-				configurations.add(configuration(equity, simulationDates, cashAccount, brokerage, strategy));
-			}
-		}
+	private void macd(
+	        final ConfigurationSweep<BacktestBootstrapConfiguration> sweep,
+	        final Function<EntryConfiguration, BacktestBootstrapConfiguration> signal ) {
 
-		return configurations;
+		sweep.add(MACD.length, index -> signal.apply(factory.entry(converter.translate(MACD[(int) index]))));
 	}
 
-	private List<BacktestBootstrapConfiguration> sameDaySmaRsi(
-	        final EquityConfiguration equity,
-	        final BacktestSimulationDates simulationDates,
-	        final CashAccountConfiguration cashAccount,
-	        final BrokerageTransactionFeeStructure brokerage,
-	        final MinimumTrade minimumTrade,
-	        final MaximumTrade maximumTrade ) {
-
-		final StrategyConfigurationFactory factory = new StrategyConfigurationFactory();
-		final List<BacktestBootstrapConfiguration> configurations = new ArrayList<>(
-		        SmaUptrendConfiguration.values().length * RsiConfiguration.values().length);
-
-		for (final SmaUptrendConfiguration smaConfiguration : SmaUptrendConfiguration.values()) {
-			for (final RsiConfiguration rsiConfiguration : RsiConfiguration.values()) {
-
-				final EntryConfiguration entry = factory.entry(
-				        factory.entry(converter.translate(smaConfiguration)),
-				        OperatorConfiguration.Selection.AND,
-				        factory.entry(converter.translate(rsiConfiguration)));
-				final EntrySizeConfiguration entryPositionSizing = new EntrySizeConfiguration(
-				        minimumTrade,
-				        maximumTrade);
-				final ExitConfiguration exit = factory.exit();
-				final ExitSizeConfiguration exitPositionSizing = new ExitSizeConfiguration();
-				final StrategyConfiguration strategy = factory
-				        .strategy(entry, entryPositionSizing, exit, exitPositionSizing);
-				configurations.add(configuration(equity, simulationDates, cashAccount, brokerage, strategy));
-			}
-		}
+	private void sameDayEmaRsi(
+	        final ConfigurationSweep<BacktestBootstrapConfiguration> sweep,
+	        final Function<EntryConfiguration, BacktestBootstrapConfiguration> signal ) {
 
-		return configurations;
+		final SweepIndex dimensions = new SweepIndex(EMA.length, RSI.length);
+
+		sweep.add(
+		        dimensions.size(),
+		        index -> signal.apply(
+		                factory.entry(
+		                        factory.entry(converter.translate(EMA[dimensions.coordinate(index, 0)])),
+		                        OperatorConfiguration.Selection.AND,
+		                        factory.entry(converter.translate(RSI[dimensions.coordinate(index, 1)])))));
+	}
+
+	private void sameDayMacdSmaRsi(
+	        final ConfigurationSweep<BacktestBootstrapConfiguration> sweep,
+	        final Function<EntryConfiguration, BacktestBootstrapConfiguration> signal ) {
+
+		final SweepIndex dimensions = new SweepIndex(MACD.length, SMA.length, RSI.length);
+
+		sweep.add(
+		        dimensions.size(),
+		        index -> signal.apply(
+		                factory.entry(
+		                        factory.entry(
+		                                factory.entry(converter.translate(MACD[dimensions.coordinate(index, 0)])),
+		                                OperatorConfiguration.Selection.AND,
+		                                factory.entry(converter.translate(SMA[dimensions.coordinate(index, 1)]))),
+		                        OperatorConfiguration.Selection.AND,
+		                        factory.entry(converter.translate(RSI[dimensions.coordinate(index, 2)])))));
+	}
+
+	private void sameDayMacdEmaRsi(
+	        final ConfigurationSweep<BacktestBootstrapConfiguration> sweep,
+	        final Function<EntryConfiguration, BacktestBootstrapConfiguration> signal ) {
+
+		final SweepIndex dimensions = new SweepIndex(MACD.length, EMA.length, RSI.length);
+
+		sweep.add(
+		        dimensions.size(),
+		        index -> signal.apply(
+		                factory.entry(
+		                        factory.entry(
+		                                factory.entry(converter.translate(MACD[dimensions.coordinate(index, 0)])),
+		                                OperatorConfiguration.Selection.AND,
+		                                factory.entry(converter.translate(EMA[dimensions.coordinate(index, 1)]))),
+		                        OperatorConfiguration.Selection.AND,
+		                        factory.entry(converter.translate(RSI[dimensions.coordinate(index, 2)])))));
 	}
 
-	private List<BacktestBootstrapConfiguration> sameDayEmaRsi(
+	private void sameDayMacdSma(
+	        final ConfigurationSweep<BacktestBootstrapConfiguration> sweep,
+	        final Function<EntryConfiguration, BacktestBootstrapConfiguration> signal ) {
+
+		final SweepIndex dimensions = new SweepIndex(MACD.length, SMA.length);
+
+		sweep.add(
+		        dimensions.size(),
+		        index -> signal.apply(
+		                factory.entry(
+		                        factory.entry(converter.translate(MACD[dimensions.coordinate(index, 0)])),
+		                        OperatorConfiguration.Selection.AND,
+		                        factory.entry(converter.translate(SMA[dimensions.coordinate(index, 1)])))));
+	}
+
+	private void sameDaySmaRsi(
+	        final ConfigurationSweep<BacktestBootstrapConfiguration> sweep,
+	        final Function<EntryConfiguration, BacktestBootstrapConfiguration> signal ) {
+
+		final SweepIndex dimensions = new SweepIndex(SMA.length, RSI.length);
+
+		sweep.add(
+		        dimensions.size(),
+		        index -> signal.apply(
+		                factory.entry(
+		                        factory.entry(converter.translate(SMA[dimensions.coordinate(index, 0)])),
+		                        OperatorConfiguration.Selection.AND,
+		                        factory.entry(converter.translate(RSI[dimensions.coordinate(index, 1)])))));
+	}
+
+	private void smaUptrends(
+	        final ConfigurationSweep<BacktestBootstrapConfiguration> sweep,
+	        final Function<EntryConfiguration, BacktestBootstrapConfiguration> signal ) {
+
+		sweep.add(SMA.length, index -> signal.apply(factory.entry(converter.translate(SMA[(int) index]))));
+	}
+
+	private void smaOrEmaUptrends(
+	        final ConfigurationSweep<BacktestBootstrapConfiguration> sweep,
+	        final Function<EntryConfiguration, BacktestBootstrapConfiguration> signal ) {
+
+		final SweepIndex dimensions = new SweepIndex(EMA.length, SMA.length);
+
+		sweep.add(
+		        dimensions.size(),
+		        index -> signal.apply(
+		                factory.entry(
+		                        factory.entry(converter.translate(EMA[dimensions.coordinate(index, 0)])),
+		                        OperatorConfiguration.Selection.OR,
+		                        factory.entry(converter.translate(SMA[dimensions.coordinate(index, 1)])))));
+	}
+
+	private BacktestBootstrapConfiguration signal(
 	        final EquityConfiguration equity,
 	        final BacktestSimulationDates simulationDates,
 	        final CashAccountConfiguration cashAccount,
-	        final BrokerageTransactionFeeStructure brokerage,
 	        final MinimumTrade minimumTrade,
-	        final MaximumTrade maximumTrade ) {
-
-		final StrategyConfigurationFactory factory = new StrategyConfigurationFactory();
-		final List<BacktestBootstrapConfiguration> configurations = new ArrayList<>(
-		        SmaUptrendConfiguration.values().length * RsiConfiguration.values().length);
-
-		for (final EmaUptrendConfiguration emaConfiguration : EmaUptrendConfiguration.values()) {
-			for (final RsiConfiguration rsiConfiguration : RsiConfiguration.values()) {
-
-				final EntryConfiguration entry = factory.entry(
-				        factory.entry(converter.translate(emaConfiguration)),
-				        OperatorConfiguration.Selection.AND,
-				        factory.entry(converter.translate(rsiConfiguration)));
-				final EntrySizeConfiguration entryPositionSizing = new EntrySizeConfiguration(
-				        minimumTrade,
-				        maximumTrade);
-				final ExitConfiguration exit = factory.exit();
-				final ExitSizeConfiguration exitPositionSizing = new ExitSizeConfiguration();
-				final StrategyConfiguration strategy = factory
-				        .strategy(entry, entryPositionSizing, exit, exitPositionSizing);
-				configurations.add(configuration(equity, simulationDates, cashAccount, brokerage, strategy));
-			}
-		}
+	        final MaximumTrade maximumTrade,
+	        final EntryConfiguration entry ) {
+
+		final EntrySizeConfiguration entryPositionSizing = new EntrySizeConfiguration(minimumTrade, maximumTrade);
+		final ExitConfiguration exit = factory.exit();
+		final ExitSizeConfiguration exitPositionSizing = new ExitSizeConfiguration();
+		final StrategyConfiguration strategy = factory.strategy(entry, entryPositionSizing, exit, exitPositionSizing);
 
-		return configurations;
+		return configuration(equity, simulationDates, cashAccount, brokerage, strategy);
 	}
 }
@@ -62,9 +62,12 @@ import com.systematic.trading.input.LaunchArgumentKey;
 import com.systematic.trading.input.LaunchArgumentValidator;
 import com.systematic.trading.input.OpeningFundsLaunchArgument;
 import com.systematic.trading.input.OutputLaunchArgument;
+import com.systematic.trading.input.ResumeLaunchArgument;
 import com.systematic.trading.input.StartDateLaunchArgument;
 import com.systematic.trading.input.TickerDatasetLaunchArgument;
 import com.systematic.trading.input.TickerSymbolLaunchArgument;
+import com.systematic.trading.input.TickerUniverseLaunchArgument;
+import com.systematic.trading.input.TrialDistributionLaunchArgument;
 import com.systematic.trading.simulation.brokerage.fee.BrokerageTransactionFeeStructure;
 
 /**
@@ -86,6 +89,7 @@ public abstract class BaseTrial {
 		                new TickerDatasetLaunchArgument(validator),
 		                new TickerSymbolLaunchArgument(validator),
 		                arguments),
+		        new TickerUniverseLaunchArgument(validator),
 		        new InterestRateLaunchArgument(validator),
 		        new OpeningFundsLaunchArgument(validator),
 		        new DepositAmountLaunchArgument(validator),
@@ -93,6 +97,8 @@ public abstract class BaseTrial {
 		        new StartDateLaunchArgument(validator),
 		        new EndDateLaunchArgument(validator),
 		        new FileBaseDirectoryLaunchArgument(validator),
+		        new ResumeLaunchArgument(validator),
+		        new TrialDistributionLaunchArgument(validator),
 		        arguments);
 	}
 
@@ -26,9 +26,9 @@
 package com.systematic.trading.backtest.trial.never.exit;
 
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
@@ -84,16 +84,14 @@ public class AllStrategiesTrial extends AllTrials implements BacktestConfigurati
 	}
 
 	@Override
-	public List<BacktestBootstrapConfiguration> configuration(
+	public Stream<BacktestBootstrapConfiguration> stream(
 	        final EquityConfiguration equity,
 	        final BacktestSimulationDates simulationDates,
 	        final CashAccountConfiguration cashAccount ) {
 
-		List<BacktestBootstrapConfiguration> configurations = super.configuration(equity, simulationDates, cashAccount);
-
 		// Vanguard Retail - baseline
-		configurations.add(baseline(equity, simulationDates, cashAccount));
-
-		return configurations;
+		return Stream.concat(
+		        super.stream(equity, simulationDates, cashAccount),
+		        Stream.of(equity).map(baselineEquity -> baseline(baselineEquity, simulationDates, cashAccount)));
 	}
 }
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.trial.never.exit;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.systematic.trading.backtest.BacktestConfiguration;
+import com.systematic.trading.backtest.BacktestSimulationDates;
+import com.systematic.trading.backtest.BacktestTrial;
+import com.systematic.trading.backtest.brokerage.fee.VanguardBrokerageFees;
+import com.systematic.trading.backtest.configuration.BacktestBootstrapConfiguration;
+import com.systematic.trading.backtest.configuration.cash.CashAccountConfiguration;
+import com.systematic.trading.backtest.configuration.equity.EquityConfiguration;
+import com.systematic.trading.backtest.configuration.strategy.StrategyConfiguration;
+import com.systematic.trading.backtest.configuration.strategy.StrategyConfigurationFactory;
+import com.systematic.trading.backtest.configuration.strategy.entry.size.EntrySizeConfiguration;
+import com.systematic.trading.backtest.configuration.strategy.exit.size.ExitSizeConfiguration;
+import com.systematic.trading.backtest.configuration.strategy.indicator.range.IndicatorParameterSpace;
+import com.systematic.trading.backtest.configuration.strategy.indicator.range.MacdParameterSpace;
+import com.systematic.trading.backtest.configuration.strategy.indicator.range.ParameterRange;
+import com.systematic.trading.backtest.configuration.strategy.indicator.range.SmaUptrendParameterSpace;
+import com.systematic.trading.backtest.configuration.strategy.periodic.PeriodicConfiguration;
+import com.systematic.trading.backtest.configuration.sweep.ConfigurationSweep;
+import com.systematic.trading.backtest.trade.MaximumTrade;
+import com.systematic.trading.backtest.trade.MinimumTrade;
+import com.systematic.trading.backtest.trial.BaseTrial;
+import com.systematic.trading.input.BacktestLaunchArguments;
+import com.systematic.trading.input.LaunchArgumentKey;
+import com.systematic.trading.input.LaunchArgumentValidator;
+import com.systematic.trading.simulation.brokerage.fee.BrokerageTransactionFeeStructure;
+
+/**
+ * Fine grained sweep of the MACD and SMA uptrend parameters, rather than their presets.
+ * <p/>
+ * Neighbouring SMA lookbacks share a batch, where their averages come from the same closing price
+ * sums.
+ * 
+ * @author CJ Hare
+ */
+public class IndicatorParameterSweepTrial extends BaseTrial implements BacktestConfiguration {
+
+	public static void main( final String... args ) throws Exception {
+
+		final BacktestLaunchArguments backtestLaunchArgs = launchArguments(args);
+		final Map<LaunchArgumentKey, String> launchArgsByKey = launchArgumentsByKey(args);
+
+		new BacktestTrial(launchArgsByKey, new LaunchArgumentValidator())
+		        .runBacktest(new IndicatorParameterSweepTrial(), backtestLaunchArgs);
+	}
+
+	private final StrategyConfigurationFactory factory = new StrategyConfigurationFactory();
+	private final BrokerageTransactionFeeStructure brokerage = new VanguardBrokerageFees();
+
+	private final IndicatorParameterSpace macd = new MacdParameterSpace(
+	        new ParameterRange(5, 20, 1),
+	        new ParameterRange(20, 50, 1),
+	        new ParameterRange(5, 15, 1));
+
+	private final IndicatorParameterSpace smaUptrend = new SmaUptrendParameterSpace(
+	        new ParameterRange(10, 200, 1),
+	        new ParameterRange(3, 7, 1));
+
+	@Override
+	public List<BacktestBootstrapConfiguration> configuration(
+	        final EquityConfiguration equity,
+	        final BacktestSimulationDates simulationDates,
+	        final CashAccountConfiguration cashAccount ) {
+
+		return stream(equity, simulationDates, cashAccount).collect(Collectors.toList());
+	}
+
+	@Override
+	public Stream<BacktestBootstrapConfiguration> stream(
+	        final EquityConfiguration equity,
+	        final BacktestSimulationDates simulationDates,
+	        final CashAccountConfiguration cashAccount ) {
+
+		final ConfigurationSweep<BacktestBootstrapConfiguration> sweep = new ConfigurationSweep<>();
+
+		// Date based buying
+		sweep.add(1, index -> periodic(equity, simulationDates, cashAccount, brokerage, PeriodicConfiguration.WEEKLY));
+		sweep.add(1, index -> periodic(equity, simulationDates, cashAccount, brokerage, PeriodicConfiguration.MONTHLY));
+
+		// Signal based buying
+		sweep.add(macd.size(), index -> signal(equity, simulationDates, cashAccount, macd, index));
+		sweep.add(smaUptrend.size(), index -> signal(equity, simulationDates, cashAccount, smaUptrend, index));
+
+		return sweep.stream();
+	}
+
+	private BacktestBootstrapConfiguration signal(
+	        final EquityConfiguration equity,
+	        final BacktestSimulationDates simulationDates,
+	        final CashAccountConfiguration cashAccount,
+	        final IndicatorParameterSpace space,
+	        final long index ) {
+
+		final StrategyConfiguration strategy = factory.strategy(
+		        factory.entry(space.configuration(index)),
+		        new EntrySizeConfiguration(MinimumTrade.ZERO, MaximumTrade.ALL),
+		        factory.exit(),
+		        new ExitSizeConfiguration());
+
+		return configuration(equity, simulationDates, cashAccount, brokerage, strategy);
+	}
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest;
+
+import static org.junit.Assert.assertSame;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.systematic.trading.backtest.cache.configuration.BacktestResultCacheConfiguration;
+import com.systematic.trading.backtest.event.channel.configuration.BacktestOutputChannelConfiguration;
+import com.systematic.trading.backtest.event.filter.configuration.BacktestOutputFilterConfiguration;
+import com.systematic.trading.backtest.metrics.configuration.BacktestMetricsConfiguration;
+import com.systematic.trading.backtest.prefetch.configuration.PricePrefetchConfiguration;
+import com.systematic.trading.backtest.progress.configuration.TrialProgressConfiguration;
+
+/**
+ * Verifying the TrialConfigurations give each stage the configurations read as the trial began.
+ * 
+ * @author CJ Hare
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class TrialConfigurationsTest {
+
+	@Mock
+	private BacktestMetricsConfiguration metrics;
+
+	@Mock
+	private TrialProgressConfiguration progress;
+
+	@Mock
+	private BacktestOutputFilterConfiguration outputFilter;
+
+	@Mock
+	private BacktestOutputChannelConfiguration outputChannel;
+
+	@Mock
+	private BacktestResultCacheConfiguration resultCache;
+
+	@Mock
+	private PricePrefetchConfiguration prefetch;
+
+	/** Configurations instance being tested. */
+	private TrialConfigurations configurations;
+
+	@Before
+	public void setUp() {
+
+		configurations = new TrialConfigurations(metrics, progress, outputFilter, outputChannel, resultCache, prefetch);
+	}
+
+	@Test
+	public void metrics() {
+
+		assertSame(metrics, configurations.metrics());
+	}
+
+	@Test
+	public void progress() {
+
+		assertSame(progress, configurations.progress());
+	}
+
+	@Test
+	public void outputFilter() {
+
+		assertSame(outputFilter, configurations.outputFilter());
+	}
+
+	@Test
+	public void outputChannel() {
+
+		assertSame(outputChannel, configurations.outputChannel());
+	}
+
+	@Test
+	public void resultCache() {
+
+		assertSame(resultCache, configurations.resultCache());
+	}
+
+	@Test
+	public void prefetch() {
+
+		assertSame(prefetch, configurations.prefetch());
+	}
+}
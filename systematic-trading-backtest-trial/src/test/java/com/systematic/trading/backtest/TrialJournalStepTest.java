@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.systematic.trading.backtest.configuration.BacktestBootstrapConfiguration;
+import com.systematic.trading.backtest.exception.BacktestInitialisationException;
+import com.systematic.trading.backtest.journal.JournalledBatch;
+import com.systematic.trading.backtest.journal.TrialJournal;
+
+/**
+ * Verifying the TrialJournalStep, in particular skipping the completed back tests on resume.
+ * 
+ * @author CJ Hare
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class TrialJournalStepTest {
+
+	@Mock
+	private TrialJournal journal;
+
+	/** Identity of each configuration. */
+	private Map<BacktestBootstrapConfiguration, String> batchIds;
+
+	private BacktestBootstrapConfiguration first;
+	private BacktestBootstrapConfiguration second;
+	private BacktestBootstrapConfiguration third;
+
+	@Before
+	public void setUp() {
+
+		batchIds = new HashMap<>();
+		first = configuration("first");
+		second = configuration("second");
+		third = configuration("third");
+	}
+
+	@Test
+	public void resumeSkipsCompleted() throws IOException, BacktestInitialisationException {
+
+		setUpCompleted(true, "first", "third");
+
+		final TrialJournalStep step = new TrialJournalStep(Optional.of(journal), true);
+
+		assertTrue(step.isResuming());
+		assertEquals(new HashSet<>(Arrays.asList("first", "third")), step.completed());
+		verifyPending(step, second);
+	}
+
+	@Test
+	public void resumeWithoutCompleted() throws IOException, BacktestInitialisationException {
+
+		setUpCompleted(true);
+
+		final TrialJournalStep step = new TrialJournalStep(Optional.of(journal), true);
+
+		assertFalse(step.isResuming());
+		verifyPending(step, first, second, third);
+	}
+
+	@Test
+	public void freshStart() throws IOException, BacktestInitialisationException {
+
+		setUpCompleted(false);
+
+		final TrialJournalStep step = new TrialJournalStep(Optional.of(journal), false);
+
+		assertFalse(step.isResuming());
+		verify(journal).open(false);
+		verifyPending(step, first, second, third);
+	}
+
+	@Test
+	public void withoutJournal() throws BacktestInitialisationException {
+
+		final TrialJournalStep step = new TrialJournalStep(Optional.empty(), true);
+
+		assertFalse(step.isResuming());
+		assertTrue(step.completed().isEmpty());
+		assertFalse(step.batch(Arrays.asList("first")).isPresent());
+		verifyPending(step, first, second, third);
+		step.close();
+	}
+
+	@Test
+	public void batchRecordedWhenOutputDurable() throws IOException, BacktestInitialisationException {
+
+		setUpCompleted(false);
+		final List<String> ids = Arrays.asList("first", "second");
+
+		final Optional<JournalledBatch> batch = new TrialJournalStep(Optional.of(journal), false).batch(ids);
+
+		assertTrue(batch.isPresent());
+		batch.get().outputDurable();
+		batch.get().outputDurable();
+		verify(journal).record(ids);
+	}
+
+	@Test
+	public void openFailure() throws IOException {
+
+		when(journal.open(true)).thenThrow(new IOException("Journal failure for testing"));
+
+		try {
+			new TrialJournalStep(Optional.of(journal), true);
+			fail("Expecting the journal failure");
+		} catch (final BacktestInitialisationException e) {
+			assertTrue(e.getCause() instanceof IOException);
+		}
+	}
+
+	@Test
+	public void closeFailureIsLogged() throws IOException, BacktestInitialisationException {
+
+		setUpCompleted(false);
+		doThrow(new IOException("Journal failure for testing")).when(journal).close();
+
+		new TrialJournalStep(Optional.of(journal), false).close();
+
+		verify(journal).close();
+	}
+
+	private void setUpCompleted( final boolean resume, final String... completed ) throws IOException {
+
+		when(journal.open(resume)).thenReturn(new HashSet<>(Arrays.asList(completed)));
+	}
+
+	private BacktestBootstrapConfiguration configuration( final String batchId ) {
+
+		final BacktestBootstrapConfiguration configuration = mock(BacktestBootstrapConfiguration.class);
+		batchIds.put(configuration, batchId);
+		return configuration;
+	}
+
+	private void verifyPending( final TrialJournalStep step, final BacktestBootstrapConfiguration... expected ) {
+
+		final List<BacktestBootstrapConfiguration> pending = step
+		        .pending(Stream.of(first, second, third), batchIds::get).collect(Collectors.toList());
+
+		assertEquals(Arrays.asList(expected), pending);
+	}
+}
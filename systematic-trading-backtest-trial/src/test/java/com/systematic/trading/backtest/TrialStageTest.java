@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.systematic.trading.backtest.exception.InvalidSimulationDatesException;
+import com.systematic.trading.backtest.input.BacktestEndDate;
+import com.systematic.trading.backtest.input.BacktestStartDate;
+
+/**
+ * Verifying the TrialStage.
+ * 
+ * @author CJ Hare
+ */
+public class TrialStageTest {
+
+	private BacktestSimulationDates dates;
+
+	@Before
+	public void setUp() throws InvalidSimulationDatesException {
+
+		dates = new BacktestSimulationDates(
+		        new BacktestStartDate(LocalDate.of(2010, 1, 1)),
+		        new BacktestEndDate(LocalDate.of(2012, 1, 1)));
+	}
+
+	@Test
+	public void everyStrategy() {
+
+		final TrialStage stage = new TrialStage(dates);
+
+		assertEquals(dates, stage.dates());
+		assertFalse(stage.isNarrowed());
+		assertTrue(stage.isCandidate("any strategy"));
+		assertTrue(stage.isOutput());
+	}
+
+	@Test
+	public void narrowed() {
+
+		final TrialStage stage = new TrialStage(
+		        dates,
+		        Optional.of(new HashSet<>(Arrays.asList("first", "second"))),
+		        true);
+
+		assertTrue(stage.isNarrowed());
+		assertTrue(stage.isCandidate("first"));
+		assertTrue(stage.isCandidate("second"));
+		assertFalse(stage.isCandidate("third"));
+	}
+
+	@Test
+	public void narrowedToNone() {
+
+		final TrialStage stage = new TrialStage(dates, Optional.of(new HashSet<>()), true);
+
+		assertTrue(stage.isNarrowed());
+		assertFalse(stage.isCandidate("first"));
+	}
+
+	@Test
+	public void withoutOutput() {
+
+		final TrialStage stage = new TrialStage(dates, Optional.empty(), false);
+
+		assertFalse(stage.isNarrowed());
+		assertTrue(stage.isCandidate("first"));
+		assertFalse(stage.isOutput());
+	}
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.Spliterators;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.systematic.trading.backtest.cache.BacktestResultCacheMode;
+import com.systematic.trading.backtest.cache.configuration.BacktestResultCacheConfiguration;
+import com.systematic.trading.backtest.event.channel.configuration.BacktestOutputChannelConfiguration;
+import com.systematic.trading.backtest.event.filter.configuration.BacktestOutputFilterConfiguration;
+import com.systematic.trading.backtest.input.OutputType;
+import com.systematic.trading.backtest.metrics.configuration.BacktestMetricsConfiguration;
+import com.systematic.trading.backtest.prefetch.configuration.PricePrefetchConfiguration;
+import com.systematic.trading.backtest.progress.configuration.TrialProgressConfiguration;
+import com.systematic.trading.data.DataService;
+import com.systematic.trading.data.DataServiceUpdater;
+import com.systematic.trading.exception.ServiceException;
+import com.systematic.trading.input.BacktestLaunchArguments;
+
+/**
+ * Verifying the WalkForwardRunner rejects the launches it cannot honour, before any back test.
+ * 
+ * @author CJ Hare
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class WalkForwardRunnerTest {
+
+	@Mock
+	private DataService dataService;
+
+	@Mock
+	private DataServiceUpdater dataServiceUpdater;
+
+	@Mock
+	private BacktestSchedule schedule;
+
+	@Mock
+	private BacktestLaunchArguments arguments;
+
+	@Mock
+	private BacktestResultCacheConfiguration resultCache;
+
+	@Mock
+	private BacktestMetricsConfiguration metrics;
+
+	@Mock
+	private TrialProgressConfiguration progress;
+
+	@Mock
+	private BacktestOutputFilterConfiguration outputFilter;
+
+	@Mock
+	private BacktestOutputChannelConfiguration outputChannel;
+
+	@Mock
+	private PricePrefetchConfiguration prefetch;
+
+	/** Runner instance being tested. */
+	private WalkForwardRunner runner;
+
+	@Before
+	public void setUp() {
+
+		when(arguments.outputType()).thenReturn(OutputType.NO_DISPLAY);
+		when(arguments.isResume()).thenReturn(false);
+		when(resultCache.mode()).thenReturn(BacktestResultCacheMode.DISABLED);
+
+		runner = new WalkForwardRunner(
+		        dataService,
+		        dataServiceUpdater,
+		        new TrialConfigurations(metrics, progress, outputFilter, outputChannel, resultCache, prefetch),
+		        schedule,
+		        configuration -> "strategy",
+		        configuration -> "batch");
+	}
+
+	@Test
+	public void fileOutputRejected() throws ServiceException {
+
+		when(arguments.outputType()).thenReturn(OutputType.FILE_COMPLETE);
+
+		run("Output Type unsupported by walk forward: FILE_COMPLETE");
+	}
+
+	@Test
+	public void elasticOutputRejected() throws ServiceException {
+
+		when(arguments.outputType()).thenReturn(OutputType.ELASTIC_SEARCH);
+
+		run("Output Type unsupported by walk forward: ELASTIC_SEARCH");
+	}
+
+	@Test
+	public void resumeRejected() throws ServiceException {
+
+		when(arguments.isResume()).thenReturn(true);
+
+		run("Resume unsupported by walk forward");
+	}
+
+	@Test
+	public void resultCacheRejected() throws ServiceException {
+
+		when(resultCache.mode()).thenReturn(BacktestResultCacheMode.READ_WRITE);
+
+		run("Result cache mode unsupported by walk forward: READ_WRITE");
+	}
+
+	private void run( final String expectedMessage ) throws ServiceException {
+
+		try {
+			runner.run(
+			        arguments,
+			        Collections.emptyList(),
+			        equity -> Spliterators.emptySpliterator(),
+			        Collections.emptyList());
+			fail("Expecting the launch to be rejected");
+		} catch (final IllegalArgumentException e) {
+			assertEquals(expectedMessage, e.getMessage());
+		}
+
+		verify(schedule, never()).run(any(), any(), any());
+	}
+}
@@ -27,6 +27,10 @@ package com.systematic.trading.backtest;
 
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -34,12 +38,16 @@ import org.apache.logging.log4j.Logger;
 import com.systematic.trading.backtest.configuration.equity.EquityConfiguration;
 import com.systematic.trading.backtest.context.BacktestBootstrapContext;
 import com.systematic.trading.backtest.event.BacktestEventListener;
+import com.systematic.trading.backtest.jfr.BacktestRunEvent;
 import com.systematic.trading.data.DataService;
 import com.systematic.trading.data.DataServiceUpdater;
 import com.systematic.trading.exception.ServiceException;
+import com.systematic.trading.metrics.MetricTimer;
+import com.systematic.trading.metrics.MetricsRegistry;
 import com.systematic.trading.model.TickerSymbolTradingData;
 import com.systematic.trading.model.equity.EquityIdentity;
 import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.simulation.BatchSimulation;
 
 /**
  * Connects together the various parts and performs the back testing.
@@ -57,10 +65,22 @@ public class Backtest {
 	/** Local source of the trading prices. */
 	private final DataService dataService;
 
+	/** Retrieval of the trading data from the remote source into the local source. */
+	private final MetricTimer dataUpdateTimer;
+
+	/** Retrieval of the trading prices from the local source. */
+	private final MetricTimer priceLoadTimer;
+
+	/** Simulation over the trading data, for a single back test or a batch. */
+	private final MetricTimer simulationTimer;
+
 	public Backtest( final DataService dataService, final DataServiceUpdater dataServiceUpdater ) {
 
 		this.dataService = dataService;
 		this.dataServiceUpdater = dataServiceUpdater;
+		this.dataUpdateTimer = MetricsRegistry.metrics().timer("backtest.data.update");
+		this.priceLoadTimer = MetricsRegistry.metrics().timer("backtest.price.load");
+		this.simulationTimer = MetricsRegistry.metrics().timer("backtest.simulation");
 	}
 
 	public void run(
@@ -69,6 +89,9 @@ public class Backtest {
 	        final BacktestBootstrapContext context,
 	        final BacktestEventListener output ) throws ServiceException {
 
+		final BacktestRunEvent event = new BacktestRunEvent();
+		event.begin();
+
 		final Period warmUp = context.tradingStrategy().warmUpPeriod();
 		logWarmUpPeriod(warmUp);
 
@@ -78,7 +101,123 @@ public class Backtest {
 		        dates,
 		        warmUp);
 
+		final long start = simulationTimer.start();
 		new BacktestBootstrap(context, output, tradingData).run();
+		simulationTimer.stop(start);
+
+		commit(event, context, tradingData, 1, 0);
+	}
+
+	/**
+	 * Runs the back tests as batches, with a single pass over the trading data for each group of back
+	 * tests sharing the same warm up period.
+	 * 
+	 * @param contexts
+	 *            back tests to run.
+	 * @param outputs
+	 *            output for each back test, in the same order as the contexts.
+	 * @return trading days simulated, summed across the back tests.
+	 */
+	public long run(
+	        final EquityConfiguration equity,
+	        final BacktestSimulationDates dates,
+	        final List<BacktestBootstrapContext> contexts,
+	        final List<BacktestEventListener> outputs ) throws ServiceException {
+
+		return run(equity, dates, contexts, outputs, ( backtest, tradingData ) -> false);
+	}
+
+	/**
+	 * Runs the back tests as batches, skipping the simulation of those with a known result.
+	 * 
+	 * @param contexts
+	 *            back tests to run.
+	 * @param outputs
+	 *            output for each back test, in the same order as the contexts.
+	 * @param replay
+	 *            given the trading data of each back test, before any simulation.
+	 * @return trading days simulated, summed across the back tests, excluding those replayed.
+	 */
+	public long run(
+	        final EquityConfiguration equity,
+	        final BacktestSimulationDates dates,
+	        final List<BacktestBootstrapContext> contexts,
+	        final List<BacktestEventListener> outputs,
+	        final BacktestReplay replay ) throws ServiceException {
+
+		// Warm up decides the trading data, hence which back tests can share a simulation
+		final Map<Period, List<Integer>> warmUpGroups = new LinkedHashMap<>();
+		long tradingDays = 0;
+
+		for (int i = 0; i < contexts.size(); i++) {
+			warmUpGroups.computeIfAbsent(contexts.get(i).tradingStrategy().warmUpPeriod(), key -> new ArrayList<>())
+			        .add(i);
+		}
+
+		for (final Map.Entry<Period, List<Integer>> group : warmUpGroups.entrySet()) {
+			final BacktestRunEvent event = new BacktestRunEvent();
+			event.begin();
+
+			final Period warmUp = group.getKey();
+			logWarmUpPeriod(warmUp);
+
+			final TickerSymbolTradingData tradingData = tradingData(
+			        equity.tickerDataset(),
+			        equity.equityIdentity(),
+			        dates,
+			        warmUp);
+
+			final List<Integer> simulated = new ArrayList<>(group.getValue().size());
+
+			for (final int backtest : group.getValue()) {
+				if (!replay.replay(backtest, tradingData)) {
+					simulated.add(backtest);
+				}
+			}
+
+			final int replayed = group.getValue().size() - simulated.size();
+			logReplayed(replayed, group.getValue().size());
+
+			if (!simulated.isEmpty()) {
+				final BatchSimulation simulation = new BatchSimulation(tradingData, simulated.size());
+
+				for (final int backtest : simulated) {
+					new BacktestBootstrap(contexts.get(backtest), outputs.get(backtest), tradingData).add(simulation);
+				}
+
+				final long start = simulationTimer.start();
+				simulation.run();
+				simulationTimer.stop(start);
+
+				tradingDays += (long) simulated.size() * tradingData.tradingPrices().size();
+			}
+
+			commit(event, contexts.get(group.getValue().get(0)), tradingData, group.getValue().size(), replayed);
+		}
+
+		return tradingDays;
+	}
+
+	/**
+	 * Fields are only populated for an event that is being recorded.
+	 */
+	private void commit(
+	        final BacktestRunEvent event,
+	        final BacktestBootstrapContext first,
+	        final TickerSymbolTradingData tradingData,
+	        final int backtests,
+	        final int replayed ) {
+
+		event.end();
+
+		if (event.shouldCommit()) {
+			event.batchId = first.batchId().name();
+			event.tickerSymbol = tradingData.equityIdentity().tickerSymbol();
+			event.backtests = backtests;
+			event.replayed = replayed;
+			event.prices = tradingData.tradingPrices().size();
+			event.commit();
+		}
 	}
 
 	private TickerSymbolTradingData tradingData(
@@ -96,10 +235,14 @@ public class Backtest {
 		final LocalDate retrievalStartDate = startDateInclusive.withDayOfMonth(1);
 
 		// Retrieve and cache data range from remote data source
+		final long updateStart = dataUpdateTimer.start();
 		dataServiceUpdater.get(tickerDataset, equity.tickerSymbol(), retrievalStartDate, endDateExclusive);
+		dataUpdateTimer.stop(updateStart);
 
 		// Retrieve from local cache the desired data range
+		final long loadStart = priceLoadTimer.start();
 		final TradingDayPrices[] prices = dataService.get(equity.tickerSymbol(), startDateInclusive, endDateExclusive);
+		priceLoadTimer.stop(loadStart);
 
 		logdPriceData(prices);
 
@@ -132,6 +275,13 @@ public class Backtest {
 		        warmUpPeriod.getYears());
 	}
 
+	private void logReplayed( final int replayed, final int backtests ) {
+
+		if (replayed > 0) {
+			LOG.info("Replayed known results for {} of {} back tests", replayed, backtests);
+		}
+	}
+
 	private void logdPriceData( final TradingDayPrices[] prices ) {
 
 		LOG.info("Number of prices for {}: {}", prices[0].tickerSymbol(), prices.length);
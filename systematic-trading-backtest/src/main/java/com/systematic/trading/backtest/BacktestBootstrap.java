@@ -30,9 +30,11 @@ import java.time.Period;
 
 import com.systematic.trading.backtest.context.BacktestBootstrapContext;
 import com.systematic.trading.backtest.event.BacktestEventListener;
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
+import com.systematic.trading.backtest.jfr.BacktestBootstrapRunEvent;
 import com.systematic.trading.model.TickerSymbolTradingData;
 import com.systematic.trading.model.price.TradingDayPrices;
-import com.systematic.trading.simulation.Simulation;
+import com.systematic.trading.simulation.BatchSimulation;
 import com.systematic.trading.simulation.SimulationStateListener;
 import com.systematic.trading.simulation.analysis.networth.NetWorthSummaryEventGenerator;
 import com.systematic.trading.simulation.analysis.roi.CulmativeReturnOnInvestment;
@@ -74,6 +76,34 @@ public class BacktestBootstrap {
 
 	public void run() {
 
+		final BacktestBootstrapRunEvent event = new BacktestBootstrapRunEvent();
+		event.begin();
+
+		final BatchSimulation simulation = new BatchSimulation(tradingData, 1);
+		add(simulation);
+
+		// Run the simulation until completion
+		simulation.run();
+
+		event.end();
+
+		if (event.shouldCommit()) {
+			event.batchId = context.batchId().name();
+			event.tickerSymbol = tradingData.equityIdentity().tickerSymbol();
+			event.prices = tradingData.tradingPrices().size();
+			event.commit();
+		}
+	}
+
+	/**
+	 * Wires the back test into the batch simulation, which must share the trading data of the back
+	 * test.
+	 * 
+	 * @param simulation
+	 *            engine that will run the back test along side the other strategies of the batch.
+	 */
+	public void add( final BatchSimulation simulation ) {
+
 		// First data point may not be the requested start date
 		final LocalDate earliestDate = tradingData.earliestDate();
 
@@ -84,61 +114,97 @@ public class BacktestBootstrap {
 
 		// Cumulative recording of investment progression
 		final ReturnOnInvestmentListener roi = new CulmativeReturnOnInvestment();
-
-		final PeriodicCulmativeReturnOnInvestment dailyRoi = new PeriodicCulmativeReturnOnInvestment(
-		        earliestDate,
-		        Period.ofDays(1));
-		roi.addListener(dailyRoi);
-
-		final PeriodicCulmativeReturnOnInvestment monthlyRoi = new PeriodicCulmativeReturnOnInvestment(
-		        earliestDate,
-		        Period.ofMonths(1));
-		roi.addListener(monthlyRoi);
-
-		final PeriodicCulmativeReturnOnInvestment yearlyRoi = new PeriodicCulmativeReturnOnInvestment(
-		        earliestDate,
-		        Period.ofYears(1));
-		roi.addListener(yearlyRoi);
-
 		final CulmativeTotalReturnOnInvestment cumulativeRoi = new CulmativeTotalReturnOnInvestment();
-		roi.addListener(cumulativeRoi);
 
 		final Brokerage broker = context.broker();
 
 		final CashAccount cashAccount = context.cashAccount();
-		cashAccount.addListener(roi);
+
+		// Statistics and cumulative ROI given to the output on init, unless it records nothing
+		final boolean isRecorded = isRecorded();
+
+		// Deposits adjust the ROI, which is only calculated when it is reported
+		if (isRecorded) {
+			cashAccount.addListener(roi);
+		}
 
 		// Engine dealing with the event flow
-		final Simulation simulation = new Simulation(tradingData, broker, cashAccount, roi, context.tradingStrategy());
+		final int strategyId = simulation.add(broker, cashAccount, roi, context.tradingStrategy());
+
+		if (output.listensTo(OutputEventFamily.RETURN_ON_INVESTMENT)) {
+			periodicReturnOnInvestment(roi, earliestDate, Period.ofDays(1));
+			periodicReturnOnInvestment(roi, earliestDate, Period.ofMonths(1));
+			periodicReturnOnInvestment(roi, earliestDate, Period.ofYears(1));
+		}
 
 		// Statistics recorder for the various cash account, brokerage and order events
 		final EventStatistics eventStatistics = new CumulativeEventStatistics();
-		simulation.addListener(eventStatistics);
-		broker.addListener((BrokerageEventListener) eventStatistics);
-		broker.addListener((EquityEventListener) eventStatistics);
 
-		cashAccount.addListener(eventStatistics);
+		// Output reports the statistics and cumulative ROI on completion, whichever events it receives
+		if (isRecorded) {
+			roi.addListener(cumulativeRoi);
+			simulation.addListener(strategyId, eventStatistics);
+			broker.addListener((BrokerageEventListener) eventStatistics);
+			broker.addListener((EquityEventListener) eventStatistics);
+			cashAccount.addListener(eventStatistics);
+		}
+
+		if (output.listensTo(OutputEventFamily.NET_WORTH)) {
+
+			// Net worth event is created on completion, before the output is told of the completion
+			final NetWorthSummaryEventGenerator networthSummay = new NetWorthSummaryEventGenerator(
+			        broker,
+			        lastTradingDay,
+			        cashAccount);
+			simulation.addListener(strategyId, networthSummay);
+			networthSummay.addListener(output);
+		}
+
+		// Display for simulation output, with only the event families used being created
+		output.init(tradingData, context.simulationDates(), eventStatistics, cumulativeRoi, lastTradingDay);
 
-		// Creates the net worth events
-		final NetWorthSummaryEventGenerator networthSummay = new NetWorthSummaryEventGenerator(
-		        broker,
-		        lastTradingDay,
-		        cashAccount);
-		simulation.addListener(networthSummay);
+		if (output.listensTo(OutputEventFamily.ORDER)) {
+			simulation.addListener(strategyId, (OrderEventListener) output);
+		}
 
-		// Display for simulation output
-		output.init(tradingData, context.simulationDates(), eventStatistics, cumulativeRoi, lastTradingDay);
-		simulation.addListener((OrderEventListener) output);
-		simulation.addListener((SimulationStateListener) output);
-		networthSummay.addListener(output);
-		cashAccount.addListener(output);
-		yearlyRoi.addListener(output);
-		monthlyRoi.addListener(output);
-		dailyRoi.addListener(output);
-		broker.addListener((BrokerageEventListener) output);
-		broker.addListener((EquityEventListener) output);
+		simulation.addListener(strategyId, (SimulationStateListener) output);
 
-		// Run the simulation until completion
-		simulation.run();
+		if (output.listensTo(OutputEventFamily.CASH)) {
+			cashAccount.addListener(output);
+		}
+
+		if (output.listensTo(OutputEventFamily.BROKERAGE)) {
+			broker.addListener((BrokerageEventListener) output);
+		}
+
+		if (output.listensTo(OutputEventFamily.EQUITY)) {
+			broker.addListener((EquityEventListener) output);
+		}
+	}
+
+	/**
+	 * An output listening to none of the event families records nothing, including the statistics.
+	 */
+	private boolean isRecorded() {
+
+		for (final OutputEventFamily family : OutputEventFamily.values()) {
+			if (output.listensTo(family)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private void periodicReturnOnInvestment(
+	        final ReturnOnInvestmentListener roi,
+	        final LocalDate earliestDate,
+	        final Period summaryPeriod ) {
+
+		final PeriodicCulmativeReturnOnInvestment periodicRoi = new PeriodicCulmativeReturnOnInvestment(
+		        earliestDate,
+		        summaryPeriod);
+		periodicRoi.addListener(output);
+		roi.addListener(periodicRoi);
 	}
 }
@@ -1,6 +1,7 @@
 package com.systematic.trading.backtest;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import com.systematic.trading.backtest.configuration.BacktestBootstrapConfiguration;
 import com.systematic.trading.backtest.configuration.cash.CashAccountConfiguration;
@@ -17,4 +18,18 @@ public interface BacktestConfiguration {
 	        EquityConfiguration equity,
 	        BacktestSimulationDates simulationDates,
 	        CashAccountConfiguration cashAccount );
+
+	/**
+	 * Configurations to back test, for sweeps too large to be held in memory all at once.
+	 * <p/>
+	 * Wide sweeps generate each configuration on demand, as the stream is consumed; the default
+	 * being the stream of all the configurations.
+	 */
+	default Stream<BacktestBootstrapConfiguration> stream(
+	        final EquityConfiguration equity,
+	        final BacktestSimulationDates simulationDates,
+	        final CashAccountConfiguration cashAccount ) {
+
+		return configuration(equity, simulationDates, cashAccount).stream();
+	}
 }
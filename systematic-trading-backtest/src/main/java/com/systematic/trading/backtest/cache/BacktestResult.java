@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.cache;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import com.systematic.trading.backtest.event.channel.EventSlot.EventSlotType;
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
+import com.systematic.trading.simulation.SimulationStateListener.SimulationState;
+
+/**
+ * Events of a back test, in the order they were given to the output, along with the cumulative
+ * return on investment at completion.
+ * <p/>
+ * Only the recorded families of event are present, as a result can only stand in for a back test
+ * whose output listens to no other family.
+ * 
+ * @author CJ Hare
+ */
+public class BacktestResult {
+
+	/**
+	 * Single call to the output.
+	 */
+	public static class Event {
+
+		private final EventSlotType type;
+
+		/** Event, <code>null</code> for a state change. */
+		private final Object event;
+
+		/** Simulation state, for net worth events and state changes. */
+		private final SimulationState state;
+
+		public Event( final EventSlotType type, final Object event, final SimulationState state ) {
+
+			this.type = type;
+			this.event = event;
+			this.state = state;
+		}
+
+		public EventSlotType type() {
+
+			return type;
+		}
+
+		public Object event() {
+
+			return event;
+		}
+
+		public SimulationState state() {
+
+			return state;
+		}
+	}
+
+	private final Set<OutputEventFamily> families;
+	private final List<Event> events;
+	private final BigDecimal cumulativeReturnOnInvestment;
+
+	public BacktestResult(
+	        final Set<OutputEventFamily> families,
+	        final List<Event> events,
+	        final BigDecimal cumulativeReturnOnInvestment ) {
+
+		this.families = Collections.unmodifiableSet(
+		        families.isEmpty() ? EnumSet.noneOf(OutputEventFamily.class) : EnumSet.copyOf(families));
+		this.events = Collections.unmodifiableList(new ArrayList<>(events));
+		this.cumulativeReturnOnInvestment = cumulativeReturnOnInvestment;
+	}
+
+	/**
+	 * @return families of event that were recorded.
+	 */
+	public Set<OutputEventFamily> families() {
+
+		return families;
+	}
+
+	public List<Event> events() {
+
+		return events;
+	}
+
+	public BigDecimal cumulativeReturnOnInvestment() {
+
+		return cumulativeReturnOnInvestment;
+	}
+}
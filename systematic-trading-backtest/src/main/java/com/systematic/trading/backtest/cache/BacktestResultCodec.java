@@ -0,0 +1,291 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.cache;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import com.systematic.trading.backtest.event.channel.EventSlot.EventSlotType;
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
+import com.systematic.trading.model.equity.EquityIdentity;
+import com.systematic.trading.model.signal.SignalType;
+import com.systematic.trading.simulation.SimulationStateListener.SimulationState;
+import com.systematic.trading.simulation.StandardEquityEvent;
+import com.systematic.trading.simulation.analysis.networth.NetWorthSummaryEvent;
+import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent;
+import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent.NetWorthEventType;
+import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEvent;
+import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEventImpl;
+import com.systematic.trading.simulation.brokerage.event.BrokerageAccountEvent;
+import com.systematic.trading.simulation.brokerage.event.BrokerageEvent;
+import com.systematic.trading.simulation.brokerage.event.BrokerageEvent.BrokerageAccountEventType;
+import com.systematic.trading.simulation.cash.event.CashAccountEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent.CashEventType;
+import com.systematic.trading.simulation.equity.event.EquityEvent;
+import com.systematic.trading.simulation.equity.event.EquityEvent.EquityEventType;
+import com.systematic.trading.simulation.equity.event.SingleEquityEvent;
+import com.systematic.trading.simulation.order.event.OrderEvent;
+import com.systematic.trading.simulation.order.event.OrderEvent.EquityOrderType;
+import com.systematic.trading.simulation.order.event.PlaceOrderTotalCostEvent;
+import com.systematic.trading.strategy.indicator.IndicatorId;
+import com.systematic.trading.strategy.indicator.event.IndicatorSignal;
+import com.systematic.trading.strategy.indicator.event.IndicatorSignalEvent;
+import com.systematic.trading.strategy.signal.SignalAnalysisEvent;
+
+/**
+ * Text form of a back test result, a line for the recorded families and one for the cumulative
+ * return on investment, followed by a line for each event, with the values separated by tabs.
+ * <p/>
+ * Decimals keep their scale and an absent value is left empty, so a decoded event gives the output
+ * exactly the values of the original.
+ * 
+ * @author CJ Hare
+ */
+public class BacktestResultCodec {
+
+	private static final String SEPARATOR = "\t";
+	private static final String ABSENT = "";
+	private static final String FAMILIES = "FAMILIES";
+	private static final String CUMULATIVE_ROI = "CUMULATIVE_ROI";
+
+	public List<String> encode( final BacktestResult result ) {
+
+		final List<String> lines = new ArrayList<>(result.events().size() + 2);
+		lines.add(line(FAMILIES, (Object[]) result.families().toArray(new OutputEventFamily[0])));
+		lines.add(line(CUMULATIVE_ROI, result.cumulativeReturnOnInvestment()));
+
+		for (final BacktestResult.Event event : result.events()) {
+			lines.add(encode(event));
+		}
+
+		return lines;
+	}
+
+	public BacktestResult decode( final List<String> lines ) {
+
+		if (lines.size() < 2) {
+			throw new IllegalArgumentException(
+			        String.format("Expecting the families and cumulative return on investment, but given: %s", lines));
+		}
+
+		final String[] recorded = lines.get(0).split(SEPARATOR, -1);
+		final String[] roi = lines.get(1).split(SEPARATOR, -1);
+
+		if (!FAMILIES.equals(recorded[0])) {
+			throw new IllegalArgumentException(
+			        String.format("Expecting the recorded families, but given: %s", lines.get(0)));
+		}
+		if (roi.length != 2 || !CUMULATIVE_ROI.equals(roi[0])) {
+			throw new IllegalArgumentException(
+			        String.format("Expecting the cumulative return on investment, but given: %s", lines.get(1)));
+		}
+
+		final Set<OutputEventFamily> families = EnumSet.noneOf(OutputEventFamily.class);
+
+		for (int i = 1; i < recorded.length; i++) {
+			families.add(OutputEventFamily.valueOf(recorded[i]));
+		}
+
+		final List<BacktestResult.Event> events = new ArrayList<>(lines.size() - 2);
+
+		for (int i = 2; i < lines.size(); i++) {
+			events.add(decode(lines.get(i).split(SEPARATOR, -1)));
+		}
+
+		return new BacktestResult(families, events, decimal(roi[1]));
+	}
+
+	private String encode( final BacktestResult.Event slot ) {
+
+		final Object event = slot.event();
+
+		switch (slot.type()) {
+			case BROKERAGE:
+				final BrokerageEvent brokerage = (BrokerageEvent) event;
+				return line(
+				        slot.type(),
+				        brokerage.type(),
+				        brokerage.startingEquityBalance(),
+				        brokerage.endEquityBalance(),
+				        brokerage.equityAmount(),
+				        brokerage.transactionDate(),
+				        brokerage.equityValue(),
+				        brokerage.transactionFee());
+			case CASH:
+				final CashEvent cash = (CashEvent) event;
+				return line(
+				        slot.type(),
+				        cash.type(),
+				        cash.fundsBefore(),
+				        cash.fundsAfter(),
+				        cash.amount(),
+				        cash.transactionDate());
+			case EQUITY:
+				final EquityEvent equity = (EquityEvent) event;
+				return line(
+				        slot.type(),
+				        equity.type(),
+				        equity.identity().tickerSymbol(),
+				        equity.identity().scale(),
+				        equity.startingEquityBalance(),
+				        equity.endEquityBalance(),
+				        equity.equityAmount(),
+				        equity.transactionDate(),
+				        equity instanceof StandardEquityEvent ? ((StandardEquityEvent) equity).equityValue() : null);
+			case NET_WORTH:
+				final NetWorthEvent netWorth = (NetWorthEvent) event;
+				return line(
+				        slot.type(),
+				        slot.state(),
+				        netWorth.type(),
+				        netWorth.equityBalance(),
+				        netWorth.equityBalanceValue(),
+				        netWorth.cashBalance(),
+				        netWorth.netWorth(),
+				        netWorth.eventDate());
+			case ORDER:
+				final OrderEvent order = (OrderEvent) event;
+				return line(slot.type(), order.type(), order.totalCost(), order.transactionDate());
+			case RETURN_ON_INVESTMENT:
+				final ReturnOnInvestmentEvent roi = (ReturnOnInvestmentEvent) event;
+				return line(slot.type(), roi.percentageChange(), roi.startDateInclusive(), roi.endDateExclusive());
+			case SIGNAL_ANALYSIS:
+				final SignalAnalysisEvent signal = (SignalAnalysisEvent) event;
+				return line(slot.type(), signal.signalType().name(), signal.directionType(), signal.signalDate());
+			case STATE_CHANGE:
+				return line(slot.type(), slot.state());
+			default:
+				throw new IllegalArgumentException(String.format("Unsupported event type: %s", slot.type()));
+		}
+	}
+
+	private BacktestResult.Event decode( final String[] values ) {
+
+		final EventSlotType type = EventSlotType.valueOf(values[0]);
+
+		switch (type) {
+			case BROKERAGE:
+				return new BacktestResult.Event(
+				        type,
+				        new BrokerageAccountEvent(
+				                decimal(values[2]),
+				                decimal(values[3]),
+				                decimal(values[4]),
+				                BrokerageAccountEventType.valueOf(values[1]),
+				                date(values[5]),
+				                decimal(values[6]),
+				                decimal(values[7])),
+				        null);
+			case CASH:
+				return new BacktestResult.Event(
+				        type,
+				        new CashAccountEvent(
+				                decimal(values[2]),
+				                decimal(values[3]),
+				                decimal(values[4]),
+				                CashEventType.valueOf(values[1]),
+				                date(values[5])),
+				        null);
+			case EQUITY:
+				return new BacktestResult.Event(
+				        type,
+				        new SingleEquityEvent(
+				                new EquityIdentity(values[2], Integer.parseInt(values[3])),
+				                decimal(values[4]),
+				                decimal(values[5]),
+				                decimal(values[6]),
+				                EquityEventType.valueOf(values[1]),
+				                date(values[7]),
+				                decimal(values[8])),
+				        null);
+			case NET_WORTH:
+				return new BacktestResult.Event(
+				        type,
+				        new NetWorthSummaryEvent(
+				                decimal(values[3]),
+				                decimal(values[4]),
+				                decimal(values[5]),
+				                decimal(values[6]),
+				                date(values[7]),
+				                NetWorthEventType.valueOf(values[2])),
+				        SimulationState.valueOf(values[1]));
+			case ORDER:
+				return new BacktestResult.Event(
+				        type,
+				        new PlaceOrderTotalCostEvent(
+				                decimal(values[2]),
+				                date(values[3]),
+				                EquityOrderType.valueOf(values[1])),
+				        null);
+			case RETURN_ON_INVESTMENT:
+				return new BacktestResult.Event(
+				        type,
+				        new ReturnOnInvestmentEventImpl(decimal(values[1]), date(values[2]), date(values[3])),
+				        null);
+			case SIGNAL_ANALYSIS:
+				return new BacktestResult.Event(
+				        type,
+				        new IndicatorSignalEvent(
+				                new IndicatorSignal(
+				                        date(values[3]),
+				                        new IndicatorId(values[1]),
+				                        SignalType.valueOf(values[2]))),
+				        null);
+			case STATE_CHANGE:
+				return new BacktestResult.Event(type, null, SimulationState.valueOf(values[1]));
+			default:
+				throw new IllegalArgumentException(String.format("Unsupported event type: %s", type));
+		}
+	}
+
+	private String line( final Object name, final Object... values ) {
+
+		final StringJoiner line = new StringJoiner(SEPARATOR);
+		line.add(name.toString());
+
+		for (final Object value : values) {
+			line.add(value == null ? ABSENT : value.toString());
+		}
+
+		return line.toString();
+	}
+
+	private BigDecimal decimal( final String value ) {
+
+		return ABSENT.equals(value) ? null : new BigDecimal(value);
+	}
+
+	private LocalDate date( final String value ) {
+
+		return ABSENT.equals(value) ? null : LocalDate.parse(value);
+	}
+}
@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.cache;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import com.systematic.trading.model.TickerSymbolTradingData;
+import com.systematic.trading.model.price.TradingDayPrices;
+
+/**
+ * Fingerprints of everything deciding the result of a back test; the configuration, with the cash
+ * account and deposits, and the trading prices the simulation runs over.
+ * <p/>
+ * The configuration is fingerprinted on the values of its fields, rather than its description, so
+ * presets keeping their name while changing their parameters are not mistaken for one another.
+ * 
+ * @author CJ Hare
+ */
+public class BacktestResultFingerprint {
+
+	/** Changes whenever the stored form of a result changes, or the simulation gives new results. */
+	private static final String FORMAT_VERSION = "1";
+
+	/** Configurations are shallow, deeper nesting is taken as a cycle. */
+	private static final int MAXIMUM_DEPTH = 32;
+
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	/**
+	 * @param configuration
+	 *            configuration of the back test, including the cash account and dates.
+	 * @return fingerprint of the field values reachable from the configuration.
+	 */
+	public String configuration( final Object configuration ) {
+
+		final StringBuilder canonical = new StringBuilder();
+		canonical(configuration, canonical, 0);
+
+		final MessageDigest digest = digest();
+		update(digest, canonical.toString());
+		return hex(digest.digest());
+	}
+
+	/**
+	 * @param configuration
+	 *            fingerprint of the back test configuration.
+	 * @param tradingData
+	 *            prices the back test is simulated over, including the warm up.
+	 * @return key for the result of the back test.
+	 */
+	public String result( final String configuration, final TickerSymbolTradingData tradingData ) {
+
+		final MessageDigest digest = digest();
+		update(digest, FORMAT_VERSION);
+		update(digest, configuration);
+		update(digest, tradingData.equityIdentity().tickerSymbol());
+
+		for (final TradingDayPrices prices : new TreeMap<LocalDate, TradingDayPrices>(tradingData.tradingPrices())
+		        .values()) {
+			update(digest, prices.date().toString());
+			update(digest, prices.openingPrice().price().toString());
+			update(digest, prices.highestPrice().price().toString());
+			update(digest, prices.lowestPrice().price().toString());
+			update(digest, prices.closingPrice().price().toString());
+		}
+
+		return hex(digest.digest());
+	}
+
+	private void canonical( final Object value, final StringBuilder out, final int depth ) {
+
+		if (depth > MAXIMUM_DEPTH) {
+			throw new IllegalArgumentException(
+			        String.format("Configuration is nested deeper than %s, possibly a cycle", MAXIMUM_DEPTH));
+		}
+
+		if (value == null) {
+			out.append("null");
+			return;
+		}
+
+		final Class<?> type = value.getClass();
+
+		if (value instanceof Optional) {
+			out.append("Optional(");
+			canonical(((Optional<?>) value).orElse(null), out, depth + 1);
+			out.append(')');
+			return;
+		}
+
+		if (value instanceof Collection) {
+			out.append('[');
+			for (final Object element : (Collection<?>) value) {
+				canonical(element, out, depth + 1);
+				out.append(',');
+			}
+			out.append(']');
+			return;
+		}
+
+		if (value instanceof Map) {
+			out.append('{');
+			for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				canonical(entry.getKey(), out, depth + 1);
+				out.append('=');
+				canonical(entry.getValue(), out, depth + 1);
+				out.append(',');
+			}
+			out.append('}');
+			return;
+		}
+
+		if (type.isArray()) {
+			out.append('[');
+			for (int i = 0; i < Array.getLength(value); i++) {
+				canonical(Array.get(value, i), out, depth + 1);
+				out.append(',');
+			}
+			out.append(']');
+			return;
+		}
+
+		out.append(type.getName());
+
+		// Strings, numbers, dates and the like are decided by their text
+		if (isPlatformType(type)) {
+			out.append('=').append(value);
+			return;
+		}
+
+		if (value instanceof Enum) {
+			out.append('.').append(((Enum<?>) value).name());
+		}
+
+		out.append('{');
+
+		for (Class<?> declaring = type; declaring != null && !isPlatformType(declaring); declaring = declaring
+		        .getSuperclass()) {
+			final Field[] fields = declaring.getDeclaredFields();
+			Arrays.sort(fields, Comparator.comparing(Field::getName));
+
+			for (final Field field : fields) {
+				if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+					continue;
+				}
+
+				out.append(field.getName()).append(':');
+				canonical(read(field, value), out, depth + 1);
+				out.append(';');
+			}
+		}
+
+		out.append('}');
+	}
+
+	private boolean isPlatformType( final Class<?> type ) {
+
+		return type.isPrimitive() || type.getName().startsWith("java.");
+	}
+
+	private Object read( final Field field, final Object value ) {
+
+		try {
+			field.setAccessible(true);
+			return field.get(value);
+		} catch (final IllegalAccessException | RuntimeException e) {
+			throw new IllegalArgumentException(
+			        String.format("Cannot read %s of %s for the fingerprint", field.getName(), field.getDeclaringClass()),
+			        e);
+		}
+	}
+
+	private MessageDigest digest() {
+
+		try {
+			return MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Each value is terminated, so neighbouring values cannot run into one another.
+	 */
+	private void update( final MessageDigest digest, final String value ) {
+
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private String hex( final byte[] hash ) {
+
+		final StringBuilder hex = new StringBuilder(hash.length * 2);
+
+		for (final byte b : hash) {
+			hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+
+		return hex.toString();
+	}
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.cache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Stores each result as a text file named by its key, under a sub-directory of the first two
+ * characters of the key to keep the directories small.
+ * <p/>
+ * Results are written to a temporary file before being moved into place, so a concurrent or
+ * interrupted write is never read as a partial result. A result that cannot be read or written is
+ * logged and treated as absent, leaving the back test to be simulated.
+ * 
+ * @author CJ Hare
+ */
+public class FileBacktestResultCache implements BacktestResultCache {
+
+	private static final Logger LOG = LogManager.getLogger(FileBacktestResultCache.class);
+
+	private static final String RESULT_SUFFIX = ".result";
+	private static final String TEMPORARY_SUFFIX = ".tmp";
+
+	private final BacktestResultCodec codec = new BacktestResultCodec();
+	private final Path directory;
+
+	public FileBacktestResultCache( final Path directory ) {
+
+		this.directory = directory;
+	}
+
+	@Override
+	public Optional<BacktestResult> get( final String key ) {
+
+		final Path file = file(key);
+
+		if (!Files.isRegularFile(file)) {
+			return Optional.empty();
+		}
+
+		try {
+			return Optional.of(codec.decode(Files.readAllLines(file, StandardCharsets.UTF_8)));
+		} catch (final IOException | RuntimeException e) {
+			LOG.warn("Ignoring unreadable back test result {}, {}", file, e.getMessage());
+			return Optional.empty();
+		}
+	}
+
+	@Override
+	public void put( final String key, final BacktestResult result ) {
+
+		final Path file = file(key);
+
+		try {
+			Files.createDirectories(file.getParent());
+
+			final Path temporary = Files.createTempFile(file.getParent(), key, TEMPORARY_SUFFIX);
+			Files.write(temporary, codec.encode(result), StandardCharsets.UTF_8);
+			move(temporary, file);
+
+		} catch (final IOException e) {
+			LOG.warn("Unable to store back test result {}, {}", file, e.getMessage());
+		}
+	}
+
+	private void move( final Path temporary, final Path file ) throws IOException {
+
+		try {
+			Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (final AtomicMoveNotSupportedException e) {
+			Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private Path file( final String key ) {
+
+		return directory.resolve(key.substring(0, 2)).resolve(key + RESULT_SUFFIX);
+	}
+}
@@ -0,0 +1,311 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.cache;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.systematic.trading.backtest.BacktestSimulationDates;
+import com.systematic.trading.backtest.event.BacktestEventListener;
+import com.systematic.trading.backtest.event.channel.EventSlot.EventSlotType;
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
+import com.systematic.trading.model.TickerSymbolTradingData;
+import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent;
+import com.systematic.trading.simulation.analysis.roi.CumulativeReturnOnInvestment;
+import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEvent;
+import com.systematic.trading.simulation.analysis.statistics.CumulativeEventStatistics;
+import com.systematic.trading.simulation.analysis.statistics.EventStatistics;
+import com.systematic.trading.simulation.brokerage.event.BrokerageEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent;
+import com.systematic.trading.simulation.equity.event.EquityEvent;
+import com.systematic.trading.simulation.order.event.OrderEvent;
+import com.systematic.trading.strategy.signal.SignalAnalysisEvent;
+
+/**
+ * Records the events of a back test into the result cache, or replays the stored result in place
+ * of the simulation.
+ * <p/>
+ * The families the output listens to are recorded, along with the few cash account, brokerage,
+ * equity, order and net worth events needed to rebuild the event statistics; the costlier return
+ * on investment and signal analysis events are only created when the output wants them. On replay
+ * the output receives the same calls in the same order as when simulated.
+ * 
+ * @author CJ Hare
+ */
+public class RecordingBacktestEventListener implements BacktestEventListener {
+
+	private final BacktestResultFingerprint fingerprint = new BacktestResultFingerprint();
+
+	/** Output of the back test. */
+	private final BacktestEventListener delegate;
+
+	/** Families of event recorded regardless of the output, needed for the event statistics. */
+	private static final Set<OutputEventFamily> ALWAYS_RECORDED = EnumSet.of(
+	        OutputEventFamily.BROKERAGE,
+	        OutputEventFamily.CASH,
+	        OutputEventFamily.EQUITY,
+	        OutputEventFamily.NET_WORTH,
+	        OutputEventFamily.ORDER);
+
+	/** Families of event the output listens to. */
+	private final Set<OutputEventFamily> families;
+
+	/** Families of event recorded. */
+	private final Set<OutputEventFamily> recorded;
+
+	private final BacktestResultCache cache;
+
+	/** Fingerprint of the back test configuration. */
+	private final String configuration;
+
+	/** Events of the simulation in progress. */
+	private final List<BacktestResult.Event> events = new ArrayList<>();
+
+	/** Key of the simulation in progress, decided by the trading data given on initialisation. */
+	private String key;
+
+	private CumulativeReturnOnInvestment cumulativeRoi;
+
+	public RecordingBacktestEventListener(
+	        final BacktestEventListener delegate,
+	        final BacktestResultCache cache,
+	        final Object configuration ) {
+
+		this.delegate = delegate;
+		this.cache = cache;
+		this.configuration = fingerprint.configuration(configuration);
+		this.families = EnumSet.noneOf(OutputEventFamily.class);
+
+		for (final OutputEventFamily family : OutputEventFamily.values()) {
+			if (delegate.listensTo(family)) {
+				families.add(family);
+			}
+		}
+
+		this.recorded = EnumSet.copyOf(ALWAYS_RECORDED);
+		this.recorded.addAll(families);
+	}
+
+	/**
+	 * Gives the output the stored result of the back test, when there is one recording every family
+	 * the output listens to.
+	 * 
+	 * @param tradingData
+	 *            prices the back test would be simulated over.
+	 * @param dates
+	 *            simulation dates of the back test.
+	 * @return <code>true</code> when the stored result was replayed, <code>false</code> when the
+	 *         back test needs simulating.
+	 */
+	public boolean replay( final TickerSymbolTradingData tradingData, final BacktestSimulationDates dates ) {
+
+		final Optional<BacktestResult> result = cache.get(fingerprint.result(configuration, tradingData));
+
+		if (result.isPresent() && result.get().families().containsAll(families)) {
+			replay(result.get(), tradingData, dates);
+			return true;
+		}
+
+		return false;
+	}
+
+	@Override
+	public void init(
+	        final TickerSymbolTradingData tradingData,
+	        final BacktestSimulationDates dates,
+	        final EventStatistics eventStatistics,
+	        final CumulativeReturnOnInvestment cumulativeRoi,
+	        final TradingDayPrices lastTradingDay ) {
+
+		this.key = fingerprint.result(configuration, tradingData);
+		this.cumulativeRoi = cumulativeRoi;
+		this.events.clear();
+		delegate.init(tradingData, dates, eventStatistics, cumulativeRoi, lastTradingDay);
+	}
+
+	@Override
+	public boolean listensTo( final OutputEventFamily family ) {
+
+		return recorded.contains(family);
+	}
+
+	@Override
+	public void event( final CashEvent event ) {
+
+		record(EventSlotType.CASH, event, null);
+
+		if (families.contains(OutputEventFamily.CASH)) {
+			delegate.event(event);
+		}
+	}
+
+	@Override
+	public void event( final OrderEvent event ) {
+
+		record(EventSlotType.ORDER, event, null);
+
+		if (families.contains(OutputEventFamily.ORDER)) {
+			delegate.event(event);
+		}
+	}
+
+	@Override
+	public void event( final BrokerageEvent event ) {
+
+		record(EventSlotType.BROKERAGE, event, null);
+
+		if (families.contains(OutputEventFamily.BROKERAGE)) {
+			delegate.event(event);
+		}
+	}
+
+	@Override
+	public void event( final EquityEvent event ) {
+
+		record(EventSlotType.EQUITY, event, null);
+
+		if (families.contains(OutputEventFamily.EQUITY)) {
+			delegate.event(event);
+		}
+	}
+
+	@Override
+	public void event( final ReturnOnInvestmentEvent event ) {
+
+		record(EventSlotType.RETURN_ON_INVESTMENT, event, null);
+
+		if (families.contains(OutputEventFamily.RETURN_ON_INVESTMENT)) {
+			delegate.event(event);
+		}
+	}
+
+	@Override
+	public void event( final SignalAnalysisEvent event ) {
+
+		record(EventSlotType.SIGNAL_ANALYSIS, event, null);
+
+		if (families.contains(OutputEventFamily.SIGNAL_ANALYSIS)) {
+			delegate.event(event);
+		}
+	}
+
+	@Override
+	public void event( final NetWorthEvent event, final SimulationState state ) {
+
+		record(EventSlotType.NET_WORTH, event, state);
+
+		if (families.contains(OutputEventFamily.NET_WORTH)) {
+			delegate.event(event, state);
+		}
+	}
+
+	/**
+	 * Completion is the final event, when the result is stored before the output is told.
+	 */
+	@Override
+	public void stateChanged( final SimulationState transitionedState ) {
+
+		record(EventSlotType.STATE_CHANGE, null, transitionedState);
+
+		if (transitionedState == SimulationState.COMPLETE) {
+			cache.put(key, new BacktestResult(recorded, events, cumulativeRoi.cumulativeReturnOnInvestment()));
+			events.clear();
+		}
+
+		delegate.stateChanged(transitionedState);
+	}
+
+	private void record( final EventSlotType type, final Object event, final SimulationState state ) {
+
+		events.add(new BacktestResult.Event(type, event, state));
+	}
+
+	private void replay(
+	        final BacktestResult result,
+	        final TickerSymbolTradingData tradingData,
+	        final BacktestSimulationDates dates ) {
+
+		final EventStatistics eventStatistics = new CumulativeEventStatistics();
+		final BigDecimal cumulativeReturnOnInvestment = result.cumulativeReturnOnInvestment();
+		final TradingDayPrices lastTradingDay = tradingData.tradingPrices().get(tradingData.latestDate());
+
+		delegate.init(tradingData, dates, eventStatistics, () -> cumulativeReturnOnInvestment, lastTradingDay);
+
+		for (final BacktestResult.Event event : result.events()) {
+			switch (event.type()) {
+				case BROKERAGE:
+					eventStatistics.event((BrokerageEvent) event.event());
+					if (families.contains(OutputEventFamily.BROKERAGE)) {
+						delegate.event((BrokerageEvent) event.event());
+					}
+				break;
+				case CASH:
+					eventStatistics.event((CashEvent) event.event());
+					if (families.contains(OutputEventFamily.CASH)) {
+						delegate.event((CashEvent) event.event());
+					}
+				break;
+				case EQUITY:
+					eventStatistics.event((EquityEvent) event.event());
+					if (families.contains(OutputEventFamily.EQUITY)) {
+						delegate.event((EquityEvent) event.event());
+					}
+				break;
+				case NET_WORTH:
+					if (families.contains(OutputEventFamily.NET_WORTH)) {
+						delegate.event((NetWorthEvent) event.event(), event.state());
+					}
+				break;
+				case ORDER:
+					eventStatistics.event((OrderEvent) event.event());
+					if (families.contains(OutputEventFamily.ORDER)) {
+						delegate.event((OrderEvent) event.event());
+					}
+				break;
+				case RETURN_ON_INVESTMENT:
+					if (families.contains(OutputEventFamily.RETURN_ON_INVESTMENT)) {
+						delegate.event((ReturnOnInvestmentEvent) event.event());
+					}
+				break;
+				case SIGNAL_ANALYSIS:
+					if (families.contains(OutputEventFamily.SIGNAL_ANALYSIS)) {
+						delegate.event((SignalAnalysisEvent) event.event());
+					}
+				break;
+				case STATE_CHANGE:
+					delegate.stateChanged(event.state());
+				break;
+				default:
+					throw new IllegalArgumentException(String.format("Unsupported event type: %s", event.type()));
+			}
+		}
+	}
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.cache.configuration.impl;
+
+import java.nio.file.Path;
+
+import com.systematic.trading.backtest.cache.BacktestResultCacheMode;
+import com.systematic.trading.backtest.cache.configuration.BacktestResultCacheConfiguration;
+
+/**
+ * Implementation for the BacktestResultCacheConfiguration.
+ * 
+ * @author CJ Hare
+ */
+public class BacktestResultCacheConfigurationImpl implements BacktestResultCacheConfiguration {
+
+	private final BacktestResultCacheMode mode;
+	private final Path directory;
+
+	public BacktestResultCacheConfigurationImpl( final BacktestResultCacheMode mode, final Path directory ) {
+
+		this.mode = mode;
+		this.directory = directory;
+	}
+
+	@Override
+	public BacktestResultCacheMode mode() {
+
+		return mode;
+	}
+
+	@Override
+	public Path directory() {
+
+		return directory;
+	}
+}
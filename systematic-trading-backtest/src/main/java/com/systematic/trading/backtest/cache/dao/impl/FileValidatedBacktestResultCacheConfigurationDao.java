@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.cache.dao.impl;
+
+import java.nio.file.Path;
+import java.util.Properties;
+
+import com.systematic.trading.backtest.cache.BacktestResultCacheMode;
+import com.systematic.trading.backtest.cache.configuration.BacktestResultCacheConfiguration;
+import com.systematic.trading.backtest.cache.configuration.BacktestResultCacheProperty;
+import com.systematic.trading.backtest.cache.configuration.impl.BacktestResultCacheConfigurationImpl;
+import com.systematic.trading.backtest.cache.dao.BacktestResultCacheConfigurationDao;
+import com.systematic.trading.configuration.ConfigurationValidator;
+import com.systematic.trading.configuration.EnumConfigurationValidator;
+import com.systematic.trading.configuration.PathConfigurationValidator;
+import com.systematic.trading.configuration.exception.ConfigurationValidationException;
+import com.systematic.trading.data.dao.impl.FileConfigurationDao;
+import com.systematic.trading.data.exception.CannotRetrieveConfigurationException;
+
+/**
+ * Providing validation of the configuration properties for the back test result cache.
+ * 
+ * @author CJ Hare
+ */
+public class FileValidatedBacktestResultCacheConfigurationDao implements BacktestResultCacheConfigurationDao {
+
+	private static final String BACKTEST_RESULT_CACHE_PROPERTIES_FILE = "backtest_result_cache.properties";
+
+	private final ConfigurationValidator<BacktestResultCacheMode> modeValidator;
+	private final ConfigurationValidator<Path> directoryValidator;
+
+	public FileValidatedBacktestResultCacheConfigurationDao() {
+
+		this.modeValidator = new EnumConfigurationValidator<>(BacktestResultCacheMode.class);
+		this.directoryValidator = new PathConfigurationValidator();
+	}
+
+	@Override
+	public BacktestResultCacheConfiguration configuration()
+	        throws ConfigurationValidationException, CannotRetrieveConfigurationException {
+
+		final Properties properties = new FileConfigurationDao().configuration(BACKTEST_RESULT_CACHE_PROPERTIES_FILE);
+
+		final BacktestResultCacheMode mode = modeValidator
+		        .validate(property(properties, BacktestResultCacheProperty.MODE));
+		final Path directory = directoryValidator
+		        .validate(property(properties, BacktestResultCacheProperty.DIRECTORY));
+
+		return new BacktestResultCacheConfigurationImpl(mode, directory);
+	}
+
+	private String property( final Properties properties, final BacktestResultCacheProperty property ) {
+
+		return properties.getProperty(property.key());
+	}
+}
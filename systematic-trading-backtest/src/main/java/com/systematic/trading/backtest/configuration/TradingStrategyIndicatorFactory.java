@@ -25,6 +25,8 @@
  */
 package com.systematic.trading.backtest.configuration;
 
+import java.util.Optional;
+
 import com.systematic.trading.maths.indicator.IllegalArgumentThrowingValidator;
 import com.systematic.trading.maths.indicator.ema.ClosingPriceExponentialMovingAverageCalculator;
 import com.systematic.trading.maths.indicator.ema.ExponentialMovingAverage;
@@ -38,7 +40,9 @@ import com.systematic.trading.maths.indicator.rs.ClosingPriceRelativeStrengthCal
 import com.systematic.trading.maths.indicator.rsi.RelativeStrengthIndexCalculator;
 import com.systematic.trading.maths.indicator.rsi.RelativeStrengthIndexIndicator;
 import com.systematic.trading.maths.indicator.rsi.RelativeStrengthIndexLine;
+import com.systematic.trading.maths.indicator.sma.ClosingPricePrefixSums;
 import com.systematic.trading.maths.indicator.sma.ClosingPriceSimpleMovingAverageCalculator;
+import com.systematic.trading.maths.indicator.sma.PrefixSumSimpleMovingAverageCalculator;
 import com.systematic.trading.maths.indicator.sma.SimpleMovingAverageIndicator;
 import com.systematic.trading.maths.indicator.sma.SimpleMovingAverageLine;
 import com.systematic.trading.signal.generator.SignalGenerator;
@@ -63,6 +67,22 @@ import com.systematic.trading.strategy.signal.SignalAnalysisListener;
  */
 public class TradingStrategyIndicatorFactory {
 
+	/** Closing price sums shared by every SMA created, when present. */
+	private final Optional<ClosingPricePrefixSums> closingPriceSums;
+
+	public TradingStrategyIndicatorFactory() {
+		this.closingPriceSums = Optional.empty();
+	}
+
+	/**
+	 * @param closingPriceSums
+	 *            shared by every SMA the factory creates, letting the neighbouring lookbacks of a
+	 *            parameter sweep reuse the same sums; not thread safe, confine to a single thread.
+	 */
+	public TradingStrategyIndicatorFactory( final ClosingPricePrefixSums closingPriceSums ) {
+		this.closingPriceSums = Optional.of(closingPriceSums);
+	}
+
 	/**
 	 * @param previousTradingDaySignalRange
 	 *            how many days previous to latest trading date to generate signals on.
@@ -121,10 +141,16 @@ public class TradingStrategyIndicatorFactory {
 		final int minimumNumberOfSmaValues = priceDataRange + sma.gradientPoints();
 		final SignalGenerator<
 		        SimpleMovingAverageLine> generator = new SimpleMovingAverageBullishGradientSignalGenerator();
-		final SimpleMovingAverageIndicator calculator = new ClosingPriceSimpleMovingAverageCalculator(
-		        sma.lookback(),
-		        minimumNumberOfSmaValues,
-		        new IllegalArgumentThrowingValidator());
+		final SimpleMovingAverageIndicator calculator = closingPriceSums.isPresent()
+		        ? new PrefixSumSimpleMovingAverageCalculator(
+		                sma.lookback(),
+		                minimumNumberOfSmaValues,
+		                closingPriceSums.get(),
+		                new IllegalArgumentThrowingValidator())
+		        : new ClosingPriceSimpleMovingAverageCalculator(
+		                sma.lookback(),
+		                minimumNumberOfSmaValues,
+		                new IllegalArgumentThrowingValidator());
 
 		return new TradingStrategyIndicator<SimpleMovingAverageLine,
 		        SimpleMovingAverageIndicator>(sma.id(), calculator, generator, filter, signalListener);
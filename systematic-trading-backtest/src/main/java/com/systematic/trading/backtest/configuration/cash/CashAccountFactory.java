@@ -31,11 +31,10 @@ import java.time.LocalDate;
 import java.time.Period;
 import java.util.Optional;
 
-import com.systematic.trading.simulation.cash.CalculatedDailyPaidMonthlyCashAccount;
 import com.systematic.trading.simulation.cash.CashAccount;
+import com.systematic.trading.simulation.cash.EventCalendarCashAccount;
 import com.systematic.trading.simulation.cash.FlatInterestRate;
 import com.systematic.trading.simulation.cash.InterestRate;
-import com.systematic.trading.simulation.cash.RegularDepositCashAccountDecorator;
 
 /**
  * Creates instances of the available fee structures.
@@ -52,31 +51,27 @@ public class CashAccountFactory {
 		final InterestRate annualInterestRate = interestRate(cashAccount);
 		final Optional<DepositConfiguration> deposit = cashAccount.deposit();
 
+		// Deposits and interest payments are scheduled, with no work on the days in between
 		if (deposit.isPresent()) {
 
-			final CashAccount underlyingAccount = cashAccount(annualInterestRate, cashAccount, startDateInclusive);
 			final BigDecimal depositAmount = deposit.get().amount();
 			final Period depositFrequency = deposit.get().frequency().period();
 
-			return new RegularDepositCashAccountDecorator(
+			return new EventCalendarCashAccount(
+			        annualInterestRate,
+			        cashAccount.openingFunds(),
+			        startDateInclusive,
+			        MATH_CONTEXT,
 			        depositAmount,
-			        underlyingAccount,
 			        startDateInclusive,
 			        depositFrequency);
 		}
 
-		return cashAccount(annualInterestRate, cashAccount, startDateInclusive);
-	}
-
-	/**
-	 * Create an instance of the a cash account.
-	 */
-	private CashAccount cashAccount(
-	        final InterestRate rate,
-	        final CashAccountConfiguration cashAccount,
-	        final LocalDate openingDate ) {
-
-		return new CalculatedDailyPaidMonthlyCashAccount(rate, cashAccount.openingFunds(), openingDate, MATH_CONTEXT);
+		return new EventCalendarCashAccount(
+		        annualInterestRate,
+		        cashAccount.openingFunds(),
+		        startDateInclusive,
+		        MATH_CONTEXT);
 	}
 
 	private InterestRate interestRate( final CashAccountConfiguration cashAccount ) {
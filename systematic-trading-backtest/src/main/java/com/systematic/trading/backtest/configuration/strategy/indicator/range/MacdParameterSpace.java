@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.configuration.strategy.indicator.range;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.systematic.trading.backtest.configuration.sweep.SweepIndex;
+import com.systematic.trading.strategy.indicator.IndicatorId;
+import com.systematic.trading.strategy.indicator.configuration.IndicatorConfiguration;
+import com.systematic.trading.strategy.indicator.configuration.MacdConfiguration;
+
+/**
+ * MACD over ranges of the fast, slow and signal time periods, excluding the combinations where
+ * the fast EMA is not faster than the slow EMA.
+ * 
+ * @author CJ Hare
+ */
+public class MacdParameterSpace implements IndicatorParameterSpace {
+
+	/** Fast and slow time periods, with the fast strictly less than the slow. */
+	private final List<int[]> fastSlow;
+
+	private final ParameterRange signal;
+	private final SweepIndex dimensions;
+
+	public MacdParameterSpace( final ParameterRange fast, final ParameterRange slow, final ParameterRange signal ) {
+
+		this.fastSlow = new ArrayList<>();
+
+		for (int f = 0; f < fast.size(); f++) {
+			for (int s = 0; s < slow.size(); s++) {
+				if (fast.value(f) < slow.value(s)) {
+					fastSlow.add(new int[] { fast.value(f), slow.value(s) });
+				}
+			}
+		}
+
+		if (fastSlow.isEmpty()) {
+			throw new IllegalArgumentException("No fast time period is less than a slow time period");
+		}
+
+		this.signal = signal;
+		this.dimensions = new SweepIndex(fastSlow.size(), signal.size());
+	}
+
+	@Override
+	public long size() {
+
+		return dimensions.size();
+	}
+
+	@Override
+	public IndicatorConfiguration configuration( final long index ) {
+
+		final int[] periods = fastSlow.get(dimensions.coordinate(index, 0));
+		final int signalTimePeriods = signal.value(dimensions.coordinate(index, 1));
+
+		return new MacdConfiguration(
+		        new IndicatorId(String.format("MACD-%s-%s-%s", periods[0], periods[1], signalTimePeriods)),
+		        periods[0],
+		        periods[1],
+		        signalTimePeriods);
+	}
+}
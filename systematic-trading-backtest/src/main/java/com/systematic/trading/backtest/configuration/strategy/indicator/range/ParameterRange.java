@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.configuration.strategy.indicator.range;
+
+/**
+ * Evenly stepped integer values of an indicator parameter, from the first value inclusive and
+ * stopping at or before the last value.
+ * 
+ * @author CJ Hare
+ */
+public class ParameterRange {
+
+	private final int from;
+	private final int step;
+	private final int size;
+
+	/**
+	 * @param from
+	 *            first value of the range, inclusive.
+	 * @param toInclusive
+	 *            upper bound of the range, only included when reached by a whole number of steps.
+	 * @param step
+	 *            positive difference between neighbouring values.
+	 */
+	public ParameterRange( final int from, final int toInclusive, final int step ) {
+
+		if (step < 1) {
+			throw new IllegalArgumentException(String.format("Step must be positive: %s", step));
+		}
+		if (toInclusive < from) {
+			throw new IllegalArgumentException(
+			        String.format("Range must not end before it begins: %s to %s", from, toInclusive));
+		}
+
+		this.from = from;
+		this.step = step;
+		this.size = (toInclusive - from) / step + 1;
+	}
+
+	/**
+	 * Range of a single value.
+	 */
+	public static ParameterRange of( final int value ) {
+
+		return new ParameterRange(value, value, 1);
+	}
+
+	/**
+	 * @return number of values in the range.
+	 */
+	public int size() {
+
+		return size;
+	}
+
+	/**
+	 * @param index
+	 *            position in the range, from zero inclusive to size exclusive.
+	 * @return value at the position.
+	 */
+	public int value( final int index ) {
+
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException(String.format("Index %s is outside the range size %s", index, size));
+		}
+
+		return from + index * step;
+	}
+}
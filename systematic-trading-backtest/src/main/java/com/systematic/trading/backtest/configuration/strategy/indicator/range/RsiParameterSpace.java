@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.configuration.strategy.indicator.range;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.systematic.trading.backtest.configuration.sweep.SweepIndex;
+import com.systematic.trading.strategy.indicator.IndicatorId;
+import com.systematic.trading.strategy.indicator.configuration.IndicatorConfiguration;
+import com.systematic.trading.strategy.indicator.configuration.RsiConfiguration;
+
+/**
+ * RSI over ranges of the lookback, oversold and overbought levels, excluding the combinations
+ * where the oversold level is not below the overbought level.
+ * 
+ * @author CJ Hare
+ */
+public class RsiParameterSpace implements IndicatorParameterSpace {
+
+	/** Oversold and overbought levels, with the oversold strictly less than the overbought. */
+	private final List<int[]> levels;
+
+	private final ParameterRange lookback;
+	private final SweepIndex dimensions;
+
+	public RsiParameterSpace(
+	        final ParameterRange lookback,
+	        final ParameterRange oversold,
+	        final ParameterRange overbought ) {
+
+		this.levels = new ArrayList<>();
+
+		for (int os = 0; os < oversold.size(); os++) {
+			for (int ob = 0; ob < overbought.size(); ob++) {
+				if (oversold.value(os) < overbought.value(ob)) {
+					levels.add(new int[] { oversold.value(os), overbought.value(ob) });
+				}
+			}
+		}
+
+		if (levels.isEmpty()) {
+			throw new IllegalArgumentException("No oversold level is less than an overbought level");
+		}
+
+		this.lookback = lookback;
+		this.dimensions = new SweepIndex(lookback.size(), levels.size());
+	}
+
+	@Override
+	public long size() {
+
+		return dimensions.size();
+	}
+
+	@Override
+	public IndicatorConfiguration configuration( final long index ) {
+
+		final int lookbackDays = lookback.value(dimensions.coordinate(index, 0));
+		final int[] oversoldOverbought = levels.get(dimensions.coordinate(index, 1));
+
+		return new RsiConfiguration(
+		        new IndicatorId(
+		                String.format("RSI-%s-%s-%s", lookbackDays, oversoldOverbought[0], oversoldOverbought[1])),
+		        lookbackDays,
+		        BigDecimal.valueOf(oversoldOverbought[1]),
+		        BigDecimal.valueOf(oversoldOverbought[0]));
+	}
+}
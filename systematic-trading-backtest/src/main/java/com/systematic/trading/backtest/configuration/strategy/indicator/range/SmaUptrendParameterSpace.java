@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.configuration.strategy.indicator.range;
+
+import com.systematic.trading.backtest.configuration.sweep.SweepIndex;
+import com.systematic.trading.strategy.indicator.IndicatorId;
+import com.systematic.trading.strategy.indicator.configuration.IndicatorConfiguration;
+import com.systematic.trading.strategy.indicator.configuration.SmaUptrendConfiguration;
+
+/**
+ * Simple moving average uptrend over ranges of the lookback and gradient points.
+ * 
+ * @author CJ Hare
+ */
+public class SmaUptrendParameterSpace implements IndicatorParameterSpace {
+
+	private final ParameterRange lookback;
+	private final ParameterRange gradientPoints;
+	private final SweepIndex dimensions;
+
+	public SmaUptrendParameterSpace( final ParameterRange lookback, final ParameterRange gradientPoints ) {
+
+		this.lookback = lookback;
+		this.gradientPoints = gradientPoints;
+		this.dimensions = new SweepIndex(lookback.size(), gradientPoints.size());
+	}
+
+	@Override
+	public long size() {
+
+		return dimensions.size();
+	}
+
+	@Override
+	public IndicatorConfiguration configuration( final long index ) {
+
+		final int lookbackDays = lookback.value(dimensions.coordinate(index, 0));
+		final int points = gradientPoints.value(dimensions.coordinate(index, 1));
+
+		return new SmaUptrendConfiguration(
+		        new IndicatorId(String.format("SMA-%s-%s", lookbackDays, points)),
+		        lookbackDays,
+		        points);
+	}
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.configuration.sweep;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy sequence of configurations, with each configuration generated on demand from its position
+ * in the sweep.
+ * <p/>
+ * A sweep is composed of segments, each a count of configurations and the generator that creates
+ * the configuration at an index within the segment. Only the segments are held, so the memory
+ * needed is independent of the number of configurations in the sweep.
+ * 
+ * @author CJ Hare
+ */
+public class ConfigurationSweep<T> {
+
+	/** Generators of the configurations, in the order of the sweep. */
+	private final List<LongFunction<T>> generators = new ArrayList<>();
+
+	/** Index of the first configuration in each segment, with the size of the sweep at the end. */
+	private final List<Long> offsets = new ArrayList<>();
+
+	public ConfigurationSweep() {
+
+		offsets.add(0L);
+	}
+
+	/**
+	 * Appends a segment of configurations onto the end of the sweep.
+	 * 
+	 * @param size
+	 *            number of configurations in the segment.
+	 * @param generator
+	 *            creates the configuration for an index within the segment, from zero inclusive to
+	 *            size exclusive.
+	 * @return the sweep, to allow chaining of segments.
+	 */
+	public ConfigurationSweep<T> add( final long size, final LongFunction<T> generator ) {
+
+		if (size < 0) {
+			throw new IllegalArgumentException(String.format("Segment size cannot be negative: %s", size));
+		}
+
+		if (size > 0) {
+			generators.add(generator);
+			offsets.add(size() + size);
+		}
+
+		return this;
+	}
+
+	/**
+	 * @return number of configurations in the sweep.
+	 */
+	public long size() {
+
+		return offsets.get(offsets.size() - 1);
+	}
+
+	/**
+	 * @param index
+	 *            position in the sweep, from zero inclusive to size exclusive.
+	 * @return newly generated configuration for the position in the sweep.
+	 */
+	public T configuration( final long index ) {
+
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException(
+			        String.format("Index %s is outside of the sweep size: %s", index, size()));
+		}
+
+		final int segment = segment(index);
+		return generators.get(segment).apply(index - offsets.get(segment));
+	}
+
+	/**
+	 * @return configurations of the sweep in order, generated as they are consumed and splitting
+	 *         evenly when consumed in parallel.
+	 */
+	public Stream<T> stream() {
+
+		return StreamSupport.stream(new ConfigurationSweepSpliterator<>(this, 0, size()), false);
+	}
+
+	/**
+	 * Binary search for the segment containing the index.
+	 */
+	private int segment( final long index ) {
+
+		int low = 0;
+		int high = generators.size() - 1;
+
+		while (low < high) {
+			final int middle = (low + high + 1) >>> 1;
+
+			if (offsets.get(middle) <= index) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+
+		return low;
+	}
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.configuration.sweep;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over a range of positions in a configuration sweep, generating each configuration
+ * as it is traversed.
+ * <p/>
+ * The range is known exactly, so splitting always divides the remaining configurations in half.
+ * 
+ * @author CJ Hare
+ */
+public class ConfigurationSweepSpliterator<T> implements Spliterator<T> {
+
+	private static final int CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+
+	/** Source of the configurations. */
+	private final ConfigurationSweep<T> sweep;
+
+	/** Position after the last configuration of the range. */
+	private final long endExclusive;
+
+	/** Position of the next configuration to generate. */
+	private long index;
+
+	public ConfigurationSweepSpliterator(
+	        final ConfigurationSweep<T> sweep,
+	        final long startInclusive,
+	        final long endExclusive ) {
+
+		this.sweep = sweep;
+		this.index = startInclusive;
+		this.endExclusive = endExclusive;
+	}
+
+	@Override
+	public boolean tryAdvance( final Consumer<? super T> action ) {
+
+		if (index < endExclusive) {
+			action.accept(sweep.configuration(index++));
+			return true;
+		}
+
+		return false;
+	}
+
+	@Override
+	public void forEachRemaining( final Consumer<? super T> action ) {
+
+		while (index < endExclusive) {
+			action.accept(sweep.configuration(index++));
+		}
+	}
+
+	/**
+	 * The prefix half of the remaining range is split off.
+	 */
+	@Override
+	public Spliterator<T> trySplit() {
+
+		final long middle = index + (endExclusive - index) / 2;
+
+		if (middle == index) {
+			return null;
+		}
+
+		final Spliterator<T> prefix = new ConfigurationSweepSpliterator<>(sweep, index, middle);
+		index = middle;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+
+		return endExclusive - index;
+	}
+
+	@Override
+	public int characteristics() {
+
+		return CHARACTERISTICS;
+	}
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.configuration.sweep;
+
+/**
+ * Translation between the position in a sweep and the coordinates of each dimension, as if the
+ * sweep were nested loops with the first dimension outermost.
+ * 
+ * @author CJ Hare
+ */
+public class SweepIndex {
+
+	/** Number of values in each dimension. */
+	private final int[] dimensions;
+
+	/** Number of positions between increments of each dimension. */
+	private final long[] strides;
+
+	/** Number of positions covered by all the dimensions. */
+	private final long size;
+
+	public SweepIndex( final int... dimensions ) {
+
+		this.dimensions = dimensions.clone();
+		this.strides = new long[dimensions.length];
+
+		long stride = 1;
+
+		for (int dimension = dimensions.length - 1; dimension >= 0; dimension--) {
+			if (dimensions[dimension] < 1) {
+				throw new IllegalArgumentException(
+				        String.format("Dimension %s must have at least one value: %s", dimension, dimensions[dimension]));
+			}
+
+			strides[dimension] = stride;
+			stride = Math.multiplyExact(stride, dimensions[dimension]);
+		}
+
+		this.size = stride;
+	}
+
+	/**
+	 * @return number of positions covered by all the dimensions.
+	 */
+	public long size() {
+
+		return size;
+	}
+
+	/**
+	 * @param index
+	 *            position in the sweep, from zero inclusive to size exclusive.
+	 * @param dimension
+	 *            zero based dimension, in the order given on construction.
+	 * @return coordinate of the dimension, from zero inclusive to the number of values exclusive.
+	 */
+	public int coordinate( final long index, final int dimension ) {
+
+		return (int) (index / strides[dimension] % dimensions[dimension]);
+	}
+}
@@ -25,6 +25,7 @@
  */
 package com.systematic.trading.backtest.context;
 
+import com.systematic.trading.backtest.BacktestBatchId;
 import com.systematic.trading.backtest.BacktestSimulationDates;
 import com.systematic.trading.simulation.brokerage.Brokerage;
 import com.systematic.trading.simulation.cash.CashAccount;
@@ -49,18 +50,25 @@ public class BacktestBootstrapContext {
 	/** Details of the simulation dates. */
 	private final BacktestSimulationDates simulationDates;
 
+	/** Identity of the back test, correlating the profiling with the output. */
+	private final BacktestBatchId batchId;
+
 	/**
 	 * @param startDate
 	 *            inclusive beginning date for the back testing.
 	 * @param endDate
 	 *            inclusive end date for back testing.
+	 * @param batchId
+	 *            identity of the back test.
 	 */
 	public BacktestBootstrapContext(
 	        final Strategy tradingStrategy,
 	        final Brokerage brokerage,
 	        final CashAccount cashAccount,
-	        final BacktestSimulationDates simulationDates ) {
+	        final BacktestSimulationDates simulationDates,
+	        final BacktestBatchId batchId ) {
 
+		this.batchId = batchId;
 		this.cashAccount = cashAccount;
 		this.tradingStrategy = tradingStrategy;
 		this.brokerage = brokerage;
@@ -106,4 +114,14 @@ public class BacktestBootstrapContext {
 
 		return simulationDates;
 	}
+
+	/**
+	 * Identity of the back test, the same as given to the output.
+	 * 
+	 * @return identity of the back test, empty when not identified.
+	 */
+	public BacktestBatchId batchId() {
+
+		return batchId;
+	}
 }
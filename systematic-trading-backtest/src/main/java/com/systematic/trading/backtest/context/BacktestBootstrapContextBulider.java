@@ -29,6 +29,7 @@ import java.time.LocalDate;
 import java.time.Period;
 import java.time.temporal.ChronoUnit;
 
+import com.systematic.trading.backtest.BacktestBatchId;
 import com.systematic.trading.backtest.BacktestSimulationDates;
 import com.systematic.trading.backtest.configuration.BacktestBootstrapConfiguration;
 import com.systematic.trading.backtest.configuration.TradingStrategyIndicatorFactory;
@@ -45,6 +46,7 @@ import com.systematic.trading.backtest.configuration.strategy.entry.EntryConfigu
 import com.systematic.trading.backtest.configuration.strategy.entry.IndicatorEntryConfiguration;
 import com.systematic.trading.backtest.configuration.strategy.entry.OperatorEntryConfiguration;
 import com.systematic.trading.backtest.configuration.strategy.entry.PeriodicEntryConfiguration;
+import com.systematic.trading.maths.indicator.sma.ClosingPricePrefixSums;
 import com.systematic.trading.model.signal.SignalType;
 import com.systematic.trading.signal.range.SignalRangeFilter;
 import com.systematic.trading.signal.range.SimulationDatesRangeFilterDecorator;
@@ -105,6 +107,15 @@ public class BacktestBootstrapContextBulider {
 
 	private SignalAnalysisListener signalAnalysisListener;
 
+	/** Closing price sums to share between the SMA indicators, otherwise each SMA sums on its own. */
+	private ClosingPricePrefixSums closingPriceSums;
+
+	/** Identity of the back test, when not given the back test is anonymous. */
+	private BacktestBatchId batchId = new BacktestBatchId("");
+
+	/** Entry shared with other back tests, when not given the entry is created from the configuration. */
+	private Entry sharedEntry;
+
 	public BacktestBootstrapContextBulider withConfiguration( final BacktestBootstrapConfiguration configuration ) {
 
 		this.simulationDates = configuration.backtestDates();
@@ -122,15 +133,45 @@ public class BacktestBootstrapContextBulider {
 		return this;
 	}
 
+	public BacktestBootstrapContextBulider withClosingPricePrefixSums( final ClosingPricePrefixSums sums ) {
+
+		this.closingPriceSums = sums;
+		return this;
+	}
+
+	public BacktestBootstrapContextBulider withBatchId( final BacktestBatchId batchId ) {
+
+		this.batchId = batchId;
+		return this;
+	}
+
+	public BacktestBootstrapContextBulider withEntry( final Entry entry ) {
+
+		this.sharedEntry = entry;
+		return this;
+	}
+
 	public BacktestBootstrapContext build() {
 
-		return new BacktestBootstrapContext(strategy(), brokerage(), cashAccount(), simulationDates);
+		return new BacktestBootstrapContext(strategy(), brokerage(), cashAccount(), simulationDates, batchId);
+	}
+
+	/**
+	 * @return entry created from the configuration, with signals limited to the simulation dates.
+	 */
+	public Entry buildEntry() {
+
+		return entry();
 	}
 
 	private Strategy strategy() {
 
-		return new TradingStrategyFactory()
-		        .strategy(entry(), entryPositionSize(), exit(), exitPositionSize(), EQUITY_SCALE);
+		return new TradingStrategyFactory().strategy(
+		        sharedEntry == null ? entry() : sharedEntry,
+		        entryPositionSize(),
+		        exit(),
+		        exitPositionSize(),
+		        EQUITY_SCALE);
 	}
 
 	private Entry entry() {
@@ -218,13 +259,20 @@ public class BacktestBootstrapContextBulider {
 	        final long priceDataRange ) {
 
 		return new TradingStrategyFactory().entry(
-		        new TradingStrategyIndicatorFactory().create(
+		        indicatorFactory().create(
 		                indicatorConfig.indicator(),
 		                signalRange,
 		                signalAnalysisListener,
 		                (int) priceDataRange));
 	}
 
+	private TradingStrategyIndicatorFactory indicatorFactory() {
+
+		return closingPriceSums == null
+		        ? new TradingStrategyIndicatorFactory()
+		        : new TradingStrategyIndicatorFactory(closingPriceSums);
+	}
+
 	private Entry periodicEntry( final PeriodicEntryConfiguration periodicConfig ) {
 
 		return new TradingStrategyFactory().entry(
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.distributed;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Forward reading of ranges from a lazily generated sequence of configurations.
+ * <p/>
+ * The units a worker takes are mostly in ascending order, so generating the configurations from
+ * the current position avoids generating and discarding every configuration before each range.
+ * Only a range behind the position, such as a unit handed out again, restarts the sequence.
+ * 
+ * @author CJ Hare
+ */
+public class ConfigurationCursor<T> {
+
+	/** Creates the sequence from the start. */
+	private final Supplier<Iterator<T>> sequence;
+
+	/** Configurations from the position onwards. */
+	private Iterator<T> remaining;
+
+	/** Position of the next configuration of the remaining. */
+	private long position;
+
+	public ConfigurationCursor( final Supplier<Iterator<T>> sequence ) {
+
+		this.sequence = sequence;
+		this.remaining = sequence.get();
+	}
+
+	/**
+	 * @return configurations from the inclusive position to the exclusive position, fewer when the
+	 *         sequence ends first.
+	 */
+	public List<T> range( final long fromInclusive, final long toExclusive ) {
+
+		if (fromInclusive < position) {
+			remaining = sequence.get();
+			position = 0;
+		}
+
+		while (position < fromInclusive && remaining.hasNext()) {
+			remaining.next();
+			position++;
+		}
+
+		final List<T> range = new ArrayList<>((int) Math.max(0, toExclusive - fromInclusive));
+
+		while (position < toExclusive && remaining.hasNext()) {
+			range.add(remaining.next());
+			position++;
+		}
+
+		return range;
+	}
+}
@@ -0,0 +1,238 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.distributed;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.systematic.trading.backtest.distributed.TrialProtocol.Command;
+import com.systematic.trading.backtest.event.universe.UniverseSummary;
+
+/**
+ * Hands out the work units of a trial to the workers that connect, merging the results of each
+ * completed unit into the summary of the trial.
+ * <p/>
+ * Any number of workers may connect and leave during the trial, the units of a worker that
+ * disconnects before completing them are handed out again.
+ * 
+ * @author CJ Hare
+ */
+public class TrialCoordinator {
+
+	/** Classes' logger. */
+	private static final Logger LOG = LogManager.getLogger(TrialCoordinator.class);
+
+	/** Time given to the workers to receive their final reply, once every unit is complete. */
+	private static final long SHUTDOWN_SECONDS = 10;
+
+	/** Units of the trial, yet to be completed. */
+	private final WorkUnitQueue queue;
+
+	/** Trial wide summary, receiving the results of every completed unit. */
+	private final UniverseSummary summary;
+
+	/** Workers currently connected. */
+	private final AtomicInteger workers = new AtomicInteger();
+
+	/** Connections to the workers, closed once the trial is finished. */
+	private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+	public TrialCoordinator( final WorkUnitQueue queue, final UniverseSummary summary ) {
+
+		this.queue = queue;
+		this.summary = summary;
+	}
+
+	/**
+	 * Serves the workers until every unit is complete.
+	 * 
+	 * @param server
+	 *            bound socket the workers connect to, closed once the trial is finished.
+	 * @throws InterruptedException
+	 *             interrupted while waiting on the workers.
+	 */
+	public void run( final ServerSocket server ) throws InterruptedException {
+
+		final ExecutorService pool = Executors.newCachedThreadPool();
+
+		LOG.info(
+		        "Coordinating {} back tests, waiting on workers at: {}",
+		        queue.size(),
+		        server.getLocalSocketAddress());
+
+		final Thread acceptor = new Thread(() -> accept(server, pool), "trial-coordinator");
+		acceptor.setDaemon(true);
+		acceptor.start();
+
+		try {
+			queue.awaitFinished();
+		} finally {
+			close(server);
+
+			// Every worker that is waiting on a unit is told the trial is finished
+			pool.shutdown();
+			if (!pool.awaitTermination(SHUTDOWN_SECONDS, TimeUnit.SECONDS)) {
+				connections.forEach(this::close);
+				pool.shutdownNow();
+			}
+		}
+	}
+
+	private void accept( final ServerSocket server, final ExecutorService pool ) {
+
+		while (!server.isClosed()) {
+			try {
+				final Socket connection = server.accept();
+				connections.add(connection);
+				pool.execute(() -> serve(connection));
+			} catch (final SocketException e) {
+				// Closed once the trial is finished
+				LOG.debug(e);
+			} catch (final IOException e) {
+				LOG.warn("Failed to accept a worker", e);
+			}
+		}
+	}
+
+	private void serve( final Socket connection ) {
+
+		final int connected = workers.incrementAndGet();
+		LOG.info("Worker connected: {}, workers: {}", connection.getRemoteSocketAddress(), connected);
+
+		// A worker requests the next unit only after completing the last, though may fail at any point
+		final List<WorkUnit> assigned = new ArrayList<>(1);
+		final List<WorkUnitResult> results = new ArrayList<>();
+
+		try (final BufferedReader in = new BufferedReader(
+		        new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+		        final BufferedWriter out = new BufferedWriter(
+		                new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8))) {
+
+			String message;
+			while ((message = in.readLine()) != null) {
+				final Optional<Command> command = TrialProtocol.command(message);
+
+				if (!command.isPresent()) {
+					LOG.warn("Ignoring unknown message from worker: {}", message);
+					continue;
+				}
+
+				switch (command.get()) {
+					case NEXT:
+						final Optional<WorkUnit> unit = queue.take(workers.get());
+
+						if (!unit.isPresent()) {
+							send(out, TrialProtocol.done());
+							return;
+						}
+
+						assigned.add(unit.get());
+						results.clear();
+						send(out, TrialProtocol.unit(unit.get()));
+					break;
+					case RESULT:
+						results.add(TrialProtocol.result(message));
+					break;
+					case COMPLETE:
+						complete(TrialProtocol.completedId(message), assigned, results);
+					break;
+					default:
+						LOG.warn("Ignoring unexpected message from worker: {}", message);
+					break;
+				}
+			}
+
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (final IOException | RuntimeException e) {
+			LOG.warn("Worker failed: {}", connection.getRemoteSocketAddress(), e);
+		} finally {
+			for (final WorkUnit unit : assigned) {
+				LOG.info("Handing out again the unit of a departed worker: {}", unit);
+				queue.giveBack(unit);
+			}
+
+			workers.decrementAndGet();
+			connections.remove(connection);
+			close(connection);
+		}
+	}
+
+	private void complete( final long id, final List<WorkUnit> assigned, final List<WorkUnitResult> results ) {
+
+		for (final WorkUnit unit : assigned) {
+			if (unit.id() == id) {
+				assigned.remove(unit);
+
+				// Merged before completing, as the trial may finish on completion of the last unit
+				for (final WorkUnitResult result : results) {
+					summary.record(result.strategy(), result.tickerSymbol(), result.netWorth());
+				}
+
+				queue.complete(unit);
+				results.clear();
+				return;
+			}
+		}
+
+		LOG.warn("Ignoring completion of a unit not assigned to the worker: {}", id);
+	}
+
+	private void send( final BufferedWriter out, final String message ) throws IOException {
+
+		out.write(message);
+		out.newLine();
+		out.flush();
+	}
+
+	private void close( final AutoCloseable closeable ) {
+
+		try {
+			closeable.close();
+		} catch (final Exception e) {
+			LOG.debug(e);
+		}
+	}
+}
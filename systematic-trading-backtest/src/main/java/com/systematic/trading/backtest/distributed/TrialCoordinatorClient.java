@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.distributed;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Optional;
+
+import com.systematic.trading.backtest.distributed.TrialProtocol.Command;
+
+/**
+ * Connection of a worker to the coordinator of the trial.
+ * 
+ * @author CJ Hare
+ */
+public class TrialCoordinatorClient implements AutoCloseable {
+
+	private final Socket connection;
+	private final BufferedReader in;
+	private final BufferedWriter out;
+
+	public TrialCoordinatorClient( final String host, final int port ) throws IOException {
+
+		this.connection = new Socket(host, port);
+		this.in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+		this.out = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Blocks until the coordinator has a unit for the worker, or the trial is finished.
+	 * 
+	 * @return unit to back test, empty when every unit of the trial is complete.
+	 */
+	public Optional<WorkUnit> next() throws IOException {
+
+		out.write(TrialProtocol.next());
+		out.newLine();
+		out.flush();
+
+		final String reply = in.readLine();
+
+		if (reply == null) {
+			throw new EOFException("Coordinator closed the connection");
+		}
+
+		final Optional<Command> command = TrialProtocol.command(reply);
+
+		if (command.isPresent() && command.get() == Command.UNIT) {
+			return Optional.of(TrialProtocol.unit(reply));
+		}
+		if (command.isPresent() && command.get() == Command.DONE) {
+			return Optional.empty();
+		}
+
+		throw new IOException(String.format("Unexpected reply from the coordinator: %s", reply));
+	}
+
+	/**
+	 * Sends the results of the unit, with a single flush for the unit.
+	 */
+	public void complete( final WorkUnit unit, final Collection<WorkUnitResult> results ) throws IOException {
+
+		for (final WorkUnitResult result : results) {
+			out.write(TrialProtocol.result(result));
+			out.newLine();
+		}
+
+		out.write(TrialProtocol.complete(unit));
+		out.newLine();
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+
+		connection.close();
+	}
+}
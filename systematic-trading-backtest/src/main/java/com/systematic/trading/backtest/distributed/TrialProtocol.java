@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.distributed;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Line based messages exchanged between the coordinator and a worker, with tab separated fields.
+ * <p/>
+ * The worker asks for the <code>NEXT</code> unit, replied to with either a <code>UNIT</code> or
+ * <code>DONE</code> when the trial is finished. After back testing the unit, the worker sends a
+ * <code>RESULT</code> for each back test then <code>COMPLETE</code> for the unit.
+ * 
+ * @author CJ Hare
+ */
+public class TrialProtocol {
+
+	public enum Command {
+		NEXT,
+		UNIT,
+		DONE,
+		RESULT,
+		COMPLETE;
+	}
+
+	/** Separator between the fields of a message. */
+	private static final String SEPARATOR = "\t";
+
+	private TrialProtocol() {}
+
+	/**
+	 * @return command of the message, empty when not a known command.
+	 */
+	public static Optional<Command> command( final String message ) {
+
+		final String command = message.split(SEPARATOR, 2)[0];
+
+		for (final Command candidate : Command.values()) {
+			if (candidate.name().equals(command)) {
+				return Optional.of(candidate);
+			}
+		}
+
+		return Optional.empty();
+	}
+
+	public static String next() {
+
+		return Command.NEXT.name();
+	}
+
+	public static String done() {
+
+		return Command.DONE.name();
+	}
+
+	public static String unit( final WorkUnit unit ) {
+
+		return String.join(
+		        SEPARATOR,
+		        Command.UNIT.name(),
+		        String.valueOf(unit.id()),
+		        unit.tickerSymbol(),
+		        String.valueOf(unit.fromInclusive()),
+		        String.valueOf(unit.toExclusive()));
+	}
+
+	public static WorkUnit unit( final String message ) {
+
+		final String[] fields = fields(message, 5);
+
+		return new WorkUnit(
+		        Long.parseLong(fields[1]),
+		        fields[2],
+		        Long.parseLong(fields[3]),
+		        Long.parseLong(fields[4]));
+	}
+
+	/**
+	 * The strategy is the last field, being free text.
+	 */
+	public static String result( final WorkUnitResult result ) {
+
+		return String.join(
+		        SEPARATOR,
+		        Command.RESULT.name(),
+		        result.tickerSymbol(),
+		        result.netWorth().toPlainString(),
+		        result.strategy());
+	}
+
+	public static WorkUnitResult result( final String message ) {
+
+		final String[] fields = fields(message, 4);
+
+		return new WorkUnitResult(fields[3], fields[1], new BigDecimal(fields[2]));
+	}
+
+	public static String complete( final WorkUnit unit ) {
+
+		return String.join(SEPARATOR, Command.COMPLETE.name(), String.valueOf(unit.id()));
+	}
+
+	public static long completedId( final String message ) {
+
+		return Long.parseLong(fields(message, 2)[1]);
+	}
+
+	private static String[] fields( final String message, final int expected ) {
+
+		final String[] fields = message.split(SEPARATOR, expected);
+
+		if (fields.length < expected) {
+			throw new IllegalArgumentException(
+			        String.format("Expecting %s fields, instead: %s", expected, message));
+		}
+
+		return fields;
+	}
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.distributed;
+
+/**
+ * Contiguous range of the configurations a trial back tests for a single ticker symbol, handed by
+ * the coordinator to one worker.
+ * 
+ * @author CJ Hare
+ */
+public class WorkUnit {
+
+	/** Identity, unique within the trial. */
+	private final long id;
+
+	/** Ticker symbol the configurations are back tested against. */
+	private final String tickerSymbol;
+
+	/** Position of the first configuration, within the trial's configurations for the symbol. */
+	private final long fromInclusive;
+
+	/** Position after the last configuration. */
+	private final long toExclusive;
+
+	public WorkUnit( final long id, final String tickerSymbol, final long fromInclusive, final long toExclusive ) {
+
+		this.id = id;
+		this.tickerSymbol = tickerSymbol;
+		this.fromInclusive = fromInclusive;
+		this.toExclusive = toExclusive;
+	}
+
+	public long id() {
+
+		return id;
+	}
+
+	public String tickerSymbol() {
+
+		return tickerSymbol;
+	}
+
+	public long fromInclusive() {
+
+		return fromInclusive;
+	}
+
+	public long toExclusive() {
+
+		return toExclusive;
+	}
+
+	public long size() {
+
+		return toExclusive - fromInclusive;
+	}
+
+	@Override
+	public String toString() {
+
+		return String.format("%s %s [%s, %s)", id, tickerSymbol, fromInclusive, toExclusive);
+	}
+}
@@ -0,0 +1,215 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.distributed;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Hands out the configurations of a trial as work units, on request from the workers.
+ * <p/>
+ * Workers take a unit whenever they are idle, so a worker given costly configurations simply
+ * takes fewer units. Units shrink as the trial nears the end (guided scheduling), avoiding a
+ * single large unit keeping the trial running after the other workers are done. A unit given back
+ * by a worker that failed is the next to be taken.
+ * <p/>
+ * Thread safe, with each worker connection served on a separate thread.
+ * 
+ * @author CJ Hare
+ */
+public class WorkUnitQueue {
+
+	/** Ticker symbols in the order their configurations are handed out. */
+	private final List<String> tickerSymbols;
+
+	/** Number of configurations for each ticker symbol. */
+	private final List<Long> sizes;
+
+	/** Smallest unit, other then the remainder for a ticker symbol. */
+	private final long minimumUnitSize;
+
+	/** Largest unit, best matching the number of back tests a worker simulates in a single pass. */
+	private final long maximumUnitSize;
+
+	/** Total number of configurations across the ticker symbols. */
+	private final long size;
+
+	/** Units of failed workers, waiting to be handed out again. */
+	private final Deque<WorkUnit> returned = new ArrayDeque<>();
+
+	/** Units handed out and not yet completed, by their identity. */
+	private final Map<Long, WorkUnit> outstanding = new HashMap<>();
+
+	/** Position in the ticker symbols of the next unit. */
+	private int tickerSymbol;
+
+	/** Position in the configurations of the ticker symbol of the next unit. */
+	private long next;
+
+	/** Configurations not yet handed out, excluding any returned. */
+	private long remaining;
+
+	/** Identity of the next unit. */
+	private long nextId;
+
+	/**
+	 * @param sizes
+	 *            number of configurations for each ticker symbol, iterated in the order to hand
+	 *            them out.
+	 */
+	public WorkUnitQueue( final Map<String, Long> sizes, final long minimumUnitSize, final long maximumUnitSize ) {
+
+		if (minimumUnitSize < 1 || maximumUnitSize < minimumUnitSize) {
+			throw new IllegalArgumentException(
+			        String.format(
+			                "Unit sizes must be at least one, with the maximum no less then the minimum: %s, %s",
+			                minimumUnitSize,
+			                maximumUnitSize));
+		}
+
+		this.tickerSymbols = new ArrayList<>(sizes.keySet());
+		this.sizes = new ArrayList<>(sizes.values());
+		this.minimumUnitSize = minimumUnitSize;
+		this.maximumUnitSize = maximumUnitSize;
+
+		long total = 0;
+		for (final long tickerSymbolSize : this.sizes) {
+			total += tickerSymbolSize;
+		}
+
+		this.size = total;
+		this.remaining = total;
+	}
+
+	/**
+	 * Blocks until there is a unit to hand out, or every unit is completed.
+	 * 
+	 * @param workers
+	 *            number of workers currently sharing the trial, at least one.
+	 * @return next unit for the worker, empty once every unit has been completed.
+	 * @throws InterruptedException
+	 *             interrupted while waiting on a unit to be given back or completed.
+	 */
+	public synchronized Optional<WorkUnit> take( final int workers ) throws InterruptedException {
+
+		while (!isFinished()) {
+			final Optional<WorkUnit> unit = next(Math.max(1, workers));
+
+			if (unit.isPresent()) {
+				outstanding.put(unit.get().id(), unit.get());
+				return unit;
+			}
+
+			// Units remain outstanding, any may yet be given back
+			wait();
+		}
+
+		return Optional.empty();
+	}
+
+	/**
+	 * @return <code>true</code> when the unit was outstanding, <code>false</code> when already
+	 *         completed or given back.
+	 */
+	public synchronized boolean complete( final WorkUnit unit ) {
+
+		final boolean completed = outstanding.remove(unit.id()) != null;
+
+		if (completed) {
+			notifyAll();
+		}
+
+		return completed;
+	}
+
+	/**
+	 * Returns the unit of a failed worker, to be handed out again.
+	 */
+	public synchronized void giveBack( final WorkUnit unit ) {
+
+		if (outstanding.remove(unit.id()) != null) {
+			returned.addFirst(unit);
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Blocks until every unit has been completed.
+	 * 
+	 * @throws InterruptedException
+	 *             interrupted while waiting on the units to complete.
+	 */
+	public synchronized void awaitFinished() throws InterruptedException {
+
+		while (!isFinished()) {
+			wait();
+		}
+	}
+
+	/**
+	 * @return total number of configurations across every unit.
+	 */
+	public long size() {
+
+		return size;
+	}
+
+	private boolean isFinished() {
+
+		return remaining == 0 && returned.isEmpty() && outstanding.isEmpty();
+	}
+
+	private Optional<WorkUnit> next( final int workers ) {
+
+		if (!returned.isEmpty()) {
+			return Optional.of(returned.removeFirst());
+		}
+
+		while (tickerSymbol < sizes.size() && next == sizes.get(tickerSymbol)) {
+			tickerSymbol++;
+			next = 0;
+		}
+
+		if (tickerSymbol == sizes.size()) {
+			return Optional.empty();
+		}
+
+		// Half of each worker's fair share of the remaining configurations
+		final long guided = Math.max(minimumUnitSize, Math.min(maximumUnitSize, remaining / (2L * workers)));
+		final long unitSize = Math.min(guided, sizes.get(tickerSymbol) - next);
+		final WorkUnit unit = new WorkUnit(nextId++, tickerSymbols.get(tickerSymbol), next, next + unitSize);
+
+		next += unitSize;
+		remaining -= unitSize;
+
+		return Optional.of(unit);
+	}
+}
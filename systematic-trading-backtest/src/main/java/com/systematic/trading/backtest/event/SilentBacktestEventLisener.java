@@ -25,6 +25,7 @@
  */
 package com.systematic.trading.backtest.event;
 
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
 import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent;
 import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEvent;
 import com.systematic.trading.simulation.brokerage.event.BrokerageEvent;
@@ -42,6 +43,13 @@ import com.systematic.trading.strategy.signal.SignalAnalysisEvent;
  */
 public class SilentBacktestEventLisener implements BacktestEventListener {
 
+	@Override
+	public boolean listensTo( final OutputEventFamily family ) {
+
+		// No events are recorded, so none need be created
+		return false;
+	}
+
 	@Override
 	public void event( final CashEvent event ) {
 
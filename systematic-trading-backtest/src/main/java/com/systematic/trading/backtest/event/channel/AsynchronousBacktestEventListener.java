@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.event.channel;
+
+import com.systematic.trading.backtest.BacktestSimulationDates;
+import com.systematic.trading.backtest.event.BacktestEventListener;
+import com.systematic.trading.backtest.event.channel.EventSlot.EventSlotType;
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
+import com.systematic.trading.model.TickerSymbolTradingData;
+import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent;
+import com.systematic.trading.simulation.analysis.roi.CumulativeReturnOnInvestment;
+import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEvent;
+import com.systematic.trading.simulation.analysis.statistics.EventStatistics;
+import com.systematic.trading.simulation.brokerage.event.BrokerageEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent;
+import com.systematic.trading.simulation.equity.event.EquityEvent;
+import com.systematic.trading.simulation.order.event.OrderEvent;
+import com.systematic.trading.strategy.signal.SignalAnalysisEvent;
+
+/**
+ * Hands the events of a simulation to the output on a consumer thread, through an event channel.
+ * <p/>
+ * The simulation thread only places each event into a pre-allocated slot, leaving the formatting
+ * and IO of the output to the consumer. Initialisation is performed on the simulation thread,
+ * before any event is published, with every later call to the output made by the consumer.
+ * 
+ * @author CJ Hare
+ */
+public class AsynchronousBacktestEventListener implements BacktestEventListener, EventSink {
+
+	/** Output receiving the events on the consumer thread. */
+	private final BacktestEventListener delegate;
+
+	/** Events waiting on the consumer. */
+	private final EventChannel channel;
+
+	public AsynchronousBacktestEventListener(
+	        final BacktestEventListener delegate,
+	        final EventChannel channel,
+	        final EventChannelConsumers consumers ) {
+
+		this.delegate = delegate;
+		this.channel = channel;
+		consumers.register(channel, this);
+	}
+
+	@Override
+	public void init(
+	        final TickerSymbolTradingData tradingData,
+	        final BacktestSimulationDates dates,
+	        final EventStatistics eventStatistics,
+	        final CumulativeReturnOnInvestment cumulativeRoi,
+	        final TradingDayPrices lastTradingDay ) {
+
+		delegate.init(tradingData, dates, eventStatistics, cumulativeRoi, lastTradingDay);
+	}
+
+	@Override
+	public boolean listensTo( final OutputEventFamily family ) {
+
+		return delegate.listensTo(family);
+	}
+
+	@Override
+	public void event( final CashEvent event ) {
+
+		channel.publish(EventSlotType.CASH, event, null);
+	}
+
+	@Override
+	public void event( final OrderEvent event ) {
+
+		channel.publish(EventSlotType.ORDER, event, null);
+	}
+
+	@Override
+	public void event( final BrokerageEvent event ) {
+
+		channel.publish(EventSlotType.BROKERAGE, event, null);
+	}
+
+	@Override
+	public void event( final EquityEvent event ) {
+
+		channel.publish(EventSlotType.EQUITY, event, null);
+	}
+
+	@Override
+	public void event( final ReturnOnInvestmentEvent event ) {
+
+		channel.publish(EventSlotType.RETURN_ON_INVESTMENT, event, null);
+	}
+
+	@Override
+	public void event( final SignalAnalysisEvent event ) {
+
+		channel.publish(EventSlotType.SIGNAL_ANALYSIS, event, null);
+	}
+
+	@Override
+	public void event( final NetWorthEvent event, final SimulationState state ) {
+
+		channel.publish(EventSlotType.NET_WORTH, event, state);
+	}
+
+	/**
+	 * The final event of the simulation, after which the channel is closed.
+	 */
+	@Override
+	public void stateChanged( final SimulationState transitionedState ) {
+
+		channel.publish(EventSlotType.STATE_CHANGE, null, transitionedState);
+
+		if (transitionedState == SimulationState.COMPLETE) {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Invoked on the consumer thread, passing the event onto the output.
+	 */
+	@Override
+	public void event( final EventSlot slot, final boolean endOfBatch ) {
+
+		switch (slot.type()) {
+			case BROKERAGE:
+				delegate.event((BrokerageEvent) slot.event());
+			break;
+			case CASH:
+				delegate.event((CashEvent) slot.event());
+			break;
+			case EQUITY:
+				delegate.event((EquityEvent) slot.event());
+			break;
+			case NET_WORTH:
+				delegate.event((NetWorthEvent) slot.event(), slot.state());
+			break;
+			case ORDER:
+				delegate.event((OrderEvent) slot.event());
+			break;
+			case RETURN_ON_INVESTMENT:
+				delegate.event((ReturnOnInvestmentEvent) slot.event());
+			break;
+			case SIGNAL_ANALYSIS:
+				delegate.event((SignalAnalysisEvent) slot.event());
+			break;
+			case STATE_CHANGE:
+				delegate.stateChanged(slot.state());
+			break;
+			default:
+				throw new IllegalArgumentException(String.format("Unsupported event slot type: %s", slot.type()));
+		}
+	}
+}
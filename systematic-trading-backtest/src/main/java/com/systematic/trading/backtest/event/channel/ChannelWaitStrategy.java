@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.event.channel;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How a thread waits upon the other side of an event channel, when there are either no events to
+ * consume or no free slots to publish into.
+ * 
+ * @author CJ Hare
+ */
+public enum ChannelWaitStrategy {
+
+	/** Lowest latency, at the cost of occupying a core while waiting. */
+	BUSY_SPIN {
+		@Override
+		public void idle( final int attempt ) {
+
+			Thread.onSpinWait();
+		}
+	},
+
+	/** Spins briefly, then gives up the core to any other runnable thread. */
+	YIELDING {
+		@Override
+		public void idle( final int attempt ) {
+
+			if (attempt < SPIN_ATTEMPTS) {
+				Thread.onSpinWait();
+			} else {
+				Thread.yield();
+			}
+		}
+	},
+
+	/** Spins, then yields and finally parks, using the least CPU while waiting. */
+	PARKING {
+		@Override
+		public void idle( final int attempt ) {
+
+			if (attempt < SPIN_ATTEMPTS) {
+				Thread.onSpinWait();
+			} else if (attempt < SPIN_ATTEMPTS + YIELD_ATTEMPTS) {
+				Thread.yield();
+			} else {
+				LockSupport.parkNanos(PARK_NANOS);
+			}
+		}
+	};
+
+	/** Attempts spent spinning before backing off. */
+	private static final int SPIN_ATTEMPTS = 100;
+
+	/** Attempts spent yielding before parking. */
+	private static final int YIELD_ATTEMPTS = 100;
+
+	/** Duration of each park. */
+	private static final long PARK_NANOS = 100_000;
+
+	/**
+	 * Waits a short while before the next attempt.
+	 * 
+	 * @param attempt
+	 *            number of consecutive attempts that have found nothing to do, starting from zero.
+	 */
+	public abstract void idle( int attempt );
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.event.channel;
+
+import com.systematic.trading.backtest.event.channel.EventSlot.EventSlotType;
+import com.systematic.trading.metrics.MetricHistogram;
+import com.systematic.trading.metrics.MetricTimer;
+import com.systematic.trading.metrics.MetricsRegistry;
+import com.systematic.trading.simulation.SimulationStateListener.SimulationState;
+
+/**
+ * Single producer, single consumer ring buffer of pre-allocated event slots.
+ * <p/>
+ * Neither side takes a lock, the producer and consumer each own a sequence that the other only
+ * reads. The producer waits, using the wait strategy, only when every slot holds an event the
+ * consumer has yet to drain.
+ * 
+ * @author CJ Hare
+ */
+public class EventChannel {
+
+	/** Slots in the ring, a power of two in length. */
+	private final EventSlot[] slots;
+
+	/** Converts a sequence into the index of it's slot. */
+	private final int mask;
+
+	/** How the producer waits for a free slot. */
+	private final ChannelWaitStrategy waitStrategy;
+
+	/** Last sequence visible to the consumer. */
+	private final Sequence published = new Sequence(-1);
+
+	/** Last sequence drained by the consumer. */
+	private final Sequence consumed = new Sequence(-1);
+
+	/** Last sequence claimed by the producer, only accessed by the producer. */
+	private long claimed = -1;
+
+	/** Producer will publish no more events. */
+	private volatile boolean closed;
+
+	/** Events waiting on the consumer, sampled as each is published. */
+	private final MetricHistogram depth;
+
+	/** Time between an event being published and given to the consumer. */
+	private final MetricTimer latency;
+
+	/**
+	 * @param capacity
+	 *            minimum number of slots, rounded up to a power of two.
+	 * @param waitStrategy
+	 *            how the producer waits when the channel is full.
+	 */
+	public EventChannel( final int capacity, final ChannelWaitStrategy waitStrategy ) {
+
+		final int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+
+		this.slots = new EventSlot[size];
+		this.mask = size - 1;
+		this.waitStrategy = waitStrategy;
+
+		for (int i = 0; i < size; i++) {
+			slots[i] = new EventSlot();
+		}
+
+		this.depth = MetricsRegistry.metrics().histogram("output.channel.depth");
+		this.latency = MetricsRegistry.metrics().timer("output.channel.latency");
+	}
+
+	/**
+	 * Places the event into the next slot, making it visible to the consumer. Only to be called by
+	 * the producer thread.
+	 */
+	public void publish( final EventSlotType type, final Object event, final SimulationState state ) {
+
+		final long next = claimed + 1;
+		int attempt = 0;
+
+		while (next - consumed.get() > slots.length) {
+			waitStrategy.idle(attempt++);
+		}
+
+		slots[(int) next & mask].set(type, event, state, latency.start());
+		claimed = next;
+		published.set(next);
+
+		depth.record(next - consumed.get());
+	}
+
+	/**
+	 * Gives the published events to the sink, up to the batch size. Only to be called by the
+	 * consumer thread.
+	 * 
+	 * @return number of events drained.
+	 */
+	public int drain( final EventSink sink, final int maximumBatchSize ) {
+
+		final long from = consumed.get() + 1;
+		final long available = published.get();
+
+		if (available < from) {
+			return 0;
+		}
+
+		final long to = Math.min(available, from + maximumBatchSize - 1);
+		long sequence = from;
+
+		try {
+			for (; sequence <= to; sequence++) {
+				final EventSlot slot = slots[(int) sequence & mask];
+				latency.stop(slot.published());
+
+				try {
+					sink.event(slot, sequence == to);
+				} finally {
+					slot.clear();
+				}
+			}
+		} finally {
+			// An event that fails is not given to the sink again
+			consumed.set(Math.min(sequence, to));
+		}
+
+		return (int) (to - from + 1);
+	}
+
+	/**
+	 * Producer has finished publishing, once drained the channel may be discarded.
+	 */
+	public void close() {
+
+		closed = true;
+	}
+
+	/**
+	 * @return <code>true</code> when every published event has been drained.
+	 */
+	public boolean isDrained() {
+
+		return consumed.get() == published.get();
+	}
+
+	/**
+	 * @return <code>true</code> when the producer has closed the channel and every event was drained.
+	 */
+	public boolean isComplete() {
+
+		return closed && isDrained();
+	}
+
+	public int capacity() {
+
+		return slots.length;
+	}
+}
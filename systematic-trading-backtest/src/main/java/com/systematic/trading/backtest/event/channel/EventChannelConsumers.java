@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.event.channel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Threads draining event channels into their sinks.
+ * <p/>
+ * Each channel is assigned to a single consumer thread, with the channels spread across the
+ * threads as they are registered. A thread cycles through it's channels draining a batch from each,
+ * discarding the channels that are complete.
+ * 
+ * @author CJ Hare
+ */
+public class EventChannelConsumers implements AutoCloseable {
+
+	/** Classes logger. */
+	private static final Logger LOG = LogManager.getLogger(EventChannelConsumers.class);
+
+	private final Consumer[] consumers;
+	private final Thread[] threads;
+
+	/** Consumer given the next channel registered. */
+	private int next;
+
+	/**
+	 * @param numberOfThreads
+	 *            consumer threads, at least one.
+	 * @param waitStrategy
+	 *            how the consumers wait while their channels are empty.
+	 * @param maximumBatchSize
+	 *            events drained from a channel before moving onto the next channel.
+	 */
+	public EventChannelConsumers(
+	        final int numberOfThreads,
+	        final ChannelWaitStrategy waitStrategy,
+	        final int maximumBatchSize ) {
+
+		this.consumers = new Consumer[numberOfThreads];
+		this.threads = new Thread[numberOfThreads];
+
+		for (int i = 0; i < numberOfThreads; i++) {
+			consumers[i] = new Consumer(waitStrategy, maximumBatchSize);
+			threads[i] = new Thread(consumers[i], "event-channel-consumer-" + i);
+			threads[i].setDaemon(true);
+			threads[i].start();
+		}
+	}
+
+	/**
+	 * Events published to the channel will be drained into the sink.
+	 */
+	public synchronized void register( final EventChannel channel, final EventSink sink ) {
+
+		consumers[next].register(channel, sink);
+		next = (next + 1) % consumers.length;
+	}
+
+	/**
+	 * Waits for every registered channel to be drained, then stops the consumer threads. Publishing
+	 * must have finished before closing.
+	 */
+	@Override
+	public void close() {
+
+		for (final Consumer consumer : consumers) {
+			consumer.stop();
+		}
+
+		for (final Thread thread : threads) {
+			try {
+				thread.join();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private static class Registration {
+		private final EventChannel channel;
+		private final EventSink sink;
+
+		Registration( final EventChannel channel, final EventSink sink ) {
+
+			this.channel = channel;
+			this.sink = sink;
+		}
+	}
+
+	private static class Consumer implements Runnable {
+
+		private final ChannelWaitStrategy waitStrategy;
+		private final int maximumBatchSize;
+
+		/** Channels registered, yet to be picked up by the consumer thread. */
+		private final Queue<Registration> registered = new ConcurrentLinkedQueue<>();
+
+		/** Channels being drained, only accessed by the consumer thread. */
+		private final List<Registration> channels = new ArrayList<>();
+
+		private volatile boolean running = true;
+
+		Consumer( final ChannelWaitStrategy waitStrategy, final int maximumBatchSize ) {
+
+			this.waitStrategy = waitStrategy;
+			this.maximumBatchSize = maximumBatchSize;
+		}
+
+		void register( final EventChannel channel, final EventSink sink ) {
+
+			registered.add(new Registration(channel, sink));
+		}
+
+		void stop() {
+
+			running = false;
+		}
+
+		@Override
+		public void run() {
+
+			int attempt = 0;
+
+			while (true) {
+				// Read before draining, so no registration or event is missed once stopped
+				final boolean stopping = !running;
+
+				Registration added;
+				while ((added = registered.poll()) != null) {
+					channels.add(added);
+				}
+
+				if (drain() > 0) {
+					attempt = 0;
+				} else if (stopping && registered.isEmpty()) {
+					return;
+				} else {
+					waitStrategy.idle(attempt++);
+				}
+			}
+		}
+
+		private int drain() {
+
+			int drained = 0;
+
+			for (int i = channels.size() - 1; i >= 0; i--) {
+				final Registration registration = channels.get(i);
+
+				try {
+					drained += registration.channel.drain(registration.sink, maximumBatchSize);
+				} catch (final RuntimeException e) {
+					LOG.error("Output failed to consume an event", e);
+					drained++;
+				}
+
+				if (registration.channel.isComplete()) {
+					removeAt(i);
+				}
+			}
+
+			return drained;
+		}
+
+		/**
+		 * Removal by swapping in the last channel, as the order of draining does not matter.
+		 */
+		private void removeAt( final int index ) {
+
+			final int last = channels.size() - 1;
+			channels.set(index, channels.get(last));
+			channels.remove(last);
+		}
+	}
+}
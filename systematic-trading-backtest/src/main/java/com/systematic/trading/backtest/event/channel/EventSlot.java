@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.event.channel;
+
+import com.systematic.trading.simulation.SimulationStateListener.SimulationState;
+
+/**
+ * Pre-allocated entry of an event channel, overwritten with each event that passes through it.
+ * 
+ * @author CJ Hare
+ */
+public class EventSlot {
+
+	/**
+	 * Listener method the event is destined for.
+	 */
+	public enum EventSlotType {
+		BROKERAGE,
+		CASH,
+		EQUITY,
+		NET_WORTH,
+		ORDER,
+		RETURN_ON_INVESTMENT,
+		SIGNAL_ANALYSIS,
+		STATE_CHANGE;
+	}
+
+	private EventSlotType type;
+
+	/** Event, <code>null</code> for a state change. */
+	private Object event;
+
+	/** Simulation state, for net worth events and state changes. */
+	private SimulationState state;
+
+	/** Start of the hand over latency, zero when the metrics are disabled. */
+	private long published;
+
+	public EventSlotType type() {
+
+		return type;
+	}
+
+	public Object event() {
+
+		return event;
+	}
+
+	public SimulationState state() {
+
+		return state;
+	}
+
+	long published() {
+
+		return published;
+	}
+
+	void set( final EventSlotType type, final Object event, final SimulationState state, final long published ) {
+
+		this.type = type;
+		this.event = event;
+		this.state = state;
+		this.published = published;
+	}
+
+	/**
+	 * Releases the event once consumed, so it may be garbage collected before the slot is reused.
+	 */
+	void clear() {
+
+		this.event = null;
+		this.state = null;
+	}
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.event.channel.configuration.impl;
+
+import com.systematic.trading.backtest.event.channel.ChannelWaitStrategy;
+import com.systematic.trading.backtest.event.channel.configuration.BacktestOutputChannelConfiguration;
+
+/**
+ * Implementation for the BacktestOutputChannelConfiguration.
+ * 
+ * @author CJ Hare
+ */
+public class BacktestOutputChannelConfigurationImpl implements BacktestOutputChannelConfiguration {
+
+	private final int consumerThreads;
+	private final int channelCapacity;
+	private final int batchSize;
+	private final ChannelWaitStrategy waitStrategy;
+
+	public BacktestOutputChannelConfigurationImpl(
+	        final int consumerThreads,
+	        final int channelCapacity,
+	        final int batchSize,
+	        final ChannelWaitStrategy waitStrategy ) {
+
+		this.consumerThreads = consumerThreads;
+		this.channelCapacity = channelCapacity;
+		this.batchSize = batchSize;
+		this.waitStrategy = waitStrategy;
+	}
+
+	@Override
+	public int consumerThreads() {
+
+		return consumerThreads;
+	}
+
+	@Override
+	public int channelCapacity() {
+
+		return channelCapacity;
+	}
+
+	@Override
+	public int batchSize() {
+
+		return batchSize;
+	}
+
+	@Override
+	public ChannelWaitStrategy waitStrategy() {
+
+		return waitStrategy;
+	}
+}
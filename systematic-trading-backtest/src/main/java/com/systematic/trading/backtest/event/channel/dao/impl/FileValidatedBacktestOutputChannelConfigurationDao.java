@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.event.channel.dao.impl;
+
+import java.util.Properties;
+
+import com.systematic.trading.backtest.event.channel.ChannelWaitStrategy;
+import com.systematic.trading.backtest.event.channel.configuration.BacktestOutputChannelConfiguration;
+import com.systematic.trading.backtest.event.channel.configuration.BacktestOutputChannelProperty;
+import com.systematic.trading.backtest.event.channel.configuration.impl.BacktestOutputChannelConfigurationImpl;
+import com.systematic.trading.backtest.event.channel.dao.BacktestOutputChannelConfigurationDao;
+import com.systematic.trading.configuration.ConfigurationValidator;
+import com.systematic.trading.configuration.EnumConfigurationValidator;
+import com.systematic.trading.configuration.IntegerConfigurationValidator;
+import com.systematic.trading.configuration.exception.ConfigurationValidationException;
+import com.systematic.trading.data.dao.impl.FileConfigurationDao;
+import com.systematic.trading.data.exception.CannotRetrieveConfigurationException;
+
+/**
+ * Providing validation of the configuration properties for the back test output channel.
+ * 
+ * @author CJ Hare
+ */
+public class FileValidatedBacktestOutputChannelConfigurationDao implements BacktestOutputChannelConfigurationDao {
+
+	private static final String BACKTEST_OUTPUT_CHANNEL_PROPERTIES_FILE = "backtest_output_channel.properties";
+
+	/** Upper bound of the slots in each channel. */
+	private static final int MAXIMUM_CHANNEL_CAPACITY = 1 << 20;
+
+	private final ConfigurationValidator<Integer> consumerThreadsValidator;
+	private final ConfigurationValidator<Integer> channelCapacityValidator;
+	private final ConfigurationValidator<Integer> batchSizeValidator;
+	private final ConfigurationValidator<ChannelWaitStrategy> waitStrategyValidator;
+
+	public FileValidatedBacktestOutputChannelConfigurationDao() {
+
+		this.consumerThreadsValidator = new IntegerConfigurationValidator(0, Runtime.getRuntime().availableProcessors());
+		this.channelCapacityValidator = new IntegerConfigurationValidator(1, MAXIMUM_CHANNEL_CAPACITY);
+		this.batchSizeValidator = new IntegerConfigurationValidator(1, MAXIMUM_CHANNEL_CAPACITY);
+		this.waitStrategyValidator = new EnumConfigurationValidator<>(ChannelWaitStrategy.class);
+	}
+
+	@Override
+	public BacktestOutputChannelConfiguration configuration()
+	        throws ConfigurationValidationException, CannotRetrieveConfigurationException {
+
+		final Properties properties = new FileConfigurationDao()
+		        .configuration(BACKTEST_OUTPUT_CHANNEL_PROPERTIES_FILE);
+
+		final int consumerThreads = consumerThreadsValidator
+		        .validate(property(properties, BacktestOutputChannelProperty.CONSUMER_THREADS));
+		final int channelCapacity = channelCapacityValidator
+		        .validate(property(properties, BacktestOutputChannelProperty.CHANNEL_CAPACITY));
+		final int batchSize = batchSizeValidator
+		        .validate(property(properties, BacktestOutputChannelProperty.BATCH_SIZE));
+		final ChannelWaitStrategy waitStrategy = waitStrategyValidator
+		        .validate(property(properties, BacktestOutputChannelProperty.WAIT_STRATEGY));
+
+		return new BacktestOutputChannelConfigurationImpl(consumerThreads, channelCapacity, batchSize, waitStrategy);
+	}
+
+	private String property( final Properties properties, final BacktestOutputChannelProperty property ) {
+
+		return properties.getProperty(property.key());
+	}
+}
@@ -0,0 +1,249 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.event.filter;
+
+import java.time.Period;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import com.systematic.trading.backtest.BacktestSimulationDates;
+import com.systematic.trading.backtest.event.BacktestEventListener;
+import com.systematic.trading.backtest.event.filter.configuration.BacktestOutputFilterConfiguration;
+import com.systematic.trading.model.TickerSymbolTradingData;
+import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent;
+import com.systematic.trading.simulation.analysis.roi.CumulativeReturnOnInvestment;
+import com.systematic.trading.simulation.analysis.roi.PeriodicCulmativeReturnOnInvestment;
+import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEvent;
+import com.systematic.trading.simulation.analysis.statistics.EventStatistics;
+import com.systematic.trading.simulation.brokerage.event.BrokerageEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent;
+import com.systematic.trading.simulation.equity.event.EquityEvent;
+import com.systematic.trading.simulation.order.event.OrderEvent;
+import com.systematic.trading.strategy.signal.SignalAnalysisEvent;
+
+/**
+ * Decorator for a back test output, passing on only the selected events.
+ * <p/>
+ * Summary events; net worth, monthly and yearly return on investment, are passed on immediately.
+ * Detail events; cash, order, brokerage, equity, signal analysis and daily return on investment,
+ * are held when only the top ranked configurations are to be output in detail, with the final net
+ * worth deciding whether they are dropped or handed to the ranking. The ranking passes on the detail
+ * of the top configurations once the trial is complete, along with the deferred completion of those
+ * configurations it admitted.
+ * 
+ * @author CJ Hare
+ */
+public class FilteredBacktestEventListener implements BacktestEventListener {
+
+	/** Return on investment events spanning less than a week are from the daily summary. */
+	private static final int DAILY_SPAN_DAYS = 7;
+
+	/** Output receiving the selected events. */
+	private final BacktestEventListener delegate;
+
+	/** Event families passed on to the delegate. */
+	private final Set<OutputEventFamily> families;
+
+	/** Treatment of the daily return on investment events. */
+	private final DailyReturnOnInvestmentSampling dailyReturnOnInvestment;
+
+	/** Trial wide ranking, only used when detail is kept for the top configurations. */
+	private final NetWorthRanking ranking;
+
+	/** Whether detail events wait upon the ranking of the final net worth. */
+	private final boolean rankedDetail;
+
+	/** Detail events awaiting the final net worth. */
+	private List<Runnable> pendingDetail = new ArrayList<>();
+
+	/** Whether the ranking holds the detail, deferring the completion until it is released. */
+	private boolean admitted;
+
+	/** Aggregates the daily into weekly return on investment, created with the first daily event. */
+	private PeriodicCulmativeReturnOnInvestment weeklyReturnOnInvestment;
+
+	public FilteredBacktestEventListener(
+	        final BacktestEventListener delegate,
+	        final BacktestOutputFilterConfiguration config,
+	        final NetWorthRanking ranking ) {
+
+		this.delegate = delegate;
+		this.families = config.eventFamilies();
+		this.dailyReturnOnInvestment = config.dailyReturnOnInvestment();
+		this.ranking = ranking;
+		this.rankedDetail = config.detailedConfigurations() > 0;
+	}
+
+	@Override
+	public void init(
+	        final TickerSymbolTradingData tradingData,
+	        final BacktestSimulationDates dates,
+	        final EventStatistics eventStatistics,
+	        final CumulativeReturnOnInvestment cumulativeRoi,
+	        final TradingDayPrices lastTradingDay ) {
+
+		pendingDetail.clear();
+		admitted = false;
+		weeklyReturnOnInvestment = null;
+		delegate.init(tradingData, dates, eventStatistics, cumulativeRoi, lastTradingDay);
+	}
+
+	/**
+	 * Ranking of the detail relies on the net worth events, irrespective of them being passed on.
+	 */
+	@Override
+	public boolean listensTo( final OutputEventFamily family ) {
+
+		return (rankedDetail && family == OutputEventFamily.NET_WORTH)
+		        || (families.contains(family) && delegate.listensTo(family));
+	}
+
+	@Override
+	public void event( final CashEvent event ) {
+
+		if (families.contains(OutputEventFamily.CASH)) {
+			detail(() -> delegate.event(event));
+		}
+	}
+
+	@Override
+	public void event( final OrderEvent event ) {
+
+		if (families.contains(OutputEventFamily.ORDER)) {
+			detail(() -> delegate.event(event));
+		}
+	}
+
+	@Override
+	public void event( final BrokerageEvent event ) {
+
+		if (families.contains(OutputEventFamily.BROKERAGE)) {
+			detail(() -> delegate.event(event));
+		}
+	}
+
+	@Override
+	public void event( final EquityEvent event ) {
+
+		if (families.contains(OutputEventFamily.EQUITY)) {
+			detail(() -> delegate.event(event));
+		}
+	}
+
+	@Override
+	public void event( final SignalAnalysisEvent event ) {
+
+		if (families.contains(OutputEventFamily.SIGNAL_ANALYSIS)) {
+			detail(() -> delegate.event(event));
+		}
+	}
+
+	@Override
+	public void event( final ReturnOnInvestmentEvent event ) {
+
+		if (!families.contains(OutputEventFamily.RETURN_ON_INVESTMENT)) {
+			return;
+		}
+
+		if (isDaily(event)) {
+			switch (dailyReturnOnInvestment) {
+				case DAILY:
+					detail(() -> delegate.event(event));
+				break;
+				case WEEKLY:
+					weeklyReturnOnInvestment(event).event(event);
+				break;
+				case MONTHLY:
+					// Aggregating here would duplicate the monthly summary
+				case NONE:
+				default:
+				break;
+			}
+		} else {
+			delegate.event(event);
+		}
+	}
+
+	/**
+	 * The final net worth decides whether the held detail events are handed to the ranking.
+	 */
+	@Override
+	public void event( final NetWorthEvent event, final SimulationState state ) {
+
+		if (rankedDetail) {
+			admitted = ranking.admit(event.netWorth(), pendingDetail);
+
+			// Once admitted the detail belongs to the ranking
+			pendingDetail = new ArrayList<>();
+		}
+
+		if (families.contains(OutputEventFamily.NET_WORTH)) {
+			delegate.event(event, state);
+		}
+	}
+
+	@Override
+	public void stateChanged( final SimulationState transitionedState ) {
+
+		// Detail without a final net worth has no ranking
+		pendingDetail.clear();
+
+		if (admitted) {
+			ranking.complete(() -> delegate.stateChanged(transitionedState));
+		} else {
+			delegate.stateChanged(transitionedState);
+		}
+	}
+
+	private void detail( final Runnable delivery ) {
+
+		if (rankedDetail) {
+			pendingDetail.add(delivery);
+		} else {
+			delivery.run();
+		}
+	}
+
+	private boolean isDaily( final ReturnOnInvestmentEvent event ) {
+
+		return ChronoUnit.DAYS.between(event.startDateInclusive(), event.endDateExclusive()) < DAILY_SPAN_DAYS;
+	}
+
+	private PeriodicCulmativeReturnOnInvestment weeklyReturnOnInvestment( final ReturnOnInvestmentEvent event ) {
+
+		if (weeklyReturnOnInvestment == null) {
+			weeklyReturnOnInvestment = new PeriodicCulmativeReturnOnInvestment(
+			        event.startDateInclusive(),
+			        Period.ofWeeks(1));
+			weeklyReturnOnInvestment.addListener(weekly -> detail(() -> delegate.event(weekly)));
+		}
+
+		return weeklyReturnOnInvestment;
+	}
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.event.filter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Ranking of the final net worth across the configurations of a trial, with only the top N having
+ * their detail passed on to the output.
+ * <p/>
+ * The detail of each configuration within the top N seen so far is held by the ranking, being dropped
+ * when a higher net worth displaces it, with only the detail of the final top N released once every
+ * configuration has completed. The completion of every admitted configuration is deferred until then,
+ * so the output of a configuration is never treated as finished while its detail is held.
+ * <p/>
+ * Held detail is bounded by the N configurations, rather than buffering every configuration until the
+ * trial ends.
+ * 
+ * @author CJ Hare
+ */
+public class NetWorthRanking {
+
+	/** Number of configurations to retain. */
+	private final int size;
+
+	/** Lowest ranked of the current top N at the head. */
+	private final PriorityQueue<RankedDetail> top;
+
+	/** Completions of the admitted configurations, awaiting the release of the detail. */
+	private final List<Runnable> completions = new ArrayList<>();
+
+	public NetWorthRanking( final int size ) {
+
+		this.size = size;
+		this.top = new PriorityQueue<>(Math.max(1, size), Comparator.comparing(RankedDetail::netWorth));
+	}
+
+	/**
+	 * @param netWorth
+	 *            final net worth of a configuration.
+	 * @param detail
+	 *            deliveries of the detail events of the configuration, held by the ranking when
+	 *            admitted.
+	 * @return <code>true</code> when the net worth is within the top N seen so far.
+	 */
+	public synchronized boolean admit( final BigDecimal netWorth, final List<Runnable> detail ) {
+
+		if (top.size() < size) {
+			top.add(new RankedDetail(netWorth, detail));
+			return true;
+		}
+
+		if (size > 0 && netWorth.compareTo(top.peek().netWorth()) > 0) {
+
+			// Displaced detail is dropped, never having reached the output
+			top.poll();
+			top.add(new RankedDetail(netWorth, detail));
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Defers the completion of an admitted configuration, until after its detail has been released.
+	 */
+	public synchronized void complete( final Runnable completion ) {
+
+		completions.add(completion);
+	}
+
+	/**
+	 * Passes on the detail of the final top N, followed by the completion of every admitted
+	 * configuration. Only to be invoked once every configuration of the trial has completed.
+	 */
+	public synchronized void release() {
+
+		while (!top.isEmpty()) {
+			top.poll().detail().forEach(Runnable::run);
+		}
+
+		completions.forEach(Runnable::run);
+		completions.clear();
+	}
+
+	/**
+	 * Detail events of a configuration, awaiting the final ranking.
+	 */
+	private static class RankedDetail {
+
+		private final BigDecimal netWorth;
+		private final List<Runnable> detail;
+
+		RankedDetail( final BigDecimal netWorth, final List<Runnable> detail ) {
+
+			this.netWorth = netWorth;
+			this.detail = detail;
+		}
+
+		BigDecimal netWorth() {
+
+			return netWorth;
+		}
+
+		List<Runnable> detail() {
+
+			return detail;
+		}
+	}
+}
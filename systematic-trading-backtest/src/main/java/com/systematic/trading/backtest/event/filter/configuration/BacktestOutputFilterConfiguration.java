@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.event.filter.configuration;
+
+import java.util.Set;
+
+import com.systematic.trading.backtest.event.filter.DailyReturnOnInvestmentSampling;
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
+
+/**
+ * Selection of the back test events given to the output.
+ * 
+ * @author CJ Hare
+ */
+public interface BacktestOutputFilterConfiguration {
+
+	/**
+	 * @return event families given to the output, with the remainder dropped.
+	 */
+	Set<OutputEventFamily> eventFamilies();
+
+	/**
+	 * @return treatment of the daily return on investment events.
+	 */
+	DailyReturnOnInvestmentSampling dailyReturnOnInvestment();
+
+	/**
+	 * Retrieves the number of configurations, ranked by their final net worth, that have every event
+	 * given to the output. Other configurations output only their summary events; net worth,
+	 * monthly and yearly return on investment.
+	 * 
+	 * @return number of configurations to keep in detail, zero for every configuration.
+	 */
+	int detailedConfigurations();
+
+	/**
+	 * @return <code>true</code> when every event is given to the output unaltered.
+	 */
+	default boolean isUnfiltered() {
+
+		return eventFamilies().size() == OutputEventFamily.values().length
+		        && dailyReturnOnInvestment() == DailyReturnOnInvestmentSampling.DAILY && detailedConfigurations() == 0;
+	}
+}
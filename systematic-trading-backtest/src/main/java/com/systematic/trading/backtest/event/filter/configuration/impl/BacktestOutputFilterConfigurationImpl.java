@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.event.filter.configuration.impl;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.systematic.trading.backtest.event.filter.DailyReturnOnInvestmentSampling;
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
+import com.systematic.trading.backtest.event.filter.configuration.BacktestOutputFilterConfiguration;
+
+/**
+ * Implementation for the BacktestOutputFilterConfiguration.
+ * 
+ * @author CJ Hare
+ */
+public class BacktestOutputFilterConfigurationImpl implements BacktestOutputFilterConfiguration {
+
+	private final Set<OutputEventFamily> eventFamilies;
+	private final DailyReturnOnInvestmentSampling dailyReturnOnInvestment;
+	private final int detailedConfigurations;
+
+	public BacktestOutputFilterConfigurationImpl(
+	        final Set<OutputEventFamily> eventFamilies,
+	        final DailyReturnOnInvestmentSampling dailyReturnOnInvestment,
+	        final int detailedConfigurations ) {
+
+		this.eventFamilies = eventFamilies.isEmpty() ? Collections.emptySet()
+		        : Collections.unmodifiableSet(EnumSet.copyOf(eventFamilies));
+		this.dailyReturnOnInvestment = dailyReturnOnInvestment;
+		this.detailedConfigurations = detailedConfigurations;
+	}
+
+	@Override
+	public Set<OutputEventFamily> eventFamilies() {
+
+		return eventFamilies;
+	}
+
+	@Override
+	public DailyReturnOnInvestmentSampling dailyReturnOnInvestment() {
+
+		return dailyReturnOnInvestment;
+	}
+
+	@Override
+	public int detailedConfigurations() {
+
+		return detailedConfigurations;
+	}
+}
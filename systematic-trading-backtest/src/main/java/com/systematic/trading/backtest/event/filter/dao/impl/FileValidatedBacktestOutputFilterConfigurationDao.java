@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.event.filter.dao.impl;
+
+import java.util.Properties;
+import java.util.Set;
+
+import com.systematic.trading.backtest.event.filter.DailyReturnOnInvestmentSampling;
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
+import com.systematic.trading.backtest.event.filter.configuration.BacktestOutputFilterConfiguration;
+import com.systematic.trading.backtest.event.filter.configuration.BacktestOutputFilterProperty;
+import com.systematic.trading.backtest.event.filter.configuration.impl.BacktestOutputFilterConfigurationImpl;
+import com.systematic.trading.backtest.event.filter.dao.BacktestOutputFilterConfigurationDao;
+import com.systematic.trading.configuration.ConfigurationValidator;
+import com.systematic.trading.configuration.EnumConfigurationValidator;
+import com.systematic.trading.configuration.EnumSetConfigurationValidator;
+import com.systematic.trading.configuration.IntegerConfigurationValidator;
+import com.systematic.trading.configuration.exception.ConfigurationValidationException;
+import com.systematic.trading.data.dao.impl.FileConfigurationDao;
+import com.systematic.trading.data.exception.CannotRetrieveConfigurationException;
+
+/**
+ * Providing validation of the configuration properties for the filtering of the back test output.
+ * 
+ * @author CJ Hare
+ */
+public class FileValidatedBacktestOutputFilterConfigurationDao implements BacktestOutputFilterConfigurationDao {
+
+	private static final String BACKTEST_OUTPUT_FILTER_PROPERTIES_FILE = "backtest_output_filter.properties";
+
+	private final ConfigurationValidator<Set<OutputEventFamily>> eventFamiliesValidator;
+	private final ConfigurationValidator<DailyReturnOnInvestmentSampling> dailyReturnOnInvestmentValidator;
+	private final ConfigurationValidator<Integer> detailedConfigurationsValidator;
+
+	public FileValidatedBacktestOutputFilterConfigurationDao() {
+
+		this.eventFamiliesValidator = new EnumSetConfigurationValidator<>(OutputEventFamily.class);
+		this.dailyReturnOnInvestmentValidator = new EnumConfigurationValidator<>(
+		        DailyReturnOnInvestmentSampling.class);
+		this.detailedConfigurationsValidator = new IntegerConfigurationValidator(0, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public BacktestOutputFilterConfiguration configuration()
+	        throws ConfigurationValidationException, CannotRetrieveConfigurationException {
+
+		final Properties properties = new FileConfigurationDao().configuration(BACKTEST_OUTPUT_FILTER_PROPERTIES_FILE);
+
+		final Set<OutputEventFamily> eventFamilies = eventFamiliesValidator
+		        .validate(property(properties, BacktestOutputFilterProperty.EVENT_FAMILIES));
+		final DailyReturnOnInvestmentSampling dailyReturnOnInvestment = dailyReturnOnInvestmentValidator
+		        .validate(property(properties, BacktestOutputFilterProperty.DAILY_RETURN_ON_INVESTMENT));
+		final int detailedConfigurations = detailedConfigurationsValidator
+		        .validate(property(properties, BacktestOutputFilterProperty.DETAILED_CONFIGURATIONS));
+
+		return new BacktestOutputFilterConfigurationImpl(eventFamilies, dailyReturnOnInvestment, detailedConfigurations);
+	}
+
+	private String property( final Properties properties, final BacktestOutputFilterProperty property ) {
+
+		return properties.getProperty(property.key());
+	}
+}
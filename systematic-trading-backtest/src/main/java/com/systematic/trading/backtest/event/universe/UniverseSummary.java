@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.event.universe;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cross-sectional summary of a strategy applied across a universe of ticker symbols, recording
+ * the final net worth of each.
+ * <p/>
+ * Recording is thread safe, as the ticker symbols of a universe are back tested concurrently.
+ * 
+ * @author CJ Hare
+ */
+public class UniverseSummary {
+
+	/** Final net worth of each ticker symbol, by the description of the strategy. */
+	private final ConcurrentMap<String, ConcurrentMap<String, BigDecimal>> netWorths = new ConcurrentHashMap<>();
+
+	/** Scale and precision used for the mean net worth. */
+	private final MathContext mc;
+
+	public UniverseSummary( final MathContext mc ) {
+
+		this.mc = mc;
+	}
+
+	public void record( final String strategy, final String tickerSymbol, final BigDecimal netWorth ) {
+
+		netWorths.computeIfAbsent(strategy, key -> new ConcurrentHashMap<>()).put(tickerSymbol, netWorth);
+	}
+
+	/**
+	 * @return final net worth recorded for the strategy and ticker symbol, empty when not recorded.
+	 */
+	public Optional<BigDecimal> netWorth( final String strategy, final String tickerSymbol ) {
+
+		final Map<String, BigDecimal> strategyNetWorths = netWorths.get(strategy);
+
+		return Optional.ofNullable(strategyNetWorths == null ? null : strategyNetWorths.get(tickerSymbol));
+	}
+
+	/**
+	 * @return summary of each strategy, in the order of their descriptions.
+	 */
+	public List<StrategySummary> strategies() {
+
+		final List<StrategySummary> summaries = new ArrayList<>(netWorths.size());
+
+		for (final Map.Entry<String, ConcurrentMap<String, BigDecimal>> strategy : new TreeMap<>(netWorths)
+		        .entrySet()) {
+			summaries.add(new StrategySummary(strategy.getKey(), new TreeMap<>(strategy.getValue()), mc));
+		}
+
+		return summaries;
+	}
+
+	/**
+	 * Final net worth of a single strategy over the ticker symbols of the universe.
+	 */
+	public static class StrategySummary {
+
+		private final String strategy;
+		private final Map<String, BigDecimal> netWorths;
+		private final BigDecimal meanNetWorth;
+		private final String bestTickerSymbol;
+		private final String worstTickerSymbol;
+
+		StrategySummary( final String strategy, final Map<String, BigDecimal> netWorths, final MathContext mc ) {
+
+			this.strategy = strategy;
+			this.netWorths = Collections.unmodifiableMap(netWorths);
+
+			BigDecimal total = BigDecimal.ZERO;
+			String best = null;
+			String worst = null;
+
+			for (final Map.Entry<String, BigDecimal> netWorth : netWorths.entrySet()) {
+				total = total.add(netWorth.getValue(), mc);
+
+				if (best == null || netWorth.getValue().compareTo(netWorths.get(best)) > 0) {
+					best = netWorth.getKey();
+				}
+				if (worst == null || netWorth.getValue().compareTo(netWorths.get(worst)) < 0) {
+					worst = netWorth.getKey();
+				}
+			}
+
+			this.meanNetWorth = netWorths.isEmpty() ? BigDecimal.ZERO
+			        : total.divide(BigDecimal.valueOf(netWorths.size()), mc);
+			this.bestTickerSymbol = best;
+			this.worstTickerSymbol = worst;
+		}
+
+		public String strategy() {
+
+			return strategy;
+		}
+
+		/**
+		 * @return final net worth by ticker symbol.
+		 */
+		public Map<String, BigDecimal> netWorths() {
+
+			return netWorths;
+		}
+
+		public int tickerSymbols() {
+
+			return netWorths.size();
+		}
+
+		public BigDecimal meanNetWorth() {
+
+			return meanNetWorth;
+		}
+
+		public String bestTickerSymbol() {
+
+			return bestTickerSymbol;
+		}
+
+		public String worstTickerSymbol() {
+
+			return worstTickerSymbol;
+		}
+	}
+}
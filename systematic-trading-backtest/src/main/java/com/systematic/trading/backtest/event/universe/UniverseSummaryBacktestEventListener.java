@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.event.universe;
+
+import com.systematic.trading.backtest.BacktestSimulationDates;
+import com.systematic.trading.backtest.event.BacktestEventListener;
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
+import com.systematic.trading.model.TickerSymbolTradingData;
+import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent;
+import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent.NetWorthEventType;
+import com.systematic.trading.simulation.analysis.roi.CumulativeReturnOnInvestment;
+import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEvent;
+import com.systematic.trading.simulation.analysis.statistics.EventStatistics;
+import com.systematic.trading.simulation.brokerage.event.BrokerageEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent;
+import com.systematic.trading.simulation.equity.event.EquityEvent;
+import com.systematic.trading.simulation.order.event.OrderEvent;
+import com.systematic.trading.strategy.signal.SignalAnalysisEvent;
+
+/**
+ * Decorator for a back test output, recording the final net worth into the universe summary before
+ * passing on the events.
+ * 
+ * @author CJ Hare
+ */
+public class UniverseSummaryBacktestEventListener implements BacktestEventListener {
+
+	/** Output receiving the events. */
+	private final BacktestEventListener delegate;
+
+	/** Trial wide summary, shared by every ticker symbol of the universe. */
+	private final UniverseSummary summary;
+
+	/** Description of the strategy being back tested. */
+	private final String strategy;
+
+	/** Ticker symbol being back tested. */
+	private final String tickerSymbol;
+
+	public UniverseSummaryBacktestEventListener(
+	        final BacktestEventListener delegate,
+	        final UniverseSummary summary,
+	        final String strategy,
+	        final String tickerSymbol ) {
+
+		this.delegate = delegate;
+		this.summary = summary;
+		this.strategy = strategy;
+		this.tickerSymbol = tickerSymbol;
+	}
+
+	@Override
+	public void init(
+	        final TickerSymbolTradingData tradingData,
+	        final BacktestSimulationDates dates,
+	        final EventStatistics eventStatistics,
+	        final CumulativeReturnOnInvestment cumulativeRoi,
+	        final TradingDayPrices lastTradingDay ) {
+
+		delegate.init(tradingData, dates, eventStatistics, cumulativeRoi, lastTradingDay);
+	}
+
+	/**
+	 * The summary relies on the net worth events, irrespective of them being passed on.
+	 */
+	@Override
+	public boolean listensTo( final OutputEventFamily family ) {
+
+		return family == OutputEventFamily.NET_WORTH || delegate.listensTo(family);
+	}
+
+	@Override
+	public void event( final CashEvent event ) {
+
+		delegate.event(event);
+	}
+
+	@Override
+	public void event( final OrderEvent event ) {
+
+		delegate.event(event);
+	}
+
+	@Override
+	public void event( final BrokerageEvent event ) {
+
+		delegate.event(event);
+	}
+
+	@Override
+	public void event( final EquityEvent event ) {
+
+		delegate.event(event);
+	}
+
+	@Override
+	public void event( final ReturnOnInvestmentEvent event ) {
+
+		delegate.event(event);
+	}
+
+	@Override
+	public void event( final SignalAnalysisEvent event ) {
+
+		delegate.event(event);
+	}
+
+	@Override
+	public void event( final NetWorthEvent event, final SimulationState state ) {
+
+		if (event.type() == NetWorthEventType.COMPLETED) {
+			summary.record(strategy, tickerSymbol, event.netWorth());
+		}
+
+		if (delegate.listensTo(OutputEventFamily.NET_WORTH)) {
+			delegate.event(event, state);
+		}
+	}
+
+	@Override
+	public void stateChanged( final SimulationState transitionedState ) {
+
+		delegate.stateChanged(transitionedState);
+	}
+}
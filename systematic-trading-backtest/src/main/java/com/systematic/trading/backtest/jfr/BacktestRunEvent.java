@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event for the back tests of one ticker symbol sharing a warm up period, from the
+ * retrieval of their trading data to the end of their simulation.
+ * 
+ * @author CJ Hare
+ */
+@Name(BacktestRunEvent.NAME)
+@Label("Backtest Run")
+@Description("Trading data retrieval and simulation for a group of back tests sharing their trading data")
+@Category({ "Systematic Trading", "Backtest" })
+@Threshold("10 ms")
+@StackTrace(false)
+public class BacktestRunEvent extends jdk.jfr.Event {
+
+	public static final String NAME = "com.systematic.trading.BacktestRun";
+
+	@Label("Batch Id")
+	@Description("Identity of the first back test of the group")
+	public String batchId;
+
+	@Label("Ticker Symbol")
+	public String tickerSymbol;
+
+	@Label("Back Tests")
+	public int backtests;
+
+	@Label("Replayed")
+	@Description("Back tests with a known result, given to the output without simulation")
+	public int replayed;
+
+	@Label("Prices")
+	@Description("Trading day prices retrieved from the local data source")
+	public int prices;
+}
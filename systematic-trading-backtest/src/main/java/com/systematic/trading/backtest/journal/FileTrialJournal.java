@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Append-only journal file, one completed back test per line, following a header that identifies
+ * the trial and its launch arguments.
+ * <p>
+ * Entries are written in groups with a single sync per group, as a sync for every back test would
+ * cost more then many of the simulations. A line without its terminator is what remains of an
+ * interrupted write, it is ignored and overwritten on resume.
+ * </p>
+ * 
+ * @author CJ Hare
+ */
+public class FileTrialJournal implements TrialJournal {
+
+	/** Classes' logger. */
+	private static final Logger LOG = LogManager.getLogger(FileTrialJournal.class);
+
+	/** Terminator of the header and every entry. */
+	private static final char NEW_LINE = '\n';
+
+	/** Layout of the file, any other version is not resumed. */
+	private static final String FORMAT_VERSION = "trial-journal-1";
+
+	/** Location of the journal. */
+	private final Path file;
+
+	/** First line of the journal, only entries following the same header are resumed. */
+	private final String header;
+
+	/** Open for appending, between open and close. */
+	private FileChannel channel;
+
+	/**
+	 * @param trial
+	 *            identity of the trial, including any launch argument that changes the result of
+	 *            the back tests.
+	 */
+	public FileTrialJournal( final Path file, final String trial ) {
+
+		this.file = file;
+		this.header = String.format("%s %s", FORMAT_VERSION, trial);
+	}
+
+	@Override
+	public synchronized Set<String> open( final boolean resume ) throws IOException {
+
+		final Set<String> completed = new HashSet<>();
+		final long resumeFrom = resume ? read(completed) : 0;
+
+		final Path directory = file.toAbsolutePath().getParent();
+		if (directory != null) {
+			Files.createDirectories(directory);
+		}
+
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
+		if (resumeFrom > 0) {
+			// Drops any partially written entry
+			channel.truncate(resumeFrom);
+			channel.position(resumeFrom);
+		} else {
+			channel.truncate(0);
+			write(header + NEW_LINE);
+		}
+
+		return Collections.unmodifiableSet(completed);
+	}
+
+	@Override
+	public synchronized void record( final Collection<String> completed ) throws IOException {
+
+		if (completed.isEmpty()) {
+			return;
+		}
+
+		final StringBuilder entries = new StringBuilder();
+		for (final String entry : completed) {
+			entries.append(entry).append(NEW_LINE);
+		}
+
+		write(entries.toString());
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+
+		if (channel != null) {
+			channel.close();
+			channel = null;
+		}
+	}
+
+	/**
+	 * @return length of the journal up to the last complete entry, zero when there is nothing to
+	 *         resume.
+	 */
+	private long read( final Set<String> completed ) throws IOException {
+
+		if (!Files.isRegularFile(file)) {
+			LOG.info("No journal to resume: {}", file);
+			return 0;
+		}
+
+		final byte[] content = Files.readAllBytes(file);
+		final int headerEnd = indexOf(content, 0);
+
+		if (headerEnd < 0 || !header.equals(line(content, 0, headerEnd))) {
+			LOG.warn("Journal belongs to a different trial or launch arguments, not resuming: {}", file);
+			return 0;
+		}
+
+		int start = headerEnd + 1;
+		int end = indexOf(content, start);
+
+		while (end >= 0) {
+			completed.add(line(content, start, end));
+			start = end + 1;
+			end = indexOf(content, start);
+		}
+
+		return start;
+	}
+
+	private void write( final String content ) throws IOException {
+
+		final ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+
+		// Modification times are not needed to read the entries back
+		channel.force(false);
+	}
+
+	private int indexOf( final byte[] content, final int from ) {
+
+		for (int i = from; i < content.length; i++) {
+			if (content[i] == NEW_LINE) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	private String line( final byte[] content, final int start, final int end ) {
+
+		return new String(content, start, end - start, StandardCharsets.UTF_8);
+	}
+}
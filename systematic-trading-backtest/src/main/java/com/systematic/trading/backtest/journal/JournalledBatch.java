@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.journal;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Back tests run together as a batch, recorded in the journal with a single sync once the output of
+ * every one of them is durable.
+ * <p/>
+ * The simulation finishing is not enough, as events may still be waiting on the output channel and
+ * writes on the output pool. A batch that is never recorded is run again on resume.
+ * 
+ * @author CJ Hare
+ */
+public class JournalledBatch {
+
+	/** Classes logger. */
+	private static final Logger LOG = LogManager.getLogger(JournalledBatch.class);
+
+	/** Durable record of the completed back tests. */
+	private final TrialJournal journal;
+
+	/** Identifiers of the back tests in the batch. */
+	private final List<String> batchIds;
+
+	/** Back tests whose output is yet to be durable. */
+	private final AtomicInteger outstanding;
+
+	public JournalledBatch( final TrialJournal journal, final List<String> batchIds ) {
+
+		this.journal = journal;
+		this.batchIds = batchIds;
+		this.outstanding = new AtomicInteger(batchIds.size());
+	}
+
+	/**
+	 * The output of one back test in the batch is durable, recording the batch when it is the last.
+	 */
+	public void outputDurable() {
+
+		if (outstanding.decrementAndGet() == 0) {
+			try {
+				journal.record(batchIds);
+			} catch (final IOException e) {
+				LOG.error(String.format("Failed to journal %s completed back tests", batchIds.size()), e);
+			}
+		}
+	}
+}
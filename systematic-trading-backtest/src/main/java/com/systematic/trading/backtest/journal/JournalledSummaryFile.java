@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.journal;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Summary file shared by the back tests of a trial, one comma separated row per back test with
+ * the back test identity as one of the columns.
+ * <p>
+ * Rows are appended as each back test completes, while the journal is written once per batch. An
+ * interrupted batch leaves rows for back tests the journal does not record, which are run again
+ * on resume.
+ * </p>
+ * 
+ * @author CJ Hare
+ */
+public class JournalledSummaryFile {
+
+	/** Classes' logger. */
+	private static final Logger LOG = LogManager.getLogger(JournalledSummaryFile.class);
+
+	/** Separator of the columns in a row. */
+	private static final String COLUMN_SEPARATOR = ",";
+
+	/** Location of the summary. */
+	private final Path file;
+
+	public JournalledSummaryFile( final Path file ) {
+
+		this.file = file;
+	}
+
+	/**
+	 * Rewrites the summary with only the rows of the completed back tests, replacing the file only
+	 * once the retained rows are written.
+	 * 
+	 * @param completed
+	 *            identifiers of the back tests the journal records as completed.
+	 * @throws IOException
+	 *             problem encountered reading or writing the summary.
+	 */
+	public void retain( final Set<String> completed ) throws IOException {
+
+		if (!Files.isRegularFile(file)) {
+			return;
+		}
+
+		final List<String> rows = Files.readAllLines(file, StandardCharsets.UTF_8);
+		final Path rewrite = file.resolveSibling(file.getFileName() + ".resume");
+		int removed = 0;
+
+		try (final BufferedWriter out = Files.newBufferedWriter(rewrite, StandardCharsets.UTF_8)) {
+			for (final String row : rows) {
+				if (isCompleted(row, completed)) {
+					out.write(row);
+					out.newLine();
+				} else {
+					removed++;
+				}
+			}
+		}
+
+		Files.move(rewrite, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		if (removed > 0) {
+			LOG.info("Removed {} summary rows of back tests being run again: {}", removed, file);
+		}
+	}
+
+	private boolean isCompleted( final String row, final Set<String> completed ) {
+
+		return Arrays.stream(row.split(COLUMN_SEPARATOR)).anyMatch(completed::contains);
+	}
+}
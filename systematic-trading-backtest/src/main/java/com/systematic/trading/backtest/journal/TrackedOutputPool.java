@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.journal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool for the output writes, tracking their completion so a back test is only journalled once
+ * the writes of its output have finished.
+ * <p/>
+ * Every task is numbered as it is submitted. A callback waits on the tasks submitted before it,
+ * irrespective of the order the pool completes them, and never on those submitted after it.
+ * 
+ * @author CJ Hare
+ */
+public class TrackedOutputPool extends AbstractExecutorService {
+
+	/** Threads performing the writes. */
+	private final ExecutorService delegate;
+
+	/** Number of the most recently submitted task, guarded by this. */
+	private long submitted;
+
+	/** Numbers of the tasks yet to complete, guarded by this. */
+	private final NavigableSet<Long> pending;
+
+	/** Callbacks keyed by the number of the last task they wait on, guarded by this. */
+	private final NavigableMap<Long, List<Runnable>> waiting;
+
+	public TrackedOutputPool( final ExecutorService delegate ) {
+
+		this.delegate = delegate;
+		this.pending = new TreeSet<>();
+		this.waiting = new TreeMap<>();
+	}
+
+	/**
+	 * Runs the callback once every task submitted so far has completed, immediately when none are
+	 * pending, otherwise on the thread completing the last of them.
+	 * 
+	 * @param callback
+	 *            action to take once the earlier tasks are complete.
+	 */
+	public void whenCompleted( final Runnable callback ) {
+
+		synchronized (this) {
+			if (!pending.isEmpty()) {
+				waiting.computeIfAbsent(submitted, number -> new ArrayList<>()).add(callback);
+				return;
+			}
+		}
+
+		callback.run();
+	}
+
+	/**
+	 * @return number of tasks submitted yet to complete, whether queued or running.
+	 */
+	public synchronized int pending() {
+
+		return pending.size();
+	}
+
+	@Override
+	public void execute( final Runnable task ) {
+
+		final long number;
+
+		synchronized (this) {
+			number = ++submitted;
+			pending.add(number);
+		}
+
+		try {
+			delegate.execute(() -> {
+				try {
+					task.run();
+				} finally {
+					completed(number);
+				}
+			});
+		} catch (final RejectedExecutionException e) {
+			completed(number);
+			throw e;
+		}
+	}
+
+	@Override
+	public void shutdown() {
+
+		delegate.shutdown();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+
+		return delegate.shutdownNow();
+	}
+
+	@Override
+	public boolean isShutdown() {
+
+		return delegate.isShutdown();
+	}
+
+	@Override
+	public boolean isTerminated() {
+
+		return delegate.isTerminated();
+	}
+
+	@Override
+	public boolean awaitTermination( final long timeout, final TimeUnit unit ) throws InterruptedException {
+
+		return delegate.awaitTermination(timeout, unit);
+	}
+
+	private void completed( final long number ) {
+
+		final List<Runnable> ready = new ArrayList<>();
+
+		synchronized (this) {
+			pending.remove(number);
+
+			// Every task up to and including the watermark has completed
+			final long watermark = pending.isEmpty() ? submitted : pending.first() - 1;
+			final NavigableMap<Long, List<Runnable>> due = waiting.headMap(watermark, true);
+			due.values().forEach(ready::addAll);
+			due.clear();
+		}
+
+		ready.forEach(Runnable::run);
+	}
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.journal;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Durable record of the back tests a trial has completed, letting an interrupted trial resume
+ * rather than start over.
+ * 
+ * @author CJ Hare
+ */
+public interface TrialJournal extends AutoCloseable {
+
+	/**
+	 * Opens the journal for recording, either continuing the existing entries or starting afresh.
+	 * 
+	 * @param resume
+	 *            <code>true</code> to keep the entries of an earlier run of the same trial,
+	 *            <code>false</code> to discard any existing entries.
+	 * @return identifiers of the back tests recorded as completed, empty when starting afresh or
+	 *         when no journal exists for the trial.
+	 * @throws IOException
+	 *             problem encountered reading or preparing the journal.
+	 */
+	Set<String> open( boolean resume ) throws IOException;
+
+	/**
+	 * Durably records the back tests as completed, returning only once the entries are on disk.
+	 * 
+	 * @param completed
+	 *            identifiers of the back tests that have finished.
+	 * @throws IOException
+	 *             problem encountered writing the entries.
+	 */
+	void record( Collection<String> completed ) throws IOException;
+
+	@Override
+	void close() throws IOException;
+}
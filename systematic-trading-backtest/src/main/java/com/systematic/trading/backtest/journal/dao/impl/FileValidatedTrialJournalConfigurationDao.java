@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.journal.dao.impl;
+
+import java.nio.file.Path;
+import java.util.Properties;
+
+import com.systematic.trading.backtest.journal.configuration.TrialJournalConfiguration;
+import com.systematic.trading.backtest.journal.configuration.TrialJournalProperty;
+import com.systematic.trading.backtest.journal.configuration.impl.TrialJournalConfigurationImpl;
+import com.systematic.trading.backtest.journal.dao.TrialJournalConfigurationDao;
+import com.systematic.trading.configuration.ConfigurationValidator;
+import com.systematic.trading.configuration.PathConfigurationValidator;
+import com.systematic.trading.configuration.exception.ConfigurationValidationException;
+import com.systematic.trading.data.dao.impl.FileConfigurationDao;
+import com.systematic.trading.data.exception.CannotRetrieveConfigurationException;
+
+/**
+ * Providing validation of the configuration properties for the trial journal.
+ * 
+ * @author CJ Hare
+ */
+public class FileValidatedTrialJournalConfigurationDao implements TrialJournalConfigurationDao {
+
+	private static final String TRIAL_JOURNAL_PROPERTIES_FILE = "trial_journal.properties";
+
+	private final ConfigurationValidator<Path> directoryValidator;
+
+	public FileValidatedTrialJournalConfigurationDao() {
+
+		this.directoryValidator = new PathConfigurationValidator();
+	}
+
+	@Override
+	public TrialJournalConfiguration configuration()
+	        throws ConfigurationValidationException, CannotRetrieveConfigurationException {
+
+		final Properties properties = new FileConfigurationDao().configuration(TRIAL_JOURNAL_PROPERTIES_FILE);
+
+		final Path directory = directoryValidator.validate(property(properties, TrialJournalProperty.DIRECTORY));
+
+		return new TrialJournalConfigurationImpl(directory);
+	}
+
+	private String property( final Properties properties, final TrialJournalProperty property ) {
+
+		return properties.getProperty(property.key());
+	}
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.metrics;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
+import com.systematic.trading.metrics.impl.RecordingMetrics;
+
+/**
+ * Exports the metrics into a directory, with a line for each back test as it completes and the trial
+ * wide metrics once the trial ends.
+ * <p/>
+ * Metrics are not worth failing a trial over, a write that fails is logged and the trial continues.
+ * 
+ * @author CJ Hare
+ */
+public class FileMetricsExporter implements ConfigurationMetricsListener, Closeable {
+
+	private static final Logger LOG = LogManager.getLogger(FileMetricsExporter.class);
+
+	/** Trial wide metrics, written once the trial ends. */
+	private static final String TRIAL_FILE = "trial_metrics.tsv";
+
+	/** Metrics of each back test, appended as each completes. */
+	private static final String CONFIGURATION_FILE = "configuration_metrics.tsv";
+
+	private static final String SEPARATOR = "\t";
+
+	private final MetricsReport report = new MetricsReport();
+	private final Path directory;
+	private final BufferedWriter configurations;
+
+	public FileMetricsExporter( final Path directory ) throws IOException {
+
+		Files.createDirectories(directory);
+
+		this.directory = directory;
+		this.configurations = Files.newBufferedWriter(directory.resolve(CONFIGURATION_FILE), StandardCharsets.UTF_8);
+
+		final StringBuilder header = new StringBuilder("configuration");
+
+		for (final OutputEventFamily family : OutputEventFamily.values()) {
+			header.append(SEPARATOR);
+			header.append(MeteredBacktestEventListener.counterName(family));
+		}
+
+		write(header.toString());
+	}
+
+	@Override
+	public void completed( final String configuration, final Map<OutputEventFamily, Long> events ) {
+
+		final StringBuilder line = new StringBuilder(configuration);
+
+		for (final OutputEventFamily family : OutputEventFamily.values()) {
+			line.append(SEPARATOR);
+			line.append(events.getOrDefault(family, 0L));
+		}
+
+		write(line.toString());
+	}
+
+	/**
+	 * Writes the trial wide metrics, replacing those of any previous trial.
+	 */
+	public void export( final RecordingMetrics metrics ) {
+
+		final Path file = directory.resolve(TRIAL_FILE);
+
+		try {
+			Files.write(file, report.lines(metrics), StandardCharsets.UTF_8);
+		} catch (final IOException e) {
+			LOG.warn("Unable to write the trial metrics {}, {}", file, e.getMessage());
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+
+		configurations.close();
+	}
+
+	private synchronized void write( final String line ) {
+
+		try {
+			configurations.write(line);
+			configurations.newLine();
+		} catch (final IOException e) {
+			LOG.warn("Unable to write the configuration metrics {}, {}", directory, e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.systematic.trading.metrics.LogLinearHistogram;
+import com.systematic.trading.metrics.impl.RecordingMetrics;
+
+/**
+ * Exposes the metrics of the running trial through the platform MBean server, read on demand by
+ * any JMX console while the trial runs.
+ * 
+ * @author CJ Hare
+ */
+public class JmxMetricsExporter implements TrialMetricsMXBean {
+
+	private static final Logger LOG = LogManager.getLogger(JmxMetricsExporter.class);
+
+	private static final String OBJECT_NAME = "com.systematic.trading:type=TrialMetrics";
+
+	private final MetricsReport report = new MetricsReport();
+	private final RecordingMetrics metrics;
+
+	public JmxMetricsExporter( final RecordingMetrics metrics ) {
+
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Makes the metrics visible, replacing those of any earlier trial in the same process.
+	 */
+	public void register() {
+
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+		try {
+			final ObjectName name = new ObjectName(OBJECT_NAME);
+
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+
+			server.registerMBean(this, name);
+
+		} catch (final JMException e) {
+			LOG.warn("Unable to register the trial metrics with JMX, {}", e.getMessage());
+		}
+	}
+
+	public void unregister() {
+
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+		try {
+			final ObjectName name = new ObjectName(OBJECT_NAME);
+
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+
+		} catch (final JMException e) {
+			LOG.warn("Unable to unregister the trial metrics from JMX, {}", e.getMessage());
+		}
+	}
+
+	@Override
+	public Map<String, Long> getCounters() {
+
+		return metrics.counters();
+	}
+
+	@Override
+	public Map<String, Long> getSamples() {
+
+		return summarise(LogLinearHistogram::count);
+	}
+
+	@Override
+	public Map<String, Long> getMedians() {
+
+		return summarise(histogram -> histogram.percentile(50));
+	}
+
+	@Override
+	public Map<String, Long> getPercentile99s() {
+
+		return summarise(histogram -> histogram.percentile(99));
+	}
+
+	@Override
+	public Map<String, Long> getMaximums() {
+
+		return summarise(LogLinearHistogram::maximum);
+	}
+
+	@Override
+	public List<String> getReport() {
+
+		return report.lines(metrics);
+	}
+
+	private Map<String, Long> summarise( final ToLongFunction<LogLinearHistogram> statistic ) {
+
+		final SortedMap<String, LogLinearHistogram> histograms = new TreeMap<>(metrics.timers());
+		histograms.putAll(metrics.histograms());
+
+		final SortedMap<String, Long> values = new TreeMap<>();
+
+		for (final Map.Entry<String, LogLinearHistogram> histogram : histograms.entrySet()) {
+			values.put(histogram.getKey(), statistic.applyAsLong(histogram.getValue()));
+		}
+
+		return values;
+	}
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.systematic.trading.backtest.BacktestSimulationDates;
+import com.systematic.trading.backtest.event.BacktestEventListener;
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
+import com.systematic.trading.metrics.MetricCounter;
+import com.systematic.trading.metrics.Metrics;
+import com.systematic.trading.model.TickerSymbolTradingData;
+import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent;
+import com.systematic.trading.simulation.analysis.roi.CumulativeReturnOnInvestment;
+import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEvent;
+import com.systematic.trading.simulation.analysis.statistics.EventStatistics;
+import com.systematic.trading.simulation.brokerage.event.BrokerageEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent;
+import com.systematic.trading.simulation.equity.event.EquityEvent;
+import com.systematic.trading.simulation.order.event.OrderEvent;
+import com.systematic.trading.strategy.signal.SignalAnalysisEvent;
+
+/**
+ * Decorator for a back test output, counting the events emitted of each type, for the back test
+ * and across the trial.
+ * 
+ * @author CJ Hare
+ */
+public class MeteredBacktestEventListener implements BacktestEventListener {
+
+	private static final OutputEventFamily[] FAMILIES = OutputEventFamily.values();
+
+	/** Output receiving the events. */
+	private final BacktestEventListener delegate;
+
+	/** Identity of the back test, for the per configuration metrics. */
+	private final String configuration;
+
+	/** Given the event counts once the simulation completes. */
+	private final ConfigurationMetricsListener listener;
+
+	/** Trial wide count for each event family, indexed by ordinal. */
+	private final MetricCounter[] trialEvents = new MetricCounter[FAMILIES.length];
+
+	/** Count for each event family of this back test, only touched by the simulation thread. */
+	private final long[] events = new long[FAMILIES.length];
+
+	public MeteredBacktestEventListener(
+	        final BacktestEventListener delegate,
+	        final String configuration,
+	        final ConfigurationMetricsListener listener,
+	        final Metrics metrics ) {
+
+		this.delegate = delegate;
+		this.configuration = configuration;
+		this.listener = listener;
+
+		for (final OutputEventFamily family : FAMILIES) {
+			trialEvents[family.ordinal()] = metrics.counter(counterName(family));
+		}
+	}
+
+	/**
+	 * @return name of the trial wide counter for the family of events.
+	 */
+	public static String counterName( final OutputEventFamily family ) {
+
+		return "events." + family.name().toLowerCase();
+	}
+
+	@Override
+	public void init(
+	        final TickerSymbolTradingData tradingData,
+	        final BacktestSimulationDates dates,
+	        final EventStatistics eventStatistics,
+	        final CumulativeReturnOnInvestment cumulativeRoi,
+	        final TradingDayPrices lastTradingDay ) {
+
+		delegate.init(tradingData, dates, eventStatistics, cumulativeRoi, lastTradingDay);
+	}
+
+	/**
+	 * Counting only the events the output asks for, the simulation skips creating the others.
+	 */
+	@Override
+	public boolean listensTo( final OutputEventFamily family ) {
+
+		return delegate.listensTo(family);
+	}
+
+	@Override
+	public void event( final CashEvent event ) {
+
+		count(OutputEventFamily.CASH);
+		delegate.event(event);
+	}
+
+	@Override
+	public void event( final OrderEvent event ) {
+
+		count(OutputEventFamily.ORDER);
+		delegate.event(event);
+	}
+
+	@Override
+	public void event( final BrokerageEvent event ) {
+
+		count(OutputEventFamily.BROKERAGE);
+		delegate.event(event);
+	}
+
+	@Override
+	public void event( final EquityEvent event ) {
+
+		count(OutputEventFamily.EQUITY);
+		delegate.event(event);
+	}
+
+	@Override
+	public void event( final ReturnOnInvestmentEvent event ) {
+
+		count(OutputEventFamily.RETURN_ON_INVESTMENT);
+		delegate.event(event);
+	}
+
+	@Override
+	public void event( final SignalAnalysisEvent event ) {
+
+		count(OutputEventFamily.SIGNAL_ANALYSIS);
+		delegate.event(event);
+	}
+
+	@Override
+	public void event( final NetWorthEvent event, final SimulationState state ) {
+
+		count(OutputEventFamily.NET_WORTH);
+		delegate.event(event, state);
+	}
+
+	@Override
+	public void stateChanged( final SimulationState transitionedState ) {
+
+		delegate.stateChanged(transitionedState);
+
+		if (transitionedState == SimulationState.COMPLETE) {
+			listener.completed(configuration, counts());
+		}
+	}
+
+	private void count( final OutputEventFamily family ) {
+
+		events[family.ordinal()]++;
+		trialEvents[family.ordinal()].increment();
+	}
+
+	private Map<OutputEventFamily, Long> counts() {
+
+		final Map<OutputEventFamily, Long> counts = new EnumMap<>(OutputEventFamily.class);
+
+		for (final OutputEventFamily family : FAMILIES) {
+			counts.put(family, events[family.ordinal()]);
+		}
+
+		return counts;
+	}
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.systematic.trading.metrics.LogLinearHistogram;
+import com.systematic.trading.metrics.impl.RecordingMetrics;
+
+/**
+ * Tab separated, human readable, listing of the trial metrics.
+ * 
+ * @author CJ Hare
+ */
+public class MetricsReport {
+
+	private static final String SEPARATOR = "\t";
+
+	private static final String HISTOGRAM_HEADER = String.join(SEPARATOR, "name", "count", "mean", "p50", "p90",
+	        "p99", "max");
+
+	/**
+	 * @return lines of the report, the timers in nanoseconds, followed by the sampled values and the
+	 *         counters.
+	 */
+	public List<String> lines( final RecordingMetrics metrics ) {
+
+		final List<String> lines = new ArrayList<>();
+
+		lines.add("# Timers (nanoseconds)");
+		lines.add(HISTOGRAM_HEADER);
+		histograms(metrics.timers(), lines);
+
+		lines.add("# Histograms");
+		lines.add(HISTOGRAM_HEADER);
+		histograms(metrics.histograms(), lines);
+
+		lines.add("# Counters");
+		lines.add(String.join(SEPARATOR, "name", "total"));
+
+		for (final Map.Entry<String, Long> counter : metrics.counters().entrySet()) {
+			lines.add(counter.getKey() + SEPARATOR + counter.getValue());
+		}
+
+		return lines;
+	}
+
+	private void histograms( final Map<String, LogLinearHistogram> histograms, final List<String> lines ) {
+
+		for (final Map.Entry<String, LogLinearHistogram> entry : histograms.entrySet()) {
+			final LogLinearHistogram histogram = entry.getValue();
+
+			lines.add(
+			        String.join(
+			                SEPARATOR,
+			                entry.getKey(),
+			                String.valueOf(histogram.count()),
+			                String.valueOf(Math.round(histogram.mean())),
+			                String.valueOf(histogram.percentile(50)),
+			                String.valueOf(histogram.percentile(90)),
+			                String.valueOf(histogram.percentile(99)),
+			                String.valueOf(histogram.maximum())));
+		}
+	}
+}
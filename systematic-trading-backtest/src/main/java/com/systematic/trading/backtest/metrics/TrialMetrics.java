@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Optional;
+
+import com.systematic.trading.backtest.event.BacktestEventListener;
+import com.systematic.trading.backtest.metrics.configuration.BacktestMetricsConfiguration;
+import com.systematic.trading.backtest.metrics.configuration.BacktestMetricsExport;
+import com.systematic.trading.metrics.MetricsRegistry;
+import com.systematic.trading.metrics.impl.RecordingMetrics;
+
+/**
+ * Metrics for the duration of a trial, registered on creation and exported on close.
+ * <p/>
+ * Instruments are retrieved as the back tests are created, so creation must precede the back tests.
+ * When disabled nothing is registered, leaving every instrument a call that does nothing.
+ * 
+ * @author CJ Hare
+ */
+public class TrialMetrics implements Closeable {
+
+	/** Discards the metrics of each back test, when there is no file export. */
+	private static final ConfigurationMetricsListener NO_FILE = ( configuration, events ) -> {
+		// Only the trial wide counters are kept
+	};
+
+	private final Optional<RecordingMetrics> metrics;
+	private final Optional<FileMetricsExporter> file;
+	private final Optional<JmxMetricsExporter> jmx;
+
+	public TrialMetrics( final BacktestMetricsConfiguration configuration ) throws IOException {
+
+		this.metrics = configuration.isEnabled() ? Optional.of(new RecordingMetrics()) : Optional.empty();
+		this.file = metrics.isPresent() && configuration.export().contains(BacktestMetricsExport.FILE)
+		        ? Optional.of(new FileMetricsExporter(configuration.directory()))
+		        : Optional.empty();
+		this.jmx = metrics.isPresent() && configuration.export().contains(BacktestMetricsExport.JMX)
+		        ? Optional.of(new JmxMetricsExporter(metrics.get()))
+		        : Optional.empty();
+
+		metrics.ifPresent(MetricsRegistry::register);
+		jmx.ifPresent(JmxMetricsExporter::register);
+	}
+
+	/**
+	 * @param output
+	 *            output of the back test.
+	 * @param configuration
+	 *            identity of the back test.
+	 * @return output counting the events, or the given output when disabled.
+	 */
+	public BacktestEventListener meter( final BacktestEventListener output, final String configuration ) {
+
+		if (!metrics.isPresent()) {
+			return output;
+		}
+
+		return new MeteredBacktestEventListener(
+		        output,
+		        configuration,
+		        file.isPresent() ? file.get() : NO_FILE,
+		        metrics.get());
+	}
+
+	/**
+	 * Exports the trial wide metrics, after which instruments created discard everything.
+	 */
+	@Override
+	public void close() throws IOException {
+
+		if (metrics.isPresent()) {
+			MetricsRegistry.disable();
+			jmx.ifPresent(JmxMetricsExporter::unregister);
+
+			if (file.isPresent()) {
+				file.get().export(metrics.get());
+				file.get().close();
+			}
+		}
+	}
+}
@@ -0,0 +1,343 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.prefetch;
+
+import java.io.Closeable;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.systematic.trading.backtest.configuration.equity.EquityConfiguration;
+import com.systematic.trading.data.DataService;
+import com.systematic.trading.data.DataServiceUpdater;
+import com.systematic.trading.exception.ServiceException;
+import com.systematic.trading.model.price.TradingDayPrices;
+
+/**
+ * Holds the prices of the equities in memory, loading those of the upcoming equities while the
+ * current ones are simulated.
+ * <p/>
+ * Stands in front of both the remote retrieval and the local data source. The range prefetched is
+ * the widest requested so far, covering the warm up of every strategy seen. Requests outside what
+ * is held fall through to the local data source, on the calling thread, as does any failed
+ * prefetch.
+ * <p/>
+ * Memory is kept within the budget by evicting the least recently used prices, with a prefetch
+ * skipped when it would not fit.
+ * 
+ * @author CJ Hare
+ */
+public class PrefetchingPriceLoader implements DataService, DataServiceUpdater, Closeable {
+
+	private static final Logger LOG = LogManager.getLogger(PrefetchingPriceLoader.class);
+
+	/** Estimated memory of a trading day, the prices with their objects and the date. */
+	static final long BYTES_PER_TRADING_DAY = 400;
+
+	/** Trading days in a calendar week, estimating the prices of a date range. */
+	private static final double TRADING_DAYS_PER_DAY = 5d / 7;
+
+	private final DataService dataService;
+	private final DataServiceUpdater dataServiceUpdater;
+
+	/** Order the equities are back tested in, the source of the upcoming equities. */
+	private final List<EquityConfiguration> equities;
+
+	/** Position of each ticker symbol within the equities. */
+	private final Map<String, Integer> positions = new HashMap<>();
+
+	private final int lookAhead;
+	private final long budgetBytes;
+	private final ExecutorService pool;
+
+	/** Access ordered, least recently used first. */
+	private final LinkedHashMap<String, PriceSeries> held = new LinkedHashMap<>(16, 0.75f, true);
+
+	/** Memory of the prices held, with an estimate for those being loaded. */
+	private long heldBytes;
+
+	/** Widest range requested so far, empty until the first request. */
+	private LocalDate earliestStartDate;
+	private LocalDate latestEndDate;
+
+	/**
+	 * @param equities
+	 *            in the order they are back tested.
+	 * @param lookAhead
+	 *            number of upcoming equities to prefetch.
+	 * @param budgetBytes
+	 *            memory available for the prices held.
+	 * @param threads
+	 *            performing the prefetches.
+	 */
+	public PrefetchingPriceLoader(
+	        final DataService dataService,
+	        final DataServiceUpdater dataServiceUpdater,
+	        final List<EquityConfiguration> equities,
+	        final int lookAhead,
+	        final long budgetBytes,
+	        final int threads ) {
+
+		this.dataService = dataService;
+		this.dataServiceUpdater = dataServiceUpdater;
+		this.equities = equities;
+		this.lookAhead = lookAhead;
+		this.budgetBytes = budgetBytes;
+		this.pool = Executors.newFixedThreadPool(threads, task -> {
+			final Thread thread = new Thread(task, "price-prefetch");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		for (int i = 0; i < equities.size(); i++) {
+			positions.putIfAbsent(equities.get(i).equityIdentity().tickerSymbol(), i);
+		}
+	}
+
+	@Override
+	public void get(
+	        final String tickerDataset,
+	        final String tickerSymbol,
+	        final LocalDate startDateInclusive,
+	        final LocalDate endDateExclusive ) throws ServiceException {
+
+		final Optional<PriceSeries> series = series(tickerSymbol);
+
+		// The prefetch performs the retrieval, with any failure repeated here
+		if (series.isPresent() && series.get().isRetrieved(startDateInclusive, endDateExclusive)
+		        && prices(tickerSymbol, series.get()).isPresent()) {
+			return;
+		}
+
+		dataServiceUpdater.get(tickerDataset, tickerSymbol, startDateInclusive, endDateExclusive);
+	}
+
+	@Override
+	public TradingDayPrices[] get( final String tickerSymbol, final LocalDate startDate, final LocalDate endDate ) {
+
+		widen(startDate, endDate);
+		prefetchAfter(tickerSymbol);
+
+		final Optional<PriceSeries> series = series(tickerSymbol);
+
+		if (series.isPresent() && series.get().isHeld(startDate, endDate)) {
+			final Optional<TradingDayPrices[]> prices = prices(tickerSymbol, series.get());
+
+			if (prices.isPresent()) {
+				return PriceSeries.slice(prices.get(), startDate, endDate);
+			}
+		}
+
+		final TradingDayPrices[] prices = dataService.get(tickerSymbol, startDate, endDate);
+		hold(tickerSymbol, new PriceSeries(startDate, endDate, CompletableFuture.completedFuture(prices), bytes(prices)));
+
+		return prices;
+	}
+
+	@Override
+	public void close() {
+
+		pool.shutdownNow();
+	}
+
+	/**
+	 * Memory of the prices held, including the estimates of those being loaded.
+	 */
+	synchronized long heldBytes() {
+
+		return heldBytes;
+	}
+
+	private synchronized Optional<PriceSeries> series( final String tickerSymbol ) {
+
+		return Optional.ofNullable(held.get(tickerSymbol));
+	}
+
+	/**
+	 * Waits on any prefetch in progress, with a failed prefetch no longer held.
+	 */
+	private Optional<TradingDayPrices[]> prices( final String tickerSymbol, final PriceSeries series ) {
+
+		try {
+			return Optional.of(series.prices().join());
+		} catch (final CompletionException e) {
+			LOG.warn("Prefetch of {} failed, loading again: {}", tickerSymbol, e.getCause());
+			release(tickerSymbol, series);
+			return Optional.empty();
+		}
+	}
+
+	private synchronized void widen( final LocalDate startDate, final LocalDate endDate ) {
+
+		if (earliestStartDate == null || startDate.isBefore(earliestStartDate)) {
+			earliestStartDate = startDate;
+		}
+		if (latestEndDate == null || endDate.isAfter(latestEndDate)) {
+			latestEndDate = endDate;
+		}
+	}
+
+	/**
+	 * Begins loading the upcoming equities that are not already held over the widest range.
+	 */
+	private synchronized void prefetchAfter( final String tickerSymbol ) {
+
+		final Integer position = positions.get(tickerSymbol);
+
+		if (position == null) {
+			return;
+		}
+
+		for (int i = position + 1; i <= position + lookAhead && i < equities.size(); i++) {
+			final EquityConfiguration upcoming = equities.get(i);
+			final String upcomingSymbol = upcoming.equityIdentity().tickerSymbol();
+			final PriceSeries current = held.get(upcomingSymbol);
+
+			if (current == null || !current.isHeld(earliestStartDate, latestEndDate)) {
+				prefetch(upcoming.tickerDataset(), upcomingSymbol, earliestStartDate, latestEndDate);
+			}
+		}
+	}
+
+	private void prefetch(
+	        final String tickerDataset,
+	        final String tickerSymbol,
+	        final LocalDate startDate,
+	        final LocalDate endDate ) {
+
+		final long estimate = (long) (ChronoUnit.DAYS.between(startDate, endDate) * TRADING_DAYS_PER_DAY
+		        * BYTES_PER_TRADING_DAY);
+
+		// Prefetching is an optimisation, when memory is short the equity is loaded when needed
+		if (!reserve(estimate)) {
+			LOG.debug("Prefetch of {} skipped, exceeding the memory budget", tickerSymbol);
+			return;
+		}
+
+		final CompletableFuture<TradingDayPrices[]> prices = new CompletableFuture<>();
+		final PriceSeries series = new PriceSeries(startDate, endDate, prices, estimate);
+		replace(tickerSymbol, series);
+
+		pool.execute(() -> {
+			try {
+				dataServiceUpdater.get(tickerDataset, tickerSymbol, startDate.withDayOfMonth(1), endDate);
+
+				final TradingDayPrices[] loaded = dataService.get(tickerSymbol, startDate, endDate);
+				loaded(tickerSymbol, series, loaded);
+				prices.complete(loaded);
+			} catch (final ServiceException | RuntimeException e) {
+				prices.completeExceptionally(e);
+			}
+		});
+	}
+
+	/**
+	 * Prices loaded on the calling thread, held for the following back tests when there is room.
+	 */
+	private synchronized void hold( final String tickerSymbol, final PriceSeries series ) {
+
+		final PriceSeries current = held.get(tickerSymbol);
+
+		// A wider range may have been loaded meanwhile
+		if (current != null && current.isHeld(series.startDate(), series.endDate())) {
+			return;
+		}
+
+		if (current != null) {
+			release(tickerSymbol, current);
+		}
+
+		if (reserve(series.bytes())) {
+			replace(tickerSymbol, series);
+		}
+	}
+
+	private synchronized void loaded( final String tickerSymbol, final PriceSeries series, final TradingDayPrices[] prices ) {
+
+		// Replaced or evicted series are no longer counted
+		if (held.get(tickerSymbol) == series) {
+			heldBytes += bytes(prices) - series.bytes();
+		}
+
+		series.bytes(bytes(prices));
+	}
+
+	private synchronized void replace( final String tickerSymbol, final PriceSeries series ) {
+
+		final PriceSeries previous = held.put(tickerSymbol, series);
+
+		if (previous != null) {
+			heldBytes -= previous.bytes();
+		}
+
+		heldBytes += series.bytes();
+	}
+
+	private synchronized void release( final String tickerSymbol, final PriceSeries series ) {
+
+		if (held.remove(tickerSymbol, series)) {
+			heldBytes -= series.bytes();
+		}
+	}
+
+	/**
+	 * Evicts the least recently used prices that are loaded, until there is room.
+	 * 
+	 * @return whether there is room for the bytes.
+	 */
+	private synchronized boolean reserve( final long bytes ) {
+
+		final Iterator<Map.Entry<String, PriceSeries>> eldest = held.entrySet().iterator();
+
+		while (heldBytes + bytes > budgetBytes && eldest.hasNext()) {
+			final PriceSeries series = eldest.next().getValue();
+
+			if (series.isLoaded()) {
+				eldest.remove();
+				heldBytes -= series.bytes();
+			}
+		}
+
+		return heldBytes + bytes <= budgetBytes;
+	}
+
+	private long bytes( final TradingDayPrices[] prices ) {
+
+		return prices.length * BYTES_PER_TRADING_DAY;
+	}
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.prefetch;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.systematic.trading.model.price.TradingDayPrices;
+
+/**
+ * Trading day prices of an equity held in memory, or being loaded into memory.
+ * 
+ * @author CJ Hare
+ */
+class PriceSeries {
+
+	/** Inclusive beginning of the prices, with the remote retrieval from the start of its month. */
+	private final LocalDate startDate;
+
+	/** End of the prices, exclusive for the remote retrieval and inclusive for the local prices. */
+	private final LocalDate endDate;
+
+	/** Most recent first, as given by the data service. */
+	private final CompletableFuture<TradingDayPrices[]> prices;
+
+	/** Estimate of the memory used, until the prices are loaded. */
+	private long bytes;
+
+	PriceSeries(
+	        final LocalDate startDate,
+	        final LocalDate endDate,
+	        final CompletableFuture<TradingDayPrices[]> prices,
+	        final long bytes ) {
+
+		this.startDate = startDate;
+		this.endDate = endDate;
+		this.prices = prices;
+		this.bytes = bytes;
+	}
+
+	LocalDate startDate() {
+
+		return startDate;
+	}
+
+	LocalDate endDate() {
+
+		return endDate;
+	}
+
+	CompletableFuture<TradingDayPrices[]> prices() {
+
+		return prices;
+	}
+
+	long bytes() {
+
+		return bytes;
+	}
+
+	void bytes( final long loaded ) {
+
+		this.bytes = loaded;
+	}
+
+	boolean isLoaded() {
+
+		return prices.isDone();
+	}
+
+	/**
+	 * @return whether the remote retrieval for the range has been performed, or is being performed.
+	 */
+	boolean isRetrieved( final LocalDate retrievalStartDate, final LocalDate retrievalEndDate ) {
+
+		return !startDate.withDayOfMonth(1).isAfter(retrievalStartDate) && !retrievalEndDate.isAfter(endDate);
+	}
+
+	/**
+	 * @return whether the range of prices is held, or is being loaded.
+	 */
+	boolean isHeld( final LocalDate start, final LocalDate end ) {
+
+		return !startDate.isAfter(start) && !end.isAfter(endDate);
+	}
+
+	/**
+	 * @return prices within the inclusive range, most recent first.
+	 */
+	static TradingDayPrices[] slice( final TradingDayPrices[] prices, final LocalDate start, final LocalDate end ) {
+
+		final List<TradingDayPrices> range = new ArrayList<>(prices.length);
+
+		for (final TradingDayPrices price : prices) {
+			if (!price.date().isBefore(start) && !price.date().isAfter(end)) {
+				range.add(price);
+			}
+		}
+
+		return range.size() == prices.length ? prices : range.toArray(new TradingDayPrices[range.size()]);
+	}
+}
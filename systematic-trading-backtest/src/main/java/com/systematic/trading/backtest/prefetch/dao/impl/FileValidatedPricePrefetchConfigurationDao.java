@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.prefetch.dao.impl;
+
+import java.util.Properties;
+
+import com.systematic.trading.backtest.prefetch.configuration.PricePrefetchConfiguration;
+import com.systematic.trading.backtest.prefetch.configuration.PricePrefetchProperty;
+import com.systematic.trading.backtest.prefetch.configuration.impl.PricePrefetchConfigurationImpl;
+import com.systematic.trading.backtest.prefetch.dao.PricePrefetchConfigurationDao;
+import com.systematic.trading.configuration.ConfigurationValidator;
+import com.systematic.trading.configuration.IntegerConfigurationValidator;
+import com.systematic.trading.configuration.exception.ConfigurationValidationException;
+import com.systematic.trading.data.dao.impl.FileConfigurationDao;
+import com.systematic.trading.data.exception.CannotRetrieveConfigurationException;
+
+/**
+ * Providing validation of the configuration properties for the price prefetch.
+ * 
+ * @author CJ Hare
+ */
+public class FileValidatedPricePrefetchConfigurationDao implements PricePrefetchConfigurationDao {
+
+	private static final String PRICE_PREFETCH_PROPERTIES_FILE = "price_prefetch.properties";
+
+	private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+	private static final int MAXIMUM_LOOK_AHEAD = 64;
+	private static final int MAXIMUM_BUDGET_MEGABYTES = 64 * 1024;
+	private static final int MAXIMUM_THREADS = 32;
+
+	private final ConfigurationValidator<Integer> lookAheadValidator;
+	private final ConfigurationValidator<Integer> budgetValidator;
+	private final ConfigurationValidator<Integer> threadsValidator;
+
+	public FileValidatedPricePrefetchConfigurationDao() {
+
+		this.lookAheadValidator = new IntegerConfigurationValidator(0, MAXIMUM_LOOK_AHEAD);
+		this.budgetValidator = new IntegerConfigurationValidator(0, MAXIMUM_BUDGET_MEGABYTES);
+		this.threadsValidator = new IntegerConfigurationValidator(1, MAXIMUM_THREADS);
+	}
+
+	@Override
+	public PricePrefetchConfiguration configuration()
+	        throws ConfigurationValidationException, CannotRetrieveConfigurationException {
+
+		final Properties properties = new FileConfigurationDao().configuration(PRICE_PREFETCH_PROPERTIES_FILE);
+
+		final int lookAhead = lookAheadValidator.validate(property(properties, PricePrefetchProperty.LOOK_AHEAD));
+		final int budget = budgetValidator.validate(property(properties, PricePrefetchProperty.BUDGET_MEGABYTES));
+		final int threads = threadsValidator.validate(property(properties, PricePrefetchProperty.THREADS));
+
+		return new PricePrefetchConfigurationImpl(lookAhead, budget * BYTES_PER_MEGABYTE, threads);
+	}
+
+	private String property( final Properties properties, final PricePrefetchProperty property ) {
+
+		return properties.getProperty(property.key());
+	}
+}
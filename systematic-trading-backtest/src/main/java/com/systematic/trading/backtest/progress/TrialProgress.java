@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.progress;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Progress of a trial, recorded by the back test threads and reported from another.
+ * 
+ * @author CJ Hare
+ */
+public class TrialProgress {
+
+	/** Total number of back tests, when it is not (yet) known. */
+	public static final long UNKNOWN = -1;
+
+	private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+	/** Source of the time, in nanoseconds. */
+	private final LongSupplier clock;
+
+	private final long start;
+
+	private final LongAdder completed = new LongAdder();
+
+	private final LongAdder tradingDays = new LongAdder();
+
+	private volatile long total = UNKNOWN;
+
+	/** Time of the previous report, for the rate since. */
+	private long previousReport;
+
+	/** Trading days simulated at the previous report. */
+	private long previousTradingDays;
+
+	public TrialProgress() {
+
+		this(System::nanoTime);
+	}
+
+	public TrialProgress( final LongSupplier clock ) {
+
+		this.clock = clock;
+		this.start = clock.getAsLong();
+		this.previousReport = start;
+	}
+
+	/**
+	 * @param backtests
+	 *            number of back tests in the trial, excluding any skipped as already complete.
+	 */
+	public void total( final long backtests ) {
+
+		this.total = backtests;
+	}
+
+	/**
+	 * @param backtests
+	 *            number of back tests just completed.
+	 * @param simulatedTradingDays
+	 *            trading days simulated by those back tests, summed across them.
+	 */
+	public void completed( final long backtests, final long simulatedTradingDays ) {
+
+		completed.add(backtests);
+		tradingDays.add(simulatedTradingDays);
+	}
+
+	/**
+	 * Progress since the beginning of the trial, with the throughput since the previous report.
+	 * 
+	 * @param outputBacklog
+	 *            output tasks waiting on the output pool.
+	 */
+	public synchronized TrialProgressReport report( final long outputBacklog ) {
+
+		final long now = clock.getAsLong();
+		final long done = completed.sum();
+		final long days = tradingDays.sum();
+		final long interval = now - previousReport;
+		final double tradingDaysPerSecond = interval > 0 ? (days - previousTradingDays) * NANOS_PER_SECOND / interval
+		        : 0;
+
+		previousReport = now;
+		previousTradingDays = days;
+
+		final Runtime runtime = Runtime.getRuntime();
+
+		return new TrialProgressReport(
+		        Duration.ofNanos(now - start),
+		        done,
+		        total,
+		        tradingDaysPerSecond,
+		        eta(now - start, done),
+		        outputBacklog,
+		        runtime.totalMemory() - runtime.freeMemory(),
+		        runtime.maxMemory());
+	}
+
+	/**
+	 * Remaining back tests completing at the average rate of those completed so far.
+	 */
+	private Optional<Duration> eta( final long elapsed, final long done ) {
+
+		final long known = total;
+
+		if (known == UNKNOWN || done == 0) {
+			return Optional.empty();
+		}
+
+		final long remaining = Math.max(0, known - done);
+
+		return Optional.of(Duration.ofNanos((long) ((double) elapsed / done * remaining)));
+	}
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.progress;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Snapshot of the progress of a trial.
+ * 
+ * @author CJ Hare
+ */
+public class TrialProgressReport {
+
+	private static final long MEGABYTE = 1024 * 1024;
+
+	private final Duration elapsed;
+	private final long completed;
+	private final long total;
+	private final double tradingDaysPerSecond;
+	private final Optional<Duration> eta;
+	private final long outputBacklog;
+	private final long heapUsed;
+	private final long heapMaximum;
+
+	public TrialProgressReport(
+	        final Duration elapsed,
+	        final long completed,
+	        final long total,
+	        final double tradingDaysPerSecond,
+	        final Optional<Duration> eta,
+	        final long outputBacklog,
+	        final long heapUsed,
+	        final long heapMaximum ) {
+
+		this.elapsed = elapsed;
+		this.completed = completed;
+		this.total = total;
+		this.tradingDaysPerSecond = tradingDaysPerSecond;
+		this.eta = eta;
+		this.outputBacklog = outputBacklog;
+		this.heapUsed = heapUsed;
+		this.heapMaximum = heapMaximum;
+	}
+
+	public Duration elapsed() {
+
+		return elapsed;
+	}
+
+	public long completed() {
+
+		return completed;
+	}
+
+	/**
+	 * @return number of back tests in the trial, or <code>TrialProgress.UNKNOWN</code>.
+	 */
+	public long total() {
+
+		return total;
+	}
+
+	/**
+	 * @return back tests yet to complete, or <code>TrialProgress.UNKNOWN</code>.
+	 */
+	public long remaining() {
+
+		return total == TrialProgress.UNKNOWN ? TrialProgress.UNKNOWN : Math.max(0, total - completed);
+	}
+
+	public double tradingDaysPerSecond() {
+
+		return tradingDaysPerSecond;
+	}
+
+	public Optional<Duration> eta() {
+
+		return eta;
+	}
+
+	public long outputBacklog() {
+
+		return outputBacklog;
+	}
+
+	public long heapUsed() {
+
+		return heapUsed;
+	}
+
+	public long heapMaximum() {
+
+		return heapMaximum;
+	}
+
+	/**
+	 * @return single line for the console.
+	 */
+	public String summary() {
+
+		return String.format(
+		        "Completed %s of %s back tests, %.0f trading days/s, ETA %s, output backlog %s, heap %s/%s MB",
+		        completed,
+		        total == TrialProgress.UNKNOWN ? "unknown" : String.valueOf(total),
+		        tradingDaysPerSecond,
+		        eta.isPresent() ? eta.get().withNanos(0).toString() : "unknown",
+		        outputBacklog,
+		        heapUsed / MEGABYTE,
+		        heapMaximum / MEGABYTE);
+	}
+
+	/**
+	 * @return properties of key=value lines, durations in seconds and memory in bytes, with unknown
+	 *         values of -1.
+	 */
+	public List<String> status() {
+
+		final List<String> lines = new ArrayList<>();
+		lines.add("elapsed_seconds=" + elapsed.getSeconds());
+		lines.add("completed=" + completed);
+		lines.add("total=" + total);
+		lines.add("remaining=" + remaining());
+		lines.add(String.format(Locale.ROOT, "trading_days_per_second=%.1f", tradingDaysPerSecond));
+		lines.add("eta_seconds=" + (eta.isPresent() ? eta.get().getSeconds() : TrialProgress.UNKNOWN));
+		lines.add("output_backlog=" + outputBacklog);
+		lines.add("heap_used_bytes=" + heapUsed);
+		lines.add("heap_maximum_bytes=" + heapMaximum);
+		return lines;
+	}
+}
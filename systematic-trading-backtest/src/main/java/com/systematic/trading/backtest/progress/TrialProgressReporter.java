@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.progress;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Periodically reports the progress of a trial to the console and to a status file, from a daemon
+ * thread of its own.
+ * <p/>
+ * The status file is replaced whole on each report, so a reader never sees a partial report.
+ * Failing to write it is logged, the trial carries on.
+ * 
+ * @author CJ Hare
+ */
+public class TrialProgressReporter implements Closeable {
+
+	private static final Logger LOG = LogManager.getLogger(TrialProgressReporter.class);
+
+	private static final String TEMPORARY_SUFFIX = ".tmp";
+
+	private final TrialProgress progress;
+	private final LongSupplier outputBacklog;
+	private final Path statusFile;
+	private final ScheduledExecutorService scheduler;
+
+	/**
+	 * @param outputBacklog
+	 *            output tasks waiting on the output pool.
+	 * @param statusFile
+	 *            replaced with the properties of each report.
+	 */
+	public TrialProgressReporter(
+	        final TrialProgress progress,
+	        final LongSupplier outputBacklog,
+	        final Path statusFile ) {
+
+		this.progress = progress;
+		this.outputBacklog = outputBacklog;
+		this.statusFile = statusFile;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+			final Thread thread = new Thread(task, "trial-progress");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * @param total
+	 *            counts the back tests of the trial, on the reporting thread as it may take a while.
+	 * @param interval
+	 *            time between the reports.
+	 */
+	public void start( final LongSupplier total, final Duration interval ) {
+
+		scheduler.execute(() -> countTotal(total));
+		scheduler.scheduleAtFixedRate(this::report, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops the periodic reports, giving a final report.
+	 */
+	@Override
+	public void close() {
+
+		scheduler.shutdownNow();
+
+		try {
+			scheduler.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		report();
+	}
+
+	private void countTotal( final LongSupplier total ) {
+
+		try {
+			progress.total(total.getAsLong());
+		} catch (final RuntimeException e) {
+			LOG.warn("Unable to count the back tests of the trial, {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * A failed report must not cancel those that follow.
+	 */
+	private void report() {
+
+		try {
+			final TrialProgressReport report = progress.report(outputBacklog.getAsLong());
+			LOG.info(report::summary);
+			write(report);
+		} catch (final RuntimeException e) {
+			LOG.warn("Unable to report the trial progress", e);
+		}
+	}
+
+	private void write( final TrialProgressReport report ) {
+
+		try {
+			final Path directory = statusFile.toAbsolutePath().getParent();
+			Files.createDirectories(directory);
+
+			final Path temporary = Files.createTempFile(directory, statusFile.getFileName().toString(),
+			        TEMPORARY_SUFFIX);
+			Files.write(temporary, report.status(), StandardCharsets.UTF_8);
+			move(temporary, statusFile);
+
+		} catch (final IOException e) {
+			LOG.warn("Unable to write the trial status {}, {}", statusFile, e.getMessage());
+		}
+	}
+
+	private void move( final Path temporary, final Path file ) throws IOException {
+
+		try {
+			Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (final AtomicMoveNotSupportedException e) {
+			Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+}
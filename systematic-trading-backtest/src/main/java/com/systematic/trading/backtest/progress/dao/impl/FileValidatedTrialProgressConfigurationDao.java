@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.progress.dao.impl;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Properties;
+
+import com.systematic.trading.backtest.progress.configuration.TrialProgressConfiguration;
+import com.systematic.trading.backtest.progress.configuration.TrialProgressProperty;
+import com.systematic.trading.backtest.progress.configuration.impl.TrialProgressConfigurationImpl;
+import com.systematic.trading.backtest.progress.dao.TrialProgressConfigurationDao;
+import com.systematic.trading.configuration.ConfigurationValidator;
+import com.systematic.trading.configuration.IntegerConfigurationValidator;
+import com.systematic.trading.configuration.PathConfigurationValidator;
+import com.systematic.trading.configuration.exception.ConfigurationValidationException;
+import com.systematic.trading.data.dao.impl.FileConfigurationDao;
+import com.systematic.trading.data.exception.CannotRetrieveConfigurationException;
+
+/**
+ * Providing validation of the configuration properties for the trial progress.
+ * 
+ * @author CJ Hare
+ */
+public class FileValidatedTrialProgressConfigurationDao implements TrialProgressConfigurationDao {
+
+	private static final String TRIAL_PROGRESS_PROPERTIES_FILE = "trial_progress.properties";
+
+	/** Reports at most once a day. */
+	private static final int MAXIMUM_INTERVAL_SECONDS = 24 * 60 * 60;
+
+	private final ConfigurationValidator<Integer> intervalValidator;
+	private final ConfigurationValidator<Path> statusFileValidator;
+
+	public FileValidatedTrialProgressConfigurationDao() {
+
+		this.intervalValidator = new IntegerConfigurationValidator(0, MAXIMUM_INTERVAL_SECONDS);
+		this.statusFileValidator = new PathConfigurationValidator();
+	}
+
+	@Override
+	public TrialProgressConfiguration configuration()
+	        throws ConfigurationValidationException, CannotRetrieveConfigurationException {
+
+		final Properties properties = new FileConfigurationDao().configuration(TRIAL_PROGRESS_PROPERTIES_FILE);
+
+		final int interval = intervalValidator
+		        .validate(property(properties, TrialProgressProperty.INTERVAL_SECONDS));
+		final Path statusFile = statusFileValidator
+		        .validate(property(properties, TrialProgressProperty.STATUS_FILE));
+
+		return new TrialProgressConfigurationImpl(Duration.ofSeconds(interval), statusFile);
+	}
+
+	private String property( final Properties properties, final TrialProgressProperty property ) {
+
+		return properties.getProperty(property.key());
+	}
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.search;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.systematic.trading.backtest.BacktestSimulationDates;
+import com.systematic.trading.backtest.event.universe.UniverseSummary;
+import com.systematic.trading.backtest.event.universe.UniverseSummary.StrategySummary;
+import com.systematic.trading.backtest.exception.InvalidSimulationDatesException;
+import com.systematic.trading.backtest.input.BacktestEndDate;
+import com.systematic.trading.backtest.input.BacktestStartDate;
+import com.systematic.trading.backtest.search.configuration.TrialSearchConfiguration;
+
+/**
+ * Search of the strategy configurations, back testing every configuration over a short period with
+ * only the best fraction extended to each longer period, until reaching the whole trial period.
+ * <p/>
+ * Every period of the search shares the start date of the trial, so within a period every
+ * configuration has the same duration and deposits, leaving the final net worth ranking them in the
+ * same order as their compound annual growth.
+ * 
+ * @author CJ Hare
+ */
+public class SuccessiveHalving {
+
+	private static final int PERCENT = 100;
+
+	/** Months of the first period. */
+	private final int initialMonths;
+
+	/** Percentage of the configurations kept for the next period. */
+	private final int keepPercent;
+
+	/** Multiple of the previous period the next period spans. */
+	private final int periodGrowth;
+
+	public SuccessiveHalving( final TrialSearchConfiguration configuration ) {
+
+		this(configuration.initialMonths(), configuration.keepPercent(), configuration.periodGrowth());
+	}
+
+	public SuccessiveHalving( final int initialMonths, final int keepPercent, final int periodGrowth ) {
+
+		this.initialMonths = initialMonths;
+		this.keepPercent = keepPercent;
+		this.periodGrowth = periodGrowth;
+	}
+
+	/**
+	 * @param trial
+	 *            whole period of the trial.
+	 * @return periods of the search, in order of increasing length, with the last being the whole
+	 *         trial period.
+	 */
+	public List<BacktestSimulationDates> rungs( final BacktestSimulationDates trial )
+	        throws InvalidSimulationDatesException {
+
+		final LocalDate start = trial.startDateInclusive();
+		final LocalDate end = trial.endDateExclusive();
+		final List<BacktestSimulationDates> rungs = new ArrayList<>();
+		long months = initialMonths;
+		LocalDate rungEnd = start.plusMonths(months);
+
+		while (rungEnd.isBefore(end)) {
+			rungs.add(new BacktestSimulationDates(new BacktestStartDate(start), new BacktestEndDate(rungEnd)));
+			months *= periodGrowth;
+			rungEnd = start.plusMonths(months);
+		}
+
+		rungs.add(trial);
+		return rungs;
+	}
+
+	/**
+	 * @param rung
+	 *            final net worths of the configurations back tested over a period.
+	 * @return descriptions of the configurations to extend to the next period, best first, always
+	 *         keeping at least one.
+	 */
+	public Set<String> survivors( final UniverseSummary rung ) {
+
+		final List<StrategySummary> ranked = rung.strategies();
+		ranked.sort(Comparator.comparing(StrategySummary::meanNetWorth).reversed());
+
+		final int kept = Math.max(1, (ranked.size() * keepPercent + PERCENT - 1) / PERCENT);
+		final Set<String> survivors = new LinkedHashSet<>();
+
+		for (final StrategySummary strategy : ranked.subList(0, Math.min(kept, ranked.size()))) {
+			survivors.add(strategy.strategy());
+		}
+
+		return survivors;
+	}
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.search.configuration.impl;
+
+import com.systematic.trading.backtest.search.configuration.TrialSearchConfiguration;
+import com.systematic.trading.backtest.search.configuration.TrialSearchMode;
+
+/**
+ * Implementation for the TrialSearchConfiguration.
+ * 
+ * @author CJ Hare
+ */
+public class TrialSearchConfigurationImpl implements TrialSearchConfiguration {
+
+	private final TrialSearchMode mode;
+	private final int initialMonths;
+	private final int keepPercent;
+	private final int periodGrowth;
+
+	public TrialSearchConfigurationImpl( final TrialSearchMode mode, final int initialMonths, final int keepPercent,
+	        final int periodGrowth ) {
+
+		this.mode = mode;
+		this.initialMonths = initialMonths;
+		this.keepPercent = keepPercent;
+		this.periodGrowth = periodGrowth;
+	}
+
+	@Override
+	public TrialSearchMode mode() {
+
+		return mode;
+	}
+
+	@Override
+	public int initialMonths() {
+
+		return initialMonths;
+	}
+
+	@Override
+	public int keepPercent() {
+
+		return keepPercent;
+	}
+
+	@Override
+	public int periodGrowth() {
+
+		return periodGrowth;
+	}
+}
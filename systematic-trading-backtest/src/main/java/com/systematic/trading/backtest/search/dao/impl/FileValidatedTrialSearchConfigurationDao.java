@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.search.dao.impl;
+
+import java.util.Properties;
+
+import com.systematic.trading.backtest.search.configuration.TrialSearchConfiguration;
+import com.systematic.trading.backtest.search.configuration.TrialSearchMode;
+import com.systematic.trading.backtest.search.configuration.TrialSearchProperty;
+import com.systematic.trading.backtest.search.configuration.impl.TrialSearchConfigurationImpl;
+import com.systematic.trading.backtest.search.dao.TrialSearchConfigurationDao;
+import com.systematic.trading.configuration.ConfigurationValidator;
+import com.systematic.trading.configuration.EnumConfigurationValidator;
+import com.systematic.trading.configuration.IntegerConfigurationValidator;
+import com.systematic.trading.configuration.exception.ConfigurationValidationException;
+import com.systematic.trading.data.dao.impl.FileConfigurationDao;
+import com.systematic.trading.data.exception.CannotRetrieveConfigurationException;
+
+/**
+ * Providing validation of the configuration properties for the trial search.
+ * 
+ * @author CJ Hare
+ */
+public class FileValidatedTrialSearchConfigurationDao implements TrialSearchConfigurationDao {
+
+	private static final String TRIAL_SEARCH_PROPERTIES_FILE = "trial_search.properties";
+
+	private static final int MAXIMUM_INITIAL_MONTHS = 1200;
+	private static final int MAXIMUM_KEEP_PERCENT = 99;
+	private static final int MAXIMUM_PERIOD_GROWTH = 10;
+
+	private final ConfigurationValidator<TrialSearchMode> modeValidator;
+	private final ConfigurationValidator<Integer> initialMonthsValidator;
+	private final ConfigurationValidator<Integer> keepPercentValidator;
+	private final ConfigurationValidator<Integer> periodGrowthValidator;
+
+	public FileValidatedTrialSearchConfigurationDao() {
+
+		this.modeValidator = new EnumConfigurationValidator<>(TrialSearchMode.class);
+		this.initialMonthsValidator = new IntegerConfigurationValidator(1, MAXIMUM_INITIAL_MONTHS);
+		this.keepPercentValidator = new IntegerConfigurationValidator(1, MAXIMUM_KEEP_PERCENT);
+		this.periodGrowthValidator = new IntegerConfigurationValidator(2, MAXIMUM_PERIOD_GROWTH);
+	}
+
+	@Override
+	public TrialSearchConfiguration configuration()
+	        throws ConfigurationValidationException, CannotRetrieveConfigurationException {
+
+		final Properties properties = new FileConfigurationDao().configuration(TRIAL_SEARCH_PROPERTIES_FILE);
+
+		final TrialSearchMode mode = modeValidator.validate(property(properties, TrialSearchProperty.MODE));
+		final int initialMonths = initialMonthsValidator
+		        .validate(property(properties, TrialSearchProperty.INITIAL_MONTHS));
+		final int keepPercent = keepPercentValidator.validate(property(properties, TrialSearchProperty.KEEP_PERCENT));
+		final int periodGrowth = periodGrowthValidator
+		        .validate(property(properties, TrialSearchProperty.PERIOD_GROWTH));
+
+		return new TrialSearchConfigurationImpl(mode, initialMonths, keepPercent, periodGrowth);
+	}
+
+	private String property( final Properties properties, final TrialSearchProperty property ) {
+
+		return properties.getProperty(property.key());
+	}
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.walkforward;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.systematic.trading.data.DataService;
+import com.systematic.trading.data.DataServiceUpdater;
+import com.systematic.trading.exception.ServiceException;
+import com.systematic.trading.model.price.TradingDayPrices;
+
+/**
+ * Prices of a single equity loaded once, with the narrower ranges of the windows given from
+ * memory and any other range passed on.
+ * 
+ * @author CJ Hare
+ */
+public class HeldPrices implements DataService, DataServiceUpdater {
+
+	/** Equity of the prices held. */
+	private final String tickerSymbol;
+
+	/** Inclusive beginning of the prices held. */
+	private final LocalDate startDate;
+
+	/** Inclusive end of the prices held, as given by the data service. */
+	private final LocalDate endDate;
+
+	/** Prices held, in the order given by the data service. */
+	private final TradingDayPrices[] prices;
+
+	private final DataService dataService;
+	private final DataServiceUpdater dataServiceUpdater;
+
+	public HeldPrices(
+	        final String tickerSymbol,
+	        final LocalDate startDate,
+	        final LocalDate endDate,
+	        final DataService dataService,
+	        final DataServiceUpdater dataServiceUpdater ) {
+
+		this.tickerSymbol = tickerSymbol;
+		this.startDate = startDate;
+		this.endDate = endDate;
+		this.dataService = dataService;
+		this.dataServiceUpdater = dataServiceUpdater;
+		this.prices = dataService.get(tickerSymbol, startDate, endDate);
+	}
+
+	/**
+	 * The held prices were retrieved before being loaded.
+	 */
+	@Override
+	public void get(
+	        final String tickerDataset,
+	        final String tickerSymbol,
+	        final LocalDate startDateInclusive,
+	        final LocalDate endDateExclusive ) throws ServiceException {
+
+		if (!isHeld(tickerSymbol, startDateInclusive, endDateExclusive)) {
+			dataServiceUpdater.get(tickerDataset, tickerSymbol, startDateInclusive, endDateExclusive);
+		}
+	}
+
+	@Override
+	public TradingDayPrices[] get( final String tickerSymbol, final LocalDate startDate, final LocalDate endDate ) {
+
+		if (!isHeld(tickerSymbol, startDate, endDate)) {
+			return dataService.get(tickerSymbol, startDate, endDate);
+		}
+
+		final List<TradingDayPrices> range = new ArrayList<>(prices.length);
+
+		for (final TradingDayPrices price : prices) {
+			if (!price.date().isBefore(startDate) && !price.date().isAfter(endDate)) {
+				range.add(price);
+			}
+		}
+
+		return range.toArray(new TradingDayPrices[range.size()]);
+	}
+
+	private boolean isHeld( final String symbol, final LocalDate start, final LocalDate end ) {
+
+		return tickerSymbol.equals(symbol) && !start.isBefore(startDate) && !end.isAfter(endDate);
+	}
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.walkforward;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.signal.model.DatedSignal;
+import com.systematic.trading.signal.model.DatedSignalSet;
+import com.systematic.trading.strategy.entry.Entry;
+
+/**
+ * Entry shared by the back tests of a strategy over different windows of the same price series,
+ * with the signals of each trading day analysed once.
+ * <p/>
+ * The signals of a trading day are given by the trading days up to and including it, irrespective
+ * of the window being back tested, provided the entry keeps no state between trading days.
+ * <p/>
+ * Thread safe, as the windows are back tested concurrently.
+ * 
+ * @author CJ Hare
+ */
+public class SharedSignalsEntry implements Entry {
+
+	/** Entry analysing each trading day on it's first request. */
+	private final Entry entry;
+
+	/** Signals of the trading days already analysed, by the trading day. */
+	private final Map<LocalDate, DatedSignalSet> signals = new HashMap<>();
+
+	public SharedSignalsEntry( final Entry entry ) {
+
+		this.entry = entry;
+	}
+
+	@Override
+	public synchronized List<DatedSignal> analyse( final TradingDayPrices[] data ) {
+
+		return entry.analyse(data);
+	}
+
+	/**
+	 * @param data
+	 *            trading data ending with the trading day being analysed.
+	 */
+	@Override
+	public synchronized DatedSignalSet signals( final TradingDayPrices[] data ) {
+
+		final LocalDate tradingDay = data[data.length - 1].date();
+		DatedSignalSet analysed = signals.get(tradingDay);
+
+		if (analysed == null) {
+			analysed = entry.signals(data);
+			signals.put(tradingDay, analysed);
+		}
+
+		return analysed;
+	}
+
+	@Override
+	public int requiredTradingPrices() {
+
+		return entry.requiredTradingPrices();
+	}
+}
@@ -0,0 +1,265 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.walkforward;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.systematic.trading.backtest.Backtest;
+import com.systematic.trading.backtest.BacktestSimulationDates;
+import com.systematic.trading.backtest.configuration.BacktestBootstrapConfiguration;
+import com.systematic.trading.backtest.configuration.equity.EquityConfiguration;
+import com.systematic.trading.backtest.configuration.strategy.entry.ConfirmedByEntryConfiguration;
+import com.systematic.trading.backtest.configuration.strategy.entry.EntryConfiguration;
+import com.systematic.trading.backtest.configuration.strategy.entry.IndicatorEntryConfiguration;
+import com.systematic.trading.backtest.configuration.strategy.entry.OperatorEntryConfiguration;
+import com.systematic.trading.backtest.context.BacktestBootstrapContext;
+import com.systematic.trading.backtest.context.BacktestBootstrapContextBulider;
+import com.systematic.trading.backtest.event.BacktestEventListener;
+import com.systematic.trading.backtest.exception.BacktestInitialisationException;
+import com.systematic.trading.backtest.input.BacktestEndDate;
+import com.systematic.trading.backtest.input.BacktestStartDate;
+import com.systematic.trading.data.DataService;
+import com.systematic.trading.data.DataServiceUpdater;
+import com.systematic.trading.exception.ServiceException;
+import com.systematic.trading.strategy.entry.Entry;
+import com.systematic.trading.strategy.signal.SignalAnalysisListener;
+
+/**
+ * Back tests strategies over rolling windows of a single equity, with the windows back tested
+ * concurrently.
+ * <p/>
+ * The prices of the equity are retrieved and loaded once for every window. Entries keeping no state
+ * between trading days are shared across the windows, analysing each trading day once; only the
+ * simulation of the cash, orders and equities is repeated for each window.
+ * <p/>
+ * Signal analysis is not given to the outputs, as a shared trading day is analysed for only one of
+ * the windows.
+ * 
+ * @author CJ Hare
+ */
+public class WalkForwardBacktest {
+
+	/** Signal analysis of the shared entries is not passed on. */
+	private static final SignalAnalysisListener NO_SIGNAL_ANALYSIS = event -> {
+		// Shared signals belong to no single window
+	};
+
+	private final DataService dataService;
+	private final DataServiceUpdater dataServiceUpdater;
+
+	/** Threads back testing the windows. */
+	private final ExecutorService pool;
+
+	public WalkForwardBacktest(
+	        final DataService dataService,
+	        final DataServiceUpdater dataServiceUpdater,
+	        final ExecutorService pool ) {
+
+		this.dataService = dataService;
+		this.dataServiceUpdater = dataServiceUpdater;
+		this.pool = pool;
+	}
+
+	/**
+	 * @param windows
+	 *            periods each strategy is back tested over, in order of their start.
+	 * @param configurations
+	 *            strategies to back test, with the dates of the whole trial.
+	 * @return trading days simulated, summed across the back tests of every window.
+	 */
+	public long run(
+	        final EquityConfiguration equity,
+	        final List<BacktestSimulationDates> windows,
+	        final List<BacktestBootstrapConfiguration> configurations,
+	        final WalkForwardOutput output ) throws ServiceException {
+
+		final BacktestSimulationDates trial = new BacktestSimulationDates(
+		        new BacktestStartDate(windows.get(0).startDateInclusive()),
+		        new BacktestEndDate(windows.get(windows.size() - 1).endDateExclusive()));
+
+		final List<Entry> entries = sharedEntries(configurations, trial);
+		final List<List<BacktestBootstrapContext>> contexts = new ArrayList<>(windows.size());
+		final List<List<BacktestEventListener>> outputs = new ArrayList<>(windows.size());
+		LocalDate earliest = trial.startDateInclusive();
+
+		for (final BacktestSimulationDates window : windows) {
+			final List<BacktestBootstrapContext> windowContexts = new ArrayList<>(configurations.size());
+			final List<BacktestEventListener> windowOutputs = new ArrayList<>(configurations.size());
+
+			for (int i = 0; i < configurations.size(); i++) {
+				final BacktestBootstrapConfiguration configuration = configurations.get(i);
+				final BacktestEventListener windowOutput = output.output(configuration, window);
+				final BacktestBootstrapContext context = context(configuration, entries.get(i), window, windowOutput);
+
+				windowContexts.add(context);
+				windowOutputs.add(windowOutput);
+
+				final LocalDate warmUpStart = window.startDateInclusive()
+				        .minus(context.tradingStrategy().warmUpPeriod());
+				earliest = warmUpStart.isBefore(earliest) ? warmUpStart : earliest;
+			}
+
+			contexts.add(windowContexts);
+			outputs.add(windowOutputs);
+		}
+
+		// Retrieved and loaded once, including the widest warm up of the earliest window
+		dataServiceUpdater.get(
+		        equity.tickerDataset(),
+		        equity.equityIdentity().tickerSymbol(),
+		        earliest.withDayOfMonth(1),
+		        trial.endDateExclusive());
+		final HeldPrices prices = new HeldPrices(
+		        equity.equityIdentity().tickerSymbol(),
+		        earliest,
+		        trial.endDateExclusive(),
+		        dataService,
+		        dataServiceUpdater);
+
+		final List<Future<Long>> pending = new ArrayList<>(windows.size());
+
+		for (int w = 0; w < windows.size(); w++) {
+			final BacktestSimulationDates window = windows.get(w);
+			final List<BacktestBootstrapContext> windowContexts = contexts.get(w);
+			final List<BacktestEventListener> windowOutputs = outputs.get(w);
+
+			pending.add(
+			        pool.submit(
+			                () -> new Backtest(prices, prices).run(equity, window, windowContexts, windowOutputs)));
+		}
+
+		long tradingDays = 0;
+
+		for (final Future<Long> window : pending) {
+			tradingDays += await(window);
+		}
+
+		return tradingDays;
+	}
+
+	/**
+	 * @return entry shared by every window for each configuration, or <code>null</code> when the
+	 *         window needs an entry of it's own.
+	 */
+	private List<Entry> sharedEntries(
+	        final List<BacktestBootstrapConfiguration> configurations,
+	        final BacktestSimulationDates trial ) {
+
+		final List<Entry> entries = new ArrayList<>(configurations.size());
+
+		for (final BacktestBootstrapConfiguration configuration : configurations) {
+			entries.add(
+			        isStateless(configuration.strategy().entry())
+			                ? new SharedSignalsEntry(
+			                        new BacktestBootstrapContextBulider()
+			                                .withConfiguration(configuration(configuration, trial))
+			                                .withSignalAnalysisListeners(NO_SIGNAL_ANALYSIS).buildEntry())
+			                : null);
+		}
+
+		return entries;
+	}
+
+	private BacktestBootstrapContext context(
+	        final BacktestBootstrapConfiguration configuration,
+	        final Entry shared,
+	        final BacktestSimulationDates window,
+	        final BacktestEventListener output ) {
+
+		final BacktestBootstrapContextBulider context = new BacktestBootstrapContextBulider()
+		        .withConfiguration(configuration(configuration, window)).withSignalAnalysisListeners(output);
+
+		if (shared != null) {
+			context.withEntry(new WindowedEntry(shared, window));
+		}
+
+		return context.build();
+	}
+
+	private BacktestBootstrapConfiguration configuration(
+	        final BacktestBootstrapConfiguration configuration,
+	        final BacktestSimulationDates dates ) {
+
+		return new BacktestBootstrapConfiguration(
+		        dates,
+		        configuration.brokerageFees(),
+		        configuration.cashAccount(),
+		        configuration.strategy(),
+		        configuration.equity());
+	}
+
+	/**
+	 * Periodic entries count their intervals from the start of the back test, so only indicators
+	 * and their combinations give the same signals in every window.
+	 */
+	private boolean isStateless( final EntryConfiguration entry ) {
+
+		if (entry instanceof IndicatorEntryConfiguration) {
+			return true;
+		}
+
+		if (entry instanceof ConfirmedByEntryConfiguration) {
+			final ConfirmedByEntryConfiguration confirmedBy = (ConfirmedByEntryConfiguration) entry;
+			return isStateless(confirmedBy.anchor()) && isStateless(confirmedBy.confirmation());
+		}
+
+		if (entry instanceof OperatorEntryConfiguration) {
+			final OperatorEntryConfiguration operator = (OperatorEntryConfiguration) entry;
+			return isStateless(operator.leftEntry()) && isStateless(operator.righEntry());
+		}
+
+		return false;
+	}
+
+	private long await( final Future<Long> window ) throws ServiceException {
+
+		try {
+			return window.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BacktestInitialisationException(e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+
+			if (cause instanceof ServiceException) {
+				throw (ServiceException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+
+			throw new BacktestInitialisationException(e);
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.walkforward;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.systematic.trading.backtest.BacktestSimulationDates;
+import com.systematic.trading.backtest.exception.InvalidSimulationDatesException;
+import com.systematic.trading.backtest.input.BacktestEndDate;
+import com.systematic.trading.backtest.input.BacktestStartDate;
+import com.systematic.trading.backtest.walkforward.configuration.WalkForwardConfiguration;
+
+/**
+ * Rolling windows of equal length within the trial period, each starting a step after the last.
+ * 
+ * @author CJ Hare
+ */
+public class WalkForwardWindows {
+
+	/** Months of each window. */
+	private final int windowMonths;
+
+	/** Months between the start of one window and the next. */
+	private final int stepMonths;
+
+	public WalkForwardWindows( final WalkForwardConfiguration configuration ) {
+
+		this(configuration.windowMonths(), configuration.stepMonths());
+	}
+
+	public WalkForwardWindows( final int windowMonths, final int stepMonths ) {
+
+		this.windowMonths = windowMonths;
+		this.stepMonths = stepMonths;
+	}
+
+	/**
+	 * @param trial
+	 *            whole period of the trial.
+	 * @return windows ending within the trial period, in order of their start, or the whole trial
+	 *         period when no window fits.
+	 */
+	public List<BacktestSimulationDates> windows( final BacktestSimulationDates trial )
+	        throws InvalidSimulationDatesException {
+
+		final LocalDate trialStart = trial.startDateInclusive();
+		final LocalDate trialEnd = trial.endDateExclusive();
+		final List<BacktestSimulationDates> windows = new ArrayList<>();
+
+		// Offset from the trial start, avoiding the drift of repeatedly adding months to a month end
+		for (long offset = 0;; offset += stepMonths) {
+			final LocalDate start = trialStart.plusMonths(offset);
+			final LocalDate end = trialStart.plusMonths(offset + windowMonths);
+
+			if (end.isAfter(trialEnd)) {
+				break;
+			}
+
+			windows.add(new BacktestSimulationDates(new BacktestStartDate(start), new BacktestEndDate(end)));
+		}
+
+		if (windows.isEmpty()) {
+			windows.add(trial);
+		}
+
+		return windows;
+	}
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.walkforward;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import com.systematic.trading.backtest.BacktestSimulationDates;
+import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.signal.model.DatedSignal;
+import com.systematic.trading.signal.model.DatedSignalSet;
+import com.systematic.trading.strategy.entry.Entry;
+
+/**
+ * Limits the entries to the trading days of a window, with the warm up before the window left
+ * unanalysed.
+ * 
+ * @author CJ Hare
+ */
+public class WindowedEntry implements Entry {
+
+	/** Entry given the trading days within the window. */
+	private final Entry entry;
+
+	/** Inclusive first trading day of the window. */
+	private final LocalDate startDateInclusive;
+
+	/** Exclusive end of the window. */
+	private final LocalDate endDateExclusive;
+
+	public WindowedEntry( final Entry entry, final BacktestSimulationDates window ) {
+
+		this.entry = entry;
+		this.startDateInclusive = window.startDateInclusive();
+		this.endDateExclusive = window.endDateExclusive();
+	}
+
+	@Override
+	public List<DatedSignal> analyse( final TradingDayPrices[] data ) {
+
+		return isWithinWindow(data) ? entry.analyse(data) : Collections.emptyList();
+	}
+
+	@Override
+	public DatedSignalSet signals( final TradingDayPrices[] data ) {
+
+		return isWithinWindow(data) ? entry.signals(data) : DatedSignalSet.empty();
+	}
+
+	@Override
+	public int requiredTradingPrices() {
+
+		return entry.requiredTradingPrices();
+	}
+
+	private boolean isWithinWindow( final TradingDayPrices[] data ) {
+
+		final LocalDate tradingDay = data[data.length - 1].date();
+		return !tradingDay.isBefore(startDateInclusive) && tradingDay.isBefore(endDateExclusive);
+	}
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.walkforward.dao.impl;
+
+import java.util.Properties;
+
+import com.systematic.trading.backtest.walkforward.configuration.WalkForwardConfiguration;
+import com.systematic.trading.backtest.walkforward.configuration.WalkForwardProperty;
+import com.systematic.trading.backtest.walkforward.configuration.impl.WalkForwardConfigurationImpl;
+import com.systematic.trading.backtest.walkforward.dao.WalkForwardConfigurationDao;
+import com.systematic.trading.configuration.ConfigurationValidator;
+import com.systematic.trading.configuration.IntegerConfigurationValidator;
+import com.systematic.trading.configuration.exception.ConfigurationValidationException;
+import com.systematic.trading.data.dao.impl.FileConfigurationDao;
+import com.systematic.trading.data.exception.CannotRetrieveConfigurationException;
+
+/**
+ * Providing validation of the configuration properties for the walk forward.
+ * 
+ * @author CJ Hare
+ */
+public class FileValidatedWalkForwardConfigurationDao implements WalkForwardConfigurationDao {
+
+	private static final String WALK_FORWARD_PROPERTIES_FILE = "walk_forward.properties";
+
+	private static final int MAXIMUM_MONTHS = 1200;
+
+	private final ConfigurationValidator<Integer> windowValidator;
+	private final ConfigurationValidator<Integer> stepValidator;
+
+	public FileValidatedWalkForwardConfigurationDao() {
+
+		this.windowValidator = new IntegerConfigurationValidator(0, MAXIMUM_MONTHS);
+		this.stepValidator = new IntegerConfigurationValidator(1, MAXIMUM_MONTHS);
+	}
+
+	@Override
+	public WalkForwardConfiguration configuration()
+	        throws ConfigurationValidationException, CannotRetrieveConfigurationException {
+
+		final Properties properties = new FileConfigurationDao().configuration(WALK_FORWARD_PROPERTIES_FILE);
+
+		final int window = windowValidator.validate(property(properties, WalkForwardProperty.WINDOW_MONTHS));
+		final int step = stepValidator.validate(property(properties, WalkForwardProperty.STEP_MONTHS));
+
+		return new WalkForwardConfigurationImpl(window, step);
+	}
+
+	private String property( final Properties properties, final WalkForwardProperty property ) {
+
+		return properties.getProperty(property.key());
+	}
+}
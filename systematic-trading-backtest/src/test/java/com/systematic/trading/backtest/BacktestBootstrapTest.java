@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.systematic.trading.backtest.context.BacktestBootstrapContext;
+import com.systematic.trading.backtest.event.BacktestEventListener;
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
+import com.systematic.trading.model.TickerSymbolTradingData;
+import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.simulation.BatchSimulation;
+import com.systematic.trading.simulation.analysis.roi.CulmativeReturnOnInvestment;
+import com.systematic.trading.simulation.analysis.roi.CumulativeReturnOnInvestment;
+import com.systematic.trading.simulation.analysis.statistics.CumulativeEventStatistics;
+import com.systematic.trading.simulation.analysis.statistics.EventStatistics;
+import com.systematic.trading.simulation.brokerage.Brokerage;
+import com.systematic.trading.simulation.brokerage.event.BrokerageEventListener;
+import com.systematic.trading.simulation.cash.CashAccount;
+import com.systematic.trading.simulation.cash.event.CashEventListener;
+import com.systematic.trading.simulation.equity.event.EquityEventListener;
+import com.systematic.trading.strategy.Strategy;
+
+/**
+ * Verifying the wiring of the statistics given to the output on initialisation.
+ * 
+ * @author CJ Hare
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class BacktestBootstrapTest {
+
+	private static final LocalDate LAST_TRADING_DATE = LocalDate.of(2017, 6, 30);
+
+	@Mock
+	private TickerSymbolTradingData tradingData;
+
+	@Mock
+	private TradingDayPrices lastTradingDay;
+
+	@Mock
+	private Strategy strategy;
+
+	@Mock
+	private Brokerage broker;
+
+	@Mock
+	private CashAccount cashAccount;
+
+	@Mock
+	private BacktestSimulationDates dates;
+
+	@Mock
+	private BacktestBatchId batchId;
+
+	@Mock
+	private BacktestEventListener output;
+
+	private BacktestBootstrap bootstrap;
+
+	@Before
+	public void setUp() {
+
+		final Map<LocalDate, TradingDayPrices> prices = new HashMap<>();
+		prices.put(LAST_TRADING_DATE, lastTradingDay);
+		when(tradingData.earliestDate()).thenReturn(LAST_TRADING_DATE.minusYears(1));
+		when(tradingData.latestDate()).thenReturn(LAST_TRADING_DATE);
+		when(tradingData.tradingPrices()).thenReturn(prices);
+
+		final BacktestBootstrapContext context = new BacktestBootstrapContext(strategy, broker, cashAccount, dates,
+		        batchId);
+		bootstrap = new BacktestBootstrap(context, output, tradingData);
+	}
+
+	@Test
+	public void statisticsWiredWithoutNetWorth() {
+
+		setUpListensTo(OutputEventFamily.ORDER);
+
+		add();
+
+		final EventStatistics eventStatistics = verifyInit();
+		verify(cashAccount).addListener(isA(CulmativeReturnOnInvestment.class));
+		verify(cashAccount).addListener(eventStatistics);
+		verify(broker).addListener((BrokerageEventListener) eventStatistics);
+		verify(broker).addListener((EquityEventListener) eventStatistics);
+	}
+
+	@Test
+	public void statisticsWiredWithNetWorth() {
+
+		setUpListensTo(OutputEventFamily.NET_WORTH);
+
+		add();
+
+		final EventStatistics eventStatistics = verifyInit();
+		verify(cashAccount).addListener(eventStatistics);
+		verify(broker).addListener((BrokerageEventListener) eventStatistics);
+		verify(broker).addListener((EquityEventListener) eventStatistics);
+	}
+
+	@Test
+	public void nothingWiredWithoutEvents() {
+
+		add();
+
+		verifyInit();
+		verify(cashAccount, never()).addListener(any(CashEventListener.class));
+		verify(broker, never()).addListener(any(BrokerageEventListener.class));
+		verify(broker, never()).addListener(any(EquityEventListener.class));
+	}
+
+	private void setUpListensTo( final OutputEventFamily family ) {
+
+		when(output.listensTo(family)).thenReturn(true);
+	}
+
+	private void add() {
+
+		bootstrap.add(new BatchSimulation(tradingData, 1));
+	}
+
+	private EventStatistics verifyInit() {
+
+		final ArgumentCaptor<EventStatistics> eventStatistics = ArgumentCaptor.forClass(EventStatistics.class);
+		verify(output).init(isA(TickerSymbolTradingData.class), isA(BacktestSimulationDates.class),
+		        eventStatistics.capture(), isA(CumulativeReturnOnInvestment.class), isA(TradingDayPrices.class));
+		assertSame(CumulativeEventStatistics.class, eventStatistics.getValue().getClass());
+		return eventStatistics.getValue();
+	}
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.systematic.trading.backtest.event.channel.EventSlot.EventSlotType;
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
+import com.systematic.trading.model.equity.EquityIdentity;
+import com.systematic.trading.model.signal.SignalType;
+import com.systematic.trading.simulation.SimulationStateListener.SimulationState;
+import com.systematic.trading.simulation.analysis.networth.NetWorthSummaryEvent;
+import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent;
+import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent.NetWorthEventType;
+import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEvent;
+import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEventImpl;
+import com.systematic.trading.simulation.brokerage.event.BrokerageAccountEvent;
+import com.systematic.trading.simulation.brokerage.event.BrokerageEvent;
+import com.systematic.trading.simulation.brokerage.event.BrokerageEvent.BrokerageAccountEventType;
+import com.systematic.trading.simulation.cash.event.CashAccountEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent.CashEventType;
+import com.systematic.trading.simulation.equity.event.EquityEvent;
+import com.systematic.trading.simulation.equity.event.EquityEvent.EquityEventType;
+import com.systematic.trading.simulation.equity.event.SingleEquityEvent;
+import com.systematic.trading.simulation.order.event.OrderEvent;
+import com.systematic.trading.simulation.order.event.OrderEvent.EquityOrderType;
+import com.systematic.trading.simulation.order.event.PlaceOrderTotalCostEvent;
+import com.systematic.trading.strategy.indicator.IndicatorId;
+import com.systematic.trading.strategy.indicator.event.IndicatorSignal;
+import com.systematic.trading.strategy.indicator.event.IndicatorSignalEvent;
+import com.systematic.trading.strategy.signal.SignalAnalysisEvent;
+
+/**
+ * Verifies a back test result decodes to the same values it was encoded from.
+ * 
+ * @author CJ Hare
+ */
+public class BacktestResultCodecTest {
+
+	private static final LocalDate DATE = LocalDate.of(2018, 3, 14);
+
+	private final BacktestResultCodec codec = new BacktestResultCodec();
+
+	@Test
+	public void roundTrip() {
+
+		final List<BacktestResult.Event> events = List.of(
+		        new BacktestResult.Event(
+		                EventSlotType.CASH,
+		                new CashAccountEvent(
+		                        new BigDecimal("100.00"),
+		                        new BigDecimal("150.00"),
+		                        new BigDecimal("50.00"),
+		                        CashEventType.DEPOSIT,
+		                        DATE),
+		                null),
+		        new BacktestResult.Event(
+		                EventSlotType.ORDER,
+		                new PlaceOrderTotalCostEvent(new BigDecimal("149.9"), DATE, EquityOrderType.ENTRY),
+		                null),
+		        new BacktestResult.Event(
+		                EventSlotType.BROKERAGE,
+		                new BrokerageAccountEvent(
+		                        BigDecimal.ZERO,
+		                        new BigDecimal("1.5"),
+		                        new BigDecimal("1.5"),
+		                        BrokerageAccountEventType.BUY,
+		                        DATE,
+		                        new BigDecimal("99.95"),
+		                        new BigDecimal("7.50")),
+		                null),
+		        new BacktestResult.Event(
+		                EventSlotType.EQUITY,
+		                new SingleEquityEvent(
+		                        new EquityIdentity("VGS", 4),
+		                        new BigDecimal("1.5"),
+		                        new BigDecimal("1.4995"),
+		                        new BigDecimal("0.0005"),
+		                        EquityEventType.MANAGEMENT_FEE,
+		                        DATE,
+		                        null),
+		                null),
+		        new BacktestResult.Event(
+		                EventSlotType.RETURN_ON_INVESTMENT,
+		                new ReturnOnInvestmentEventImpl(new BigDecimal("-0.25"), DATE, DATE.plusDays(1)),
+		                null),
+		        new BacktestResult.Event(
+		                EventSlotType.SIGNAL_ANALYSIS,
+		                new IndicatorSignalEvent(new IndicatorSignal(DATE, new IndicatorId("MACD-6-13-5"), SignalType.BULLISH)),
+		                null),
+		        new BacktestResult.Event(
+		                EventSlotType.NET_WORTH,
+		                new NetWorthSummaryEvent(
+		                        new BigDecimal("1.4995"),
+		                        new BigDecimal("151.20"),
+		                        new BigDecimal("0.10"),
+		                        new BigDecimal("151.30"),
+		                        DATE,
+		                        NetWorthEventType.COMPLETED),
+		                SimulationState.COMPLETE),
+		        new BacktestResult.Event(EventSlotType.STATE_CHANGE, null, SimulationState.COMPLETE));
+
+		final BacktestResult decoded = codec.decode(
+		        codec.encode(
+		                new BacktestResult(
+		                        EnumSet.of(OutputEventFamily.CASH, OutputEventFamily.SIGNAL_ANALYSIS),
+		                        events,
+		                        new BigDecimal("0.8675"))));
+
+		assertEquals(EnumSet.of(OutputEventFamily.CASH, OutputEventFamily.SIGNAL_ANALYSIS), decoded.families());
+		assertEquals(new BigDecimal("0.8675"), decoded.cumulativeReturnOnInvestment());
+		assertEquals(events.size(), decoded.events().size());
+
+		final CashEvent cash = (CashEvent) decoded.events().get(0).event();
+		assertEquals(CashEventType.DEPOSIT, cash.type());
+		assertEquals(new BigDecimal("100.00"), cash.fundsBefore());
+		assertEquals(new BigDecimal("150.00"), cash.fundsAfter());
+		assertEquals(new BigDecimal("50.00"), cash.amount());
+		assertEquals(DATE, cash.transactionDate());
+
+		final OrderEvent order = (OrderEvent) decoded.events().get(1).event();
+		assertEquals(EquityOrderType.ENTRY, order.type());
+		assertEquals(new BigDecimal("149.9"), order.totalCost());
+
+		final BrokerageEvent brokerage = (BrokerageEvent) decoded.events().get(2).event();
+		assertEquals(BrokerageAccountEventType.BUY, brokerage.type());
+		assertEquals(new BigDecimal("1.5"), brokerage.endEquityBalance());
+		assertEquals(new BigDecimal("99.95"), brokerage.equityValue());
+		assertEquals(new BigDecimal("7.50"), brokerage.transactionFee());
+
+		final EquityEvent equity = (EquityEvent) decoded.events().get(3).event();
+		assertEquals("VGS", equity.identity().tickerSymbol());
+		assertEquals(4, equity.identity().scale());
+		assertEquals(new BigDecimal("0.0005"), equity.equityAmount());
+		assertNull(((SingleEquityEvent) equity).equityValue());
+
+		final ReturnOnInvestmentEvent roi = (ReturnOnInvestmentEvent) decoded.events().get(4).event();
+		assertEquals(new BigDecimal("-0.25"), roi.percentageChange());
+		assertEquals(DATE.plusDays(1), roi.endDateExclusive());
+
+		final SignalAnalysisEvent signal = (SignalAnalysisEvent) decoded.events().get(5).event();
+		assertEquals(new IndicatorId("MACD-6-13-5"), signal.signalType());
+		assertEquals(SignalType.BULLISH, signal.directionType());
+
+		final NetWorthEvent netWorth = (NetWorthEvent) decoded.events().get(6).event();
+		assertEquals(new BigDecimal("151.30"), netWorth.netWorth());
+		assertEquals(SimulationState.COMPLETE, decoded.events().get(6).state());
+
+		assertEquals(EventSlotType.STATE_CHANGE, decoded.events().get(7).type());
+		assertNull(decoded.events().get(7).event());
+		assertEquals(SimulationState.COMPLETE, decoded.events().get(7).state());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void missingHeader() {
+
+		codec.decode(List.of("STATE_CHANGE\tCOMPLETE"));
+	}
+}
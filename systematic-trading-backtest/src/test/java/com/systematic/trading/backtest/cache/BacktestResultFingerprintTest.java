@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.Test;
+
+import com.systematic.trading.backtest.BacktestTickerSymbolTradingData;
+import com.systematic.trading.backtest.configuration.cash.CashAccountConfiguration;
+import com.systematic.trading.backtest.configuration.cash.DepositConfiguration;
+import com.systematic.trading.backtest.input.DepositFrequency;
+import com.systematic.trading.model.TickerSymbolTradingData;
+import com.systematic.trading.model.equity.EquityIdentity;
+import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.model.price.impl.TradingDayPricesImpl;
+import com.systematic.trading.strategy.indicator.IndicatorId;
+import com.systematic.trading.strategy.indicator.configuration.MacdConfiguration;
+
+/**
+ * Verifies the fingerprints change with every value deciding the back test result, and only then.
+ * 
+ * @author CJ Hare
+ */
+public class BacktestResultFingerprintTest {
+
+	private final BacktestResultFingerprint fingerprint = new BacktestResultFingerprint();
+
+	@Test
+	public void equalValuesSameFingerprint() {
+
+		assertEquals(
+		        fingerprint.configuration(macd("MACD-Short", 6, 13, 5)),
+		        fingerprint.configuration(macd("MACD-Short", 6, 13, 5)));
+	}
+
+	@Test
+	public void presetParametersChanged() {
+
+		assertNotEquals(
+		        fingerprint.configuration(macd("MACD-Short", 6, 13, 5)),
+		        fingerprint.configuration(macd("MACD-Short", 6, 13, 6)));
+	}
+
+	@Test
+	public void depositChanged() {
+
+		assertNotEquals(
+		        fingerprint.configuration(cashAccount(BigDecimal.valueOf(100))),
+		        fingerprint.configuration(cashAccount(BigDecimal.valueOf(200))));
+		assertNotEquals(
+		        fingerprint.configuration(cashAccount(BigDecimal.valueOf(100))),
+		        fingerprint.configuration(new CashAccountConfiguration(BigDecimal.ONE, BigDecimal.TEN)));
+	}
+
+	@Test
+	public void pricesChanged() {
+
+		final String configuration = fingerprint.configuration(macd("MACD-Short", 6, 13, 5));
+
+		assertEquals(
+		        fingerprint.result(configuration, tradingData("1.00")),
+		        fingerprint.result(configuration, tradingData("1.00")));
+		assertNotEquals(
+		        fingerprint.result(configuration, tradingData("1.00")),
+		        fingerprint.result(configuration, tradingData("1.01")));
+	}
+
+	private MacdConfiguration macd( final String id, final int fast, final int slow, final int signal ) {
+
+		return new MacdConfiguration(new IndicatorId(id), fast, slow, signal);
+	}
+
+	private CashAccountConfiguration cashAccount( final BigDecimal deposit ) {
+
+		return new CashAccountConfiguration(
+		        new DepositConfiguration(deposit, DepositFrequency.MONTHLY),
+		        BigDecimal.ONE,
+		        BigDecimal.TEN);
+	}
+
+	private TickerSymbolTradingData tradingData( final String lastClose ) {
+
+		final LocalDate date = LocalDate.of(2018, 1, 2);
+
+		return new BacktestTickerSymbolTradingData(
+		        new EquityIdentity("VGS", 4),
+		        new TradingDayPrices[] { prices(date, "1.00"), prices(date.plusDays(1), lastClose) });
+	}
+
+	private TradingDayPrices prices( final LocalDate date, final String close ) {
+
+		return new TradingDayPricesImpl(
+		        "VGS",
+		        date,
+		        BigDecimal.ONE,
+		        BigDecimal.ONE,
+		        BigDecimal.ONE,
+		        new BigDecimal(close));
+	}
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.systematic.trading.backtest.event.channel.EventSlot.EventSlotType;
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
+import com.systematic.trading.simulation.SimulationStateListener.SimulationState;
+
+/**
+ * Verifies the results stored on the file system.
+ * 
+ * @author CJ Hare
+ */
+public class FileBacktestResultCacheTest {
+
+	private static final String KEY = "0123456789abcdef";
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private Path directory;
+	private FileBacktestResultCache cache;
+
+	@Before
+	public void setUp() throws IOException {
+
+		directory = folder.newFolder("results").toPath();
+		cache = new FileBacktestResultCache(directory);
+	}
+
+	@Test
+	public void absent() {
+
+		assertFalse(cache.get(KEY).isPresent());
+	}
+
+	@Test
+	public void stored() {
+
+		cache.put(KEY, result(BigDecimal.ONE));
+		cache.put(KEY, result(BigDecimal.TEN));
+
+		final Optional<BacktestResult> result = cache.get(KEY);
+
+		assertTrue(result.isPresent());
+		assertEquals(BigDecimal.TEN, result.get().cumulativeReturnOnInvestment());
+		assertEquals(SimulationState.COMPLETE, result.get().events().get(0).state());
+		assertTrue(Files.isRegularFile(directory.resolve("01").resolve(KEY + ".result")));
+	}
+
+	@Test
+	public void unreadable() throws IOException {
+
+		final Path file = directory.resolve("01").resolve(KEY + ".result");
+		Files.createDirectories(file.getParent());
+		Files.write(file, List.of("not a result"), StandardCharsets.UTF_8);
+
+		assertFalse(cache.get(KEY).isPresent());
+	}
+
+	private BacktestResult result( final BigDecimal cumulativeRoi ) {
+
+		return new BacktestResult(
+		        EnumSet.of(OutputEventFamily.CASH),
+		        List.of(new BacktestResult.Event(EventSlotType.STATE_CHANGE, null, SimulationState.COMPLETE)),
+		        cumulativeRoi);
+	}
+}
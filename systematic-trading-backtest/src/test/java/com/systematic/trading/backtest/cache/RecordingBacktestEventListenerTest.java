@@ -0,0 +1,275 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.systematic.trading.backtest.BacktestSimulationDates;
+import com.systematic.trading.backtest.BacktestTickerSymbolTradingData;
+import com.systematic.trading.backtest.event.SilentBacktestEventLisener;
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
+import com.systematic.trading.model.TickerSymbolTradingData;
+import com.systematic.trading.model.equity.EquityIdentity;
+import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.model.price.impl.TradingDayPricesImpl;
+import com.systematic.trading.model.signal.SignalType;
+import com.systematic.trading.simulation.SimulationStateListener.SimulationState;
+import com.systematic.trading.simulation.analysis.networth.NetWorthSummaryEvent;
+import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent;
+import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent.NetWorthEventType;
+import com.systematic.trading.simulation.analysis.roi.CumulativeReturnOnInvestment;
+import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEvent;
+import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEventImpl;
+import com.systematic.trading.simulation.analysis.statistics.CumulativeEventStatistics;
+import com.systematic.trading.simulation.analysis.statistics.EventStatistics;
+import com.systematic.trading.simulation.cash.event.CashAccountEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent.CashEventType;
+import com.systematic.trading.strategy.indicator.IndicatorId;
+import com.systematic.trading.strategy.indicator.event.IndicatorSignal;
+import com.systematic.trading.strategy.indicator.event.IndicatorSignalEvent;
+import com.systematic.trading.strategy.signal.SignalAnalysisEvent;
+
+/**
+ * Verifies a replayed result gives the output the same calls as the simulation that recorded it.
+ * 
+ * @author CJ Hare
+ */
+public class RecordingBacktestEventListenerTest {
+
+	private static final LocalDate DATE = LocalDate.of(2018, 1, 2);
+	private static final String CONFIGURATION = "MACD-6-13-5";
+
+	private final MapBacktestResultCache cache = new MapBacktestResultCache();
+
+	@Test
+	public void replayMatchesSimulation() {
+
+		final OutputStub simulated = new OutputStub(OutputEventFamily.CASH, OutputEventFamily.SIGNAL_ANALYSIS);
+		simulate(new RecordingBacktestEventListener(simulated, cache, CONFIGURATION), tradingData("1.00"));
+
+		final OutputStub replayed = new OutputStub(OutputEventFamily.CASH, OutputEventFamily.SIGNAL_ANALYSIS);
+
+		assertTrue(new RecordingBacktestEventListener(replayed, cache, CONFIGURATION).replay(tradingData("1.00"), null));
+		assertEquals(simulated.events, replayed.events);
+		assertEquals(1, replayed.eventStatistics.cashEventStatistics().depositEventCount());
+		assertEquals(new BigDecimal("0.5"), replayed.cumulativeRoi.cumulativeReturnOnInvestment());
+	}
+
+	@Test
+	public void onlyWantedFamiliesCreated() {
+
+		final RecordingBacktestEventListener listener = new RecordingBacktestEventListener(
+		        new OutputStub(OutputEventFamily.SIGNAL_ANALYSIS),
+		        cache,
+		        CONFIGURATION);
+
+		assertTrue(listener.listensTo(OutputEventFamily.SIGNAL_ANALYSIS));
+		assertTrue(listener.listensTo(OutputEventFamily.CASH));
+		assertTrue(listener.listensTo(OutputEventFamily.NET_WORTH));
+		assertFalse(listener.listensTo(OutputEventFamily.RETURN_ON_INVESTMENT));
+	}
+
+	@Test
+	public void unrecordedFamilySimulated() {
+
+		simulate(
+		        new RecordingBacktestEventListener(new OutputStub(OutputEventFamily.CASH), cache, CONFIGURATION),
+		        tradingData("1.00"));
+
+		final OutputStub output = new OutputStub(OutputEventFamily.RETURN_ON_INVESTMENT);
+
+		assertFalse(new RecordingBacktestEventListener(output, cache, CONFIGURATION).replay(tradingData("1.00"), null));
+		assertTrue(output.events.isEmpty());
+	}
+
+	@Test
+	public void changedPricesSimulated() {
+
+		simulate(
+		        new RecordingBacktestEventListener(new OutputStub(OutputEventFamily.CASH), cache, CONFIGURATION),
+		        tradingData("1.00"));
+
+		assertFalse(
+		        new RecordingBacktestEventListener(new OutputStub(OutputEventFamily.CASH), cache, CONFIGURATION)
+		                .replay(tradingData("1.01"), null));
+	}
+
+	@Test
+	public void changedConfigurationSimulated() {
+
+		simulate(
+		        new RecordingBacktestEventListener(new OutputStub(OutputEventFamily.CASH), cache, CONFIGURATION),
+		        tradingData("1.00"));
+
+		assertFalse(
+		        new RecordingBacktestEventListener(new OutputStub(OutputEventFamily.CASH), cache, "MACD-6-13-6")
+		                .replay(tradingData("1.00"), null));
+	}
+
+	/**
+	 * The calls the simulation makes, with the event statistics fed as the simulation would.
+	 */
+	private void simulate( final RecordingBacktestEventListener listener, final TickerSymbolTradingData tradingData ) {
+
+		final EventStatistics eventStatistics = new CumulativeEventStatistics();
+		final CashEvent deposit = new CashAccountEvent(
+		        BigDecimal.ZERO,
+		        BigDecimal.TEN,
+		        BigDecimal.TEN,
+		        CashEventType.DEPOSIT,
+		        DATE);
+
+		listener.init(tradingData, null, eventStatistics, () -> new BigDecimal("0.5"), null);
+
+		eventStatistics.event(deposit);
+		listener.event(deposit);
+		listener.event(new IndicatorSignalEvent(new IndicatorSignal(DATE, new IndicatorId("MACD"), SignalType.BULLISH)));
+		listener.event(new ReturnOnInvestmentEventImpl(BigDecimal.ONE, DATE, DATE.plusDays(1)));
+		listener.event(
+		        new NetWorthSummaryEvent(
+		                BigDecimal.ZERO,
+		                BigDecimal.ZERO,
+		                BigDecimal.TEN,
+		                BigDecimal.TEN,
+		                DATE,
+		                NetWorthEventType.COMPLETED),
+		        SimulationState.COMPLETE);
+		listener.stateChanged(SimulationState.COMPLETE);
+	}
+
+	private TickerSymbolTradingData tradingData( final String close ) {
+
+		return new BacktestTickerSymbolTradingData(
+		        new EquityIdentity("VGS", 4),
+		        new TradingDayPrices[] {
+		                new TradingDayPricesImpl(
+		                        "VGS",
+		                        DATE,
+		                        BigDecimal.ONE,
+		                        BigDecimal.ONE,
+		                        BigDecimal.ONE,
+		                        new BigDecimal(close)) });
+	}
+
+	/**
+	 * Output recording the calls it is given.
+	 */
+	private static class OutputStub extends SilentBacktestEventLisener {
+
+		private final Set<OutputEventFamily> families;
+		private final List<Object> events = new ArrayList<>();
+		private EventStatistics eventStatistics;
+		private CumulativeReturnOnInvestment cumulativeRoi;
+
+		OutputStub( final OutputEventFamily first, final OutputEventFamily... rest ) {
+
+			this.families = EnumSet.of(first, rest);
+		}
+
+		@Override
+		public void init(
+		        final TickerSymbolTradingData tradingData,
+		        final BacktestSimulationDates dates,
+		        final EventStatistics eventStatistics,
+		        final CumulativeReturnOnInvestment cumulativeRoi,
+		        final TradingDayPrices lastTradingDay ) {
+
+			this.eventStatistics = eventStatistics;
+			this.cumulativeRoi = cumulativeRoi;
+		}
+
+		@Override
+		public boolean listensTo( final OutputEventFamily family ) {
+
+			return families.contains(family);
+		}
+
+		@Override
+		public void event( final CashEvent event ) {
+
+			events.add(event);
+		}
+
+		@Override
+		public void event( final ReturnOnInvestmentEvent event ) {
+
+			events.add(event);
+		}
+
+		@Override
+		public void event( final SignalAnalysisEvent event ) {
+
+			events.add(event);
+		}
+
+		@Override
+		public void event( final NetWorthEvent event, final SimulationState state ) {
+
+			events.add(event);
+		}
+
+		@Override
+		public void stateChanged( final SimulationState transitionedState ) {
+
+			events.add(transitionedState);
+		}
+	}
+
+	/**
+	 * Results held in memory.
+	 */
+	private static class MapBacktestResultCache implements BacktestResultCache {
+
+		private final Map<String, BacktestResult> results = new HashMap<>();
+
+		@Override
+		public Optional<BacktestResult> get( final String key ) {
+
+			return Optional.ofNullable(results.get(key));
+		}
+
+		@Override
+		public void put( final String key, final BacktestResult result ) {
+
+			results.put(key, result);
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.configuration.strategy.indicator.range;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.systematic.trading.strategy.indicator.IndicatorId;
+import com.systematic.trading.strategy.indicator.configuration.MacdConfiguration;
+
+/**
+ * Verifies the MACD parameter space covers every valid combination exactly once.
+ * 
+ * @author CJ Hare
+ */
+public class MacdParameterSpaceTest {
+
+	@Test
+	public void fastLessThanSlow() {
+
+		final MacdParameterSpace space = new MacdParameterSpace(
+		        new ParameterRange(5, 20, 1),
+		        new ParameterRange(20, 50, 1),
+		        new ParameterRange(5, 15, 1));
+		final Set<IndicatorId> ids = new HashSet<>();
+
+		for (long index = 0; index < space.size(); index++) {
+			final MacdConfiguration macd = (MacdConfiguration) space.configuration(index);
+			assertTrue(macd.fastTimePeriods() < macd.slowTimePeriods());
+			ids.add(macd.id());
+		}
+
+		// Every fast and slow pairing, less fast 20 with slow 20; by every signal
+		assertEquals((16 * 31 - 1) * 11, space.size());
+		assertEquals(space.size(), ids.size());
+	}
+
+	@Test
+	public void signalInnermost() {
+
+		final MacdParameterSpace space = new MacdParameterSpace(
+		        ParameterRange.of(12),
+		        ParameterRange.of(26),
+		        new ParameterRange(5, 9, 4));
+
+		final MacdConfiguration first = (MacdConfiguration) space.configuration(0);
+		final MacdConfiguration second = (MacdConfiguration) space.configuration(1);
+
+		assertEquals(2, space.size());
+		assertEquals(new IndicatorId("MACD-12-26-5"), first.id());
+		assertEquals(5, first.signalTimePeriods());
+		assertEquals(new IndicatorId("MACD-12-26-9"), second.id());
+		assertEquals(9, second.signalTimePeriods());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void noFastLessThanSlow() {
+
+		new MacdParameterSpace(ParameterRange.of(26), ParameterRange.of(12), ParameterRange.of(9));
+	}
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.configuration.strategy.indicator.range;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Verifies the values of a parameter range.
+ * 
+ * @author CJ Hare
+ */
+public class ParameterRangeTest {
+
+	@Test
+	public void steppedValues() {
+
+		final ParameterRange range = new ParameterRange(5, 20, 5);
+
+		assertEquals(4, range.size());
+		assertEquals(5, range.value(0));
+		assertEquals(10, range.value(1));
+		assertEquals(20, range.value(3));
+	}
+
+	@Test
+	public void stepBeyondLastValue() {
+
+		final ParameterRange range = new ParameterRange(5, 21, 5);
+
+		assertEquals(4, range.size());
+		assertEquals(20, range.value(3));
+	}
+
+	@Test
+	public void singleValue() {
+
+		final ParameterRange range = ParameterRange.of(14);
+
+		assertEquals(1, range.size());
+		assertEquals(14, range.value(0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void zeroStep() {
+
+		new ParameterRange(5, 20, 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void endBeforeBeginning() {
+
+		new ParameterRange(20, 5, 1);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void indexBeyondRange() {
+
+		new ParameterRange(5, 20, 5).value(4);
+	}
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.configuration.strategy.indicator.range;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+import com.systematic.trading.strategy.indicator.IndicatorId;
+import com.systematic.trading.strategy.indicator.configuration.RsiConfiguration;
+
+/**
+ * Verifies the RSI parameter space keeps the oversold level below the overbought level.
+ * 
+ * @author CJ Hare
+ */
+public class RsiParameterSpaceTest {
+
+	@Test
+	public void oversoldLessThanOverbought() {
+
+		final RsiParameterSpace space = new RsiParameterSpace(
+		        new ParameterRange(7, 21, 7),
+		        new ParameterRange(30, 50, 10),
+		        new ParameterRange(50, 70, 10));
+
+		// Oversold 50 only pairs with overbought 60 and 70
+		assertEquals(3 * 8, space.size());
+
+		final RsiConfiguration last = (RsiConfiguration) space.configuration(space.size() - 1);
+
+		assertEquals(new IndicatorId("RSI-21-50-70"), last.id());
+		assertEquals(21, last.lookback());
+		assertEquals(BigDecimal.valueOf(50), last.oversold());
+		assertEquals(BigDecimal.valueOf(70), last.overbought());
+	}
+}
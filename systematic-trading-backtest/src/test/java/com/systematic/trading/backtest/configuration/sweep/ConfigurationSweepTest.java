@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.configuration.sweep;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+/**
+ * Verifies the lazy generation of the configurations in a sweep.
+ * 
+ * @author CJ Hare
+ */
+public class ConfigurationSweepTest {
+
+	@Test
+	public void segmentsInOrder() {
+
+		final ConfigurationSweep<String> sweep = new ConfigurationSweep<String>().add(2, index -> "a" + index)
+		        .add(0, index -> "empty" + index).add(3, index -> "b" + index);
+
+		assertEquals(5, sweep.size());
+		assertEquals(Arrays.asList("a0", "a1", "b0", "b1", "b2"), sweep.stream().collect(Collectors.toList()));
+	}
+
+	@Test
+	public void generatedOnDemand() {
+
+		final AtomicLong generated = new AtomicLong();
+		final ConfigurationSweep<Long> sweep = new ConfigurationSweep<Long>().add(Long.MAX_VALUE / 2, index -> {
+			generated.incrementAndGet();
+			return index;
+		});
+
+		final List<Long> firstThree = sweep.stream().limit(3).collect(Collectors.toList());
+
+		assertEquals(Arrays.asList(0L, 1L, 2L), firstThree);
+		assertEquals(3, generated.get());
+	}
+
+	@Test
+	public void splitsEvenly() {
+
+		final ConfigurationSweep<Long> sweep = sweep(1000);
+		final Spliterator<Long> suffix = sweep.stream().spliterator();
+
+		final Spliterator<Long> prefix = suffix.trySplit();
+
+		assertNotNull(prefix);
+		assertEquals(500, prefix.estimateSize());
+		assertEquals(500, suffix.estimateSize());
+		assertTrue(suffix.hasCharacteristics(Spliterator.SUBSIZED));
+		assertEquals(Long.valueOf(0), first(prefix));
+		assertEquals(Long.valueOf(500), first(suffix));
+	}
+
+	@Test
+	public void singleConfigurationDoesNotSplit() {
+
+		assertNull(sweep(1).stream().spliterator().trySplit());
+	}
+
+	@Test
+	public void parallelConsumption() {
+
+		final int size = 100_003;
+
+		final List<Long> configurations = sweep(size).stream().parallel().collect(Collectors.toList());
+
+		assertEquals(size, configurations.size());
+		for (int i = 0; i < size; i++) {
+			assertEquals(Long.valueOf(i), configurations.get(i));
+		}
+	}
+
+	@Test
+	public void configurationAtIndex() {
+
+		final ConfigurationSweep<String> sweep = new ConfigurationSweep<String>();
+		final List<String> expected = new ArrayList<>();
+
+		for (int segment = 0; segment < 10; segment++) {
+			final int segmentId = segment;
+			sweep.add(segment + 1, index -> segmentId + ":" + index);
+			Stream.iterate(0, index -> index + 1).limit(segment + 1L).forEach(index -> expected.add(segmentId + ":" + index));
+		}
+
+		for (int index = 0; index < expected.size(); index++) {
+			assertEquals(expected.get(index), sweep.configuration(index));
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void configurationBeyondSweep() {
+
+		sweep(3).configuration(3);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeSegment() {
+
+		new ConfigurationSweep<Long>().add(-1, index -> index);
+	}
+
+	private ConfigurationSweep<Long> sweep( final long size ) {
+
+		return new ConfigurationSweep<Long>().add(size, index -> index);
+	}
+
+	private Long first( final Spliterator<Long> configurations ) {
+
+		final List<Long> first = new ArrayList<>(1);
+		configurations.tryAdvance(first::add);
+		return first.get(0);
+	}
+}
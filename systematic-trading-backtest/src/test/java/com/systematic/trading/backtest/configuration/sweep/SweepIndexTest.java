@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.configuration.sweep;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Verifies the positions in a sweep translate to the same coordinates as nested loops.
+ * 
+ * @author CJ Hare
+ */
+public class SweepIndexTest {
+
+	@Test
+	public void matchesNestedLoops() {
+
+		final SweepIndex dimensions = new SweepIndex(3, 4, 2);
+		long index = 0;
+
+		for (int outer = 0; outer < 3; outer++) {
+			for (int middle = 0; middle < 4; middle++) {
+				for (int inner = 0; inner < 2; inner++) {
+					assertEquals(outer, dimensions.coordinate(index, 0));
+					assertEquals(middle, dimensions.coordinate(index, 1));
+					assertEquals(inner, dimensions.coordinate(index, 2));
+					index++;
+				}
+			}
+		}
+
+		assertEquals(index, dimensions.size());
+	}
+
+	@Test
+	public void singleDimension() {
+
+		final SweepIndex dimensions = new SweepIndex(5);
+
+		assertEquals(5, dimensions.size());
+		assertEquals(4, dimensions.coordinate(4, 0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void emptyDimension() {
+
+		new SweepIndex(3, 0);
+	}
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.distributed;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies the ConfigurationCursor.
+ * 
+ * @author CJ Hare
+ */
+public class ConfigurationCursorTest {
+
+	/** Number of configurations generated, across every restart of the sequence. */
+	private AtomicInteger generated;
+
+	/** Cursor being tested, over the numbers zero to ninety nine. */
+	private ConfigurationCursor<Long> cursor;
+
+	@Before
+	public void setUp() {
+
+		generated = new AtomicInteger();
+		cursor = new ConfigurationCursor<>(this::sequence);
+	}
+
+	@Test
+	public void ascendingRanges() {
+
+		assertEquals(Arrays.asList(0L, 1L, 2L), cursor.range(0, 3));
+		assertEquals(Arrays.asList(10L, 11L), cursor.range(10, 12));
+
+		assertEquals(12, generated.get());
+	}
+
+	@Test
+	public void rangeBehindRestarts() {
+
+		cursor.range(10, 12);
+
+		assertEquals(Arrays.asList(5L, 6L), cursor.range(5, 7));
+	}
+
+	@Test
+	public void rangeBeyondTheEnd() {
+
+		assertEquals(Arrays.asList(98L, 99L), cursor.range(98, 105));
+	}
+
+	private Iterator<Long> sequence() {
+
+		return LongStream.range(0, 100).peek(value -> generated.incrementAndGet()).boxed().iterator();
+	}
+}
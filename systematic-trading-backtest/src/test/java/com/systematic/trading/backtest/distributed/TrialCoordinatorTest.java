@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.distributed;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.systematic.trading.backtest.event.universe.UniverseSummary;
+
+/**
+ * Verifies the TrialCoordinator with workers connecting over localhost.
+ * 
+ * @author CJ Hare
+ */
+public class TrialCoordinatorTest {
+
+	private static final String AAPL = "AAPL";
+	private static final String MSFT = "MSFT";
+
+	/** Coordinator and the workers, each on their own thread. */
+	private ExecutorService pool;
+
+	/** Trial summary, merging the results from the workers. */
+	private UniverseSummary summary;
+
+	/** Socket the coordinator is listening on. */
+	private ServerSocket server;
+
+	@Before
+	public void setUp() throws IOException {
+
+		pool = Executors.newCachedThreadPool();
+		summary = new UniverseSummary(MathContext.DECIMAL64);
+		server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+	}
+
+	@After
+	public void tearDown() throws IOException {
+
+		pool.shutdownNow();
+		server.close();
+	}
+
+	@Test(timeout = 30000)
+	public void workersShareTheTrial() throws Exception {
+
+		final Future<?> coordinator = coordinate(sizes(AAPL, 120L, MSFT, 45L));
+
+		final Future<Integer> first = pool.submit(() -> work(Integer.MAX_VALUE));
+		final Future<Integer> second = pool.submit(() -> work(Integer.MAX_VALUE));
+
+		coordinator.get(20, TimeUnit.SECONDS);
+
+		assertEquals(165, first.get() + second.get());
+		verifyResults(AAPL, 120);
+		verifyResults(MSFT, 45);
+	}
+
+	@Test(timeout = 30000)
+	public void unitOfFailedWorkerHandedOutAgain() throws Exception {
+
+		final Future<?> coordinator = coordinate(sizes(AAPL, 100L));
+
+		// Departs without completing its second unit
+		pool.submit(() -> work(1)).get();
+		final int completed = pool.submit(() -> work(Integer.MAX_VALUE)).get();
+
+		coordinator.get(20, TimeUnit.SECONDS);
+
+		assertTrue(completed < 100);
+		verifyResults(AAPL, 100);
+	}
+
+	/**
+	 * Worker completing at most the given number of units, then taking one more and departing
+	 * without completing it.
+	 * 
+	 * @return number of configurations completed by the worker.
+	 */
+	private int work( final int units ) throws IOException {
+
+		int completed = 0;
+		int completedUnits = 0;
+
+		try (final TrialCoordinatorClient client = new TrialCoordinatorClient(
+		        server.getInetAddress().getHostAddress(),
+		        server.getLocalPort())) {
+
+			Optional<WorkUnit> unit = client.next();
+
+			while (unit.isPresent() && completedUnits < units) {
+				final List<WorkUnitResult> results = new ArrayList<>();
+
+				for (long i = unit.get().fromInclusive(); i < unit.get().toExclusive(); i++) {
+					results.add(new WorkUnitResult(strategy(i), unit.get().tickerSymbol(), BigDecimal.valueOf(i)));
+				}
+
+				client.complete(unit.get(), results);
+				completed += results.size();
+				completedUnits++;
+				unit = client.next();
+			}
+		}
+
+		return completed;
+	}
+
+	private Future<?> coordinate( final Map<String, Long> sizes ) {
+
+		return pool.submit(() -> {
+			new TrialCoordinator(new WorkUnitQueue(sizes, 5, 20), summary).run(server);
+			return null;
+		});
+	}
+
+	private void verifyResults( final String tickerSymbol, final int size ) {
+
+		for (int i = 0; i < size; i++) {
+			final Optional<BigDecimal> netWorth = summary.netWorth(strategy(i), tickerSymbol);
+
+			assertTrue(netWorth.isPresent());
+			assertEquals(BigDecimal.valueOf(i), netWorth.get());
+		}
+
+		assertFalse(summary.netWorth(strategy(size), tickerSymbol).isPresent());
+	}
+
+	private String strategy( final long index ) {
+
+		return "Strategy " + index;
+	}
+
+	private Map<String, Long> sizes( final Object... symbolSizes ) {
+
+		final Map<String, Long> sizes = new LinkedHashMap<>();
+
+		for (int i = 0; i < symbolSizes.length; i += 2) {
+			sizes.put((String) symbolSizes[i], (Long) symbolSizes[i + 1]);
+		}
+
+		return sizes;
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.distributed;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+import com.systematic.trading.backtest.distributed.TrialProtocol.Command;
+
+/**
+ * Verifies the TrialProtocol.
+ * 
+ * @author CJ Hare
+ */
+public class TrialProtocolTest {
+
+	@Test
+	public void unit() {
+
+		final String message = TrialProtocol.unit(new WorkUnit(7, "AAPL", 250, 500));
+
+		final WorkUnit unit = TrialProtocol.unit(message);
+
+		assertEquals(Command.UNIT, TrialProtocol.command(message).get());
+		assertEquals(7, unit.id());
+		assertEquals("AAPL", unit.tickerSymbol());
+		assertEquals(250, unit.fromInclusive());
+		assertEquals(500, unit.toExclusive());
+	}
+
+	@Test
+	public void resultStrategyIsFreeText() {
+
+		final String message = TrialProtocol
+		        .result(new WorkUnitResult("MACD\tConfirmed By RSI", "AAPL", new BigDecimal("1234.5600")));
+
+		final WorkUnitResult result = TrialProtocol.result(message);
+
+		assertEquals(Command.RESULT, TrialProtocol.command(message).get());
+		assertEquals("MACD\tConfirmed By RSI", result.strategy());
+		assertEquals("AAPL", result.tickerSymbol());
+		assertEquals(new BigDecimal("1234.5600"), result.netWorth());
+	}
+
+	@Test
+	public void complete() {
+
+		final String message = TrialProtocol.complete(new WorkUnit(42, "AAPL", 0, 10));
+
+		assertEquals(Command.COMPLETE, TrialProtocol.command(message).get());
+		assertEquals(42, TrialProtocol.completedId(message));
+	}
+
+	@Test
+	public void unknownCommand() {
+
+		assertFalse(TrialProtocol.command("STEAL\t1").isPresent());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void missingFields() {
+
+		TrialProtocol.unit("UNIT\t7\tAAPL");
+	}
+}
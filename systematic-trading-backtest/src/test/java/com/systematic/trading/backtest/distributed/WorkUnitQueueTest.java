@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.distributed;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Test;
+
+/**
+ * Verifies the WorkUnitQueue.
+ * 
+ * @author CJ Hare
+ */
+public class WorkUnitQueueTest {
+
+	@Test
+	public void coversEveryConfiguration() throws InterruptedException {
+
+		final WorkUnitQueue queue = new WorkUnitQueue(sizes("AAPL", 1000L, "MSFT", 37L), 10, 250);
+
+		final List<WorkUnit> units = takeAll(queue, 4);
+
+		verifyContiguous(units, "AAPL", 1000);
+		verifyContiguous(units, "MSFT", 37);
+	}
+
+	@Test
+	public void unitsShrinkTowardsTheEnd() throws InterruptedException {
+
+		final WorkUnitQueue queue = new WorkUnitQueue(sizes("AAPL", 1000L), 10, 250);
+
+		final List<WorkUnit> units = takeAll(queue, 2);
+
+		assertEquals(250, units.get(0).size());
+		assertTrue(units.get(units.size() - 1).size() <= 10);
+
+		for (int i = 1; i < units.size(); i++) {
+			assertTrue(units.get(i).size() <= units.get(i - 1).size());
+		}
+	}
+
+	@Test
+	public void givenBackIsNextTaken() throws InterruptedException {
+
+		final WorkUnitQueue queue = new WorkUnitQueue(sizes("AAPL", 100L), 10, 10);
+		final WorkUnit first = queue.take(1).get();
+		queue.take(1);
+
+		queue.giveBack(first);
+
+		assertEquals(first.id(), queue.take(1).get().id());
+	}
+
+	@Test
+	public void completedOnlyOnce() throws InterruptedException {
+
+		final WorkUnitQueue queue = new WorkUnitQueue(sizes("AAPL", 10L), 10, 10);
+		final WorkUnit unit = queue.take(1).get();
+
+		assertTrue(queue.complete(unit));
+		assertFalse(queue.complete(unit));
+	}
+
+	@Test
+	public void finishedOnceEveryUnitComplete() throws InterruptedException {
+
+		final WorkUnitQueue queue = new WorkUnitQueue(sizes("AAPL", 10L), 10, 10);
+		final WorkUnit unit = queue.take(1).get();
+
+		final List<Optional<WorkUnit>> waiting = new ArrayList<>();
+		final Thread idle = new Thread(() -> {
+			try {
+				waiting.add(queue.take(1));
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		idle.start();
+
+		queue.complete(unit);
+		idle.join(5000);
+
+		assertEquals(1, waiting.size());
+		assertFalse(waiting.get(0).isPresent());
+		queue.awaitFinished();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidUnitSizes() {
+
+		new WorkUnitQueue(sizes("AAPL", 10L), 20, 10);
+	}
+
+	private List<WorkUnit> takeAll( final WorkUnitQueue queue, final int workers ) throws InterruptedException {
+
+		final List<WorkUnit> units = new ArrayList<>();
+		Optional<WorkUnit> unit = queue.take(workers);
+
+		while (unit.isPresent()) {
+			units.add(unit.get());
+			queue.complete(unit.get());
+			unit = queue.take(workers);
+		}
+
+		return units;
+	}
+
+	private void verifyContiguous( final List<WorkUnit> units, final String tickerSymbol, final long size ) {
+
+		long next = 0;
+
+		for (final WorkUnit unit : units) {
+			if (tickerSymbol.equals(unit.tickerSymbol())) {
+				assertEquals(next, unit.fromInclusive());
+				next = unit.toExclusive();
+			}
+		}
+
+		assertEquals(size, next);
+	}
+
+	private Map<String, Long> sizes( final Object... symbolSizes ) {
+
+		final Map<String, Long> sizes = new LinkedHashMap<>();
+
+		for (int i = 0; i < symbolSizes.length; i += 2) {
+			sizes.put((String) symbolSizes[i], (Long) symbolSizes[i + 1]);
+		}
+
+		return sizes;
+	}
+}
@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.event.channel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.systematic.trading.backtest.event.SilentBacktestEventLisener;
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
+import com.systematic.trading.simulation.analysis.networth.NetWorthSummaryEvent;
+import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent;
+import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent.NetWorthEventType;
+import com.systematic.trading.simulation.cash.event.CashAccountEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent.CashEventType;
+import com.systematic.trading.simulation.SimulationStateListener.SimulationState;
+
+/**
+ * Verifying the AsynchronousBacktestEventListener hands every event to the output, in order.
+ * 
+ * @author CJ Hare
+ */
+public class AsynchronousBacktestEventListenerTest {
+
+	private static final LocalDate START = LocalDate.of(2018, 1, 1);
+
+	/** Consumers shared by every channel. */
+	private EventChannelConsumers consumers;
+
+	@Before
+	public void setUp() {
+
+		consumers = new EventChannelConsumers(1, ChannelWaitStrategy.YIELDING, 2);
+	}
+
+	@After
+	public void tearDown() {
+
+		consumers.close();
+	}
+
+	@Test
+	public void listensToDelegated() {
+
+		assertTrue(listener(new RecordingBacktestEventListener()).listensTo(OutputEventFamily.CASH));
+		assertFalse(listener(new SilentBacktestEventLisener()).listensTo(OutputEventFamily.CASH));
+	}
+
+	@Test
+	public void eventsInOrder() {
+
+		final RecordingBacktestEventListener output = new RecordingBacktestEventListener();
+		final AsynchronousBacktestEventListener listener = listener(output);
+		final List<Object> expected = new ArrayList<>();
+
+		for (int i = 0; i < 50; i++) {
+			final CashEvent cash = cash(i);
+			listener.event(cash);
+			expected.add(cash);
+		}
+
+		final NetWorthEvent netWorth = netWorth();
+		listener.event(netWorth, SimulationState.COMPLETE);
+		listener.stateChanged(SimulationState.COMPLETE);
+		expected.add(netWorth);
+		expected.add(SimulationState.COMPLETE);
+
+		consumers.close();
+
+		verifyEvents(expected, output);
+	}
+
+	@Test
+	public void outputsDrainedOnClose() {
+
+		final RecordingBacktestEventListener first = new RecordingBacktestEventListener();
+		final RecordingBacktestEventListener second = new RecordingBacktestEventListener();
+		final AsynchronousBacktestEventListener firstListener = listener(first);
+		final AsynchronousBacktestEventListener secondListener = listener(second);
+
+		final CashEvent firstCash = cash(1);
+		final CashEvent secondCash = cash(2);
+		firstListener.event(firstCash);
+		secondListener.event(secondCash);
+		firstListener.stateChanged(SimulationState.COMPLETE);
+		secondListener.stateChanged(SimulationState.COMPLETE);
+
+		consumers.close();
+
+		verifyEvents(List.of(firstCash, SimulationState.COMPLETE), first);
+		verifyEvents(List.of(secondCash, SimulationState.COMPLETE), second);
+		assertNotSame(first.thread, Thread.currentThread());
+	}
+
+	private AsynchronousBacktestEventListener listener( final SilentBacktestEventLisener output ) {
+
+		return new AsynchronousBacktestEventListener(
+		        output,
+		        new EventChannel(8, ChannelWaitStrategy.YIELDING),
+		        consumers);
+	}
+
+	private CashEvent cash( final int amount ) {
+
+		return new CashAccountEvent(
+		        BigDecimal.ZERO,
+		        BigDecimal.valueOf(amount),
+		        BigDecimal.valueOf(amount),
+		        CashEventType.DEPOSIT,
+		        START);
+	}
+
+	private NetWorthEvent netWorth() {
+
+		return new NetWorthSummaryEvent(
+		        BigDecimal.ZERO,
+		        BigDecimal.ZERO,
+		        BigDecimal.TEN,
+		        BigDecimal.TEN,
+		        START,
+		        NetWorthEventType.COMPLETED);
+	}
+
+	private void verifyEvents( final List<Object> expected, final RecordingBacktestEventListener output ) {
+
+		assertEquals(expected.size(), output.events.size());
+
+		for (int i = 0; i < expected.size(); i++) {
+			assertSame(expected.get(i), output.events.get(i));
+		}
+	}
+
+	/**
+	 * Output recording the events given by the consumer thread.
+	 */
+	private static class RecordingBacktestEventListener extends SilentBacktestEventLisener {
+
+		private final List<Object> events = new ArrayList<>();
+		private volatile Thread thread;
+
+		@Override
+		public boolean listensTo( final OutputEventFamily family ) {
+
+			return true;
+		}
+
+		@Override
+		public void event( final CashEvent event ) {
+
+			thread = Thread.currentThread();
+			events.add(event);
+		}
+
+		@Override
+		public void event( final NetWorthEvent event, final SimulationState state ) {
+
+			events.add(event);
+		}
+
+		@Override
+		public void stateChanged( final SimulationState transitionedState ) {
+
+			events.add(transitionedState);
+		}
+	}
+}
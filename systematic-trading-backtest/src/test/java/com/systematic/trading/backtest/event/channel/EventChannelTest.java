@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.event.channel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.systematic.trading.backtest.event.channel.EventSlot.EventSlotType;
+import com.systematic.trading.simulation.SimulationStateListener.SimulationState;
+
+/**
+ * EventChannel.
+ * 
+ * @author CJ Hare
+ */
+public class EventChannelTest {
+
+	/** Channel instance being tested. */
+	private EventChannel channel;
+
+	/** Events drained from the channel. */
+	private RecordingSink sink;
+
+	@Before
+	public void setUp() {
+
+		channel = new EventChannel(4, ChannelWaitStrategy.YIELDING);
+		sink = new RecordingSink();
+	}
+
+	@Test
+	public void capacityPowerOfTwo() {
+
+		assertEquals(1, new EventChannel(0, ChannelWaitStrategy.BUSY_SPIN).capacity());
+		assertEquals(4, new EventChannel(3, ChannelWaitStrategy.BUSY_SPIN).capacity());
+		assertEquals(8, new EventChannel(8, ChannelWaitStrategy.BUSY_SPIN).capacity());
+	}
+
+	@Test
+	public void drainNothing() {
+
+		assertEquals(0, drain(4));
+		assertTrue(sink.events.isEmpty());
+		assertTrue(channel.isDrained());
+	}
+
+	@Test
+	public void drainBatch() {
+
+		publish("one", "two", "three");
+
+		assertEquals(2, drain(2));
+		assertEquals(1, drain(2));
+
+		verifyEvents("one", "two", "three");
+		verifyEndOfBatch(false, true, true);
+		assertTrue(channel.isDrained());
+	}
+
+	@Test
+	public void wrapAround() {
+
+		publish("one", "two", "three");
+		drain(4);
+		publish("four", "five", "six");
+		drain(4);
+
+		verifyEvents("one", "two", "three", "four", "five", "six");
+	}
+
+	@Test
+	public void stateDrained() {
+
+		channel.publish(EventSlotType.STATE_CHANGE, null, SimulationState.COMPLETE);
+		drain(1);
+
+		assertEquals(EventSlotType.STATE_CHANGE, sink.types.get(0));
+		assertEquals(SimulationState.COMPLETE, sink.states.get(0));
+	}
+
+	@Test
+	public void completeOnceClosedAndDrained() {
+
+		publish("one");
+		channel.close();
+
+		assertFalse(channel.isComplete());
+
+		drain(4);
+
+		assertTrue(channel.isComplete());
+	}
+
+	@Test
+	public void failedEventNotReplayed() {
+
+		publish("one", "fail", "three");
+
+		try {
+			drain(4);
+		} catch (final IllegalStateException e) {
+			// Expected from the failing event
+		}
+
+		drain(4);
+
+		verifyEvents("one", "fail", "three");
+		assertTrue(channel.isDrained());
+	}
+
+	@Test
+	public void producerWaitsWhenFull() throws InterruptedException {
+
+		publish("one", "two", "three", "four");
+
+		final AtomicBoolean published = new AtomicBoolean();
+		final Thread producer = new Thread(() -> {
+			publish("five");
+			published.set(true);
+		});
+		producer.start();
+		producer.join(100);
+
+		assertFalse(published.get());
+
+		drain(1);
+		producer.join();
+
+		assertTrue(published.get());
+
+		drain(4);
+
+		verifyEvents("one", "two", "three", "four", "five");
+	}
+
+	private void publish( final String... events ) {
+
+		for (final String event : events) {
+			channel.publish(EventSlotType.CASH, event, null);
+		}
+	}
+
+	private int drain( final int maximumBatchSize ) {
+
+		return channel.drain(sink, maximumBatchSize);
+	}
+
+	private void verifyEvents( final String... expected ) {
+
+		assertEquals(List.of(expected), sink.events);
+	}
+
+	private void verifyEndOfBatch( final Boolean... expected ) {
+
+		assertEquals(List.of(expected), sink.endOfBatch);
+	}
+
+	private static class RecordingSink implements EventSink {
+
+		private final List<Object> events = new ArrayList<>();
+		private final List<EventSlotType> types = new ArrayList<>();
+		private final List<SimulationState> states = new ArrayList<>();
+		private final List<Boolean> endOfBatch = new ArrayList<>();
+
+		@Override
+		public void event( final EventSlot slot, final boolean endOfBatch ) {
+
+			events.add(slot.event());
+			types.add(slot.type());
+			states.add(slot.state());
+			this.endOfBatch.add(endOfBatch);
+
+			if ("fail".equals(slot.event())) {
+				throw new IllegalStateException("Failing event");
+			}
+		}
+	}
+}
@@ -0,0 +1,380 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.event.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.systematic.trading.backtest.event.SilentBacktestEventLisener;
+import com.systematic.trading.backtest.event.filter.configuration.impl.BacktestOutputFilterConfigurationImpl;
+import com.systematic.trading.simulation.SimulationStateListener.SimulationState;
+import com.systematic.trading.simulation.analysis.networth.NetWorthSummaryEvent;
+import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent;
+import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent.NetWorthEventType;
+import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEvent;
+import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEventImpl;
+import com.systematic.trading.simulation.cash.event.CashAccountEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent.CashEventType;
+
+/**
+ * Verifying the event selection of the FilteredBacktestEventListener.
+ * 
+ * @author CJ Hare
+ */
+public class FilteredBacktestEventListenerTest {
+
+	private static final LocalDate START = LocalDate.of(2018, 1, 1);
+
+	/** Records the events passed on. */
+	private RecordingBacktestEventListener delegate;
+
+	/** Listener instance being tested. */
+	private FilteredBacktestEventListener listener;
+
+	@Before
+	public void setUp() {
+
+		delegate = new RecordingBacktestEventListener();
+	}
+
+	@Test
+	public void dropEventFamily() {
+
+		setUpListener(EnumSet.of(OutputEventFamily.NET_WORTH), DailyReturnOnInvestmentSampling.DAILY, 0);
+		final NetWorthEvent netWorth = netWorth(100);
+
+		listener.event(cash());
+		listener.event(netWorth, null);
+
+		verifyEvents(netWorth);
+	}
+
+	@Test
+	public void dailyReturnOnInvestment() {
+
+		setUpListener(DailyReturnOnInvestmentSampling.DAILY, 0);
+		final ReturnOnInvestmentEvent daily = roi(1, 0, 1);
+
+		listener.event(daily);
+
+		verifyEvents(daily);
+	}
+
+	@Test
+	public void weeklyReturnOnInvestment() {
+
+		setUpListener(DailyReturnOnInvestmentSampling.WEEKLY, 0);
+
+		for (int day = 0; day < 10; day++) {
+			listener.event(roi(1, day, day + 1));
+		}
+
+		assertEquals(1, delegate.events().size());
+		final ReturnOnInvestmentEvent weekly = (ReturnOnInvestmentEvent) delegate.events().get(0);
+		assertEquals(0, BigDecimal.valueOf(7).compareTo(weekly.percentageChange()));
+		assertEquals(START, weekly.startDateInclusive());
+		assertEquals(START.plusDays(7), weekly.endDateExclusive());
+	}
+
+	@Test
+	public void monthlyReturnOnInvestment() {
+
+		setUpListener(DailyReturnOnInvestmentSampling.MONTHLY, 0);
+		final ReturnOnInvestmentEvent weekly = roi(2, 0, 7);
+		final ReturnOnInvestmentEvent monthly = roi(5, 0, 31);
+
+		for (int day = 0; day < 40; day++) {
+			listener.event(roi(1, day, day + 1));
+		}
+		listener.event(weekly);
+		listener.event(monthly);
+
+		verifyEvents(weekly, monthly);
+	}
+
+	@Test
+	public void noDailyReturnOnInvestment() {
+
+		setUpListener(DailyReturnOnInvestmentSampling.NONE, 0);
+		final ReturnOnInvestmentEvent monthly = roi(5, 0, 31);
+
+		listener.event(roi(1, 0, 1));
+		listener.event(monthly);
+
+		verifyEvents(monthly);
+	}
+
+	@Test
+	public void detailForTopConfigurations() {
+
+		final NetWorthRanking ranking = new NetWorthRanking(1);
+
+		final RecordingBacktestEventListener first = new RecordingBacktestEventListener();
+		final NetWorthEvent firstNetWorth = netWorth(100);
+		complete(first, ranking, cash(), firstNetWorth);
+		assertEvents(first, firstNetWorth);
+
+		final RecordingBacktestEventListener second = new RecordingBacktestEventListener();
+		final NetWorthEvent secondNetWorth = netWorth(50);
+		complete(second, ranking, cash(), secondNetWorth);
+		assertEvents(second, secondNetWorth, SimulationState.COMPLETE);
+
+		final RecordingBacktestEventListener third = new RecordingBacktestEventListener();
+		final CashEvent thirdCash = cash();
+		final NetWorthEvent thirdNetWorth = netWorth(200);
+		complete(third, ranking, thirdCash, thirdNetWorth);
+		assertEvents(third, thirdNetWorth);
+
+		ranking.release();
+
+		assertEvents(first, firstNetWorth, SimulationState.COMPLETE);
+		assertEvents(third, thirdNetWorth, thirdCash, SimulationState.COMPLETE);
+	}
+
+	/**
+	 * Every configuration is admitted on completing, with only the final top N keeping their detail.
+	 */
+	@Test
+	public void detailForTopConfigurationsAscendingNetWorth() {
+
+		final NetWorthRanking ranking = new NetWorthRanking(2);
+		final List<RecordingBacktestEventListener> outputs = new ArrayList<>();
+		final List<CashEvent> cash = new ArrayList<>();
+		final List<NetWorthEvent> netWorths = new ArrayList<>();
+
+		for (int i = 0; i < 5; i++) {
+			outputs.add(new RecordingBacktestEventListener());
+			cash.add(cash());
+			netWorths.add(netWorth(10 * (i + 1)));
+			complete(outputs.get(i), ranking, cash.get(i), netWorths.get(i));
+
+			// Completion is deferred until the detail of the top configurations is released
+			assertEvents(outputs.get(i), netWorths.get(i));
+		}
+
+		ranking.release();
+
+		for (int i = 0; i < 3; i++) {
+			assertEvents(outputs.get(i), netWorths.get(i), SimulationState.COMPLETE);
+		}
+		for (int i = 3; i < 5; i++) {
+			assertEvents(outputs.get(i), netWorths.get(i), cash.get(i), SimulationState.COMPLETE);
+		}
+	}
+
+	@Test
+	public void detailForTopConfigurationsDescendingNetWorth() {
+
+		final NetWorthRanking ranking = new NetWorthRanking(2);
+		final List<RecordingBacktestEventListener> outputs = new ArrayList<>();
+		final List<CashEvent> cash = new ArrayList<>();
+		final List<NetWorthEvent> netWorths = new ArrayList<>();
+
+		for (int i = 0; i < 5; i++) {
+			outputs.add(new RecordingBacktestEventListener());
+			cash.add(cash());
+			netWorths.add(netWorth(10 * (5 - i)));
+			complete(outputs.get(i), ranking, cash.get(i), netWorths.get(i));
+		}
+
+		// Never admitted, so the completion is not deferred
+		for (int i = 2; i < 5; i++) {
+			assertEvents(outputs.get(i), netWorths.get(i), SimulationState.COMPLETE);
+		}
+
+		ranking.release();
+
+		for (int i = 0; i < 2; i++) {
+			assertEvents(outputs.get(i), netWorths.get(i), cash.get(i), SimulationState.COMPLETE);
+		}
+	}
+
+	@Test
+	public void listensToConfiguredFamilies() {
+
+		setUpListener(EnumSet.of(OutputEventFamily.CASH), DailyReturnOnInvestmentSampling.DAILY, 0);
+
+		assertTrue(listener.listensTo(OutputEventFamily.CASH));
+		assertFalse(listener.listensTo(OutputEventFamily.NET_WORTH));
+		assertFalse(listener.listensTo(OutputEventFamily.RETURN_ON_INVESTMENT));
+	}
+
+	@Test
+	public void listensToNetWorthForRanking() {
+
+		setUpListener(EnumSet.of(OutputEventFamily.CASH), DailyReturnOnInvestmentSampling.DAILY, 1);
+
+		assertTrue(listener.listensTo(OutputEventFamily.NET_WORTH));
+	}
+
+	@Test
+	public void notListeningForSilentOutput() {
+
+		listener = new FilteredBacktestEventListener(
+		        new SilentBacktestEventLisener(),
+		        new BacktestOutputFilterConfigurationImpl(
+		                EnumSet.allOf(OutputEventFamily.class),
+		                DailyReturnOnInvestmentSampling.DAILY,
+		                0),
+		        new NetWorthRanking(0));
+
+		for (final OutputEventFamily family : OutputEventFamily.values()) {
+			assertFalse(listener.listensTo(family));
+		}
+	}
+
+	private void setUpListener( final DailyReturnOnInvestmentSampling sampling, final int detailed ) {
+
+		setUpListener(EnumSet.allOf(OutputEventFamily.class), sampling, detailed);
+	}
+
+	/**
+	 * Simulation of a single configuration, with a detail and final net worth event.
+	 */
+	private void complete(
+	        final RecordingBacktestEventListener output,
+	        final NetWorthRanking ranking,
+	        final CashEvent cash,
+	        final NetWorthEvent netWorth ) {
+
+		final FilteredBacktestEventListener filtered = new FilteredBacktestEventListener(
+		        output,
+		        new BacktestOutputFilterConfigurationImpl(
+		                EnumSet.allOf(OutputEventFamily.class),
+		                DailyReturnOnInvestmentSampling.DAILY,
+		                1),
+		        ranking);
+
+		filtered.event(cash);
+		filtered.event(netWorth, null);
+		filtered.stateChanged(SimulationState.COMPLETE);
+	}
+
+	private void setUpListener(
+	        final Set<OutputEventFamily> families,
+	        final DailyReturnOnInvestmentSampling sampling,
+	        final int detailed ) {
+
+		listener = new FilteredBacktestEventListener(
+		        delegate,
+		        new BacktestOutputFilterConfigurationImpl(families, sampling, detailed),
+		        new NetWorthRanking(detailed));
+	}
+
+	private CashEvent cash() {
+
+		return new CashAccountEvent(BigDecimal.ZERO, BigDecimal.TEN, BigDecimal.TEN, CashEventType.DEPOSIT, START);
+	}
+
+	private NetWorthEvent netWorth( final int netWorth ) {
+
+		return new NetWorthSummaryEvent(
+		        BigDecimal.ZERO,
+		        BigDecimal.ZERO,
+		        BigDecimal.valueOf(netWorth),
+		        BigDecimal.valueOf(netWorth),
+		        START,
+		        NetWorthEventType.COMPLETED);
+	}
+
+	private ReturnOnInvestmentEvent roi( final int percentage, final int startDay, final int endDay ) {
+
+		return new ReturnOnInvestmentEventImpl(
+		        BigDecimal.valueOf(percentage),
+		        START.plusDays(startDay),
+		        START.plusDays(endDay));
+	}
+
+	private void verifyEvents( final Object... expected ) {
+
+		assertEvents(delegate, expected);
+	}
+
+	private void assertEvents( final RecordingBacktestEventListener output, final Object... expected ) {
+
+		assertEquals(expected.length, output.events().size());
+
+		for (int i = 0; i < expected.length; i++) {
+			assertSame(expected[i], output.events().get(i));
+		}
+	}
+
+	/**
+	 * Output recording the events passed on by the filter.
+	 */
+	private static class RecordingBacktestEventListener extends SilentBacktestEventLisener {
+
+		private final List<Object> events = new ArrayList<>();
+
+		List<Object> events() {
+
+			return events;
+		}
+
+		@Override
+		public boolean listensTo( final OutputEventFamily family ) {
+
+			return true;
+		}
+
+		@Override
+		public void event( final CashEvent event ) {
+
+			events.add(event);
+		}
+
+		@Override
+		public void event( final ReturnOnInvestmentEvent event ) {
+
+			events.add(event);
+		}
+
+		@Override
+		public void event( final NetWorthEvent event, final SimulationState state ) {
+
+			events.add(event);
+		}
+
+		@Override
+		public void stateChanged( final SimulationState transitionedState ) {
+
+			events.add(transitionedState);
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.event.universe;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.systematic.trading.backtest.event.universe.UniverseSummary.StrategySummary;
+
+/**
+ * Verifies the cross-sectional summary of the universe of ticker symbols.
+ * 
+ * @author CJ Hare
+ */
+public class UniverseSummaryTest {
+
+	@Test
+	public void strategyAcrossUniverse() {
+
+		final UniverseSummary summary = new UniverseSummary(MathContext.DECIMAL64);
+		summary.record("Macd", "AAPL", BigDecimal.valueOf(150));
+		summary.record("Macd", "MSFT", BigDecimal.valueOf(90));
+		summary.record("Macd", "GOOG", BigDecimal.valueOf(120));
+
+		final List<StrategySummary> strategies = summary.strategies();
+
+		assertEquals(1, strategies.size());
+		verifyStrategy(strategies.get(0), "Macd", 3, 120, "AAPL", "MSFT");
+	}
+
+	@Test
+	public void strategiesSummarisedSeparately() {
+
+		final UniverseSummary summary = new UniverseSummary(MathContext.DECIMAL64);
+		summary.record("Rsi", "AAPL", BigDecimal.valueOf(80));
+		summary.record("Macd", "AAPL", BigDecimal.valueOf(150));
+		summary.record("Rsi", "MSFT", BigDecimal.valueOf(100));
+
+		final List<StrategySummary> strategies = summary.strategies();
+
+		assertEquals(2, strategies.size());
+		verifyStrategy(strategies.get(0), "Macd", 1, 150, "AAPL", "AAPL");
+		verifyStrategy(strategies.get(1), "Rsi", 2, 90, "MSFT", "AAPL");
+	}
+
+	@Test
+	public void concurrentRecording() throws InterruptedException {
+
+		final int tickerSymbols = 1000;
+		final UniverseSummary summary = new UniverseSummary(MathContext.DECIMAL64);
+		final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+		for (int i = 0; i < tickerSymbols; i++) {
+			final int netWorth = i;
+			pool.execute(() -> summary.record("Macd", "T" + netWorth, BigDecimal.valueOf(netWorth)));
+		}
+
+		pool.shutdown();
+		pool.awaitTermination(1, TimeUnit.MINUTES);
+
+		final StrategySummary strategy = summary.strategies().get(0);
+		assertEquals(tickerSymbols, strategy.tickerSymbols());
+		assertEquals(0, BigDecimal.valueOf(499.5).compareTo(strategy.meanNetWorth()));
+		assertEquals("T999", strategy.bestTickerSymbol());
+		assertEquals("T0", strategy.worstTickerSymbol());
+	}
+
+	private void verifyStrategy(
+	        final StrategySummary strategy,
+	        final String description,
+	        final int tickerSymbols,
+	        final double meanNetWorth,
+	        final String best,
+	        final String worst ) {
+
+		assertEquals(description, strategy.strategy());
+		assertEquals(tickerSymbols, strategy.tickerSymbols());
+		assertEquals(0, BigDecimal.valueOf(meanNetWorth).compareTo(strategy.meanNetWorth()));
+		assertEquals(best, strategy.bestTickerSymbol());
+		assertEquals(worst, strategy.worstTickerSymbol());
+	}
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.journal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Verifies the FileTrialJournal.
+ * 
+ * @author CJ Hare
+ */
+public class FileTrialJournalTest {
+
+	private static final String TRIAL = "AllStrategiesTrial WIKI 2010-01-01 2017-01-01";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/** Location of the journal being tested. */
+	private Path file;
+
+	@Before
+	public void setUp() {
+
+		file = folder.getRoot().toPath().resolve("trial").resolve("AllStrategiesTrial.journal");
+	}
+
+	@Test
+	public void resume() throws IOException {
+
+		record(TRIAL, "first", "second");
+
+		final Set<String> completed = open(TRIAL, true);
+
+		verifyCompleted(completed, "first", "second");
+	}
+
+	@Test
+	public void resumeContinuesRecording() throws IOException {
+
+		record(TRIAL, "first");
+
+		try (final FileTrialJournal journal = new FileTrialJournal(file, TRIAL)) {
+			journal.open(true);
+			journal.record(Arrays.asList("second", "third"));
+		}
+
+		verifyCompleted(open(TRIAL, true), "first", "second", "third");
+	}
+
+	@Test
+	public void freshStartDiscardsEntries() throws IOException {
+
+		record(TRIAL, "first");
+
+		final Set<String> completed = open(TRIAL, false);
+
+		assertTrue(completed.isEmpty());
+		verifyCompleted(open(TRIAL, true));
+	}
+
+	@Test
+	public void differentTrialIsNotResumed() throws IOException {
+
+		record(TRIAL, "first");
+
+		final Set<String> completed = open("SmaUptrendTrial", true);
+
+		assertTrue(completed.isEmpty());
+		verifyCompleted(open(TRIAL, true));
+	}
+
+	@Test
+	public void missingJournal() throws IOException {
+
+		final Set<String> completed = open(TRIAL, true);
+
+		assertTrue(completed.isEmpty());
+		assertTrue(Files.isRegularFile(file));
+	}
+
+	@Test
+	public void partialEntryIgnored() throws IOException {
+
+		record(TRIAL, "first");
+		Files.write(file, "seco".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+		try (final FileTrialJournal journal = new FileTrialJournal(file, TRIAL)) {
+			verifyCompleted(journal.open(true), "first");
+			journal.record(Arrays.asList("second"));
+		}
+
+		verifyCompleted(open(TRIAL, true), "first", "second");
+	}
+
+	private void record( final String trial, final String... completed ) throws IOException {
+
+		try (final FileTrialJournal journal = new FileTrialJournal(file, trial)) {
+			journal.open(false);
+			journal.record(Arrays.asList(completed));
+		}
+	}
+
+	private Set<String> open( final String trial, final boolean resume ) throws IOException {
+
+		try (final FileTrialJournal journal = new FileTrialJournal(file, trial)) {
+			return journal.open(resume);
+		}
+	}
+
+	private void verifyCompleted( final Set<String> actual, final String... expected ) {
+
+		assertEquals(new HashSet<>(Arrays.asList(expected)), actual);
+	}
+}
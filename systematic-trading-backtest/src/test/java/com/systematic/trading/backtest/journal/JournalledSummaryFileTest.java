@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.journal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Verifies the JournalledSummaryFile, resuming a trial interrupted part way through a batch.
+ * 
+ * @author CJ Hare
+ */
+public class JournalledSummaryFileTest {
+
+	private static final String TRIAL = "AllStrategiesTrial WIKI 2010-01-01 2017-01-01";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/** Progress journal of the trial. */
+	private Path journalFile;
+
+	/** Summary being resumed. */
+	private Path summaryFile;
+
+	@Before
+	public void setUp() {
+
+		journalFile = folder.getRoot().toPath().resolve("AllStrategiesTrial.journal");
+		summaryFile = folder.getRoot().toPath().resolve("summary.csv");
+	}
+
+	@Test
+	public void resumeInterruptedBatch() throws IOException {
+
+		// First batch completes, the second is interrupted after a summary row but before its journal entry
+		try (final FileTrialJournal journal = new FileTrialJournal(journalFile, TRIAL)) {
+			journal.open(false);
+			appendSummary("first", "second");
+			journal.record(Arrays.asList("first", "second"));
+			appendSummary("third");
+		}
+
+		// Resumed run of the interrupted batch
+		try (final FileTrialJournal journal = new FileTrialJournal(journalFile, TRIAL)) {
+			final Set<String> completed = journal.open(true);
+			new JournalledSummaryFile(summaryFile).retain(completed);
+			appendSummary("third", "fourth");
+			journal.record(Arrays.asList("third", "fourth"));
+		}
+
+		verifySummary("first", "second", "third", "fourth");
+	}
+
+	@Test
+	public void resumeCompletedBatch() throws IOException {
+
+		appendSummary("first", "second");
+
+		new JournalledSummaryFile(summaryFile).retain(set("first", "second"));
+
+		verifySummary("first", "second");
+	}
+
+	@Test
+	public void missingSummary() throws IOException {
+
+		new JournalledSummaryFile(summaryFile).retain(set("first"));
+
+		assertFalse(Files.exists(summaryFile));
+	}
+
+	private void appendSummary( final String... batchIds ) throws IOException {
+
+		for (final String batchId : batchIds) {
+			Files.write(summaryFile, row(batchId).getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+			        StandardOpenOption.APPEND);
+		}
+	}
+
+	private String row( final String batchId ) {
+
+		return String.format("CAGR: 1.0000,Net Worth: 100.00,%s,Entry orders placed: 1%n", batchId);
+	}
+
+	private Set<String> set( final String... batchIds ) {
+
+		return new HashSet<>(Arrays.asList(batchIds));
+	}
+
+	private void verifySummary( final String... batchIds ) throws IOException {
+
+		final StringBuilder expected = new StringBuilder();
+		for (final String batchId : batchIds) {
+			expected.append(row(batchId));
+		}
+
+		assertEquals(expected.toString(), new String(Files.readAllBytes(summaryFile), StandardCharsets.UTF_8));
+	}
+}
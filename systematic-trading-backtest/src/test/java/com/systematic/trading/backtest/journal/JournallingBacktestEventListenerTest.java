@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.journal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.systematic.trading.backtest.event.BacktestEventListener;
+import com.systematic.trading.backtest.event.SilentBacktestEventLisener;
+import com.systematic.trading.simulation.SimulationStateListener.SimulationState;
+
+/**
+ * Verifying a batch is only journalled once the output of every back test has been written.
+ * 
+ * @author CJ Hare
+ */
+public class JournallingBacktestEventListenerTest {
+
+	/** Pool the output writes are submitted to. */
+	private TrackedOutputPool pool;
+
+	/** Journal receiving the batches. */
+	private RecordingTrialJournal journal;
+
+	/** Batch of two back tests. */
+	private JournalledBatch batch;
+
+	/** Holds the output writes until released. */
+	private CountDownLatch write;
+
+	@Before
+	public void setUp() {
+
+		pool = new TrackedOutputPool(Executors.newSingleThreadExecutor());
+		journal = new RecordingTrialJournal();
+		batch = new JournalledBatch(journal, Arrays.asList("first", "second"));
+		write = new CountDownLatch(1);
+	}
+
+	@After
+	public void tearDown() {
+
+		write.countDown();
+		pool.shutdownNow();
+	}
+
+	@Test
+	public void journalledOnceOutputWritten() throws InterruptedException {
+
+		listener(writingOutput()).stateChanged(SimulationState.COMPLETE);
+		listener(writingOutput()).stateChanged(SimulationState.COMPLETE);
+
+		// Simulations are complete, while their output is still being written
+		Thread.sleep(100);
+		verifyNotJournalled();
+
+		write.countDown();
+
+		assertTrue(journal.recorded.await(5, TimeUnit.SECONDS));
+		verifyJournalled("first", "second");
+	}
+
+	@Test
+	public void notJournalledUntilEveryBacktestCompletes() throws InterruptedException {
+
+		final BacktestEventListener second = listener(new SilentBacktestEventLisener());
+		listener(new SilentBacktestEventLisener()).stateChanged(SimulationState.COMPLETE);
+
+		verifyNotJournalled();
+
+		second.stateChanged(SimulationState.COMPLETE);
+
+		verifyJournalled("first", "second");
+	}
+
+	@Test
+	public void journalledWithoutOutput() {
+
+		listener(new SilentBacktestEventLisener()).stateChanged(SimulationState.COMPLETE);
+		listener(new SilentBacktestEventLisener()).stateChanged(SimulationState.COMPLETE);
+
+		verifyJournalled("first", "second");
+	}
+
+	private BacktestEventListener listener( final BacktestEventListener output ) {
+
+		return new JournallingBacktestEventListener(output, pool, batch);
+	}
+
+	/**
+	 * Output that writes on completion, with the write held by the latch.
+	 */
+	private BacktestEventListener writingOutput() {
+
+		return new SilentBacktestEventLisener() {
+			@Override
+			public void stateChanged( final SimulationState transitionedState ) {
+
+				pool.execute(() -> {
+					try {
+						write.await();
+					} catch (final InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				});
+			}
+		};
+	}
+
+	private void verifyNotJournalled() {
+
+		assertEquals(0, journal.batches.size());
+	}
+
+	private void verifyJournalled( final String... batchIds ) {
+
+		assertEquals(1, journal.batches.size());
+		assertEquals(Arrays.asList(batchIds), journal.batches.get(0));
+	}
+
+	/**
+	 * Journal recording each batch in memory.
+	 */
+	private static class RecordingTrialJournal implements TrialJournal {
+
+		private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+		private final CountDownLatch recorded = new CountDownLatch(1);
+
+		@Override
+		public Set<String> open( final boolean resume ) {
+
+			return Collections.emptySet();
+		}
+
+		@Override
+		public void record( final Collection<String> completed ) {
+
+			batches.add(new ArrayList<>(completed));
+			recorded.countDown();
+		}
+
+		@Override
+		public void close() {
+
+			// Nothing to release
+		}
+	}
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.journal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifying the completion tracking of the TrackedOutputPool.
+ * 
+ * @author CJ Hare
+ */
+public class TrackedOutputPoolTest {
+
+	/** Pool instance being tested. */
+	private TrackedOutputPool pool;
+
+	/** Released once the callback has run. */
+	private CountDownLatch callback;
+
+	@Before
+	public void setUp() {
+
+		pool = new TrackedOutputPool(Executors.newFixedThreadPool(2));
+		callback = new CountDownLatch(1);
+	}
+
+	@After
+	public void tearDown() {
+
+		pool.shutdownNow();
+	}
+
+	@Test
+	public void callbackWithoutPendingTasks() {
+
+		pool.whenCompleted(callback::countDown);
+
+		assertEquals(0, callback.getCount());
+	}
+
+	@Test
+	public void callbackWaitsOnEarlierTask() throws InterruptedException {
+
+		final CountDownLatch write = blockedTask();
+
+		pool.whenCompleted(callback::countDown);
+
+		verifyCallbackNotRun();
+
+		write.countDown();
+
+		verifyCallbackRun();
+		assertEquals(0, pool.pending());
+	}
+
+	@Test
+	public void callbackIgnoresLaterTask() throws InterruptedException {
+
+		final CountDownLatch earlier = blockedTask();
+		pool.whenCompleted(callback::countDown);
+		final CountDownLatch later = blockedTask();
+
+		earlier.countDown();
+
+		verifyCallbackRun();
+		assertEquals(1, pool.pending());
+
+		later.countDown();
+	}
+
+	@Test
+	public void callbackWaitsOnTasksCompletingOutOfOrder() throws InterruptedException {
+
+		final CountDownLatch first = blockedTask();
+		final CountDownLatch second = blockedTask();
+		pool.whenCompleted(callback::countDown);
+
+		second.countDown();
+
+		verifyCallbackNotRun();
+
+		first.countDown();
+
+		verifyCallbackRun();
+	}
+
+	/**
+	 * @return latch for releasing the submitted task.
+	 */
+	private CountDownLatch blockedTask() {
+
+		final CountDownLatch release = new CountDownLatch(1);
+
+		pool.execute(() -> {
+			try {
+				release.await();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+
+		return release;
+	}
+
+	private void verifyCallbackNotRun() throws InterruptedException {
+
+		assertFalse(callback.await(100, TimeUnit.MILLISECONDS));
+	}
+
+	private void verifyCallbackRun() throws InterruptedException {
+
+		assertTrue(callback.await(5, TimeUnit.SECONDS));
+	}
+}
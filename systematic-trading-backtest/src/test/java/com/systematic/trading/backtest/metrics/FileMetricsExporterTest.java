@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
+import com.systematic.trading.metrics.impl.RecordingMetrics;
+
+/**
+ * Verifying the files written by the FileMetricsExporter.
+ * 
+ * @author CJ Hare
+ */
+public class FileMetricsExporterTest {
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void lineForEachConfiguration() throws IOException {
+
+		final Path directory = folder.getRoot().toPath().resolve("metrics");
+		final Map<OutputEventFamily, Long> events = new EnumMap<>(OutputEventFamily.class);
+		events.put(OutputEventFamily.BROKERAGE, 3L);
+
+		try (final FileMetricsExporter exporter = new FileMetricsExporter(directory)) {
+			exporter.completed("first", events);
+		}
+
+		final List<String> lines = Files.readAllLines(directory.resolve("configuration_metrics.tsv"),
+		        StandardCharsets.UTF_8);
+
+		assertEquals(2, lines.size());
+		assertTrue(lines.get(0).startsWith("configuration\tevents.brokerage\t"));
+		assertTrue(lines.get(1).startsWith("first\t3\t0\t"));
+	}
+
+	@Test
+	public void trialMetrics() throws IOException {
+
+		final Path directory = folder.getRoot().toPath();
+		final RecordingMetrics metrics = new RecordingMetrics();
+		metrics.timer("backtest.simulation").record(1_000);
+		metrics.counter("events.cash").add(7);
+
+		try (final FileMetricsExporter exporter = new FileMetricsExporter(directory)) {
+			exporter.export(metrics);
+		}
+
+		final List<String> lines = Files.readAllLines(directory.resolve("trial_metrics.tsv"), StandardCharsets.UTF_8);
+
+		assertTrue(lines.contains("backtest.simulation\t1\t1000\t1000\t1000\t1000\t1000"));
+		assertTrue(lines.contains("events.cash\t7"));
+	}
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.systematic.trading.backtest.event.SilentBacktestEventLisener;
+import com.systematic.trading.backtest.event.filter.OutputEventFamily;
+import com.systematic.trading.metrics.impl.RecordingMetrics;
+import com.systematic.trading.simulation.SimulationStateListener.SimulationState;
+import com.systematic.trading.simulation.analysis.networth.NetWorthSummaryEvent;
+import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent.NetWorthEventType;
+import com.systematic.trading.simulation.cash.event.CashAccountEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent.CashEventType;
+
+/**
+ * Verifying the event counting of the MeteredBacktestEventListener.
+ * 
+ * @author CJ Hare
+ */
+public class MeteredBacktestEventListenerTest {
+
+	private static final LocalDate START = LocalDate.of(2018, 1, 1);
+
+	/** Metrics of the trial. */
+	private RecordingMetrics metrics;
+
+	/** Event counts of each completed back test. */
+	private Map<String, Map<OutputEventFamily, Long>> completed;
+
+	/** Number of cash events the delegate received. */
+	private int delegated;
+
+	@Before
+	public void setUp() {
+
+		metrics = new RecordingMetrics();
+		completed = new HashMap<>();
+		delegated = 0;
+	}
+
+	@Test
+	public void countsForConfiguration() {
+
+		final MeteredBacktestEventListener listener = listener("first");
+
+		listener.event(cash());
+		listener.event(cash());
+		listener.event(netWorth(), SimulationState.COMPLETE);
+		listener.stateChanged(SimulationState.COMPLETE);
+
+		assertEquals(2, delegated);
+		assertEquals(Long.valueOf(2), completed.get("first").get(OutputEventFamily.CASH));
+		assertEquals(Long.valueOf(1), completed.get("first").get(OutputEventFamily.NET_WORTH));
+		assertEquals(Long.valueOf(0), completed.get("first").get(OutputEventFamily.ORDER));
+	}
+
+	@Test
+	public void countsForTrial() {
+
+		listener("first").event(cash());
+		listener("second").event(cash());
+
+		assertEquals(Long.valueOf(2), metrics.counters().get("events.cash"));
+		assertTrue(completed.isEmpty());
+	}
+
+	@Test
+	public void listensAsDelegate() {
+
+		final MeteredBacktestEventListener listener = listener("first");
+
+		assertTrue(listener.listensTo(OutputEventFamily.CASH));
+		assertFalse(listener.listensTo(OutputEventFamily.ORDER));
+	}
+
+	private MeteredBacktestEventListener listener( final String configuration ) {
+
+		return new MeteredBacktestEventListener(new SilentBacktestEventLisener() {
+
+			@Override
+			public boolean listensTo( final OutputEventFamily family ) {
+
+				return family == OutputEventFamily.CASH || family == OutputEventFamily.NET_WORTH;
+			}
+
+			@Override
+			public void event( final CashEvent event ) {
+
+				delegated++;
+			}
+		}, configuration, completed::put, metrics);
+	}
+
+	private CashEvent cash() {
+
+		return new CashAccountEvent(BigDecimal.ZERO, BigDecimal.TEN, BigDecimal.TEN, CashEventType.DEPOSIT, START);
+	}
+
+	private NetWorthSummaryEvent netWorth() {
+
+		return new NetWorthSummaryEvent(
+		        BigDecimal.ZERO,
+		        BigDecimal.ZERO,
+		        BigDecimal.TEN,
+		        BigDecimal.TEN,
+		        START,
+		        NetWorthEventType.COMPLETED);
+	}
+}
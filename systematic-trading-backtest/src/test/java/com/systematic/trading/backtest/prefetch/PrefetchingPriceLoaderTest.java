@@ -0,0 +1,227 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.prefetch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.systematic.trading.backtest.configuration.equity.EquityConfiguration;
+import com.systematic.trading.backtest.equity.TickerSymbol;
+import com.systematic.trading.backtest.input.TickerDataset;
+import com.systematic.trading.data.DataService;
+import com.systematic.trading.data.DataServiceUpdater;
+import com.systematic.trading.exception.ServiceException;
+import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.model.price.impl.TradingDayPricesImpl;
+
+/**
+ * Verifying the prices held and prefetched by the PrefetchingPriceLoader.
+ * 
+ * @author CJ Hare
+ */
+public class PrefetchingPriceLoaderTest {
+
+	private static final LocalDate START = LocalDate.of(2018, 1, 1);
+	private static final LocalDate END = LocalDate.of(2018, 3, 1);
+
+	/** Plenty of room for every price. */
+	private static final long BUDGET = 1024 * 1024;
+
+	private final List<String> loads = Collections.synchronizedList(new ArrayList<>());
+	private final List<String> retrievals = Collections.synchronizedList(new ArrayList<>());
+
+	private DataService dataService;
+	private DataServiceUpdater updater;
+	private PrefetchingPriceLoader loader;
+
+	@Before
+	public void setUp() {
+
+		dataService = ( tickerSymbol, startDate, endDate ) -> {
+			loads.add(tickerSymbol + " " + Thread.currentThread().getName());
+			return prices(tickerSymbol, startDate, endDate);
+		};
+
+		updater = ( tickerDataset, tickerSymbol, startDate, endDate ) -> retrievals
+		        .add(tickerDataset + " " + tickerSymbol + " " + startDate);
+	}
+
+	@After
+	public void tearDown() {
+
+		if (loader != null) {
+			loader.close();
+		}
+	}
+
+	@Test
+	public void heldBetweenBacktests() {
+
+		loader = loader(0, BUDGET, "A");
+
+		final TradingDayPrices[] first = loader.get("A", START, END);
+		final TradingDayPrices[] second = loader.get("A", START, END);
+
+		assertEquals(1, loads.size());
+		assertEquals(first.length, second.length);
+	}
+
+	@Test
+	public void narrowerRangeSliced() {
+
+		loader = loader(0, BUDGET, "A");
+		loader.get("A", START, END);
+
+		final TradingDayPrices[] narrower = loader.get("A", LocalDate.of(2018, 2, 1), END);
+
+		assertEquals(1, loads.size());
+		assertEquals(END, narrower[0].date());
+		assertEquals(LocalDate.of(2018, 2, 1), narrower[narrower.length - 1].date());
+	}
+
+	@Test
+	public void widerRangeLoaded() {
+
+		loader = loader(0, BUDGET, "A");
+		loader.get("A", LocalDate.of(2018, 2, 1), END);
+		loader.get("A", START, END);
+
+		assertEquals(2, loads.size());
+	}
+
+	@Test
+	public void upcomingEquityPrefetched() throws ServiceException {
+
+		loader = loader(1, BUDGET, "A", "B", "C");
+		loader.get("A", START, END);
+
+		// Waits on the prefetch, which performed the retrieval
+		loader.get("ASX", "B", START, END);
+		loader.get("B", START, END);
+
+		assertEquals(Arrays.asList("B price-prefetch"), only("B", loads));
+		assertEquals(Arrays.asList("ASX B " + START), only("ASX B", retrievals));
+	}
+
+	@Test
+	public void lookAheadLimited() throws ServiceException {
+
+		loader = loader(1, BUDGET, "A", "B", "C");
+		loader.get("A", START, END);
+		loader.get("ASX", "B", START, END);
+
+		assertTrue(loads.stream().noneMatch(load -> load.startsWith("C")));
+	}
+
+	@Test
+	public void retrievalOutsidePrefetched() throws ServiceException {
+
+		loader = loader(1, BUDGET, "A", "B");
+		loader.get("A", START, END);
+		loader.get("ASX", "B", START, END);
+		loader.get("ASX", "B", LocalDate.of(2017, 12, 1), END);
+
+		assertEquals(
+		        Arrays.asList("ASX B " + START, "ASX B " + LocalDate.of(2017, 12, 1)),
+		        only("ASX B", retrievals));
+	}
+
+	@Test
+	public void budgetExceeded() {
+
+		loader = loader(1, PrefetchingPriceLoader.BYTES_PER_TRADING_DAY, "A", "B");
+		loader.get("A", START, END);
+		loader.get("A", START, END);
+
+		assertEquals(Arrays.asList("A main", "A main"), loads);
+		assertEquals(0, loader.heldBytes());
+	}
+
+	@Test
+	public void leastRecentlyUsedEvicted() {
+
+		final long budget = PrefetchingPriceLoader.BYTES_PER_TRADING_DAY * prices("A", START, END).length;
+		loader = loader(0, budget, "A", "B");
+		loader.get("A", START, END);
+		loader.get("B", START, END);
+		loader.get("A", START, END);
+
+		assertEquals(Arrays.asList("A main", "B main", "A main"), loads);
+		assertTrue(loader.heldBytes() <= budget);
+	}
+
+	private List<String> only( final String prefix, final List<String> calls ) {
+
+		return calls.stream().filter(call -> call.startsWith(prefix)).collect(Collectors.toList());
+	}
+
+	private PrefetchingPriceLoader loader( final int lookAhead, final long budget, final String... tickerSymbols ) {
+
+		final List<EquityConfiguration> equities = new ArrayList<>();
+
+		for (final String tickerSymbol : tickerSymbols) {
+			equities.add(new EquityConfiguration(new TickerDataset("ASX"), new TickerSymbol(tickerSymbol)));
+		}
+
+		return new PrefetchingPriceLoader(dataService, updater, equities, lookAhead, budget, 1);
+	}
+
+	/**
+	 * Every day between the dates inclusive, most recent first.
+	 */
+	private static TradingDayPrices[] prices(
+	        final String tickerSymbol,
+	        final LocalDate startDate,
+	        final LocalDate endDate ) {
+
+		final List<TradingDayPrices> prices = new ArrayList<>();
+
+		for (LocalDate date = endDate; !date.isBefore(startDate); date = date.minusDays(1)) {
+			prices.add(
+			        new TradingDayPricesImpl(
+			                tickerSymbol,
+			                date,
+			                BigDecimal.ONE,
+			                BigDecimal.ONE,
+			                BigDecimal.ONE,
+			                BigDecimal.ONE));
+		}
+
+		return prices.toArray(new TradingDayPrices[prices.size()]);
+	}
+}
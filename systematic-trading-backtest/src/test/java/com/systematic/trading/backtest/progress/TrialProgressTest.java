@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.progress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifying the reports of the TrialProgress.
+ * 
+ * @author CJ Hare
+ */
+public class TrialProgressTest {
+
+	/** Nanoseconds, advanced by the tests. */
+	private AtomicLong clock;
+
+	private TrialProgress progress;
+
+	@Before
+	public void setUp() {
+
+		clock = new AtomicLong(0);
+		progress = new TrialProgress(clock::get);
+	}
+
+	@Test
+	public void remaining() {
+
+		progress.total(10);
+		progress.completed(4, 400);
+
+		final TrialProgressReport report = progress.report(0);
+
+		assertEquals(4, report.completed());
+		assertEquals(10, report.total());
+		assertEquals(6, report.remaining());
+	}
+
+	@Test
+	public void tradingDaysPerSecondSincePreviousReport() {
+
+		progress.completed(1, 1000);
+		advanceSeconds(2);
+		assertEquals(500, progress.report(0).tradingDaysPerSecond(), 0.001);
+
+		progress.completed(1, 300);
+		advanceSeconds(1);
+		assertEquals(300, progress.report(0).tradingDaysPerSecond(), 0.001);
+	}
+
+	@Test
+	public void eta() {
+
+		progress.total(10);
+		progress.completed(2, 200);
+		advanceSeconds(20);
+
+		final TrialProgressReport report = progress.report(0);
+
+		assertTrue(report.eta().isPresent());
+		assertEquals(Duration.ofSeconds(80), report.eta().get());
+	}
+
+	@Test
+	public void etaUnknownTotal() {
+
+		progress.completed(2, 200);
+		advanceSeconds(20);
+
+		final TrialProgressReport report = progress.report(0);
+
+		assertFalse(report.eta().isPresent());
+		assertEquals(TrialProgress.UNKNOWN, report.remaining());
+	}
+
+	@Test
+	public void status() {
+
+		progress.total(4);
+		progress.completed(1, 250);
+		advanceSeconds(5);
+
+		final TrialProgressReport report = progress.report(7);
+
+		assertTrue(report.status().contains("elapsed_seconds=5"));
+		assertTrue(report.status().contains("completed=1"));
+		assertTrue(report.status().contains("remaining=3"));
+		assertTrue(report.status().contains("trading_days_per_second=50.0"));
+		assertTrue(report.status().contains("eta_seconds=15"));
+		assertTrue(report.status().contains("output_backlog=7"));
+	}
+
+	private void advanceSeconds( final long seconds ) {
+
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+	}
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.systematic.trading.backtest.BacktestSimulationDates;
+import com.systematic.trading.backtest.event.universe.UniverseSummary;
+import com.systematic.trading.backtest.exception.InvalidSimulationDatesException;
+import com.systematic.trading.backtest.input.BacktestEndDate;
+import com.systematic.trading.backtest.input.BacktestStartDate;
+
+/**
+ * Verifies the periods and survivors of the successive halving search.
+ * 
+ * @author CJ Hare
+ */
+public class SuccessiveHalvingTest {
+
+	private static final LocalDate START = LocalDate.of(2010, 1, 1);
+
+	@Test
+	public void rungsGrowUntilTrialPeriod() throws InvalidSimulationDatesException {
+
+		final BacktestSimulationDates trial = dates(START, LocalDate.of(2017, 6, 1));
+
+		final List<BacktestSimulationDates> rungs = new SuccessiveHalving(12, 25, 2).rungs(trial);
+
+		assertEquals(4, rungs.size());
+		verifyRung(rungs.get(0), LocalDate.of(2011, 1, 1));
+		verifyRung(rungs.get(1), LocalDate.of(2012, 1, 1));
+		verifyRung(rungs.get(2), LocalDate.of(2014, 1, 1));
+		assertSame(trial, rungs.get(3));
+	}
+
+	@Test
+	public void rungEndingOnTrialEnd() throws InvalidSimulationDatesException {
+
+		final BacktestSimulationDates trial = dates(START, LocalDate.of(2019, 1, 1));
+
+		final List<BacktestSimulationDates> rungs = new SuccessiveHalving(36, 25, 3).rungs(trial);
+
+		assertEquals(2, rungs.size());
+		verifyRung(rungs.get(0), LocalDate.of(2013, 1, 1));
+		assertSame(trial, rungs.get(1));
+	}
+
+	@Test
+	public void initialPeriodBeyondTrial() throws InvalidSimulationDatesException {
+
+		final BacktestSimulationDates trial = dates(START, LocalDate.of(2011, 1, 1));
+
+		final List<BacktestSimulationDates> rungs = new SuccessiveHalving(24, 25, 2).rungs(trial);
+
+		assertEquals(1, rungs.size());
+		assertSame(trial, rungs.get(0));
+	}
+
+	@Test
+	public void survivorsBestFraction() {
+
+		final UniverseSummary rung = new UniverseSummary(MathContext.DECIMAL64);
+		rung.record("A", "AAPL", BigDecimal.valueOf(90));
+		rung.record("B", "AAPL", BigDecimal.valueOf(150));
+		rung.record("C", "AAPL", BigDecimal.valueOf(110));
+		rung.record("C", "MSFT", BigDecimal.valueOf(130));
+		rung.record("D", "AAPL", BigDecimal.valueOf(100));
+		rung.record("E", "AAPL", BigDecimal.valueOf(80));
+
+		assertEquals(Arrays.asList("B", "C"), Arrays.asList(new SuccessiveHalving(24, 25, 2).survivors(rung).toArray()));
+	}
+
+	@Test
+	public void survivorsKeepAtLeastOne() {
+
+		final UniverseSummary rung = new UniverseSummary(MathContext.DECIMAL64);
+		rung.record("A", "AAPL", BigDecimal.valueOf(90));
+		rung.record("B", "AAPL", BigDecimal.valueOf(150));
+
+		assertEquals(Arrays.asList("B"), Arrays.asList(new SuccessiveHalving(24, 1, 2).survivors(rung).toArray()));
+	}
+
+	@Test
+	public void survivorsNoneRecorded() {
+
+		assertTrue(new SuccessiveHalving(24, 25, 2).survivors(new UniverseSummary(MathContext.DECIMAL64)).isEmpty());
+	}
+
+	private void verifyRung( final BacktestSimulationDates rung, final LocalDate end ) {
+
+		assertEquals(START, rung.startDateInclusive());
+		assertEquals(end, rung.endDateExclusive());
+	}
+
+	private BacktestSimulationDates dates( final LocalDate start, final LocalDate end )
+	        throws InvalidSimulationDatesException {
+
+		return new BacktestSimulationDates(new BacktestStartDate(start), new BacktestEndDate(end));
+	}
+}
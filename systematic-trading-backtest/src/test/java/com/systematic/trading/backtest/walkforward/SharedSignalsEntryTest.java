@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.walkforward;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.systematic.trading.backtest.BacktestSimulationDates;
+import com.systematic.trading.backtest.exception.InvalidSimulationDatesException;
+import com.systematic.trading.backtest.input.BacktestEndDate;
+import com.systematic.trading.backtest.input.BacktestStartDate;
+import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.model.price.impl.TradingDayPricesImpl;
+import com.systematic.trading.model.signal.SignalType;
+import com.systematic.trading.signal.model.DatedSignal;
+import com.systematic.trading.strategy.entry.Entry;
+
+/**
+ * Verifies the signals shared by the windows of a walk forward trial.
+ * 
+ * @author CJ Hare
+ */
+public class SharedSignalsEntryTest {
+
+	private static final LocalDate FIRST_DAY = LocalDate.of(2010, 1, 4);
+
+	private CountingEntry analysis;
+	private SharedSignalsEntry shared;
+
+	@Before
+	public void setUp() {
+
+		analysis = new CountingEntry();
+		shared = new SharedSignalsEntry(analysis);
+	}
+
+	@Test
+	public void tradingDayAnalysedOnce() {
+
+		assertTrue(shared.signals(prices(FIRST_DAY, 5)).contains(FIRST_DAY.plusDays(4)));
+		assertTrue(shared.signals(prices(FIRST_DAY, 5)).contains(FIRST_DAY.plusDays(4)));
+
+		assertEquals(1, analysis.calls);
+	}
+
+	@Test
+	public void tradingDaysAnalysedSeparately() {
+
+		assertTrue(shared.signals(prices(FIRST_DAY, 5)).contains(FIRST_DAY.plusDays(4)));
+		assertTrue(shared.signals(prices(FIRST_DAY.plusDays(1), 5)).contains(FIRST_DAY.plusDays(5)));
+
+		assertEquals(2, analysis.calls);
+	}
+
+	@Test
+	public void windowsShareAnalysis() throws InvalidSimulationDatesException {
+
+		final WindowedEntry first = new WindowedEntry(shared, window(FIRST_DAY, FIRST_DAY.plusDays(10)));
+		final WindowedEntry second = new WindowedEntry(shared, window(FIRST_DAY.plusDays(4), FIRST_DAY.plusDays(14)));
+
+		assertTrue(first.signals(prices(FIRST_DAY, 5)).contains(FIRST_DAY.plusDays(4)));
+		assertTrue(second.signals(prices(FIRST_DAY, 5)).contains(FIRST_DAY.plusDays(4)));
+
+		assertEquals(1, analysis.calls);
+	}
+
+	@Test
+	public void warmUpNotAnalysed() throws InvalidSimulationDatesException {
+
+		final WindowedEntry windowed = new WindowedEntry(shared, window(FIRST_DAY.plusDays(5), FIRST_DAY.plusDays(10)));
+
+		assertFalse(windowed.signals(prices(FIRST_DAY, 5)).contains(FIRST_DAY.plusDays(4)));
+		assertTrue(windowed.analyse(prices(FIRST_DAY, 5)).isEmpty());
+
+		assertEquals(0, analysis.calls);
+	}
+
+	@Test
+	public void windowEndExclusive() throws InvalidSimulationDatesException {
+
+		final WindowedEntry windowed = new WindowedEntry(shared, window(FIRST_DAY, FIRST_DAY.plusDays(4)));
+
+		assertFalse(windowed.signals(prices(FIRST_DAY, 5)).contains(FIRST_DAY.plusDays(4)));
+		assertEquals(0, analysis.calls);
+	}
+
+	/**
+	 * @return consecutive days of prices, oldest first.
+	 */
+	private TradingDayPrices[] prices( final LocalDate first, final int days ) {
+
+		final TradingDayPrices[] prices = new TradingDayPrices[days];
+
+		for (int i = 0; i < days; i++) {
+			prices[i] = new TradingDayPricesImpl(
+			        "AAPL",
+			        first.plusDays(i),
+			        BigDecimal.ONE,
+			        BigDecimal.ONE,
+			        BigDecimal.ONE,
+			        BigDecimal.ONE);
+		}
+
+		return prices;
+	}
+
+	private BacktestSimulationDates window( final LocalDate start, final LocalDate end )
+	        throws InvalidSimulationDatesException {
+
+		return new BacktestSimulationDates(new BacktestStartDate(start), new BacktestEndDate(end));
+	}
+
+	/**
+	 * Bullish signal on the last trading day, counting the analyses.
+	 */
+	private static class CountingEntry implements Entry {
+
+		private int calls;
+
+		@Override
+		public List<DatedSignal> analyse( final TradingDayPrices[] data ) {
+
+			calls++;
+			return Collections.singletonList(new DatedSignal(data[data.length - 1].date(), SignalType.BULLISH));
+		}
+
+		@Override
+		public int requiredTradingPrices() {
+
+			return 5;
+		}
+	}
+}
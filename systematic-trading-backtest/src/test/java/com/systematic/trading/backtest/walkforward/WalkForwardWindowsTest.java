@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.backtest.walkforward;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.systematic.trading.backtest.BacktestSimulationDates;
+import com.systematic.trading.backtest.exception.InvalidSimulationDatesException;
+import com.systematic.trading.backtest.input.BacktestEndDate;
+import com.systematic.trading.backtest.input.BacktestStartDate;
+
+/**
+ * Verifies the rolling windows of a walk forward trial.
+ * 
+ * @author CJ Hare
+ */
+public class WalkForwardWindowsTest {
+
+	@Test
+	public void overlappingWindows() throws InvalidSimulationDatesException {
+
+		final List<BacktestSimulationDates> windows = new WalkForwardWindows(24, 12)
+		        .windows(dates(LocalDate.of(2010, 1, 1), LocalDate.of(2014, 6, 1)));
+
+		assertEquals(3, windows.size());
+		verifyWindow(windows.get(0), LocalDate.of(2010, 1, 1), LocalDate.of(2012, 1, 1));
+		verifyWindow(windows.get(1), LocalDate.of(2011, 1, 1), LocalDate.of(2013, 1, 1));
+		verifyWindow(windows.get(2), LocalDate.of(2012, 1, 1), LocalDate.of(2014, 1, 1));
+	}
+
+	@Test
+	public void lastWindowEndingOnTrialEnd() throws InvalidSimulationDatesException {
+
+		final List<BacktestSimulationDates> windows = new WalkForwardWindows(12, 12)
+		        .windows(dates(LocalDate.of(2010, 1, 1), LocalDate.of(2012, 1, 1)));
+
+		assertEquals(2, windows.size());
+		verifyWindow(windows.get(0), LocalDate.of(2010, 1, 1), LocalDate.of(2011, 1, 1));
+		verifyWindow(windows.get(1), LocalDate.of(2011, 1, 1), LocalDate.of(2012, 1, 1));
+	}
+
+	@Test
+	public void monthEndWithoutDrift() throws InvalidSimulationDatesException {
+
+		final List<BacktestSimulationDates> windows = new WalkForwardWindows(1, 1)
+		        .windows(dates(LocalDate.of(2010, 1, 31), LocalDate.of(2010, 4, 30)));
+
+		assertEquals(3, windows.size());
+		verifyWindow(windows.get(0), LocalDate.of(2010, 1, 31), LocalDate.of(2010, 2, 28));
+		verifyWindow(windows.get(1), LocalDate.of(2010, 2, 28), LocalDate.of(2010, 3, 31));
+		verifyWindow(windows.get(2), LocalDate.of(2010, 3, 31), LocalDate.of(2010, 4, 30));
+	}
+
+	@Test
+	public void windowBeyondTrial() throws InvalidSimulationDatesException {
+
+		final BacktestSimulationDates trial = dates(LocalDate.of(2010, 1, 1), LocalDate.of(2011, 1, 1));
+
+		final List<BacktestSimulationDates> windows = new WalkForwardWindows(24, 12).windows(trial);
+
+		assertEquals(1, windows.size());
+		assertSame(trial, windows.get(0));
+	}
+
+	private void verifyWindow( final BacktestSimulationDates window, final LocalDate start, final LocalDate end ) {
+
+		assertEquals(start, window.startDateInclusive());
+		assertEquals(end, window.endDateExclusive());
+	}
+
+	private BacktestSimulationDates dates( final LocalDate start, final LocalDate end )
+	        throws InvalidSimulationDatesException {
+
+		return new BacktestSimulationDates(new BacktestStartDate(start), new BacktestEndDate(end));
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.data;
+
+import java.time.LocalDate;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.systematic.trading.data.dao.TradingDayPricesDao;
+import com.systematic.trading.data.dao.impl.HibernateTradingDayPricesDao;
+import com.systematic.trading.data.dao.impl.JdbcTradingDayPricesDao;
+import com.systematic.trading.data.util.JdbcConnectionFactory;
+import com.systematic.trading.model.price.TradingDayPrices;
+
+/**
+ * Read only data service, querying the local data source with plain JDBC for a fast start.
+ * 
+ * @author CJ Hare
+ */
+public class JdbcDataService implements DataService {
+
+	/** Classes' logger. */
+	private static final Logger LOG = LogManager.getLogger(JdbcDataService.class);
+
+	private final TradingDayPricesDao dao;
+
+	public JdbcDataService() {
+
+		this(JdbcConnectionFactory.fromHibernateConfiguration());
+	}
+
+	public JdbcDataService( final JdbcConnectionFactory connections ) {
+
+		this.dao = new JdbcTradingDayPricesDao(connections, new HibernateTradingDayPricesDao());
+	}
+
+	@Override
+	public TradingDayPrices[] get( final String tickerSymbol, final LocalDate startDate, final LocalDate endDate ) {
+
+		final TradingDayPrices[] prices = dao.prices(tickerSymbol, startDate, endDate);
+
+		if (prices.length > 0) {
+			logRetrievedPrices(tickerSymbol, startDate, endDate, prices);
+		}
+
+		return prices;
+	}
+
+	private void logRetrievedPrices(
+	        final String tickerSymbol,
+	        final LocalDate startDate,
+	        final LocalDate endDate,
+	        final TradingDayPrices[] prices ) {
+
+		LOG.debug(
+		        "Ticker Symbol: {}, Start Date: requested {} - actual {}, End Date: requested {} - actual {}",
+		        tickerSymbol,
+		        startDate,
+		        prices[prices.length - 1].date(),
+		        endDate,
+		        prices[0].date());
+	}
+}
@@ -39,8 +39,10 @@ import org.hibernate.Transaction;
 import org.hibernate.exception.ConstraintViolationException;
 
 import com.systematic.trading.data.dao.TradingDayPricesDao;
+import com.systematic.trading.data.dao.jfr.TradingDayPricesQueryEvent;
 import com.systematic.trading.data.util.HibernateUtil;
 import com.systematic.trading.data.util.TradingDayPricesParser;
+import com.systematic.trading.data.util.TradingDayPricesTable;
 import com.systematic.trading.model.price.TradingDayPrices;
 
 /**
@@ -101,8 +103,8 @@ public class HibernateTradingDayPricesDao implements TradingDayPricesDao {
 	public TradingDayPrices mostRecent( final String tickerSymbol ) {
 
 		final String sql = String.format(
-		        "SELECT date, opening_price, lowest_price, highest_price, closing_price FROM history_%s ORDER BY date DESC LIMIT 1",
-		        sanitise(tickerSymbol));
+		        "SELECT date, opening_price, lowest_price, highest_price, closing_price FROM %s ORDER BY date DESC LIMIT 1",
+		        TradingDayPricesTable.name(tickerSymbol));
 
 		final Session session = HibernateUtil.sessionFactory().getCurrentSession();
 		session.beginTransaction();
@@ -121,9 +123,12 @@ public class HibernateTradingDayPricesDao implements TradingDayPricesDao {
 	@Override
 	public TradingDayPrices[] prices( final String tickerSymbol, final LocalDate startDate, final LocalDate endDate ) {
 
+		final TradingDayPricesQueryEvent event = new TradingDayPricesQueryEvent();
+		event.begin();
+
 		final String sql = String.format(
-		        "SELECT date, opening_price, lowest_price, highest_price, closing_price FROM history_%s WHERE date BETWEEN :start_date AND :end_date ORDER BY date DESC",
-		        sanitise(tickerSymbol));
+		        "SELECT date, opening_price, lowest_price, highest_price, closing_price FROM %s WHERE date BETWEEN :start_date AND :end_date ORDER BY date DESC",
+		        TradingDayPricesTable.name(tickerSymbol));
 
 		final Session session = HibernateUtil.sessionFactory().getCurrentSession();
 		session.beginTransaction();
@@ -135,14 +140,22 @@ public class HibernateTradingDayPricesDao implements TradingDayPricesDao {
 
 		session.getTransaction().commit();
 
-		if (result.isEmpty()) { return new TradingDayPrices[0]; }
-
 		// Convert result entries into the DataPoint
 		final TradingDayPrices[] data = new TradingDayPrices[result.size()];
 		for (int i = 0; i < data.length; i++) {
 			data[i] = tradingDayPricesParser.tradingPrices(tickerSymbol, result.get(i));
 		}
 
+		event.end();
+
+		if (event.shouldCommit()) {
+			event.tickerSymbol = tickerSymbol;
+			event.startDate = startDate.toString();
+			event.endDate = endDate.toString();
+			event.rows = data.length;
+			event.commit();
+		}
+
 		return data;
 	}
 
@@ -150,8 +163,8 @@ public class HibernateTradingDayPricesDao implements TradingDayPricesDao {
 	public long count( final String tickerSymbol, final LocalDate startDate, final LocalDate endDate ) {
 
 		final String sql = String.format(
-		        "SELECT count(1) FROM history_%s WHERE date BETWEEN :start_date AND :end_date",
-		        sanitise(tickerSymbol));
+		        "SELECT count(1) FROM %s WHERE date BETWEEN :start_date AND :end_date",
+		        TradingDayPricesTable.name(tickerSymbol));
 
 		final Session session = HibernateUtil.sessionFactory().getCurrentSession();
 		final Transaction tx = session.beginTransaction();
@@ -169,8 +182,8 @@ public class HibernateTradingDayPricesDao implements TradingDayPricesDao {
 	private void create( final TradingDayPrices data, final Session session ) {
 
 		final String sql = String.format(
-		        "INSERT INTO history_%s (date, opening_price, lowest_price, highest_price, closing_price) VALUES (:date, :opening_price, :lowest_price, :highest_price, :closing_price)",
-		        sanitise(data.tickerSymbol()));
+		        "INSERT INTO %s (date, opening_price, lowest_price, highest_price, closing_price) VALUES (:date, :opening_price, :lowest_price, :highest_price, :closing_price)",
+		        TradingDayPricesTable.name(data.tickerSymbol()));
 
 		final Query query = session.createSQLQuery(sql);
 		query.setDate("date", Date.valueOf(data.date()));
@@ -191,7 +204,7 @@ public class HibernateTradingDayPricesDao implements TradingDayPricesDao {
 	private void createTable( final String tickerSymbol, final Session session ) {
 
 		final StringBuilder template = new StringBuilder();
-		template.append("CREATE TABLE IF NOT EXISTS history_%s (");
+		template.append("CREATE TABLE IF NOT EXISTS %s (");
 		template.append("date DATE,");
 		template.append("opening_price DECIMAL(8,2) NOT NULL,");
 		template.append("lowest_price DECIMAL(8,2) NOT NULL,");
@@ -199,18 +212,13 @@ public class HibernateTradingDayPricesDao implements TradingDayPricesDao {
 		template.append("closing_price DECIMAL(8,2) NOT NULL,");
 		template.append("PRIMARY KEY (date) );");
 
-		final String sql = String.format(template.toString(), sanitise(tickerSymbol));
+		final String sql = String.format(template.toString(), TradingDayPricesTable.name(tickerSymbol));
 
 		final Query query = session.createSQLQuery(sql);
 
 		query.executeUpdate();
 	}
 
-	private String sanitise( final String unsanitised ) {
-
-		return unsanitised.replaceAll("\\.", "_").replaceAll("[-+.^:,]", "_").toLowerCase();
-	}
-
 	private void logConstraintViolation( final HibernateException e ) {
 
 		LOG.debug(e.getMessage());
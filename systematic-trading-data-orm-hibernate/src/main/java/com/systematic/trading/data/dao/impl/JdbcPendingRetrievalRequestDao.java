@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.data.dao.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.systematic.trading.data.dao.PendingRetrievalRequestDao;
+import com.systematic.trading.data.model.HibernateHistoryRetrievalRequest;
+import com.systematic.trading.data.model.HistoryRetrievalRequest;
+import com.systematic.trading.data.util.JdbcConnectionFactory;
+
+/**
+ * Reads the retrieval request queue with plain JDBC, leaving the writes to another.
+ * <p/>
+ * Requests read are detached Hibernate entities, suitable for deletion by the writer.
+ * 
+ * @author CJ Hare
+ */
+public class JdbcPendingRetrievalRequestDao implements PendingRetrievalRequestDao {
+
+	/** Table mapped by HibernateHistoryRetrievalRequest. */
+	private static final String TABLE = "history_retrieval_queue";
+
+	private final JdbcConnectionFactory connections;
+
+	/** Performs all the writes. */
+	private final PendingRetrievalRequestDao writer;
+
+	public JdbcPendingRetrievalRequestDao(
+	        final JdbcConnectionFactory connections,
+	        final PendingRetrievalRequestDao writer ) {
+
+		this.connections = connections;
+		this.writer = writer;
+	}
+
+	@Override
+	public void create( final List<HistoryRetrievalRequest> requests ) {
+
+		if (!requests.isEmpty()) {
+			writer.create(requests);
+		}
+	}
+
+	@Override
+	public List<HistoryRetrievalRequest> requests( final String tickerSymbol ) {
+
+		final List<HistoryRetrievalRequest> requests = new ArrayList<>();
+
+		try (final Connection connection = connections.connection()) {
+
+			// Until Hibernate has created the schema, there can be no requests
+			if (!connections.isTablePresent(connection, TABLE)) {
+				return requests;
+			}
+
+			// Quoted, as start and end are SQL key words
+			try (final PreparedStatement statement = connection.prepareStatement(
+			        String.format("SELECT dataset, \"START\", \"END\" FROM %s WHERE ticker_symbol = ?", TABLE))) {
+				statement.setString(1, tickerSymbol);
+
+				try (final ResultSet rows = statement.executeQuery()) {
+					while (rows.next()) {
+						requests.add(
+						        new HibernateHistoryRetrievalRequest(
+						                rows.getString(1),
+						                tickerSymbol,
+						                rows.getDate(2).toLocalDate(),
+						                rows.getDate(3).toLocalDate()));
+					}
+				}
+			}
+
+		} catch (final SQLException e) {
+			throw new IllegalStateException(String.format("Failed querying retrieval requests of %s", tickerSymbol), e);
+		}
+
+		return requests;
+	}
+
+	@Override
+	public void delete( final HistoryRetrievalRequest request ) {
+
+		writer.delete(request);
+	}
+}
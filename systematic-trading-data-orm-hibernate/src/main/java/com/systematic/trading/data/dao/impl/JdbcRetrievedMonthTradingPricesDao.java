@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.data.dao.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.systematic.trading.data.dao.RetrievedMonthTradingPricesDao;
+import com.systematic.trading.data.model.HibernateRetrievedMonthTradingPrices;
+import com.systematic.trading.data.model.RetrievedMonthTradingPrices;
+import com.systematic.trading.data.util.JdbcConnectionFactory;
+
+/**
+ * Reads the store of retrieved trading prices with plain JDBC, leaving the writes to another.
+ * 
+ * @author CJ Hare
+ */
+public class JdbcRetrievedMonthTradingPricesDao implements RetrievedMonthTradingPricesDao {
+
+	/** Table mapped by HibernateRetrievedMonthTradingPrices. */
+	private static final String TABLE = "already_retrieved_year_month";
+
+	private final JdbcConnectionFactory connections;
+
+	/** Performs all the writes. */
+	private final RetrievedMonthTradingPricesDao writer;
+
+	public JdbcRetrievedMonthTradingPricesDao(
+	        final JdbcConnectionFactory connections,
+	        final RetrievedMonthTradingPricesDao writer ) {
+
+		this.connections = connections;
+		this.writer = writer;
+	}
+
+	@Override
+	public void create( final List<RetrievedMonthTradingPrices> retrieved ) {
+
+		if (!retrieved.isEmpty()) {
+			writer.create(retrieved);
+		}
+	}
+
+	@Override
+	public List<
+	        RetrievedMonthTradingPrices> requests( final String tickerSymbol, final int startYear, final int endYear ) {
+
+		final List<RetrievedMonthTradingPrices> retrieved = new ArrayList<>();
+
+		try (final Connection connection = connections.connection()) {
+
+			// Until Hibernate has created the schema, nothing has been retrieved
+			if (!connections.isTablePresent(connection, TABLE)) {
+				return retrieved;
+			}
+
+			// Quoted, as year and month are SQL key words
+			try (final PreparedStatement statement = connection.prepareStatement(
+			        String.format(
+			                "SELECT \"YEAR\", \"MONTH\" FROM %s WHERE ticker_symbol = ? AND \"YEAR\" >= ? AND \"YEAR\" <= ?",
+			                TABLE))) {
+				statement.setString(1, tickerSymbol);
+				statement.setInt(2, startYear);
+				statement.setInt(3, endYear);
+
+				try (final ResultSet rows = statement.executeQuery()) {
+					while (rows.next()) {
+						retrieved.add(
+						        new HibernateRetrievedMonthTradingPrices(
+						                tickerSymbol,
+						                YearMonth.of(rows.getInt(1), rows.getInt(2))));
+					}
+				}
+			}
+
+		} catch (final SQLException e) {
+			throw new IllegalStateException(String.format("Failed querying retrieved months of %s", tickerSymbol), e);
+		}
+
+		return retrieved;
+	}
+}
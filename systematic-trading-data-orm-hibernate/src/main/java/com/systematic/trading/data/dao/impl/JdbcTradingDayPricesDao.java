@@ -0,0 +1,198 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.data.dao.impl;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.systematic.trading.data.dao.TradingDayPricesDao;
+import com.systematic.trading.data.dao.jfr.TradingDayPricesQueryEvent;
+import com.systematic.trading.data.util.JdbcConnectionFactory;
+import com.systematic.trading.data.util.TradingDayPricesParser;
+import com.systematic.trading.data.util.TradingDayPricesTable;
+import com.systematic.trading.model.price.TradingDayPrices;
+
+/**
+ * DAO reading the Trading Day Prices history with plain JDBC, leaving the writes to another.
+ * <p/>
+ * Reads need none of the Hibernate start up, which is deferred until there is something to write.
+ * 
+ * @author CJ Hare
+ */
+public class JdbcTradingDayPricesDao implements TradingDayPricesDao {
+
+	private static final String COLUMNS = "date, opening_price, lowest_price, highest_price, closing_price";
+
+	private final TradingDayPricesParser tradingDayPricesParser = new TradingDayPricesParser();
+
+	private final JdbcConnectionFactory connections;
+
+	/** Performs all the writes. */
+	private final TradingDayPricesDao writer;
+
+	public JdbcTradingDayPricesDao( final JdbcConnectionFactory connections, final TradingDayPricesDao writer ) {
+
+		this.connections = connections;
+		this.writer = writer;
+	}
+
+	@Override
+	public void create( final TradingDayPrices[] data ) {
+
+		writer.create(data);
+	}
+
+	@Override
+	public void create( final TradingDayPrices data ) {
+
+		writer.create(data);
+	}
+
+	@Override
+	public void createTableIfAbsent( final String tickerSymbol ) {
+
+		try (final Connection connection = connections.connection()) {
+			if (connections.isTablePresent(connection, TradingDayPricesTable.name(tickerSymbol))) {
+				return;
+			}
+		} catch (final SQLException e) {
+			throw new IllegalStateException(String.format("Failed looking up the table for %s", tickerSymbol), e);
+		}
+
+		writer.createTableIfAbsent(tickerSymbol);
+	}
+
+	@Override
+	public TradingDayPrices mostRecent( final String tickerSymbol ) {
+
+		final String sql = String.format(
+		        "SELECT %s FROM %s ORDER BY date DESC LIMIT 1",
+		        COLUMNS,
+		        TradingDayPricesTable.name(tickerSymbol));
+
+		try (final Connection connection = connections.connection();
+		        final PreparedStatement statement = connection.prepareStatement(sql)) {
+
+			final List<TradingDayPrices> result = tradingPrices(tickerSymbol, statement);
+			return result.isEmpty() ? null : result.get(0);
+
+		} catch (final SQLException e) {
+			throw new IllegalStateException(String.format("Failed querying most recent %s", tickerSymbol), e);
+		}
+	}
+
+	@Override
+	public TradingDayPrices[] prices( final String tickerSymbol, final LocalDate startDate, final LocalDate endDate ) {
+
+		final TradingDayPricesQueryEvent event = new TradingDayPricesQueryEvent();
+		event.begin();
+
+		final String sql = String.format(
+		        "SELECT %s FROM %s WHERE date BETWEEN ? AND ? ORDER BY date DESC",
+		        COLUMNS,
+		        TradingDayPricesTable.name(tickerSymbol));
+
+		final List<TradingDayPrices> result;
+
+		try (final Connection connection = connections.connection();
+		        final PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setDate(1, Date.valueOf(startDate));
+			statement.setDate(2, Date.valueOf(endDate));
+
+			result = tradingPrices(tickerSymbol, statement);
+
+		} catch (final SQLException e) {
+			throw new IllegalStateException(
+			        String.format("Failed querying %s from %s to %s", tickerSymbol, startDate, endDate),
+			        e);
+		}
+
+		final TradingDayPrices[] data = result.toArray(new TradingDayPrices[result.size()]);
+
+		event.end();
+
+		if (event.shouldCommit()) {
+			event.tickerSymbol = tickerSymbol;
+			event.startDate = startDate.toString();
+			event.endDate = endDate.toString();
+			event.rows = data.length;
+			event.commit();
+		}
+
+		return data;
+	}
+
+	@Override
+	public long count( final String tickerSymbol, final LocalDate startDate, final LocalDate endDate ) {
+
+		final String sql = String.format(
+		        "SELECT count(1) FROM %s WHERE date BETWEEN ? AND ?",
+		        TradingDayPricesTable.name(tickerSymbol));
+
+		try (final Connection connection = connections.connection();
+		        final PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setDate(1, Date.valueOf(startDate));
+			statement.setDate(2, Date.valueOf(endDate));
+
+			try (final ResultSet rows = statement.executeQuery()) {
+				rows.next();
+				return rows.getLong(1);
+			}
+
+		} catch (final SQLException e) {
+			throw new IllegalStateException(
+			        String.format("Failed counting %s from %s to %s", tickerSymbol, startDate, endDate),
+			        e);
+		}
+	}
+
+	/**
+	 * Rows are converted by the same parser as the Hibernate queries, for identical prices.
+	 */
+	private List<TradingDayPrices> tradingPrices( final String tickerSymbol, final PreparedStatement statement )
+	        throws SQLException {
+
+		final List<TradingDayPrices> prices = new ArrayList<>();
+
+		try (final ResultSet rows = statement.executeQuery()) {
+			while (rows.next()) {
+				prices.add(
+				        tradingDayPricesParser.tradingPrices(
+				                tickerSymbol,
+				                new Object[] { rows.getDate(1), rows.getBigDecimal(2), rows.getBigDecimal(3),
+				                        rows.getBigDecimal(4), rows.getBigDecimal(5) }));
+			}
+		}
+
+		return prices;
+	}
+}
@@ -35,16 +35,49 @@ import org.hibernate.cfg.Configuration;
 import com.systematic.trading.data.model.HibernateHistoryRetrievalRequest;
 import com.systematic.trading.data.model.HibernateRetrievedMonthTradingPrices;
 
+/**
+ * Holder of the Hibernate session factory, built on first use.
+ * <p/>
+ * Construction scans the mappings, starts the connection pool and updates the schema, a cost only
+ * paid when an operation actually requires Hibernate.
+ * 
+ * @author CJ Hare
+ */
 public class HibernateUtil {
 
 	private static final Logger LOG = LogManager.getLogger(HibernateUtil.class);
-	private static final SessionFactory SESSION_FACTORY = buildSessionFactory();
+
+	private static volatile SessionFactory sessionFactory;
 
 	private HibernateUtil() {}
 
 	public static SessionFactory sessionFactory() {
 
-		return SESSION_FACTORY;
+		SessionFactory factory = sessionFactory;
+
+		if (factory == null) {
+			synchronized (HibernateUtil.class) {
+				factory = sessionFactory;
+
+				if (factory == null) {
+					factory = buildSessionFactory();
+					sessionFactory = factory;
+				}
+			}
+		}
+
+		return factory;
+	}
+
+	/**
+	 * Closes the session factory, when one has been built.
+	 */
+	public static synchronized void close() {
+
+		if (sessionFactory != null) {
+			sessionFactory.close();
+			sessionFactory = null;
+		}
 	}
 
 	private static SessionFactory buildSessionFactory() {
@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.data.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * Plain JDBC connections to the local data source, without any of the Hibernate start up.
+ * <p/>
+ * Connection settings are shared with Hibernate, read from the same configuration file.
+ * 
+ * @author CJ Hare
+ */
+public class JdbcConnectionFactory {
+
+	/** Hibernate configuration, source of the connection settings. */
+	private static final String HIBERNATE_CONFIGURATION = "hibernate.cfg.xml";
+
+	/** Optional prefix to the Hibernate property names. */
+	private static final String HIBERNATE_PREFIX = "hibernate.";
+
+	private static final String DRIVER = "connection.driver_class";
+	private static final String URL = "connection.url";
+	private static final String USERNAME = "connection.username";
+	private static final String PASSWORD = "connection.password";
+
+	private final String url;
+	private final String username;
+	private final String password;
+
+	public JdbcConnectionFactory( final String url, final String username, final String password ) {
+
+		this.url = url;
+		this.username = username;
+		this.password = password;
+	}
+
+	/**
+	 * @return connections using the same settings as the Hibernate session factory.
+	 */
+	public static JdbcConnectionFactory fromHibernateConfiguration() {
+
+		final Map<String, String> properties = hibernateProperties();
+
+		try {
+			// Explicit, as older drivers lack the service registration
+			Class.forName(properties.get(DRIVER));
+		} catch (final ClassNotFoundException e) {
+			throw new IllegalStateException(String.format("Missing JDBC driver: %s", properties.get(DRIVER)), e);
+		}
+
+		return new JdbcConnectionFactory(
+		        properties.get(URL),
+		        properties.get(USERNAME),
+		        properties.getOrDefault(PASSWORD, ""));
+	}
+
+	/**
+	 * @return new connection, the responsibility of the caller to close.
+	 */
+	public Connection connection() throws SQLException {
+
+		return DriverManager.getConnection(url, username, password);
+	}
+
+	/**
+	 * @return whether the table is present, with the unquoted name in any case.
+	 */
+	public boolean isTablePresent( final Connection connection, final String table ) throws SQLException {
+
+		try (final ResultSet tables = connection.getMetaData().getTables(
+		        null,
+		        null,
+		        table.toUpperCase(Locale.ROOT),
+		        new String[] { "TABLE" })) {
+			return tables.next();
+		}
+	}
+
+	private static Map<String, String> hibernateProperties() {
+
+		try (final InputStream in = JdbcConnectionFactory.class.getClassLoader()
+		        .getResourceAsStream(HIBERNATE_CONFIGURATION)) {
+
+			if (in == null) {
+				throw new IllegalStateException(String.format("Missing %s", HIBERNATE_CONFIGURATION));
+			}
+
+			final NodeList nodes = documentBuilder().parse(in).getElementsByTagName("property");
+			final Map<String, String> properties = new HashMap<>();
+
+			for (int i = 0; i < nodes.getLength(); i++) {
+				final Element property = (Element) nodes.item(i);
+				final String name = property.getAttribute("name");
+				properties.put(
+				        name.startsWith(HIBERNATE_PREFIX) ? name.substring(HIBERNATE_PREFIX.length()) : name,
+				        property.getTextContent().trim());
+			}
+
+			return properties;
+
+		} catch (final IOException | SAXException | ParserConfigurationException e) {
+			throw new IllegalStateException(String.format("Failed to read %s", HIBERNATE_CONFIGURATION), e);
+		}
+	}
+
+	private static DocumentBuilder documentBuilder() throws ParserConfigurationException {
+
+		final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+
+		// The DTD is only for validation, not worth a remote fetch
+		factory.setValidating(false);
+		factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+
+		return factory.newDocumentBuilder();
+	}
+}
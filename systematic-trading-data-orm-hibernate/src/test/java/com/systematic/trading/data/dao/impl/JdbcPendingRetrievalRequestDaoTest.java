@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.data.dao.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.systematic.trading.data.dao.PendingRetrievalRequestDao;
+import com.systematic.trading.data.model.HistoryRetrievalRequest;
+import com.systematic.trading.data.util.JdbcConnectionFactory;
+
+/**
+ * Verifying the JdbcPendingRetrievalRequestDao against an in memory database.
+ * 
+ * @author CJ Hare
+ */
+public class JdbcPendingRetrievalRequestDaoTest {
+
+	/** Keeps the in memory database alive between connections. */
+	private Connection open;
+
+	private List<List<HistoryRetrievalRequest>> created;
+
+	private JdbcPendingRetrievalRequestDao dao;
+
+	@Before
+	public void setUp() throws SQLException {
+
+		final JdbcConnectionFactory connections = new JdbcConnectionFactory(
+		        "jdbc:hsqldb:mem:" + UUID.randomUUID(),
+		        "sa",
+		        "");
+		open = connections.connection();
+		created = new ArrayList<>();
+		dao = new JdbcPendingRetrievalRequestDao(connections, new PendingRetrievalRequestDao() {
+
+			@Override
+			public void create( final List<HistoryRetrievalRequest> requests ) {
+
+				created.add(requests);
+			}
+
+			@Override
+			public List<HistoryRetrievalRequest> requests( final String tickerSymbol ) {
+
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public void delete( final HistoryRetrievalRequest request ) {
+
+				throw new UnsupportedOperationException();
+			}
+		});
+	}
+
+	@After
+	public void tearDown() throws SQLException {
+
+		execute("SHUTDOWN");
+		open.close();
+	}
+
+	@Test
+	public void requestsWithoutSchema() {
+
+		assertTrue(dao.requests("BHP").isEmpty());
+	}
+
+	@Test
+	public void requests() throws SQLException {
+
+		execute(
+		        "CREATE TABLE history_retrieval_queue (dataset VARCHAR(255) NOT NULL, ticker_symbol VARCHAR(255) NOT NULL, start DATE NOT NULL, end DATE NOT NULL, PRIMARY KEY (dataset, ticker_symbol, start, end))");
+		execute("INSERT INTO history_retrieval_queue VALUES ('ASX', 'BHP', DATE '2018-01-01', DATE '2018-02-01')");
+		execute("INSERT INTO history_retrieval_queue VALUES ('ASX', 'CBA', DATE '2018-01-01', DATE '2018-02-01')");
+
+		final List<HistoryRetrievalRequest> requests = dao.requests("BHP");
+
+		assertEquals(1, requests.size());
+		assertEquals("ASX", requests.get(0).tickerDataset());
+		assertEquals("BHP", requests.get(0).tickerSymbol());
+		assertEquals(LocalDate.of(2018, 1, 1), requests.get(0).startDateInclusive().toLocalDate());
+		assertEquals(LocalDate.of(2018, 2, 1), requests.get(0).endDateExclusive().toLocalDate());
+	}
+
+	@Test
+	public void createNothing() {
+
+		dao.create(Collections.emptyList());
+
+		assertTrue(created.isEmpty());
+	}
+
+	private void execute( final String sql ) throws SQLException {
+
+		try (final Statement statement = open.createStatement()) {
+			statement.execute(sql);
+		}
+	}
+}
@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.data.dao.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.systematic.trading.data.dao.TradingDayPricesDao;
+import com.systematic.trading.data.util.JdbcConnectionFactory;
+import com.systematic.trading.model.price.TradingDayPrices;
+
+/**
+ * Verifying the JdbcTradingDayPricesDao against an in memory database.
+ * 
+ * @author CJ Hare
+ */
+public class JdbcTradingDayPricesDaoTest {
+
+	private static final String TICKER_SYMBOL = "BHP.AX";
+
+	private JdbcConnectionFactory connections;
+
+	/** Keeps the in memory database alive between connections. */
+	private Connection open;
+
+	private RecordingWriter writer;
+
+	private JdbcTradingDayPricesDao dao;
+
+	@Before
+	public void setUp() throws SQLException {
+
+		connections = new JdbcConnectionFactory("jdbc:hsqldb:mem:" + UUID.randomUUID(), "sa", "");
+		open = connections.connection();
+		writer = new RecordingWriter();
+		dao = new JdbcTradingDayPricesDao(connections, writer);
+	}
+
+	@After
+	public void tearDown() throws SQLException {
+
+		try (final Statement statement = open.createStatement()) {
+			statement.execute("SHUTDOWN");
+		}
+
+		open.close();
+	}
+
+	@Test
+	public void createTableWhenAbsent() {
+
+		dao.createTableIfAbsent(TICKER_SYMBOL);
+
+		assertEquals(1, writer.tablesCreated.size());
+		assertEquals(TICKER_SYMBOL, writer.tablesCreated.get(0));
+	}
+
+	@Test
+	public void createTableWhenPresent() throws SQLException {
+
+		createTable();
+
+		dao.createTableIfAbsent(TICKER_SYMBOL);
+
+		assertEquals(0, writer.tablesCreated.size());
+	}
+
+	@Test
+	public void pricesMostRecentFirst() throws SQLException {
+
+		createTable();
+		insert("2018-01-02", "10.25");
+		insert("2018-01-03", "10.50");
+		insert("2018-01-04", "10.75");
+
+		final TradingDayPrices[] prices = dao.prices(
+		        TICKER_SYMBOL,
+		        LocalDate.of(2018, 1, 2),
+		        LocalDate.of(2018, 1, 3));
+
+		assertEquals(2, prices.length);
+		assertEquals(LocalDate.of(2018, 1, 3), prices[0].date());
+		assertEquals(0, new BigDecimal("10.50").compareTo(prices[0].closingPrice().price()));
+		assertEquals(LocalDate.of(2018, 1, 2), prices[1].date());
+		assertEquals(TICKER_SYMBOL, prices[1].tickerSymbol());
+	}
+
+	@Test
+	public void count() throws SQLException {
+
+		createTable();
+		insert("2018-01-02", "10.25");
+		insert("2018-01-03", "10.50");
+
+		assertEquals(2, dao.count(TICKER_SYMBOL, LocalDate.of(2018, 1, 1), LocalDate.of(2018, 2, 1)));
+	}
+
+	@Test
+	public void mostRecent() throws SQLException {
+
+		createTable();
+		insert("2018-01-02", "10.25");
+		insert("2018-01-03", "10.50");
+
+		assertEquals(LocalDate.of(2018, 1, 3), dao.mostRecent(TICKER_SYMBOL).date());
+	}
+
+	@Test
+	public void mostRecentNone() throws SQLException {
+
+		createTable();
+
+		assertNull(dao.mostRecent(TICKER_SYMBOL));
+	}
+
+	private void createTable() throws SQLException {
+
+		execute(
+		        "CREATE TABLE history_bhp_ax (date DATE, opening_price DECIMAL(8,2) NOT NULL, lowest_price DECIMAL(8,2) NOT NULL, highest_price DECIMAL(8,2) NOT NULL, closing_price DECIMAL(8,2) NOT NULL, PRIMARY KEY (date))");
+	}
+
+	private void insert( final String date, final String price ) throws SQLException {
+
+		execute(
+		        String.format(
+		                "INSERT INTO history_bhp_ax VALUES (DATE '%s', %s, %s, %s, %s)",
+		                date,
+		                price,
+		                price,
+		                price,
+		                price));
+	}
+
+	private void execute( final String sql ) throws SQLException {
+
+		try (final Statement statement = open.createStatement()) {
+			statement.execute(sql);
+		}
+	}
+
+	/**
+	 * Records the writes, without performing any.
+	 */
+	private static class RecordingWriter implements TradingDayPricesDao {
+
+		private final List<String> tablesCreated = new ArrayList<>();
+
+		@Override
+		public void create( final TradingDayPrices data ) {
+
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void create( final TradingDayPrices[] data ) {
+
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void createTableIfAbsent( final String tickerSymbol ) {
+
+			tablesCreated.add(tickerSymbol);
+		}
+
+		@Override
+		public TradingDayPrices[] prices( final String tickerSymbol, final LocalDate startDate, final LocalDate endDate ) {
+
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public long count( final String tickerSymbol, final LocalDate startDate, final LocalDate endDate ) {
+
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public TradingDayPrices mostRecent( final String tickerSymbol ) {
+
+			throw new UnsupportedOperationException();
+		}
+	}
+}
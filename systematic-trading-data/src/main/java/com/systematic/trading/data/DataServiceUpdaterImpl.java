@@ -46,6 +46,9 @@ import com.systematic.trading.data.dao.TradingDayPricesDao;
 import com.systematic.trading.data.dao.impl.HibernatePendingRetrievalRequestDao;
 import com.systematic.trading.data.dao.impl.HibernateRetrievedMonthTradingPricesDao;
 import com.systematic.trading.data.dao.impl.HibernateTradingDayPricesDao;
+import com.systematic.trading.data.dao.impl.JdbcPendingRetrievalRequestDao;
+import com.systematic.trading.data.dao.impl.JdbcRetrievedMonthTradingPricesDao;
+import com.systematic.trading.data.dao.impl.JdbcTradingDayPricesDao;
 import com.systematic.trading.data.exception.CannotRetrieveDataException;
 import com.systematic.trading.data.history.HistoryRetrievalRequestMerger;
 import com.systematic.trading.data.history.HistoryRetrievalRequestSlicer;
@@ -55,8 +58,11 @@ import com.systematic.trading.data.history.impl.HistoryRetrievalRequestMergerImp
 import com.systematic.trading.data.history.impl.MonthlyHistoryRetrievalRequestSlicer;
 import com.systematic.trading.data.history.impl.RetrievedYearMonthRecorder;
 import com.systematic.trading.data.history.impl.UnnecessaryHistoryRequestFilterImpl;
+import com.systematic.trading.data.jfr.HistoryRetrievalEvent;
+import com.systematic.trading.data.jfr.HistoryRetrievalRequestsEvent;
 import com.systematic.trading.data.model.HistoryRetrievalRequest;
 import com.systematic.trading.data.model.builder.impl.HibernateHistoryRetrievalRequestBuilder;
+import com.systematic.trading.data.util.JdbcConnectionFactory;
 import com.systematic.trading.model.price.TradingDayPrices;
 
 public class DataServiceUpdaterImpl implements DataServiceUpdater {
@@ -76,12 +82,25 @@ public class DataServiceUpdaterImpl implements DataServiceUpdater {
 
 	public DataServiceUpdaterImpl( final EquityApi api ) {
 
-		final RetrievedMonthTradingPricesDao retrievedHistoryDao = new HibernateRetrievedMonthTradingPricesDao();
+		this(api, JdbcConnectionFactory.fromHibernateConfiguration());
+	}
+
+	/**
+	 * Reads are performed with plain JDBC, with Hibernate only initialised when there are retrieval
+	 * requests to write.
+	 */
+	public DataServiceUpdaterImpl( final EquityApi api, final JdbcConnectionFactory connections ) {
+
+		final RetrievedMonthTradingPricesDao retrievedHistoryDao = new JdbcRetrievedMonthTradingPricesDao(
+		        connections,
+		        new HibernateRetrievedMonthTradingPricesDao());
 
 		this.api = api;
 		this.retrievedHistoryRecorder = new RetrievedYearMonthRecorder(retrievedHistoryDao);
-		this.pendingRetrievalRequestDao = new HibernatePendingRetrievalRequestDao();
-		this.tradingDayPricesDao = new HibernateTradingDayPricesDao();
+		this.pendingRetrievalRequestDao = new JdbcPendingRetrievalRequestDao(
+		        connections,
+		        new HibernatePendingRetrievalRequestDao());
+		this.tradingDayPricesDao = new JdbcTradingDayPricesDao(connections, new HibernateTradingDayPricesDao());
 		this.historyRetrievalRequestSlicer = new MonthlyHistoryRetrievalRequestSlicer();
 		this.unecessaryRequestFilter = new UnnecessaryHistoryRequestFilterImpl(retrievedHistoryDao);
 		this.historyRetrievalRequestMerger = new HistoryRetrievalRequestMergerImpl(
@@ -123,6 +142,9 @@ public class DataServiceUpdaterImpl implements DataServiceUpdater {
 	private void processHistoryRetrievalRequests( final List<HistoryRetrievalRequest> requests )
 	        throws CannotRetrieveDataException {
 
+		final HistoryRetrievalRequestsEvent event = new HistoryRetrievalRequestsEvent();
+		event.begin();
+
 		final ExecutorService pool = Executors.newFixedThreadPool(api.maximumConcurrentConnections());
 		final BlockingEventCount activeConnectionCount = new BlockingEventCountQueue(
 		        api.maximumConnectionsPerSecond(),
@@ -137,6 +159,9 @@ public class DataServiceUpdaterImpl implements DataServiceUpdater {
 			final LocalDate endDateExclusive = request.endDateExclusive().toLocalDate();
 
 			pool.execute(() -> {
+				final HistoryRetrievalEvent retrieval = new HistoryRetrievalEvent();
+				retrieval.begin();
+
 				try {
 					// Pull the data from the Stock API
 					TradingDayPrices[] tradingData = api.stockData(
@@ -156,6 +181,17 @@ public class DataServiceUpdaterImpl implements DataServiceUpdater {
 					// Remove the request from the queue
 					pendingRetrievalRequestDao.delete(request);
 
+					retrieval.end();
+
+					if (retrieval.shouldCommit()) {
+						retrieval.tickerDataset = tickerDataset;
+						retrieval.tickerSymbol = tickerSymbol;
+						retrieval.startDateInclusive = startDateInclusive.toString();
+						retrieval.endDateExclusive = endDateExclusive.toString();
+						retrieval.rows = tradingData.length;
+						retrieval.commit();
+					}
+
 				} catch (CannotRetrieveDataException e) {
 					LOG.error(e);
 
@@ -167,6 +203,14 @@ public class DataServiceUpdaterImpl implements DataServiceUpdater {
 
 		shutdown(pool, requests);
 		activeConnectionCountCleaner.end();
+
+		event.end();
+
+		if (event.shouldCommit()) {
+			event.tickerSymbol = requests.get(0).tickerSymbol();
+			event.requests = requests.size();
+			event.commit();
+		}
 	}
 
 	private void logDataNotFound(
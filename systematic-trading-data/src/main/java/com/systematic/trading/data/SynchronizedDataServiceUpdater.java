@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.data;
+
+import java.time.LocalDate;
+
+import com.systematic.trading.exception.ServiceException;
+
+/**
+ * Decorator that serialises the retrieval of trading data, for use by concurrent back tests.
+ * <p/>
+ * The throttling of the equity API is applied per retrieval, so concurrent retrievals would
+ * together exceed the permitted connections. Serialising them keeps each within the limits, while
+ * reading the local trading data remains concurrent.
+ * 
+ * @author CJ Hare
+ */
+public class SynchronizedDataServiceUpdater implements DataServiceUpdater {
+
+	/** Updater performing the retrieval. */
+	private final DataServiceUpdater delegate;
+
+	public SynchronizedDataServiceUpdater( final DataServiceUpdater delegate ) {
+
+		this.delegate = delegate;
+	}
+
+	@Override
+	public synchronized void get(
+	        final String tickerDataset,
+	        final String tickerSymbol,
+	        final LocalDate startDateInclusive,
+	        final LocalDate endDateExclusive ) throws ServiceException {
+
+		delegate.get(tickerDataset, tickerSymbol, startDateInclusive, endDateExclusive);
+	}
+}
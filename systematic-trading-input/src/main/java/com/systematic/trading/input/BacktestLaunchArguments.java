@@ -29,12 +29,14 @@ import java.math.BigDecimal;
 import java.util.Map;
 
 import com.systematic.trading.backtest.equity.TickerSymbol;
+import com.systematic.trading.backtest.equity.TickerUniverse;
 import com.systematic.trading.backtest.input.BacktestEndDate;
 import com.systematic.trading.backtest.input.BacktestStartDate;
 import com.systematic.trading.backtest.input.DepositFrequency;
 import com.systematic.trading.backtest.input.TickerDataset;
 import com.systematic.trading.backtest.input.FileBaseOutputDirectory;
 import com.systematic.trading.backtest.input.OutputType;
+import com.systematic.trading.backtest.input.TrialDistribution;
 
 /**
  * An aggregation facade for parsing the arguments given on launch, their validation and type
@@ -47,6 +49,9 @@ public class BacktestLaunchArguments {
 	/** Equity and it's data source. */
 	private final EquityArguments equityArguments;
 
+	/** One or more ticker symbols from the dataset, each to be back tested with the same strategies. */
+	private final TickerUniverse tickerUniverse;
+
 	/** Data source that will receive the application's output. */
 	private final OutputType outputType;
 
@@ -77,9 +82,16 @@ public class BacktestLaunchArguments {
 	/** How often to deposit into the cash account. */
 	private final DepositFrequency depositFrequency;
 
+	/** Whether to continue an interrupted trial, keeping the output of the completed back tests. */
+	private final boolean resume;
+
+	/** Whether the trial is run standalone or spread over a coordinator and workers. */
+	private final TrialDistribution trialDistribution;
+
 	public BacktestLaunchArguments(
 	        final LaunchArgument<OutputType> outputArgument,
 	        final EquityArguments equityArguments,
+	        final LaunchArgument<TickerUniverse> tickerUniverseArgument,
 	        final LaunchArgument<BigDecimal> interestRateArgument,
 	        final LaunchArgument<BigDecimal> openingFundsArgument,
 	        final LaunchArgument<BigDecimal> depositAmountArgument,
@@ -87,6 +99,8 @@ public class BacktestLaunchArguments {
 	        final LaunchArgument<BacktestStartDate> startDateArgument,
 	        final LaunchArgument<BacktestEndDate> endDateArgument,
 	        final LaunchArgument<FileBaseOutputDirectory> fileBaseOutputDirectoryArgument,
+	        final LaunchArgument<Boolean> resumeArgument,
+	        final LaunchArgument<TrialDistribution> trialDistributionArgument,
 	        final Map<LaunchArgumentKey, String> arguments ) {
 
 		this.arguments = arguments;
@@ -99,6 +113,9 @@ public class BacktestLaunchArguments {
 		this.startDateInclusive = startDateArgument.get(arguments);
 		this.endDateExclusive = endDateArgument.get(arguments);
 		this.equityArguments = equityArguments;
+		this.tickerUniverse = tickerUniverseArgument.get(arguments);
+		this.resume = Boolean.TRUE.equals(resumeArgument.get(arguments));
+		this.trialDistribution = trialDistributionArgument.get(arguments);
 	}
 
 	public String outputDirectory( final String depositAmount ) {
@@ -126,6 +143,11 @@ public class BacktestLaunchArguments {
 		return equityArguments.tickerSymbol();
 	}
 
+	public TickerUniverse tickerUniverse() {
+
+		return tickerUniverse;
+	}
+
 	public TickerDataset tickerDataset() {
 
 		return equityArguments.tickerDataset();
@@ -150,4 +172,14 @@ public class BacktestLaunchArguments {
 
 		return interestRate;
 	}
+
+	public boolean isResume() {
+
+		return resume;
+	}
+
+	public TrialDistribution trialDistribution() {
+
+		return trialDistribution;
+	}
 }
@@ -34,6 +34,7 @@ import java.util.Optional;
  */
 public enum CommandLineInputLaunchArgumentKey {
 
+	COORDINATOR(LaunchArgumentKey.COORDINATOR, "-coordinator"),
 	DATA_SERVICE(LaunchArgumentKey.DATA_SERVICE, "-data_service"),
 	DATA_SERVICE_STRUCTURE(LaunchArgumentKey.DATA_SERVICE_STRUCTURE, "-data_service_structure"),
 	DEPOSIT_AMOUNT(LaunchArgumentKey.DEPOSIT_AMOUNT, "-deposit_amount"),
@@ -43,9 +44,11 @@ public enum CommandLineInputLaunchArgumentKey {
 	INTEREST_RATE(LaunchArgumentKey.INTEREST_RATE, "-interest_rate"),
 	OPENING_FUNDS(LaunchArgumentKey.OPENING_FUNDS, "-opening_funds"),
 	OUTPUT_TYPE(LaunchArgumentKey.OUTPUT_TYPE, "-output"),
+	RESUME(LaunchArgumentKey.RESUME, "-resume"),
 	START_DATE(LaunchArgumentKey.START_DATE, "-start_date"),
 	TICKER_DATASET(LaunchArgumentKey.TICKER_DATASET, "-ticker_dataset"),
-	TICKER_SYMBOL(LaunchArgumentKey.TICKER_SYMBOL, "-ticker_symbol");
+	TICKER_SYMBOL(LaunchArgumentKey.TICKER_SYMBOL, "-ticker_symbol"),
+	WORKER(LaunchArgumentKey.WORKER, "-worker");
 
 	private final String cli;
 	private final LaunchArgumentKey key;
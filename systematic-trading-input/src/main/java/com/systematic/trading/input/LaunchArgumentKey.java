@@ -31,6 +31,7 @@ package com.systematic.trading.input;
  * @author CJ Hare
  */
 public enum LaunchArgumentKey {
+	COORDINATOR,
 	DATA_SERVICE,
 	DATA_SERVICE_STRUCTURE,
 	DEPOSIT_AMOUNT,
@@ -40,7 +41,9 @@ public enum LaunchArgumentKey {
 	INTEREST_RATE,
 	OPENING_FUNDS,
 	OUTPUT_TYPE,
+	RESUME,
 	START_DATE,
 	TICKER_DATASET,
-	TICKER_SYMBOL;
+	TICKER_SYMBOL,
+	WORKER;
 }
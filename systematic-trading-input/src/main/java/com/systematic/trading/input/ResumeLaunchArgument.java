@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.input;
+
+import java.util.Map;
+
+/**
+ * Launch argument parser and validation for resuming an interrupted trial, given as a key value
+ * pairing e.g. <code>-resume true</code>. When absent the trial starts afresh.
+ * 
+ * @author CJ Hare
+ */
+public class ResumeLaunchArgument implements LaunchArgument<Boolean> {
+
+	/** Provides validation for the launch argument value. */
+	private final LaunchArgumentValidator validator;
+
+	public ResumeLaunchArgument( final LaunchArgumentValidator validator ) {
+
+		this.validator = validator;
+	}
+
+	@Override
+	public Boolean get( final Map<LaunchArgumentKey, String> arguments ) {
+
+		final String resume = arguments.get(LaunchArgumentKey.RESUME);
+
+		if (resume == null) {
+			return Boolean.FALSE;
+		}
+
+		validator.validateNotEmpty(resume, "%s argument cannot be empty", LaunchArgumentKey.RESUME);
+
+		final boolean isTrue = Boolean.TRUE.toString().equalsIgnoreCase(resume.trim());
+		final boolean isFalse = Boolean.FALSE.toString().equalsIgnoreCase(resume.trim());
+
+		// Anything other then true or false is treated as an absent value
+		validator.validate(
+		        isTrue || isFalse ? resume : null,
+		        "%s argument must be either true or false: %s",
+		        LaunchArgumentKey.RESUME,
+		        resume);
+
+		return isTrue;
+	}
+}
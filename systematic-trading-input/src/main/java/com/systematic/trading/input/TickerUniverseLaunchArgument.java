@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.input;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.systematic.trading.backtest.equity.TickerSymbol;
+import com.systematic.trading.backtest.equity.TickerUniverse;
+
+/**
+ * Launch argument parser and validation for the ticker symbol key value pairing, when given as a
+ * comma separated universe of symbols e.g. <code>-ticker_symbol AAPL,MSFT,GOOG</code>.
+ * 
+ * @author CJ Hare
+ */
+public class TickerUniverseLaunchArgument implements LaunchArgument<TickerUniverse> {
+
+	/** Separator between the ticker symbols in the universe. */
+	private static final String SEPARATOR = ",";
+
+	/** Provides validation for the launch argument value. */
+	private final LaunchArgumentValidator validator;
+
+	public TickerUniverseLaunchArgument( final LaunchArgumentValidator validator ) {
+
+		this.validator = validator;
+	}
+
+	@Override
+	public TickerUniverse get( final Map<LaunchArgumentKey, String> arguments ) {
+
+		final String universe = arguments.get(LaunchArgumentKey.TICKER_SYMBOL);
+
+		validator.validate(universe, "%s argument is not present", LaunchArgumentKey.TICKER_SYMBOL);
+		validator.validateNotEmpty(universe, "%s argument cannot be empty", LaunchArgumentKey.TICKER_SYMBOL);
+
+		final String[] values = universe.split(SEPARATOR, -1);
+		final List<TickerSymbol> symbols = new ArrayList<>(values.length);
+		final Set<String> distinct = new HashSet<>();
+
+		for (final String value : values) {
+			final String symbol = value.trim();
+
+			validator.validateNotEmpty(
+			        symbol,
+			        "%s argument cannot contain an empty symbol: %s",
+			        LaunchArgumentKey.TICKER_SYMBOL,
+			        universe);
+			// A repeated symbol is treated as an absent value
+			validator.validate(
+			        distinct.add(symbol) ? symbol : null,
+			        "%s argument contains the duplicate symbol: %s",
+			        LaunchArgumentKey.TICKER_SYMBOL,
+			        symbol);
+
+			symbols.add(new TickerSymbol(symbol));
+		}
+
+		return new TickerUniverse(symbols);
+	}
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.input;
+
+import java.util.Map;
+
+import com.systematic.trading.backtest.input.TrialDistribution;
+import com.systematic.trading.backtest.input.TrialRole;
+
+/**
+ * Launch argument parser and validation for distributing a trial over processes, given as the
+ * address of the coordinator in either the coordinator key value pairing e.g.
+ * <code>-coordinator localhost:7070</code> or the worker key value pairing e.g.
+ * <code>-worker localhost:7070</code>. When neither are present the trial is standalone.
+ * 
+ * @author CJ Hare
+ */
+public class TrialDistributionLaunchArgument implements LaunchArgument<TrialDistribution> {
+
+	/** Separator between the host and port of the coordinator's address. */
+	private static final String SEPARATOR = ":";
+
+	/** Largest valid port number. */
+	private static final int MAXIMUM_PORT = 65535;
+
+	/** Provides validation for the launch argument value. */
+	private final LaunchArgumentValidator validator;
+
+	public TrialDistributionLaunchArgument( final LaunchArgumentValidator validator ) {
+
+		this.validator = validator;
+	}
+
+	@Override
+	public TrialDistribution get( final Map<LaunchArgumentKey, String> arguments ) {
+
+		final String coordinator = arguments.get(LaunchArgumentKey.COORDINATOR);
+		final String worker = arguments.get(LaunchArgumentKey.WORKER);
+
+		// Both being present is treated as an absent value
+		validator.validate(
+		        coordinator == null || worker == null ? LaunchArgumentKey.COORDINATOR : null,
+		        "%s and %s arguments cannot both be present",
+		        LaunchArgumentKey.COORDINATOR,
+		        LaunchArgumentKey.WORKER);
+
+		if (coordinator != null) {
+			return distribution(TrialRole.COORDINATOR, LaunchArgumentKey.COORDINATOR, coordinator);
+		}
+
+		if (worker != null) {
+			return distribution(TrialRole.WORKER, LaunchArgumentKey.WORKER, worker);
+		}
+
+		return TrialDistribution.STANDALONE;
+	}
+
+	private TrialDistribution distribution( final TrialRole role, final LaunchArgumentKey key, final String address ) {
+
+		validator.validateNotEmpty(address, "%s argument cannot be empty", key);
+
+		final int separator = address.lastIndexOf(SEPARATOR);
+		final String host = separator > 0 ? address.substring(0, separator).trim() : null;
+		final Integer port = separator > 0 ? port(address.substring(separator + 1).trim()) : null;
+
+		validator.validate(
+		        host == null || host.isEmpty() || port == null ? null : address,
+		        "%s argument must be a host and port e.g. localhost:7070, not: %s",
+		        key,
+		        address);
+
+		return new TrialDistribution(role, host, port);
+	}
+
+	/**
+	 * @return port number, <code>null</code> when not a valid port.
+	 */
+	private Integer port( final String port ) {
+
+		try {
+			final int number = Integer.parseInt(port);
+			return number > 0 && number <= MAXIMUM_PORT ? number : null;
+		} catch (final NumberFormatException e) {
+			return null;
+		}
+	}
+}
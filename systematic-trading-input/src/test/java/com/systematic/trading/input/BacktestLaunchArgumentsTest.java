@@ -46,10 +46,12 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import com.systematic.trading.backtest.equity.TickerSymbol;
+import com.systematic.trading.backtest.equity.TickerUniverse;
 import com.systematic.trading.backtest.input.BacktestEndDate;
 import com.systematic.trading.backtest.input.BacktestStartDate;
 import com.systematic.trading.backtest.input.DepositFrequency;
 import com.systematic.trading.backtest.input.TickerDataset;
+import com.systematic.trading.backtest.input.TrialDistribution;
 import com.systematic.trading.backtest.input.FileBaseOutputDirectory;
 import com.systematic.trading.backtest.input.OutputType;
 
@@ -95,6 +97,15 @@ public class BacktestLaunchArgumentsTest {
 	@Mock
 	private EquityArguments equityArguments;
 
+	@Mock
+	private LaunchArgument<TickerUniverse> tickerUniverseArgument;
+
+	@Mock
+	private LaunchArgument<Boolean> resumeArgument;
+
+	@Mock
+	private LaunchArgument<TrialDistribution> trialDistributionArgument;
+
 	/** Launch argument parser instance being tested. */
 	private BacktestLaunchArguments parser;
 
@@ -323,6 +334,7 @@ public class BacktestLaunchArgumentsTest {
 		parser = new BacktestLaunchArguments(
 		        outputTypeArgument,
 		        equityArguments,
+		        tickerUniverseArgument,
 		        interestRateArgument,
 		        openingFundsArgument,
 		        depositAmountArgument,
@@ -330,6 +342,8 @@ public class BacktestLaunchArgumentsTest {
 		        startDateArgument,
 		        endDateArgument,
 		        directoryArgument,
+		        resumeArgument,
+		        trialDistributionArgument,
 		        arguments);
 	}
 
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.input;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author CJ Hare
+ */
+public class ResumeLaunchArgumentTest {
+
+	/** Launch argument parser instance being tested. */
+	private ResumeLaunchArgument argument;
+
+	@Before
+	public void setUp() {
+
+		argument = new ResumeLaunchArgument(new LaunchArgumentValidator());
+	}
+
+	@Test
+	public void resume() {
+
+		assertTrue(argument.get(setUpArguments("true")));
+	}
+
+	@Test
+	public void resumeIgnoresCase() {
+
+		assertTrue(argument.get(setUpArguments("TRUE")));
+	}
+
+	@Test
+	public void noResume() {
+
+		assertFalse(argument.get(setUpArguments("false")));
+	}
+
+	@Test
+	public void missingKey() {
+
+		assertFalse(argument.get(new HashMap<LaunchArgumentKey, String>()));
+	}
+
+	@Test
+	public void invalidValue() {
+
+		resumeExpectingException("RESUME argument must be either true or false: yes", setUpArguments("yes"));
+	}
+
+	@Test
+	public void emptyValue() {
+
+		resumeExpectingException("RESUME argument cannot be empty", setUpArguments(""));
+	}
+
+	private void resumeExpectingException(
+	        final String expectedMessage,
+	        final Map<LaunchArgumentKey, String> launchArguments ) {
+
+		try {
+			argument.get(launchArguments);
+			fail("Expecting exception");
+		} catch (final IllegalArgumentException e) {
+			assertEquals(expectedMessage, e.getMessage());
+		}
+	}
+
+	private Map<LaunchArgumentKey, String> setUpArguments( final String value ) {
+
+		final Map<LaunchArgumentKey, String> arguments = new HashMap<>();
+		arguments.put(LaunchArgumentKey.RESUME, value);
+		return arguments;
+	}
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.input;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.systematic.trading.backtest.equity.TickerSymbol;
+import com.systematic.trading.backtest.equity.TickerUniverse;
+
+/**
+ * @author CJ Hare
+ */
+public class TickerUniverseLaunchArgumentTest {
+
+	/** Launch argument parser instance being tested. */
+	private TickerUniverseLaunchArgument argument;
+
+	@Before
+	public void setUp() {
+
+		argument = new TickerUniverseLaunchArgument(new LaunchArgumentValidator());
+	}
+
+	@Test
+	public void singleSymbol() {
+
+		final TickerUniverse universe = tickerUniverse(setUpArguments("AAPL"));
+
+		verifySymbols(universe, "AAPL");
+		assertFalse(universe.isMultiple());
+	}
+
+	@Test
+	public void multipleSymbols() {
+
+		final TickerUniverse universe = tickerUniverse(setUpArguments("AAPL, MSFT,GOOG"));
+
+		verifySymbols(universe, "AAPL", "MSFT", "GOOG");
+		assertTrue(universe.isMultiple());
+	}
+
+	@Test
+	public void emptySymbol() {
+
+		tickerUniverseExpectingException(
+		        "TICKER_SYMBOL argument cannot contain an empty symbol: AAPL,,GOOG",
+		        setUpArguments("AAPL,,GOOG"));
+	}
+
+	@Test
+	public void duplicateSymbol() {
+
+		tickerUniverseExpectingException(
+		        "TICKER_SYMBOL argument contains the duplicate symbol: AAPL",
+		        setUpArguments("AAPL,MSFT,AAPL"));
+	}
+
+	@Test
+	public void missingKey() {
+
+		tickerUniverseExpectingException(
+		        "TICKER_SYMBOL argument is not present",
+		        new HashMap<LaunchArgumentKey, String>());
+	}
+
+	private void tickerUniverseExpectingException(
+	        final String expectedMessage,
+	        final Map<LaunchArgumentKey, String> launchArguments ) {
+
+		try {
+			tickerUniverse(launchArguments);
+			fail("Expecting exception");
+		} catch (final IllegalArgumentException e) {
+			assertEquals(expectedMessage, e.getMessage());
+		}
+	}
+
+	private TickerUniverse tickerUniverse( final Map<LaunchArgumentKey, String> launchArguments ) {
+
+		return argument.get(launchArguments);
+	}
+
+	private void verifySymbols( final TickerUniverse universe, final String... expected ) {
+
+		final List<String> symbols = new ArrayList<>();
+		for (final TickerSymbol symbol : universe.symbols()) {
+			symbols.add(symbol.symbol());
+		}
+
+		assertEquals(expected.length, universe.size());
+		assertEquals(Arrays.asList(expected), symbols);
+	}
+
+	private Map<LaunchArgumentKey, String> setUpArguments( final String value ) {
+
+		final Map<LaunchArgumentKey, String> arguments = new HashMap<>();
+		arguments.put(LaunchArgumentKey.TICKER_SYMBOL, value);
+		return arguments;
+	}
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.input;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.systematic.trading.backtest.input.TrialDistribution;
+import com.systematic.trading.backtest.input.TrialRole;
+
+/**
+ * @author CJ Hare
+ */
+public class TrialDistributionLaunchArgumentTest {
+
+	/** Launch argument parser instance being tested. */
+	private TrialDistributionLaunchArgument argument;
+
+	@Before
+	public void setUp() {
+
+		argument = new TrialDistributionLaunchArgument(new LaunchArgumentValidator());
+	}
+
+	@Test
+	public void standalone() {
+
+		final TrialDistribution distribution = argument.get(new HashMap<LaunchArgumentKey, String>());
+
+		assertEquals(TrialRole.STANDALONE, distribution.role());
+		assertNull(distribution.host());
+	}
+
+	@Test
+	public void coordinator() {
+
+		final TrialDistribution distribution = argument
+		        .get(setUpArguments(LaunchArgumentKey.COORDINATOR, "localhost:7070"));
+
+		verifyDistribution(TrialRole.COORDINATOR, "localhost", 7070, distribution);
+	}
+
+	@Test
+	public void worker() {
+
+		final TrialDistribution distribution = argument
+		        .get(setUpArguments(LaunchArgumentKey.WORKER, "backtest-01.local:7171"));
+
+		verifyDistribution(TrialRole.WORKER, "backtest-01.local", 7171, distribution);
+	}
+
+	@Test
+	public void coordinatorAndWorker() {
+
+		final Map<LaunchArgumentKey, String> arguments = setUpArguments(LaunchArgumentKey.WORKER, "localhost:7070");
+		arguments.put(LaunchArgumentKey.COORDINATOR, "localhost:7070");
+
+		distributionExpectingException("COORDINATOR and WORKER arguments cannot both be present", arguments);
+	}
+
+	@Test
+	public void missingPort() {
+
+		distributionExpectingException(
+		        "WORKER argument must be a host and port e.g. localhost:7070, not: localhost",
+		        setUpArguments(LaunchArgumentKey.WORKER, "localhost"));
+	}
+
+	@Test
+	public void invalidPort() {
+
+		distributionExpectingException(
+		        "COORDINATOR argument must be a host and port e.g. localhost:7070, not: localhost:70700",
+		        setUpArguments(LaunchArgumentKey.COORDINATOR, "localhost:70700"));
+	}
+
+	@Test
+	public void emptyAddress() {
+
+		distributionExpectingException(
+		        "WORKER argument cannot be empty",
+		        setUpArguments(LaunchArgumentKey.WORKER, ""));
+	}
+
+	private void verifyDistribution(
+	        final TrialRole role,
+	        final String host,
+	        final int port,
+	        final TrialDistribution actual ) {
+
+		assertEquals(role, actual.role());
+		assertEquals(host, actual.host());
+		assertEquals(port, actual.port());
+	}
+
+	private void distributionExpectingException(
+	        final String expectedMessage,
+	        final Map<LaunchArgumentKey, String> launchArguments ) {
+
+		try {
+			argument.get(launchArguments);
+			fail("Expecting exception");
+		} catch (final IllegalArgumentException e) {
+			assertEquals(expectedMessage, e.getMessage());
+		}
+	}
+
+	private Map<LaunchArgumentKey, String> setUpArguments( final LaunchArgumentKey key, final String value ) {
+
+		final Map<LaunchArgumentKey, String> arguments = new HashMap<>();
+		arguments.put(key, value);
+		return arguments;
+	}
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.maths.indicator.sma;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.systematic.trading.model.price.TradingDayPrices;
+
+/**
+ * Running sums of the closing prices of a single price series, shared by every simple moving
+ * average over that series.
+ * <p/>
+ * The sum of any consecutive trading days is the difference of two prefix sums, so each average is
+ * a single subtraction irrespective of its lookback. Price windows given are expected to be
+ * consecutive trading days of the same series, ending no earlier than those already summed; any
+ * other window restarts the sums from that window.
+ * <p/>
+ * Not thread safe, as it is intended for sharing between the strategies of a single simulation.
+ * 
+ * @author CJ Hare
+ */
+public class ClosingPricePrefixSums {
+
+	/** Trading days that have been summed, in ascending order. */
+	private final List<LocalDate> dates = new ArrayList<>();
+
+	/** Sum of the closing prices before each trading day, ending with the sum of every day. */
+	private final List<BigDecimal> sums = new ArrayList<>();
+
+	public ClosingPricePrefixSums() {
+
+		sums.add(BigDecimal.ZERO);
+	}
+
+	/**
+	 * Ensures every trading day of the window is summed.
+	 * 
+	 * @param data
+	 *            consecutive trading days, in ascending order.
+	 * @return position of the first trading day of the window, for use with the sum.
+	 */
+	public int align( final TradingDayPrices[] data ) {
+
+		final int start = Collections.binarySearch(dates, data[0].date());
+
+		if (start < 0 || isInconsistent(start, data)) {
+			restart(data);
+			return 0;
+		}
+
+		for (int i = dates.size() - start; i < data.length; i++) {
+			append(data[i]);
+		}
+
+		return start;
+	}
+
+	/**
+	 * @param fromInclusive
+	 *            position of the first trading day to sum.
+	 * @param toExclusive
+	 *            position after the last trading day to sum.
+	 * @return exact sum of the closing prices of the trading days.
+	 */
+	public BigDecimal sum( final int fromInclusive, final int toExclusive ) {
+
+		return sums.get(toExclusive).subtract(sums.get(fromInclusive));
+	}
+
+	/**
+	 * The last of the overlapping trading days must match, otherwise the window is not from the
+	 * same consecutive series.
+	 */
+	private boolean isInconsistent( final int start, final TradingDayPrices[] data ) {
+
+		final int overlap = Math.min(data.length, dates.size() - start);
+		return !dates.get(start + overlap - 1).equals(data[overlap - 1].date());
+	}
+
+	private void restart( final TradingDayPrices[] data ) {
+
+		dates.clear();
+		sums.clear();
+		sums.add(BigDecimal.ZERO);
+
+		for (final TradingDayPrices day : data) {
+			append(day);
+		}
+	}
+
+	private void append( final TradingDayPrices day ) {
+
+		dates.add(day.date());
+		sums.add(sums.get(sums.size() - 1).add(day.closingPrice().price()));
+	}
+}
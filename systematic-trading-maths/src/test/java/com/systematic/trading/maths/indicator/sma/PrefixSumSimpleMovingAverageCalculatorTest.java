@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.maths.indicator.sma;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.systematic.trading.maths.indicator.IllegalArgumentThrowingValidator;
+import com.systematic.trading.maths.util.TradingDayPricesBuilder;
+import com.systematic.trading.model.price.TradingDayPrices;
+
+/**
+ * Verifying the averages from the shared prefix sums match summing each lookback in turn.
+ * 
+ * @author CJ Hare
+ */
+public class PrefixSumSimpleMovingAverageCalculatorTest {
+
+	private static final int DAYS_OF_SMA_VALUES = 5;
+
+	@Test
+	public void sharedAcrossLookbacks() {
+
+		final TradingDayPrices[] series = createPrices(400);
+		final ClosingPricePrefixSums sums = new ClosingPricePrefixSums();
+		final int[] lookbacks = { 3, 20, 50, 100 };
+
+		// Each tick every average is given its own window, all ending on the same trading day
+		for (int end = 110; end <= series.length; end++) {
+			for (final int lookback : lookbacks) {
+				final TradingDayPrices[] window = window(series, end, lookback + DAYS_OF_SMA_VALUES);
+
+				verifySame(lookback, sums, window);
+			}
+		}
+	}
+
+	@Test
+	public void unrelatedWindowRestarts() {
+
+		final TradingDayPrices[] series = createPrices(100);
+		final TradingDayPrices[] other = createPrices(100);
+		final ClosingPricePrefixSums sums = new ClosingPricePrefixSums();
+
+		verifySame(10, sums, window(series, 60, 30));
+		verifySame(10, sums, window(other, 80, 30));
+		verifySame(10, sums, window(series, 90, 60));
+	}
+
+	@Test
+	public void earlierWindowRestarts() {
+
+		final TradingDayPrices[] series = createPrices(100);
+		final ClosingPricePrefixSums sums = new ClosingPricePrefixSums();
+
+		verifySame(10, sums, window(series, 60, 20));
+		verifySame(10, sums, window(series, 60, 50));
+		verifySame(10, sums, window(series, 61, 20));
+	}
+
+	private void verifySame( final int lookback, final ClosingPricePrefixSums sums, final TradingDayPrices[] window ) {
+
+		final SimpleMovingAverageLine expected = new ClosingPriceSimpleMovingAverageCalculator(
+		        lookback,
+		        DAYS_OF_SMA_VALUES,
+		        new IllegalArgumentThrowingValidator()).calculate(window);
+		final SimpleMovingAverageLine actual = new PrefixSumSimpleMovingAverageCalculator(
+		        lookback,
+		        DAYS_OF_SMA_VALUES,
+		        sums,
+		        new IllegalArgumentThrowingValidator()).calculate(window);
+
+		// Equal values, although the scale may differ when the prices have a mix of scales
+		assertEquals(expected.sma().keySet(), actual.sma().keySet());
+		for (final Map.Entry<LocalDate, BigDecimal> average : expected.sma().entrySet()) {
+			assertEquals(0, average.getValue().compareTo(actual.sma().get(average.getKey())));
+		}
+	}
+
+	private TradingDayPrices[] window( final TradingDayPrices[] series, final int endExclusive, final int size ) {
+
+		return Arrays.copyOfRange(series, endExclusive - size, endExclusive);
+	}
+
+	private TradingDayPrices[] createPrices( final int count ) {
+
+		final Random random = new Random(count);
+		final TradingDayPrices[] prices = new TradingDayPrices[count];
+		LocalDate date = LocalDate.of(2017, 1, 2);
+		double price = 20;
+
+		for (int i = 0; i < count; i++) {
+			price = Math.max(1, price + random.nextInt(200) / 100d - 1);
+			prices[i] = new TradingDayPricesBuilder().withTradingDate(date).withOpeningPrice(price)
+			        .withLowestPrice(price).withHighestPrice(price).withClosingPrice(price).build();
+			date = date.plusDays(1);
+		}
+
+		return prices;
+	}
+}
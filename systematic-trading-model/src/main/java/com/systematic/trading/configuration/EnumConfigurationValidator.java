@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.configuration;
+
+import java.util.Locale;
+
+import com.systematic.trading.configuration.exception.ConfigurationValidationException;
+
+/**
+ * Validates input as the case insensitive name of an enum constant.
+ * 
+ * @author CJ Hare
+ */
+public class EnumConfigurationValidator<E extends Enum<E>> implements ConfigurationValidator<E> {
+
+	private final Class<E> type;
+
+	public EnumConfigurationValidator( final Class<E> type ) {
+
+		this.type = type;
+	}
+
+	@Override
+	public E validate( final String input ) throws ConfigurationValidationException {
+
+		if (input == null) {
+			throw new ConfigurationValidationException(
+			        String.format("Expecting a value from %s, but given none", type.getSimpleName()));
+		}
+
+		try {
+			return Enum.valueOf(type, input.trim().toUpperCase(Locale.ENGLISH));
+		} catch (final IllegalArgumentException e) {
+			throw new ConfigurationValidationException(
+			        String.format("Expecting a value from %s, but given: \"%s\"", type.getSimpleName(), input));
+		}
+	}
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed memory histogram over the full range of positive long values, safe for concurrent
+ * recording.
+ * <p>
+ * Each power of two is split into equal width sub-buckets, bounding the relative error of any
+ * reported value to one part in the number of sub-buckets (around 3%), in the same manner as
+ * HdrHistogram. Recording is a few shifts plus uncontended atomic increments, with no allocation.
+ * </p>
+ * 
+ * @author CJ Hare
+ */
+public class LogLinearHistogram implements MetricHistogram {
+
+	/** Sub-buckets for each power of two, given as a number of bits. */
+	private static final int SUB_BUCKET_BITS = 5;
+
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/** Values below the sub-bucket count each have a bucket, then one set per power of two. */
+	private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	private final LongAdder samples = new LongAdder();
+
+	private final LongAdder sum = new LongAdder();
+
+	private final LongAccumulator maximum = new LongAccumulator(Math::max, 0);
+
+	@Override
+	public void record( final long value ) {
+
+		final long sample = Math.max(0, value);
+
+		counts.incrementAndGet(index(sample));
+		samples.increment();
+		sum.add(sample);
+		maximum.accumulate(sample);
+	}
+
+	public long count() {
+
+		return samples.sum();
+	}
+
+	public long sum() {
+
+		return sum.sum();
+	}
+
+	public long maximum() {
+
+		return maximum.get();
+	}
+
+	public double mean() {
+
+		final long count = count();
+		return count == 0 ? 0 : (double) sum() / count;
+	}
+
+	/**
+	 * @param percentile
+	 *            between zero and one hundred inclusive.
+	 * @return highest value equivalent to the value at the percentile, zero when there are no
+	 *         samples.
+	 */
+	public long percentile( final double percentile ) {
+
+		final long count = count();
+
+		if (count == 0) {
+			return 0;
+		}
+
+		final double bounded = Math.min(100, Math.max(0, percentile));
+		final long rank = Math.max(1, (long) Math.ceil(bounded / 100 * count));
+		long seen = 0;
+
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+
+			if (seen >= rank) {
+				return Math.min(highestValue(i), maximum());
+			}
+		}
+
+		// Samples recorded while iterating may leave the total short of the count
+		return maximum();
+	}
+
+	static int index( final long value ) {
+
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+
+		final int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		final int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+
+		return (shift + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	static long lowestValue( final int index ) {
+
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+
+		final int shift = index / SUB_BUCKETS - 1;
+		final long subBucket = index % SUB_BUCKETS + (long) SUB_BUCKETS;
+
+		return subBucket << shift;
+	}
+
+	static long highestValue( final int index ) {
+
+		return index == BUCKETS - 1 ? Long.MAX_VALUE : lowestValue(index + 1) - 1;
+	}
+}
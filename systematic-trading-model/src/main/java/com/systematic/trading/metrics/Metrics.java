@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.metrics;
+
+/**
+ * Source of the timers and counters recording where the time of a trial is spent.
+ * <p>
+ * Retrieval is by name, which is not cheap, so callers retrieve their instruments once when
+ * created, rather then on the hot path.
+ * </p>
+ * 
+ * @author CJ Hare
+ */
+public interface Metrics {
+
+	/**
+	 * @param name
+	 *            identifier for the timed phase, shared by every caller timing the same phase.
+	 * @return timer recording the duration in nanoseconds.
+	 */
+	MetricTimer timer( String name );
+
+	/**
+	 * @param name
+	 *            identifier for the sampled value, shared by every caller sampling the same value.
+	 * @return histogram for the distribution of a value that is not a duration.
+	 */
+	MetricHistogram histogram( String name );
+
+	/**
+	 * @param name
+	 *            identifier for the occurrences, shared by every caller counting the same thing.
+	 * @return counter of the occurrences.
+	 */
+	MetricCounter counter( String name );
+}
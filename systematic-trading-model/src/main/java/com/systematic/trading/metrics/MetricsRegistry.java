@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.metrics;
+
+import com.systematic.trading.metrics.impl.DisabledMetrics;
+
+/**
+ * Metrics of the running trial, disabled unless a recording instance has been registered.
+ * <p>
+ * Instruments are retrieved when the instrumented objects are created, so registration must
+ * happen before the trial begins.
+ * </p>
+ * 
+ * @author CJ Hare
+ */
+public final class MetricsRegistry {
+
+	/** Metrics that discard everything, the cost of the instruments being a no-op call. */
+	private static final Metrics DISABLED = new DisabledMetrics();
+
+	private static volatile Metrics metrics = DISABLED;
+
+	private MetricsRegistry() {}
+
+	/**
+	 * @return metrics for the running trial, which are disabled when none have been registered.
+	 */
+	public static Metrics metrics() {
+
+		return metrics;
+	}
+
+	/**
+	 * @param recording
+	 *            metrics instruments created from now on are retrieved from.
+	 */
+	public static void register( final Metrics recording ) {
+
+		metrics = recording;
+	}
+
+	/**
+	 * Instruments created from now on discard everything.
+	 */
+	public static void disable() {
+
+		metrics = DISABLED;
+	}
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.metrics.impl;
+
+import com.systematic.trading.metrics.MetricCounter;
+import com.systematic.trading.metrics.MetricHistogram;
+import com.systematic.trading.metrics.MetricTimer;
+import com.systematic.trading.metrics.Metrics;
+
+/**
+ * Metrics that discard everything, without reading the clock.
+ * 
+ * @author CJ Hare
+ */
+public class DisabledMetrics implements Metrics {
+
+	private static final MetricTimer TIMER = new MetricTimer() {
+
+		@Override
+		public void record( final long value ) {
+
+			// Disabled, nothing to record
+		}
+
+		@Override
+		public long start() {
+
+			return 0;
+		}
+
+		@Override
+		public void stop( final long start ) {
+
+			// Disabled, nothing to record
+		}
+	};
+
+	private static final MetricCounter COUNTER = amount -> {
+		// Disabled, nothing to count
+	};
+
+	@Override
+	public MetricTimer timer( final String name ) {
+
+		return TIMER;
+	}
+
+	@Override
+	public MetricHistogram histogram( final String name ) {
+
+		return TIMER;
+	}
+
+	@Override
+	public MetricCounter counter( final String name ) {
+
+		return COUNTER;
+	}
+}
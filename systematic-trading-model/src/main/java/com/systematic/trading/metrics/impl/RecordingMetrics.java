@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.metrics.impl;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.systematic.trading.metrics.LogLinearHistogram;
+import com.systematic.trading.metrics.MetricCounter;
+import com.systematic.trading.metrics.MetricHistogram;
+import com.systematic.trading.metrics.MetricTimer;
+import com.systematic.trading.metrics.Metrics;
+
+/**
+ * Metrics recording into histograms and counters, retaining them for export.
+ * 
+ * @author CJ Hare
+ */
+public class RecordingMetrics implements Metrics {
+
+	private final ConcurrentMap<String, RecordingTimer> timers = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<String, LogLinearHistogram> histograms = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<String, RecordingCounter> counters = new ConcurrentHashMap<>();
+
+	@Override
+	public MetricTimer timer( final String name ) {
+
+		return timers.computeIfAbsent(name, key -> new RecordingTimer());
+	}
+
+	@Override
+	public MetricHistogram histogram( final String name ) {
+
+		return histograms.computeIfAbsent(name, key -> new LogLinearHistogram());
+	}
+
+	@Override
+	public MetricCounter counter( final String name ) {
+
+		return counters.computeIfAbsent(name, key -> new RecordingCounter());
+	}
+
+	/**
+	 * @return durations in nanoseconds, ordered by name.
+	 */
+	public SortedMap<String, LogLinearHistogram> timers() {
+
+		final SortedMap<String, LogLinearHistogram> values = new TreeMap<>();
+
+		for (final Map.Entry<String, RecordingTimer> timer : timers.entrySet()) {
+			values.put(timer.getKey(), timer.getValue().histogram);
+		}
+
+		return values;
+	}
+
+	/**
+	 * @return sampled values, ordered by name.
+	 */
+	public SortedMap<String, LogLinearHistogram> histograms() {
+
+		return new TreeMap<>(histograms);
+	}
+
+	/**
+	 * @return current totals, ordered by name.
+	 */
+	public SortedMap<String, Long> counters() {
+
+		final SortedMap<String, Long> values = new TreeMap<>();
+
+		for (final Map.Entry<String, RecordingCounter> counter : counters.entrySet()) {
+			values.put(counter.getKey(), counter.getValue().total.sum());
+		}
+
+		return values;
+	}
+
+	private static class RecordingTimer implements MetricTimer {
+
+		private final LogLinearHistogram histogram = new LogLinearHistogram();
+
+		@Override
+		public void record( final long value ) {
+
+			histogram.record(value);
+		}
+
+		@Override
+		public long start() {
+
+			return System.nanoTime();
+		}
+
+		@Override
+		public void stop( final long start ) {
+
+			histogram.record(System.nanoTime() - start);
+		}
+	}
+
+	private static class RecordingCounter implements MetricCounter {
+
+		private final LongAdder total = new LongAdder();
+
+		@Override
+		public void add( final long amount ) {
+
+			total.add(amount);
+		}
+	}
+}
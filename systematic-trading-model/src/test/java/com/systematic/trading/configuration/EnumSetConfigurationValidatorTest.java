@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.configuration;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.DayOfWeek;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.systematic.trading.configuration.exception.ConfigurationValidationException;
+
+/**
+ * EnumSetConfigurationValidator.
+ * 
+ * @author CJ Hare
+ */
+public class EnumSetConfigurationValidatorTest {
+
+	/** Validator instance being tested. */
+	private EnumSetConfigurationValidator<DayOfWeek> validator;
+
+	@Before
+	public void setUp() {
+
+		this.validator = new EnumSetConfigurationValidator<>(DayOfWeek.class);
+	}
+
+	@Test
+	public void noValue() throws ConfigurationValidationException {
+
+		verifyValues(EnumSet.noneOf(DayOfWeek.class), validate(null));
+	}
+
+	@Test
+	public void singleValue() throws ConfigurationValidationException {
+
+		verifyValues(EnumSet.of(DayOfWeek.MONDAY), validate("monday"));
+	}
+
+	@Test
+	public void multipleValues() throws ConfigurationValidationException {
+
+		verifyValues(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), validate("FRIDAY, Monday"));
+	}
+
+	@Test(expected = ConfigurationValidationException.class)
+	public void invalidValue() throws ConfigurationValidationException {
+
+		validate("monday,someday");
+	}
+
+	private Set<DayOfWeek> validate( final String value ) throws ConfigurationValidationException {
+
+		return validator.validate(value);
+	}
+
+	private void verifyValues( final Set<DayOfWeek> expected, final Set<DayOfWeek> actual ) {
+
+		assertEquals(expected, actual);
+	}
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * LogLinearHistogram.
+ * 
+ * @author CJ Hare
+ */
+public class LogLinearHistogramTest {
+
+	/** Histogram instance being tested. */
+	private LogLinearHistogram histogram;
+
+	@Before
+	public void setUp() {
+
+		histogram = new LogLinearHistogram();
+	}
+
+	@Test
+	public void noSamples() {
+
+		assertEquals(0, histogram.count());
+		assertEquals(0, histogram.percentile(50));
+		assertEquals(0, histogram.mean(), 0);
+	}
+
+	@Test
+	public void smallValuesExact() {
+
+		for (int value = 1; value <= 10; value++) {
+			histogram.record(value);
+		}
+
+		assertEquals(10, histogram.count());
+		assertEquals(55, histogram.sum());
+		assertEquals(10, histogram.maximum());
+		assertEquals(5, histogram.percentile(50));
+		assertEquals(10, histogram.percentile(100));
+		assertEquals(1, histogram.percentile(0));
+	}
+
+	@Test
+	public void largeValuesWithinRelativeError() {
+
+		final long value = 123_456_789L;
+
+		for (int i = 0; i < 99; i++) {
+			histogram.record(1_000);
+		}
+		histogram.record(value);
+
+		verifyWithinRelativeError(1_000, histogram.percentile(50));
+		verifyWithinRelativeError(1_000, histogram.percentile(99));
+		assertEquals(value, histogram.percentile(100));
+	}
+
+	@Test
+	public void negativeRecordedAsZero() {
+
+		histogram.record(-5);
+
+		assertEquals(0, histogram.maximum());
+		assertEquals(0, histogram.percentile(100));
+	}
+
+	@Test
+	public void bucketsContiguous() {
+
+		for (int index = 1; index < 1_000; index++) {
+			assertEquals(LogLinearHistogram.highestValue(index - 1) + 1, LogLinearHistogram.lowestValue(index));
+			assertEquals(index, LogLinearHistogram.index(LogLinearHistogram.lowestValue(index)));
+		}
+
+		assertEquals(Long.MAX_VALUE, LogLinearHistogram.highestValue(LogLinearHistogram.index(Long.MAX_VALUE)));
+	}
+
+	private void verifyWithinRelativeError( final long expected, final long actual ) {
+
+		assertTrue("Expected near " + expected + " but was " + actual, Math.abs(actual - expected) <= expected / 32);
+	}
+}
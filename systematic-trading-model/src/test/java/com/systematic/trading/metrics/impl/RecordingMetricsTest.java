@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.metrics.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.systematic.trading.metrics.MetricTimer;
+
+/**
+ * RecordingMetrics.
+ * 
+ * @author CJ Hare
+ */
+public class RecordingMetricsTest {
+
+	/** Metrics instance being tested. */
+	private RecordingMetrics metrics;
+
+	@Before
+	public void setUp() {
+
+		metrics = new RecordingMetrics();
+	}
+
+	@Test
+	public void timerSharedByName() {
+
+		assertSame(metrics.timer("phase"), metrics.timer("phase"));
+	}
+
+	@Test
+	public void timerRecordsDuration() {
+
+		final MetricTimer timer = metrics.timer("phase");
+
+		timer.stop(timer.start());
+		timer.record(1_000);
+
+		assertEquals(2, metrics.timers().get("phase").count());
+		assertTrue(metrics.timers().get("phase").maximum() >= 1_000);
+	}
+
+	@Test
+	public void countersSummed() {
+
+		metrics.counter("events").increment();
+		metrics.counter("events").add(4);
+
+		assertEquals(Long.valueOf(5), metrics.counters().get("events"));
+	}
+
+	@Test
+	public void histogramsSeparateFromTimers() {
+
+		metrics.histogram("depth").record(3);
+
+		assertEquals(1, metrics.histograms().get("depth").count());
+		assertTrue(metrics.timers().isEmpty());
+	}
+}
@@ -0,0 +1,384 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.signal.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.systematic.trading.model.signal.SignalType;
+
+/**
+ * Set of dated signals, held as a bitset for each signal type indexed by the day relative to the
+ * earliest day of the set.
+ * <p/>
+ * Logical operations across sets are performed a word (64 days) at a time, rather than comparing
+ * each signal against every other.
+ * 
+ * @author CJ Hare
+ */
+public class DatedSignalSet {
+
+	/** Days held in each word of the bitset. */
+	private static final int WORD_SIZE = 64;
+
+	/** Shift converting a day offset to the index of it's word. */
+	private static final int WORD_SHIFT = 6;
+
+	/** Mask converting a day offset to the bit within it's word. */
+	private static final int BIT_MASK = WORD_SIZE - 1;
+
+	private static final SignalType[] TYPES = SignalType.values();
+
+	private static final DatedSignalSet EMPTY = new DatedSignalSet(0, 0);
+
+	/** Epoch day of the first bit. */
+	private final long firstDay;
+
+	/** Number of days covered by the set. */
+	private final int days;
+
+	/** Bitset of signal days, by signal type ordinal. */
+	private final long[][] words;
+
+	private DatedSignalSet( final long firstDay, final int days ) {
+
+		this.firstDay = firstDay;
+		this.days = days;
+		this.words = new long[TYPES.length][(days + BIT_MASK) >>> WORD_SHIFT];
+	}
+
+	public static DatedSignalSet empty() {
+
+		return EMPTY;
+	}
+
+	public static DatedSignalSet of( final List<DatedSignal> signals ) {
+
+		if (signals.isEmpty()) {
+			return EMPTY;
+		}
+
+		long earliest = Long.MAX_VALUE;
+		long latest = Long.MIN_VALUE;
+
+		for (final DatedSignal signal : signals) {
+			final long day = signal.date().toEpochDay();
+			earliest = Math.min(earliest, day);
+			latest = Math.max(latest, day);
+		}
+
+		final DatedSignalSet set = new DatedSignalSet(earliest, Math.toIntExact(latest - earliest + 1));
+
+		for (final DatedSignal signal : signals) {
+			set.set(signal.type().ordinal(), signal.date().toEpochDay() - earliest);
+		}
+
+		return set;
+	}
+
+	/**
+	 * Signals from a single indicator series, built in one pass as the dates are already in order.
+	 * 
+	 * @param type
+	 *            type shared by all the signals.
+	 * @param signals
+	 *            signals of the type, in date order.
+	 * @return set holding the signal dates under the type.
+	 */
+	public static DatedSignalSet of( final SignalType type, final List<DatedSignal> signals ) {
+
+		if (signals.isEmpty()) {
+			return EMPTY;
+		}
+
+		final long earliest = signals.get(0).date().toEpochDay();
+		final long latest = signals.get(signals.size() - 1).date().toEpochDay();
+		final DatedSignalSet set = new DatedSignalSet(earliest, Math.toIntExact(latest - earliest + 1));
+		final int ordinal = type.ordinal();
+
+		for (final DatedSignal signal : signals) {
+			set.set(ordinal, signal.date().toEpochDay() - earliest);
+		}
+
+		return set;
+	}
+
+	public boolean isEmpty() {
+
+		for (final long[] type : words) {
+			for (final long word : type) {
+				if (word != 0) {
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return <code>true</code> when there is a signal of any type on the date.
+	 */
+	public boolean contains( final LocalDate date ) {
+
+		final long offset = date.toEpochDay() - firstDay;
+
+		if (offset < 0 || offset >= days) {
+			return false;
+		}
+
+		for (int type = 0; type < TYPES.length; type++) {
+			if (isSet(type, offset)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Logical AND, signals present in both sets with the same date and type.
+	 */
+	public DatedSignalSet and( final DatedSignalSet other ) {
+
+		final long first = Math.max(firstDay, other.firstDay);
+		final long end = Math.min(endDay(), other.endDay());
+
+		if (end <= first) {
+			return EMPTY;
+		}
+
+		final DatedSignalSet both = new DatedSignalSet(first, Math.toIntExact(end - first));
+
+		for (int type = 0; type < TYPES.length; type++) {
+			for (int index = 0; index < both.words[type].length; index++) {
+				final long day = first + ((long) index << WORD_SHIFT);
+				both.words[type][index] = word(type, day) & other.word(type, day);
+			}
+		}
+
+		return both;
+	}
+
+	/**
+	 * Logical OR, signals present in either set, with a single signal for each date and type.
+	 */
+	public DatedSignalSet or( final DatedSignalSet other ) {
+
+		if (other.days == 0) {
+			return this;
+		}
+
+		if (days == 0) {
+			return other;
+		}
+
+		final long first = Math.min(firstDay, other.firstDay);
+		final long end = Math.max(endDay(), other.endDay());
+		final DatedSignalSet either = new DatedSignalSet(first, Math.toIntExact(end - first));
+
+		for (int type = 0; type < TYPES.length; type++) {
+			for (int index = 0; index < either.words[type].length; index++) {
+				final long day = first + ((long) index << WORD_SHIFT);
+				either.words[type][index] = word(type, day) | other.word(type, day);
+			}
+		}
+
+		return either;
+	}
+
+	/**
+	 * Anchor signals of this set are confirmed by the latest confirmation signal, of any type, within
+	 * the window of days after each anchor.
+	 * <p/>
+	 * Only the confirming signal is kept, when the latest day holds more than one type that is the
+	 * last in list order (types in declaration order).
+	 * 
+	 * @param confirmations
+	 *            signals that may confirm the anchors.
+	 * @param delayDays
+	 *            days after the anchor when the confirmation window opens.
+	 * @param rangeDays
+	 *            inclusive span of days the confirmation window remains open.
+	 * @return confirmation signals that confirmed an anchor signal.
+	 */
+	public DatedSignalSet confirmedBy( final DatedSignalSet confirmations, final int delayDays, final int rangeDays ) {
+
+		if (days == 0 || confirmations.days == 0) {
+			return EMPTY;
+		}
+
+		final long[] anchorDays = union();
+		final long[] confirmationDays = confirmations.union();
+		final DatedSignalSet confirmed = new DatedSignalSet(confirmations.firstDay, confirmations.days);
+
+		for (int anchor = nextSetBit(anchorDays, 0); anchor >= 0; anchor = nextSetBit(anchorDays, anchor + 1)) {
+			final long windowOpen = firstDay + anchor + delayDays - confirmations.firstDay;
+			final long windowClose = Math.min(windowOpen + rangeDays, confirmations.days - 1L);
+
+			if (windowClose >= 0 && windowClose >= windowOpen) {
+				final int latest = previousSetBit(confirmationDays, (int) windowClose);
+
+				if (latest >= 0 && latest >= windowOpen) {
+					confirmed.set(confirmations.lastType(latest), latest);
+				}
+			}
+		}
+
+		return confirmed;
+	}
+
+	/**
+	 * @return signals in date order, with types in declaration order for the same date.
+	 */
+	public List<DatedSignal> toList() {
+
+		if (days == 0) {
+			return Collections.emptyList();
+		}
+
+		final List<DatedSignal> signals = new ArrayList<>();
+		final long[] anyType = union();
+
+		for (int day = nextSetBit(anyType, 0); day >= 0; day = nextSetBit(anyType, day + 1)) {
+			for (int type = 0; type < TYPES.length; type++) {
+				if (isSet(type, day)) {
+					signals.add(new DatedSignal(LocalDate.ofEpochDay(firstDay + day), TYPES[type]));
+				}
+			}
+		}
+
+		return signals;
+	}
+
+	/**
+	 * @return the 64 days of the type starting from the given epoch day, with days outside the set
+	 *         as zero.
+	 */
+	private long word( final int type, final long fromDay ) {
+
+		final long offset = fromDay - firstDay;
+
+		if (offset <= -WORD_SIZE || offset >= days) {
+			return 0;
+		}
+
+		if (offset < 0) {
+			return words[type][0] << -offset;
+		}
+
+		final int index = (int) (offset >>> WORD_SHIFT);
+		final int shift = (int) (offset & BIT_MASK);
+		long word = words[type][index] >>> shift;
+
+		if (shift != 0 && index + 1 < words[type].length) {
+			word |= words[type][index + 1] << (WORD_SIZE - shift);
+		}
+
+		return word;
+	}
+
+	private long[] union() {
+
+		final long[] anyType = words[0].clone();
+
+		for (int type = 1; type < TYPES.length; type++) {
+			for (int index = 0; index < anyType.length; index++) {
+				anyType[index] |= words[type][index];
+			}
+		}
+
+		return anyType;
+	}
+
+	/**
+	 * @return ordinal of the last type set on the day, or <code>-1</code> when there are none.
+	 */
+	private int lastType( final long offset ) {
+
+		for (int type = TYPES.length - 1; type >= 0; type--) {
+			if (isSet(type, offset)) {
+				return type;
+			}
+		}
+
+		return -1;
+	}
+
+	private long endDay() {
+
+		return firstDay + days;
+	}
+
+	private void set( final int type, final long offset ) {
+
+		words[type][(int) (offset >>> WORD_SHIFT)] |= 1L << (offset & BIT_MASK);
+	}
+
+	private boolean isSet( final int type, final long offset ) {
+
+		return (words[type][(int) (offset >>> WORD_SHIFT)] & (1L << (offset & BIT_MASK))) != 0;
+	}
+
+	private static int nextSetBit( final long[] bits, final int from ) {
+
+		int index = from >>> WORD_SHIFT;
+
+		if (index >= bits.length) {
+			return -1;
+		}
+
+		long word = bits[index] & (-1L << (from & BIT_MASK));
+
+		while (word == 0) {
+			if (++index == bits.length) {
+				return -1;
+			}
+
+			word = bits[index];
+		}
+
+		return (index << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+	}
+
+	private static int previousSetBit( final long[] bits, final int from ) {
+
+		int index = from >>> WORD_SHIFT;
+		long word = bits[index] & (-1L >>> (BIT_MASK - (from & BIT_MASK)));
+
+		while (word == 0) {
+			if (index-- == 0) {
+				return -1;
+			}
+
+			word = bits[index];
+		}
+
+		return (index << WORD_SHIFT) + BIT_MASK - Long.numberOfLeadingZeros(word);
+	}
+}
@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.signal.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.systematic.trading.model.signal.SignalType;
+
+/**
+ * DatedSignalSet.
+ * 
+ * @author CJ Hare
+ */
+public class DatedSignalSetTest {
+
+	private static final LocalDate START = LocalDate.of(2018, 1, 1);
+
+	@Test
+	public void empty() {
+
+		final DatedSignalSet set = DatedSignalSet.of(new ArrayList<>());
+
+		assertTrue(set.isEmpty());
+		assertFalse(set.contains(START));
+		assertEquals(0, set.toList().size());
+	}
+
+	@Test
+	public void contains() {
+
+		final DatedSignalSet set = set(bullish(0), bearish(70));
+
+		assertFalse(set.isEmpty());
+		assertTrue(set.contains(day(0)));
+		assertTrue(set.contains(day(70)));
+		assertFalse(set.contains(day(1)));
+		assertFalse(set.contains(day(-1)));
+		assertFalse(set.contains(day(71)));
+	}
+
+	@Test
+	public void toListDateOrder() {
+
+		final DatedSignalSet set = set(bearish(130), bullish(3), bearish(3));
+
+		verify(set.toList(), bullish(3), bearish(3), bearish(130));
+	}
+
+	@Test
+	public void and() {
+
+		final DatedSignalSet left = set(bullish(1), bullish(65), bearish(100), bullish(200));
+		final DatedSignalSet right = set(bullish(65), bullish(100), bullish(200), bullish(300));
+
+		verify(left.and(right).toList(), bullish(65), bullish(200));
+	}
+
+	@Test
+	public void andNoOverlap() {
+
+		final DatedSignalSet left = set(bullish(1), bullish(5));
+		final DatedSignalSet right = set(bullish(6), bullish(90));
+
+		assertTrue(left.and(right).isEmpty());
+	}
+
+	@Test
+	public void or() {
+
+		final DatedSignalSet left = set(bullish(1), bullish(65));
+		final DatedSignalSet right = set(bullish(65), bearish(140));
+
+		verify(left.or(right).toList(), bullish(1), bullish(65), bearish(140));
+	}
+
+	@Test
+	public void orEmpty() {
+
+		final DatedSignalSet left = set(bullish(1));
+
+		verify(left.or(DatedSignalSet.empty()).toList(), bullish(1));
+		verify(DatedSignalSet.empty().or(left).toList(), bullish(1));
+	}
+
+	@Test
+	public void confirmedByLatestInWindow() {
+
+		final DatedSignalSet anchors = set(bullish(10));
+		final DatedSignalSet confirmations = set(bullish(11), bullish(12), bullish(14), bullish(15), bullish(16));
+
+		verify(anchors.confirmedBy(confirmations, 2, 3).toList(), bullish(15));
+	}
+
+	@Test
+	public void confirmedByOutsideWindow() {
+
+		final DatedSignalSet anchors = set(bullish(10));
+		final DatedSignalSet confirmations = set(bullish(11), bullish(16));
+
+		assertTrue(anchors.confirmedBy(confirmations, 2, 3).isEmpty());
+	}
+
+	@Test
+	public void confirmedByEachAnchor() {
+
+		final DatedSignalSet anchors = set(bullish(10), bullish(100));
+		final DatedSignalSet confirmations = set(bullish(5), bullish(12), bearish(101), bullish(200));
+
+		verify(anchors.confirmedBy(confirmations, 0, 2).toList(), bullish(12), bearish(101));
+	}
+
+	@Test
+	public void confirmedByConfirmingTypeOnly() {
+
+		final DatedSignalSet anchors = set(bullish(10));
+		final DatedSignalSet confirmations = set(bullish(12), bearish(13), bullish(13));
+
+		verify(anchors.confirmedBy(confirmations, 2, 3).toList(), bearish(13));
+	}
+
+	@Test
+	public void ofType() {
+
+		final DatedSignalSet set = DatedSignalSet.of(SignalType.BEARISH, Arrays.asList(bearish(2), bearish(80)));
+
+		verify(set.toList(), bearish(2), bearish(80));
+	}
+
+	@Test
+	public void ofTypeEmpty() {
+
+		assertTrue(DatedSignalSet.of(SignalType.BULLISH, new ArrayList<>()).isEmpty());
+	}
+
+	private DatedSignalSet set( final DatedSignal... signals ) {
+
+		return DatedSignalSet.of(Arrays.asList(signals));
+	}
+
+	private DatedSignal bullish( final int day ) {
+
+		return new DatedSignal(day(day), SignalType.BULLISH);
+	}
+
+	private DatedSignal bearish( final int day ) {
+
+		return new DatedSignal(day(day), SignalType.BEARISH);
+	}
+
+	private LocalDate day( final int day ) {
+
+		return START.plusDays(day);
+	}
+
+	private void verify( final List<DatedSignal> actual, final DatedSignal... expected ) {
+
+		assertEquals(expected.length, actual.size());
+
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i].date(), actual.get(i).date());
+			assertEquals(expected[i].type(), actual.get(i).type());
+		}
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.simulation.event;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Parties interested in a type of event, held in an array that is replaced whenever a listener is
+ * added.
+ * <p/>
+ * Producers check <code>isEmpty()</code> before creating an event, so nothing is allocated for an
+ * event without a subscriber. Dispatch with a non-capturing method reference, such as
+ * <code>CashEventListener::event</code>, allocates nothing either.
+ * 
+ * @author CJ Hare
+ */
+public class EventListeners<L> {
+
+	private static final Object[] NONE = new Object[0];
+
+	/** Listeners in the order they were added. */
+	private Object[] listeners = NONE;
+
+	/**
+	 * Adds the listener, unless it is already present.
+	 */
+	public void add( final L listener ) {
+
+		for (final Object existing : listeners) {
+			if (existing.equals(listener)) {
+				return;
+			}
+		}
+
+		final Object[] added = Arrays.copyOf(listeners, listeners.length + 1);
+		added[listeners.length] = listener;
+		listeners = added;
+	}
+
+	/**
+	 * @return <code>true</code> when there are no listeners, meaning the event need not be created.
+	 */
+	public boolean isEmpty() {
+
+		return listeners.length == 0;
+	}
+
+	/**
+	 * Gives the event to each listener, in the order they were added.
+	 * 
+	 * @param event
+	 *            occurrence to pass on to every listener.
+	 * @param dispatch
+	 *            delivery of the event to a single listener.
+	 */
+	@SuppressWarnings("unchecked")
+	public <E> void notify( final E event, final BiConsumer<L, ? super E> dispatch ) {
+
+		for (final Object listener : listeners) {
+			dispatch.accept((L) listener, event);
+		}
+	}
+}
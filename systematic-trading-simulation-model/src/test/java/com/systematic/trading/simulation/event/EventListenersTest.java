@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.simulation.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * EventListeners.
+ * 
+ * @author CJ Hare
+ */
+public class EventListenersTest {
+
+	/** Listeners instance being tested. */
+	private EventListeners<RecordingListener> listeners;
+
+	@Before
+	public void setUp() {
+
+		listeners = new EventListeners<>();
+	}
+
+	@Test
+	public void empty() {
+
+		assertTrue(listeners.isEmpty());
+
+		listeners.notify("ignored", RecordingListener::event);
+	}
+
+	@Test
+	public void notifyInOrderAdded() {
+
+		final List<String> received = new ArrayList<>();
+		listeners.add(new RecordingListener("first", received));
+		listeners.add(new RecordingListener("second", received));
+
+		listeners.notify("event", RecordingListener::event);
+
+		assertFalse(listeners.isEmpty());
+		assertEquals(Arrays.asList("first:event", "second:event"), received);
+	}
+
+	@Test
+	public void duplicateIgnored() {
+
+		final List<String> received = new ArrayList<>();
+		final RecordingListener listener = new RecordingListener("only", received);
+		listeners.add(listener);
+		listeners.add(listener);
+
+		listeners.notify("event", RecordingListener::event);
+
+		assertEquals(Arrays.asList("only:event"), received);
+	}
+
+	private static class RecordingListener {
+
+		private final String name;
+		private final List<String> received;
+
+		RecordingListener( final String name, final List<String> received ) {
+
+			this.name = name;
+			this.received = received;
+		}
+
+		void event( final String event ) {
+
+			received.add(name + ":" + event);
+		}
+	}
+}
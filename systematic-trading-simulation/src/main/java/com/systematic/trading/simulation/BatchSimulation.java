@@ -0,0 +1,396 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.simulation;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.systematic.trading.model.TickerSymbolTradingData;
+import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.simulation.SimulationStateListener.SimulationState;
+import com.systematic.trading.simulation.analysis.roi.ReturnOnInvestmentListener;
+import com.systematic.trading.simulation.brokerage.Brokerage;
+import com.systematic.trading.simulation.brokerage.exception.InsufficientEquitiesException;
+import com.systematic.trading.simulation.cash.CashAccount;
+import com.systematic.trading.simulation.cash.exception.InsufficientFundsException;
+import com.systematic.trading.simulation.event.EventListeners;
+import com.systematic.trading.simulation.jfr.SimulationRunEvent;
+import com.systematic.trading.simulation.order.EquityOrder;
+import com.systematic.trading.simulation.order.EquityOrderBook;
+import com.systematic.trading.simulation.order.EquityOrderInsufficientFundsAction;
+import com.systematic.trading.simulation.order.event.EquityOrderDeletedDueToInsufficentFundsEvent;
+import com.systematic.trading.simulation.order.event.OrderEvent;
+import com.systematic.trading.simulation.order.event.OrderEventListener;
+import com.systematic.trading.strategy.Strategy;
+
+/**
+ * Simulation of many strategies in lock-step over a single pass of the same trading data.
+ * <p/>
+ * The calendar is walked and each day's prices retrieved once, then applied to every strategy in
+ * turn. The collaborators of each strategy are held across parallel arrays, indexed by the strategy id
+ * given when the strategy is added, with the events of each strategy given only to the listeners added
+ * for that id.
+ * <p/>
+ * Cash and equity balances remain within the cash account and brokerage of each strategy, rather than
+ * primitive arrays, as the strategies and orders act through those interfaces and the balances are
+ * BigDecimal values rounded by the MathContext of each implementation.
+ * <p/>
+ * Applies the trading logic over a single equity only.
+ * 
+ * @author CJ Hare
+ */
+public class BatchSimulation {
+
+	/** Classes logger. */
+	private static final Logger LOG = LogManager.getLogger(BatchSimulation.class);
+
+	/** Time between deposit events. */
+	private final Period interval = Period.ofDays(1);
+
+	/** Trading data shared by every strategy in the simulation. */
+	private final TickerSymbolTradingData tradingData;
+
+	/** Makes the decision on whether entry and exit actions, by strategy id. */
+	private final Strategy[] strategies;
+
+	/** The manager dealing with cash and it's accounting, by strategy id. */
+	private final CashAccount[] funds;
+
+	/** Dealer of equities, manages the equity balance, by strategy id. */
+	private final Brokerage[] brokers;
+
+	/** Return on investment calculator, by strategy id. */
+	private final ReturnOnInvestmentListener[] rois;
+
+	/** Outstanding orders carried over to the next trading day, by strategy id. */
+	private final EquityOrderBook[] orders;
+
+	/** Listeners interested in entry events, by strategy id. */
+	private final List<EventListeners<OrderEventListener>> orderEventListeners;
+
+	/** Listeners interested in state transition events, by strategy id. */
+	private final List<EventListeners<SimulationStateListener>> stateListeners;
+
+	/** Number of strategies added. */
+	private int size;
+
+	/**
+	 * @param tradingData
+	 *            prices shared by every strategy.
+	 * @param capacity
+	 *            maximum number of strategies that will be added.
+	 */
+	public BatchSimulation( final TickerSymbolTradingData tradingData, final int capacity ) {
+
+		this.tradingData = tradingData;
+		this.strategies = new Strategy[capacity];
+		this.funds = new CashAccount[capacity];
+		this.brokers = new Brokerage[capacity];
+		this.rois = new ReturnOnInvestmentListener[capacity];
+		this.orders = new EquityOrderBook[capacity];
+		this.orderEventListeners = new ArrayList<>(capacity);
+		this.stateListeners = new ArrayList<>(capacity);
+	}
+
+	/**
+	 * Adds a strategy, with it's own brokerage and cash account, to the simulation.
+	 * 
+	 * @return strategy id, for adding listeners to the events of the strategy.
+	 */
+	public int add(
+	        final Brokerage broker,
+	        final CashAccount cashAccount,
+	        final ReturnOnInvestmentListener roi,
+	        final Strategy strategy ) {
+
+		if (size == strategies.length) {
+			throw new IllegalStateException(
+			        String.format("Batch simulation capacity of %s strategies exceeded", strategies.length));
+		}
+
+		final int strategyId = size++;
+		strategies[strategyId] = strategy;
+		funds[strategyId] = cashAccount;
+		brokers[strategyId] = broker;
+		rois[strategyId] = roi;
+		orders[strategyId] = new EquityOrderBook();
+		orderEventListeners.add(new EventListeners<>());
+		stateListeners.add(new EventListeners<>());
+
+		return strategyId;
+	}
+
+	public void run() {
+
+		final SimulationRunEvent event = new SimulationRunEvent();
+		event.begin();
+
+		final Map<LocalDate, TradingDayPrices> tradingDayPrices = tradingData.tradingPrices();
+		final LocalDate endDate = tradingData.latestDate();
+
+		LocalDate currentDate = tradingData.earliestDate();
+
+		while (currentDate.isBefore(endDate)) {
+
+			final TradingDayPrices currentTradingData = tradingDayPrices.get(currentDate);
+
+			for (int strategyId = 0; strategyId < size; strategyId++) {
+
+				// Financial activity of deposits, withdrawal and interest
+				funds[strategyId].update(currentDate);
+
+				// Only when there is trading data for today
+				if (currentTradingData != null) {
+
+					// Process orders and add those from the day's trading data
+					processTradingData(strategyId, currentTradingData);
+
+					// Update the return on investment calculator
+					rois[strategyId].update(brokers[strategyId], funds[strategyId], currentTradingData);
+
+					// Broker activity of fees, clearing transactions at the end of the business day
+					brokers[strategyId].update(currentTradingData);
+				}
+			}
+
+			// Move date to tomorrow
+			currentDate = currentDate.plus(interval);
+		}
+
+		event.end();
+
+		if (event.shouldCommit()) {
+			event.tickerSymbol = tradingData.equityIdentity().tickerSymbol();
+			event.strategies = size;
+			event.tradingDays = tradingDayPrices.size();
+			event.commit();
+		}
+
+		for (int strategyId = 0; strategyId < size; strategyId++) {
+			notifyListeners(strategyId, SimulationState.COMPLETE);
+		}
+	}
+
+	/**
+	 * Adds the listener to the set of order event listeners of the strategy.
+	 * 
+	 * @param strategyId
+	 *            strategy whose order events the listener will receive.
+	 * @param listener
+	 *            will receive notification of order event occurrences.
+	 */
+	public void addListener( final int strategyId, final OrderEventListener listener ) {
+
+		orderEventListeners.get(strategyId).add(listener);
+	}
+
+	/**
+	 * Adds the listener to the set of state transition listeners of the strategy.
+	 * 
+	 * @param strategyId
+	 *            strategy whose state changes the listener will receive.
+	 * @param listener
+	 *            will receive notification of simulation state change occurrences.
+	 */
+	public void addListener( final int strategyId, final SimulationStateListener listener ) {
+
+		stateListeners.get(strategyId).add(listener);
+	}
+
+	/**
+	 * Processes any outstanding orders when their execution criteria and add any additional orders
+	 * based on the day's trading data.
+	 * 
+	 * @param tradingDataToday
+	 *            trading data for today.
+	 */
+	private void processTradingData( final int strategyId, final TradingDayPrices tradingDataToday ) {
+
+		// Attempt to execute the queued orders
+		processOutstandingOrders(strategyId, tradingDataToday);
+
+		// Apply analysis to generate more orders
+		addExitOrderForToday(strategyId, tradingDataToday);
+		addEntryOrderForToday(strategyId, tradingDataToday);
+	}
+
+	/**
+	 * Update the exit logic analysis, adding any order triggered by the day's trading data.
+	 * 
+	 * @param data
+	 *            todays trading data.
+	 */
+	private void addExitOrderForToday( final int strategyId, final TradingDayPrices data ) {
+
+		final Optional<EquityOrder> order = strategies[strategyId].exitTick(brokers[strategyId], data);
+
+		if (order.isPresent()) {
+			placeOrder(strategyId, order.get());
+		}
+	}
+
+	/**
+	 * Update the entry logic analysis, adding any order triggered by the day's trading data.
+	 * 
+	 * @param data
+	 *            todays trading data.
+	 */
+	private void addEntryOrderForToday( final int strategyId, final TradingDayPrices data ) {
+
+		final Optional<EquityOrder> order = strategies[strategyId]
+		        .entryTick(brokers[strategyId], funds[strategyId], data);
+
+		if (order.isPresent()) {
+			placeOrder(strategyId, order.get());
+		}
+	}
+
+	private void placeOrder( final int strategyId, final EquityOrder order ) {
+
+		if (hasOrderEventListeners(strategyId)) {
+			notifyListeners(strategyId, order.orderEvent());
+		}
+
+		orders[strategyId].add(order);
+	}
+
+	/**
+	 * Attempts to process the outstanding orders against today's price action, with the orders
+	 * not executed, as their conditions were not met, compacted in place at the front of the book.
+	 */
+	private void processOutstandingOrders( final int strategyId, final TradingDayPrices data ) {
+
+		final EquityOrderBook book = orders[strategyId];
+		int retained = 0;
+
+		for (int index = 0; index < book.size(); index++) {
+			final EquityOrder order = book.get(index);
+
+			if (order.isValid(data)) {
+				final EquityOrder processedOrder = processOutstandingValidOrder(strategyId, order, data);
+
+				// Keep the original / altered order to try again
+				if (processedOrder != null) {
+					book.set(retained++, processedOrder);
+				}
+			}
+		}
+
+		book.truncate(retained);
+	}
+
+	/**
+	 * Processes the order based on whether the execution criteria are met.
+	 * 
+	 * @return the order that may or may not have been executed.
+	 */
+	private EquityOrder processOutstandingValidOrder(
+	        final int strategyId,
+	        final EquityOrder order,
+	        final TradingDayPrices data ) {
+
+		if (order.areExecutionConditionsMet(data)) { return executeOrder(strategyId, order, data); }
+
+		return order;
+	}
+
+	/**
+	 * Attempt to execute the order.
+	 * 
+	 * @param order
+	 *            trade to execute.
+	 * @return <code>null</code> on success, or an order to re-attempt next cycle.
+	 * @throws OrderException
+	 */
+	private EquityOrder executeOrder( final int strategyId, final EquityOrder order, final TradingDayPrices data ) {
+
+		final Brokerage broker = brokers[strategyId];
+
+		try {
+			order.execute(broker, broker, funds[strategyId], data);
+
+			// Discard the order, as it's processed
+			return null;
+
+		} catch (final InsufficientFundsException e) {
+
+			final EquityOrderInsufficientFundsAction action = strategies[strategyId].actionOnInsufficentFunds(order);
+
+			switch (action) {
+				case DELETE:
+					// Discard the order
+					if (hasOrderEventListeners(strategyId)) {
+						notifyListeners(
+						        strategyId,
+						        new EquityOrderDeletedDueToInsufficentFundsEvent(order.orderEvent()));
+					}
+					return null;
+				case RESUMIT:
+				default:
+					throw new IllegalArgumentException(
+					        String.format(
+					                "Unsupported insufficient funds action: %s for order: %s using strategy: %s",
+					                action,
+					                order,
+					                strategies[strategyId]),
+					        e);
+			}
+		} catch (final InsufficientEquitiesException e) {
+			logExecutionException(e);
+			throw new IllegalArgumentException("Unhandled Order exception", e);
+		}
+	}
+
+	/**
+	 * Order events are only created when there is a listener to receive them.
+	 */
+	private boolean hasOrderEventListeners( final int strategyId ) {
+
+		return !orderEventListeners.get(strategyId).isEmpty();
+	}
+
+	private void notifyListeners( final int strategyId, final OrderEvent event ) {
+
+		orderEventListeners.get(strategyId).notify(event, OrderEventListener::event);
+	}
+
+	private void notifyListeners( final int strategyId, final SimulationState event ) {
+
+		stateListeners.get(strategyId).notify(event, SimulationStateListener::stateChanged);
+	}
+
+	private void logExecutionException( final InsufficientEquitiesException e ) {
+
+		LOG.error(e);
+	}
+}
@@ -27,8 +27,6 @@ package com.systematic.trading.simulation.analysis.networth;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
 
 import com.systematic.trading.model.price.TradingDayPrices;
 import com.systematic.trading.simulation.SimulationStateListener;
@@ -37,6 +35,7 @@ import com.systematic.trading.simulation.analysis.networth.event.NetWorthEvent.N
 import com.systematic.trading.simulation.analysis.networth.event.NetWorthEventListener;
 import com.systematic.trading.simulation.brokerage.Brokerage;
 import com.systematic.trading.simulation.cash.CashAccount;
+import com.systematic.trading.simulation.event.EventListeners;
 
 /**
  * Displays the the net worth.
@@ -46,7 +45,7 @@ import com.systematic.trading.simulation.cash.CashAccount;
 public class NetWorthSummaryEventGenerator implements SimulationStateListener {
 
 	/** Parties interested in receiving net worth events. */
-	private final List<NetWorthEventListener> listeners = new ArrayList<>();
+	private final EventListeners<NetWorthEventListener> listeners = new EventListeners<>();
 
 	private final Brokerage broker;
 	private final TradingDayPrices lastTradingDay;
@@ -65,6 +64,10 @@ public class NetWorthSummaryEventGenerator implements SimulationStateListener {
 	@Override
 	public void stateChanged( final SimulationState transitionedState ) {
 
+		if (listeners.isEmpty()) {
+			return;
+		}
+
 		final BigDecimal equityBalance = broker.equityBalance();
 		final BigDecimal lastClosingPrice = lastTradingDay.closingPrice().price();
 		final BigDecimal equityBalanceValue = equityBalance.multiply(lastClosingPrice);
@@ -81,9 +84,7 @@ public class NetWorthSummaryEventGenerator implements SimulationStateListener {
 		        eventDate,
 		        type);
 
-		for (final NetWorthEventListener listener : listeners) {
-			listener.event(event, transitionedState);
-		}
+		listeners.notify(event, ( listener, netWorth ) -> listener.event(netWorth, transitionedState));
 	}
 
 	/**
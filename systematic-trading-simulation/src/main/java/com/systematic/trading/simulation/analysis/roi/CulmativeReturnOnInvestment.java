@@ -28,8 +28,6 @@ package com.systematic.trading.simulation.analysis.roi;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.Period;
-import java.util.ArrayList;
-import java.util.List;
 
 import com.systematic.trading.maths.formula.Networth;
 import com.systematic.trading.model.price.TradingDayPrices;
@@ -40,19 +38,29 @@ import com.systematic.trading.simulation.brokerage.Brokerage;
 import com.systematic.trading.simulation.cash.CashAccount;
 import com.systematic.trading.simulation.cash.event.CashEvent;
 import com.systematic.trading.simulation.cash.event.CashEvent.CashEventType;
+import com.systematic.trading.simulation.event.EventListeners;
 
 /**
  * Calculates and records the return on investment (ROI) at periodic intervals.
+ * <p/>
+ * The ROI is only calculated while there are listeners, which are expected to be added before the
+ * first update.
  * 
  * @author CJ Hare
  */
 public class CulmativeReturnOnInvestment implements ReturnOnInvestmentListener {
 
 	/** Parties interested in ROI events. */
-	private final List<ReturnOnInvestmentEventListener> listeners = new ArrayList<>();
+	private final EventListeners<ReturnOnInvestmentEventListener> listeners = new EventListeners<>();
 
 	/** Net Worth as recorded on previous update. */
-	private Networth previousNetWorth;
+	private Networth previousNetWorth = new Networth();
+
+	/** Net Worth of the current update, swapped with the previous once the change is calculated. */
+	private Networth netWorth = new Networth();
+
+	/** Whether the previous net worth has been recorded. */
+	private boolean hasPreviousNetWorth;
 
 	/** Date of the last update on recording of net worth. */
 	private LocalDate previousDate;
@@ -63,6 +71,10 @@ public class CulmativeReturnOnInvestment implements ReturnOnInvestmentListener {
 	@Override
 	public void update( final Brokerage broker, final CashAccount cashAccount, final TradingDayPrices tradingData ) {
 
+		if (listeners.isEmpty()) {
+			return;
+		}
+
 		final BigDecimal percentageChange = percentageChangeInNetWorth(broker, cashAccount, tradingData);
 		final ReturnOnInvestmentEvent event = event(percentageChange, tradingData.date());
 
@@ -71,23 +83,19 @@ public class CulmativeReturnOnInvestment implements ReturnOnInvestmentListener {
 
 	private void notifyListeners( final ReturnOnInvestmentEvent event ) {
 
-		for (final ReturnOnInvestmentEventListener listener : listeners) {
-			listener.event(event);
-		}
+		listeners.notify(event, ReturnOnInvestmentEventListener::event);
 	}
 
 	@Override
 	public void addListener( final ReturnOnInvestmentEventListener listener ) {
 
-		if (!listeners.contains(listener)) {
-			listeners.add(listener);
-		}
+		listeners.add(listener);
 	}
 
 	@Override
 	public void event( final CashEvent cashEvent ) {
 
-		if (CashEventType.DEPOSIT == cashEvent.type()) {
+		if (CashEventType.DEPOSIT == cashEvent.type() && !listeners.isEmpty()) {
 			// Add the deposit to the running total
 			adjustment.add(cashEvent.amount());
 		}
@@ -116,21 +124,24 @@ public class CulmativeReturnOnInvestment implements ReturnOnInvestmentListener {
 	        final CashAccount cashAccount,
 	        final TradingDayPrices tradingData ) {
 
-		final Networth netWorth = new Networth();
+		netWorth.reset();
 		netWorth.addEquity(broker.equityBalance(), tradingData.closingPrice().price());
 		netWorth.add(cashAccount.balance());
 
 		final BigDecimal percentageChange;
 
 		// If there's no previous data, there's no change
-		if (previousNetWorth == null) {
-			percentageChange = BigDecimal.ZERO;
-		} else {
+		if (hasPreviousNetWorth) {
 			percentageChange = previousNetWorth.percentageChange(netWorth, adjustment);
+		} else {
+			percentageChange = BigDecimal.ZERO;
+			hasPreviousNetWorth = true;
 		}
 
-		// Reset the counters
+		// Reset the counters, reusing the previous instance for the next update
+		final Networth recycled = previousNetWorth;
 		previousNetWorth = netWorth;
+		netWorth = recycled;
 		adjustment.reset();
 
 		return percentageChange;
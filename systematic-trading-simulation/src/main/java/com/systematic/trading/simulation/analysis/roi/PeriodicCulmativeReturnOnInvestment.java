@@ -28,13 +28,12 @@ package com.systematic.trading.simulation.analysis.roi;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.Period;
-import java.util.ArrayList;
-import java.util.List;
 
 import com.systematic.trading.maths.formula.ReturnOnInvestment;
 import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEvent;
 import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEventImpl;
 import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEventListener;
+import com.systematic.trading.simulation.event.EventListeners;
 
 /**
  * Creates periodic cumulative ROI events.
@@ -44,7 +43,7 @@ import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEv
 public class PeriodicCulmativeReturnOnInvestment implements ReturnOnInvestmentEventListener {
 
 	/** Parties interested in ROI events. */
-	private final List<ReturnOnInvestmentEventListener> listeners = new ArrayList<>();
+	private final EventListeners<ReturnOnInvestmentEventListener> listeners = new EventListeners<>();
 
 	/** Aggregates the cumulative ROI for every summary period. */
 	private final Period summaryPeriod;
@@ -73,6 +72,11 @@ public class PeriodicCulmativeReturnOnInvestment implements ReturnOnInvestmentEv
 	@Override
 	public void event( final ReturnOnInvestmentEvent event ) {
 
+		// Without listeners there's no one to summarise the ROI for
+		if (listeners.isEmpty()) {
+			return;
+		}
+
 		final BigDecimal percentageChange = event.percentageChange();
 		date = event.endDateExclusive();
 		cumulativeROI.add(percentageChange);
@@ -90,15 +94,13 @@ public class PeriodicCulmativeReturnOnInvestment implements ReturnOnInvestmentEv
 	        final LocalDate exclusiveStartDate,
 	        final LocalDate inclusiveEndDate ) {
 
-		for (final ReturnOnInvestmentEventListener listener : listeners) {
-			listener.event(new ReturnOnInvestmentEventImpl(percentageChange, exclusiveStartDate, inclusiveEndDate));
-		}
+		listeners.notify(
+		        new ReturnOnInvestmentEventImpl(percentageChange, exclusiveStartDate, inclusiveEndDate),
+		        ReturnOnInvestmentEventListener::event);
 	}
 
 	public void addListener( final ReturnOnInvestmentEventListener listener ) {
 
-		if (!listeners.contains(listener)) {
-			listeners.add(listener);
-		}
+		listeners.add(listener);
 	}
 }
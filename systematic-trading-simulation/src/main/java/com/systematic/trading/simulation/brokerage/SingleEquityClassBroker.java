@@ -28,8 +28,6 @@ package com.systematic.trading.simulation.brokerage;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
 
 import com.systematic.trading.model.equity.EquityIdentity;
 import com.systematic.trading.model.price.Price;
@@ -45,6 +43,7 @@ import com.systematic.trading.simulation.equity.event.EquityEvent.EquityEventTyp
 import com.systematic.trading.simulation.equity.event.EquityEventListener;
 import com.systematic.trading.simulation.equity.event.SingleEquityEvent;
 import com.systematic.trading.simulation.equity.fee.EquityManagementFeeStructure;
+import com.systematic.trading.simulation.event.EventListeners;
 import com.systematic.trading.simulation.order.EquityOrderVolume;
 
 /**
@@ -76,10 +75,10 @@ public class SingleEquityClassBroker implements Brokerage {
 	private final MonthlyRollingCounter monthlyTradeCounter;
 
 	/** Parties interested in listening to brokerage events. */
-	private final List<BrokerageEventListener> brokerageListeners = new ArrayList<>();
+	private final EventListeners<BrokerageEventListener> brokerageListeners = new EventListeners<>();
 
 	/** Parties interested in listening to equity events. */
-	private final List<EquityEventListener> equityListeners = new ArrayList<>();
+	private final EventListeners<EquityEventListener> equityListeners = new EventListeners<>();
 
 	/** Identifier for the broker. */
 	private final String brokerName;
@@ -112,15 +111,17 @@ public class SingleEquityClassBroker implements Brokerage {
 		equityBalance = equityBalance.add(volume.volume(), MATH_CONTEXT);
 
 		// Record of the buy transaction
-		notifyListeners(
-		        new BrokerageAccountEvent(
-		                startingEquityBalance,
-		                equityBalance,
-		                volume.volume(),
-		                BrokerageAccountEventType.BUY,
-		                tradeDate,
-		                tradeValue,
-		                tradeFee));
+		if (!brokerageListeners.isEmpty()) {
+			notifyListeners(
+			        new BrokerageAccountEvent(
+			                startingEquityBalance,
+			                equityBalance,
+			                volume.volume(),
+			                BrokerageAccountEventType.BUY,
+			                tradeDate,
+			                tradeValue,
+			                tradeFee));
+		}
 	}
 
 	@Override
@@ -137,15 +138,17 @@ public class SingleEquityClassBroker implements Brokerage {
 		final BigDecimal tradeFee = transactionFee.cost(tradeValue, tradesThisMonth);
 
 		// Record of the sell transaction
-		notifyListeners(
-		        new BrokerageAccountEvent(
-		                startingEquityBalance,
-		                equityBalance,
-		                volume.volume(),
-		                BrokerageAccountEventType.SELL,
-		                tradeDate,
-		                tradeValue,
-		                tradeFee));
+		if (!brokerageListeners.isEmpty()) {
+			notifyListeners(
+			        new BrokerageAccountEvent(
+			                startingEquityBalance,
+			                equityBalance,
+			                volume.volume(),
+			                BrokerageAccountEventType.SELL,
+			                tradeDate,
+			                tradeValue,
+			                tradeFee));
+		}
 
 		return tradeValue.subtract(tradeFee, MATH_CONTEXT);
 	}
@@ -175,17 +178,13 @@ public class SingleEquityClassBroker implements Brokerage {
 	@Override
 	public void addListener( final BrokerageEventListener listener ) {
 
-		if (!brokerageListeners.contains(listener)) {
-			brokerageListeners.add(listener);
-		}
+		brokerageListeners.add(listener);
 	}
 
 	@Override
 	public void addListener( final EquityEventListener listener ) {
 
-		if (!equityListeners.contains(listener)) {
-			equityListeners.add(listener);
-		}
+		equityListeners.add(listener);
 	}
 
 	@Override
@@ -199,8 +198,6 @@ public class SingleEquityClassBroker implements Brokerage {
 		if (BigDecimal.ZERO.compareTo(feeInEquities) != 0) {
 
 			final BigDecimal startingEquityBalance = equityBalance;
-			final BigDecimal transactionValue = tradingData.closingPrice().price()
-			        .multiply(feeInEquities, MATH_CONTEXT);
 
 			// Erode the original equity balance with the management fee
 			equityBalance = equityBalance.subtract(feeInEquities, MATH_CONTEXT);
@@ -208,15 +205,20 @@ public class SingleEquityClassBroker implements Brokerage {
 			lastManagementFee = equityManagementFee.lastManagementFeeDate(tradingDate);
 
 			// TODO maybe a separate equity object to manage the events: fees / dividends / splits
-			notifyListeners(
-			        new SingleEquityEvent(
-			                equity,
-			                startingEquityBalance,
-			                equityBalance,
-			                feeInEquities,
-			                EquityEventType.MANAGEMENT_FEE,
-			                tradingDate,
-			                transactionValue));
+			if (!equityListeners.isEmpty()) {
+				final BigDecimal transactionValue = tradingData.closingPrice().price()
+				        .multiply(feeInEquities, MATH_CONTEXT);
+
+				notifyListeners(
+				        new SingleEquityEvent(
+				                equity,
+				                startingEquityBalance,
+				                equityBalance,
+				                feeInEquities,
+				                EquityEventType.MANAGEMENT_FEE,
+				                tradingDate,
+				                transactionValue));
+			}
 		}
 	}
 
@@ -228,15 +230,11 @@ public class SingleEquityClassBroker implements Brokerage {
 
 	private void notifyListeners( final BrokerageEvent event ) {
 
-		for (final BrokerageEventListener listener : brokerageListeners) {
-			listener.event(event);
-		}
+		brokerageListeners.notify(event, BrokerageEventListener::event);
 	}
 
 	private void notifyListeners( final EquityEvent event ) {
 
-		for (final EquityEventListener listener : equityListeners) {
-			listener.event(event);
-		}
+		equityListeners.notify(event, EquityEventListener::event);
 	}
 }
@@ -29,14 +29,13 @@ import java.math.BigDecimal;
 import java.math.MathContext;
 import java.time.LocalDate;
 import java.time.Period;
-import java.util.ArrayList;
-import java.util.List;
 
 import com.systematic.trading.simulation.cash.event.CashAccountEvent;
 import com.systematic.trading.simulation.cash.event.CashEvent;
 import com.systematic.trading.simulation.cash.event.CashEvent.CashEventType;
 import com.systematic.trading.simulation.cash.event.CashEventListener;
 import com.systematic.trading.simulation.cash.exception.InsufficientFundsException;
+import com.systematic.trading.simulation.event.EventListeners;
 
 /**
  * Flat interest rates calculated daily, paid monthly.
@@ -61,7 +60,7 @@ public class CalculatedDailyPaidMonthlyCashAccount implements CashAccount {
 	private final MathContext mathContext;
 
 	/** Parties interested in the account events. */
-	private final List<CashEventListener> listeners = new ArrayList<>();
+	private final EventListeners<CashEventListener> listeners = new EventListeners<>();
 
 	/**
 	 * @param rate
@@ -122,7 +121,9 @@ public class CalculatedDailyPaidMonthlyCashAccount implements CashAccount {
 		funds = funds.subtract(debit);
 
 		// Record the debit transaction
-		notifyListeners(new CashAccountEvent(fundsBefore, funds, debit, CashEventType.DEBIT, transactionDate));
+		if (hasListeners()) {
+			notifyListeners(new CashAccountEvent(fundsBefore, funds, debit, CashEventType.DEBIT, transactionDate));
+		}
 	}
 
 	@Override
@@ -133,7 +134,9 @@ public class CalculatedDailyPaidMonthlyCashAccount implements CashAccount {
 		funds = funds.add(credit);
 
 		// Record the credit transaction
-		notifyListeners(new CashAccountEvent(fundsBefore, funds, credit, CashEventType.CREDIT, transactionDate));
+		if (hasListeners()) {
+			notifyListeners(new CashAccountEvent(fundsBefore, funds, credit, CashEventType.CREDIT, transactionDate));
+		}
 	}
 
 	@Override
@@ -151,22 +154,29 @@ public class CalculatedDailyPaidMonthlyCashAccount implements CashAccount {
 		funds = funds.add(deposit);
 
 		// Record the credit transaction
-		notifyListeners(new CashAccountEvent(fundsBefore, funds, deposit, CashEventType.DEPOSIT, transactionDate));
+		if (hasListeners()) {
+			notifyListeners(
+			        new CashAccountEvent(fundsBefore, funds, deposit, CashEventType.DEPOSIT, transactionDate));
+		}
 	}
 
 	@Override
 	public void addListener( final CashEventListener listener ) {
 
-		if (!listeners.contains(listener)) {
-			listeners.add(listener);
-		}
+		listeners.add(listener);
+	}
+
+	/**
+	 * Events are only created when there is a listener to receive them.
+	 */
+	private boolean hasListeners() {
+
+		return !listeners.isEmpty();
 	}
 
 	private void notifyListeners( final CashEvent event ) {
 
-		for (final CashEventListener listener : listeners) {
-			listener.event(event);
-		}
+		listeners.notify(event, CashEventListener::event);
 	}
 
 	private LocalDate applyFullMonthInterest( final LocalDate last ) {
@@ -186,8 +196,10 @@ public class CalculatedDailyPaidMonthlyCashAccount implements CashAccount {
 		firstDayOfNextMonth = firstDayOfNextMonth.plus(Period.ofMonths(1));
 
 		// Record the credit transaction
-		notifyListeners(
-		        new CashAccountEvent(fundsBefore, funds, interest, CashEventType.INTEREST, firstDayOfNextMonth));
+		if (hasListeners()) {
+			notifyListeners(
+			        new CashAccountEvent(fundsBefore, funds, interest, CashEventType.INTEREST, firstDayOfNextMonth));
+		}
 
 		return firstDayOfNextMonth;
 	}
@@ -0,0 +1,375 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.simulation.cash;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.temporal.ChronoUnit;
+
+import com.systematic.trading.simulation.cash.event.CashAccountEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent;
+import com.systematic.trading.simulation.cash.event.CashEvent.CashEventType;
+import com.systematic.trading.simulation.cash.event.CashEventListener;
+import com.systematic.trading.simulation.cash.exception.InsufficientFundsException;
+import com.systematic.trading.simulation.event.EventListeners;
+
+/**
+ * Flat interest rates calculated daily, paid monthly, with optional regular deposits.
+ * <p/>
+ * Work is only performed on the days of the calendar when something changes: an interest payment,
+ * a deposit or a transaction altering the funds. The daily interest between those days is
+ * accumulated in closed form, giving the same amounts as crediting
+ * <code>CalculatedDailyPaidMonthlyCashAccount</code> decorated with
+ * <code>RegularDepositCashAccountDecorator</code> when updated every calendar day.
+ * 
+ * @author CJ Hare
+ */
+public class EventCalendarCashAccount implements CashAccount {
+
+	/** Rate applied to the funds on a daily basis. */
+	private final InterestRate rate;
+
+	/** Scale and precision to apply to mathematical operations. */
+	private final MathContext mathContext;
+
+	/** Amount to deposit into the account each time. */
+	private final BigDecimal depositAmount;
+
+	/** Time between deposit events. */
+	private final Period depositInterval;
+
+	/** The current available balance. */
+	private BigDecimal funds;
+
+	/** Interest awarded, yet to be realised (paid out). */
+	private BigDecimal escrow;
+
+	/** Last date included in the interest calculations. */
+	private LocalDate accruedTo;
+
+	/** Date for the next payment of interest, the first day of a month. */
+	private LocalDate nextInterestPayment;
+
+	/** Date for the next deposit. */
+	private LocalDate nextDeposit;
+
+	/** Earliest of the next interest payment or deposit. */
+	private LocalDate nextEvent;
+
+	/** Most recent date given as an update. */
+	private LocalDate latestUpdate;
+
+	/** Parties interested in the account events. */
+	private final EventListeners<CashEventListener> listeners = new EventListeners<>();
+
+	/**
+	 * @param rate
+	 *            calculated daily to the funds and paid monthly, cannot be <code>null</code>.
+	 * @param openingFunds
+	 *            starting balance for the account, cannot be <code>null</code>.
+	 * @param openingDate
+	 *            date to start calculating interest from, cannot be <code>null</code>.
+	 * @param mathContext
+	 *            math context defining the scale and precision to apply to operations.
+	 */
+	public EventCalendarCashAccount(
+	        final InterestRate rate,
+	        final BigDecimal openingFunds,
+	        final LocalDate openingDate,
+	        final MathContext mathContext ) {
+
+		this(rate, openingFunds, openingDate, mathContext, BigDecimal.ZERO, LocalDate.MAX, Period.ZERO);
+	}
+
+	/**
+	 * @param rate
+	 *            calculated daily to the funds and paid monthly, cannot be <code>null</code>.
+	 * @param openingFunds
+	 *            starting balance for the account, cannot be <code>null</code>.
+	 * @param openingDate
+	 *            date to start calculating interest from, cannot be <code>null</code>.
+	 * @param mathContext
+	 *            math context defining the scale and precision to apply to operations.
+	 * @param depositAmount
+	 *            size of each deposit.
+	 * @param firstDeposit
+	 *            date for the first deposit.
+	 * @param depositInterval
+	 *            time between deposit events.
+	 */
+	public EventCalendarCashAccount(
+	        final InterestRate rate,
+	        final BigDecimal openingFunds,
+	        final LocalDate openingDate,
+	        final MathContext mathContext,
+	        final BigDecimal depositAmount,
+	        final LocalDate firstDeposit,
+	        final Period depositInterval ) {
+
+		this.rate = rate;
+		this.funds = openingFunds;
+		this.escrow = BigDecimal.ZERO;
+		this.mathContext = mathContext;
+		this.depositAmount = depositAmount;
+		this.depositInterval = depositInterval;
+
+		this.accruedTo = openingDate;
+		this.latestUpdate = openingDate;
+		this.nextInterestPayment = openingDate.withDayOfMonth(1).plusMonths(1);
+		this.nextDeposit = firstDeposit;
+		this.nextEvent = earliest(nextInterestPayment, nextDeposit);
+	}
+
+	@Override
+	public void update( final LocalDate tradingDate ) {
+
+		if (tradingDate.isAfter(latestUpdate)) {
+			latestUpdate = tradingDate;
+		}
+
+		// Nothing changes on the days between events
+		if (tradingDate.isBefore(nextEvent)) {
+			return;
+		}
+
+		if (!tradingDate.isBefore(nextDeposit)) {
+
+			// Deposits are made before the day's interest is calculated
+			accrue(tradingDate.minusDays(1));
+
+			while (!nextDeposit.isAfter(tradingDate)) {
+				addDeposit(depositAmount, tradingDate);
+				nextDeposit = nextDeposit.plus(depositInterval);
+			}
+		}
+
+		accrue(tradingDate);
+
+		nextEvent = earliest(nextInterestPayment, nextDeposit);
+	}
+
+	@Override
+	public void debit( final BigDecimal debit, final LocalDate transactionDate ) throws InsufficientFundsException {
+
+		if (funds.compareTo(debit) < 0) {
+			throw new InsufficientFundsException(String.format("Attempting to debit %s from only %s", debit, funds));
+		}
+
+		// Interest up until today was on the funds before the debit
+		accrue(latestUpdate);
+
+		final BigDecimal fundsBefore = funds;
+
+		funds = funds.subtract(debit);
+
+		// Record the debit transaction
+		if (hasListeners()) {
+			notifyListeners(new CashAccountEvent(fundsBefore, funds, debit, CashEventType.DEBIT, transactionDate));
+		}
+	}
+
+	@Override
+	public void credit( final BigDecimal credit, final LocalDate transactionDate ) {
+
+		// Interest up until today was on the funds before the credit
+		accrue(latestUpdate);
+
+		final BigDecimal fundsBefore = funds;
+
+		funds = funds.add(credit);
+
+		// Record the credit transaction
+		if (hasListeners()) {
+			notifyListeners(new CashAccountEvent(fundsBefore, funds, credit, CashEventType.CREDIT, transactionDate));
+		}
+	}
+
+	@Override
+	public BigDecimal balance() {
+
+		// Only available funds count, not those in escrow
+		return funds;
+	}
+
+	@Override
+	public void deposit( final BigDecimal deposit, final LocalDate transactionDate ) {
+
+		// Interest up until today was on the funds before the deposit
+		accrue(latestUpdate);
+
+		addDeposit(deposit, transactionDate);
+	}
+
+	@Override
+	public void addListener( final CashEventListener listener ) {
+
+		listeners.add(listener);
+	}
+
+	private void addDeposit( final BigDecimal deposit, final LocalDate transactionDate ) {
+
+		final BigDecimal fundsBefore = funds;
+
+		funds = funds.add(deposit);
+
+		// Record the credit transaction
+		if (hasListeners()) {
+			notifyListeners(
+			        new CashAccountEvent(fundsBefore, funds, deposit, CashEventType.DEPOSIT, transactionDate));
+		}
+	}
+
+	/**
+	 * Brings the interest calculations up to and including the given date, paying the interest on
+	 * reaching the first day of each month.
+	 */
+	private void accrue( final LocalDate date ) {
+
+		while (accruedTo.isBefore(date)) {
+
+			// Days of interest remaining in the month, the final day is paid along with the escrow
+			final LocalDate lastDayOfMonth = nextInterestPayment.minusDays(1);
+			final LocalDate escrowedTo = date.isBefore(lastDayOfMonth) ? date : lastDayOfMonth;
+			final long daysInterest = ChronoUnit.DAYS.between(accruedTo, escrowedTo);
+
+			if (daysInterest > 0) {
+				escrow = accumulate(escrow, rate.interest(funds, 1, accruedTo.isLeapYear()), daysInterest);
+				accruedTo = escrowedTo;
+			}
+
+			if (accruedTo.isBefore(date)) {
+				payInterest();
+			}
+		}
+	}
+
+	private void payInterest() {
+
+		// Calculate and pay the interest
+		final BigDecimal fundsBefore = funds;
+		final BigDecimal interest = rate.interest(funds, 1, accruedTo.isLeapYear()).add(escrow, mathContext);
+		funds = funds.add(interest, mathContext);
+		escrow = BigDecimal.ZERO;
+
+		// Record the credit transaction
+		if (hasListeners()) {
+			notifyListeners(
+			        new CashAccountEvent(fundsBefore, funds, interest, CashEventType.INTEREST, nextInterestPayment));
+		}
+
+		accruedTo = nextInterestPayment;
+		nextInterestPayment = nextInterestPayment.plusMonths(1);
+	}
+
+	/**
+	 * Equivalent of adding the addend to the total, rounding each time with the math context, the
+	 * given number of times.
+	 * <p/>
+	 * While the total remains within the same power of ten, every rounded addition increases the
+	 * total by the addend rounded to the total's unit of last place. Those additions are applied
+	 * together, one multiplication for each power of ten crossed.
+	 */
+	private BigDecimal accumulate( final BigDecimal total, final BigDecimal addend, final long times ) {
+
+		final int precision = mathContext.getPrecision();
+
+		if (precision == 0) {
+			return total.add(addend.multiply(BigDecimal.valueOf(times)));
+		}
+
+		if (addend.signum() == 0) {
+			return total.add(addend, mathContext);
+		}
+
+		BigDecimal accumulated = total;
+		long remaining = times;
+
+		while (remaining > 0) {
+			final BigDecimal sum = accumulated.add(addend);
+			final int exponent = sum.precision() - sum.scale() - 1;
+			final BigDecimal ulp = BigDecimal.ONE.scaleByPowerOfTen(exponent - precision + 1);
+			final BigDecimal step = addend.setScale(ulp.scale(), mathContext.getRoundingMode());
+
+			if (addend.signum() < 0 || accumulated.signum() < 0 || !isMultiple(accumulated, ulp)
+			        || isTie(addend, ulp)) {
+				// Outside the closed form, a single rounded addition
+				accumulated = accumulated.add(addend, mathContext);
+				remaining--;
+
+			} else if (step.signum() == 0) {
+				// Addend too small to ever change the total
+				remaining = 0;
+
+			} else {
+				// Additions before the total reaches the next power of ten
+				final BigDecimal room = BigDecimal.ONE.scaleByPowerOfTen(exponent + 1).subtract(sum);
+				final long additions = Math.min(
+				        remaining,
+				        room.divide(step, 0, RoundingMode.CEILING).longValueExact());
+
+				accumulated = accumulated.add(step.multiply(BigDecimal.valueOf(additions)));
+				remaining -= additions;
+			}
+		}
+
+		return accumulated;
+	}
+
+	private boolean isMultiple( final BigDecimal value, final BigDecimal ulp ) {
+
+		return value.remainder(ulp).signum() == 0;
+	}
+
+	/**
+	 * With a remainder of exactly half, the rounding may depend on the total being added to.
+	 */
+	private boolean isTie( final BigDecimal addend, final BigDecimal ulp ) {
+
+		final BigDecimal remainder = addend.remainder(ulp);
+		return remainder.add(remainder).compareTo(ulp) == 0;
+	}
+
+	private LocalDate earliest( final LocalDate first, final LocalDate second ) {
+
+		return first.isBefore(second) ? first : second;
+	}
+
+	/**
+	 * Events are only created when there is a listener to receive them.
+	 */
+	private boolean hasListeners() {
+
+		return !listeners.isEmpty();
+	}
+
+	private void notifyListeners( final CashEvent event ) {
+
+		listeners.notify(event, CashEventListener::event);
+	}
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.simulation.order;
+
+import java.util.Arrays;
+
+/**
+ * Outstanding orders of a single simulation, held in a reusable array.
+ * <p/>
+ * Orders are processed in place, with those retained being compacted towards the front of the
+ * array, so a simulation without orders allocates nothing on each trading day.
+ * 
+ * @author CJ Hare
+ */
+public class EquityOrderBook {
+
+	/** Orders held before the array is first grown. */
+	private static final int INITIAL_CAPACITY = 4;
+
+	/** Orders in the sequence they were placed, followed by unused slots. */
+	private EquityOrder[] orders = new EquityOrder[INITIAL_CAPACITY];
+
+	/** Number of orders in the book. */
+	private int size;
+
+	public void add( final EquityOrder order ) {
+
+		if (size == orders.length) {
+			orders = Arrays.copyOf(orders, size << 1);
+		}
+
+		orders[size++] = order;
+	}
+
+	public boolean isEmpty() {
+
+		return size == 0;
+	}
+
+	public int size() {
+
+		return size;
+	}
+
+	public EquityOrder get( final int index ) {
+
+		return orders[index];
+	}
+
+	/**
+	 * Keeps only the first orders of the book, releasing the remainder.
+	 * 
+	 * @param retained
+	 *            number of orders to keep, those previously moved into position with
+	 *            <code>set</code>.
+	 */
+	public void truncate( final int retained ) {
+
+		for (int index = retained; index < size; index++) {
+			orders[index] = null;
+		}
+
+		size = retained;
+	}
+
+	/**
+	 * Replaces the order at the index, used when compacting the book during processing.
+	 */
+	public void set( final int index, final EquityOrder order ) {
+
+		orders[index] = order;
+	}
+}
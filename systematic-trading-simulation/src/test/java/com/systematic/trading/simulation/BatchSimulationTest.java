@@ -0,0 +1,479 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import com.systematic.trading.model.TickerSymbolTradingData;
+import com.systematic.trading.model.equity.EquityIdentity;
+import com.systematic.trading.model.price.Price;
+import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.model.price.impl.TradingDayPricesImpl;
+import com.systematic.trading.simulation.SimulationStateListener.SimulationState;
+import com.systematic.trading.simulation.analysis.roi.ReturnOnInvestmentListener;
+import com.systematic.trading.simulation.analysis.roi.event.ReturnOnInvestmentEventListener;
+import com.systematic.trading.simulation.brokerage.Brokerage;
+import com.systematic.trading.simulation.brokerage.BrokerageTransaction;
+import com.systematic.trading.simulation.brokerage.BrokerageTransactionFee;
+import com.systematic.trading.simulation.brokerage.event.BrokerageEventListener;
+import com.systematic.trading.simulation.cash.CashAccount;
+import com.systematic.trading.simulation.cash.event.CashEvent;
+import com.systematic.trading.simulation.cash.event.CashEventListener;
+import com.systematic.trading.simulation.equity.event.EquityEventListener;
+import com.systematic.trading.simulation.jfr.SimulationRunEvent;
+import com.systematic.trading.simulation.order.EquityOrder;
+import com.systematic.trading.simulation.order.EquityOrderInsufficientFundsAction;
+import com.systematic.trading.simulation.order.EquityOrderVolume;
+import com.systematic.trading.simulation.order.event.OrderEvent;
+import com.systematic.trading.simulation.order.event.OrderEventListener;
+import com.systematic.trading.strategy.Strategy;
+
+/**
+ * Verifying the lock-step behaviour of the BatchSimulation.
+ * 
+ * @author CJ Hare
+ */
+public class BatchSimulationTest {
+
+	private static final LocalDate FIRST_DAY = LocalDate.of(2018, 1, 1);
+
+	private TradingDayPrices firstDay;
+	private TradingDayPrices thirdDay;
+
+	/** Simulation instance being tested. */
+	private BatchSimulation simulation;
+
+	@Before
+	public void setUp() {
+
+		firstDay = prices(FIRST_DAY);
+		thirdDay = prices(FIRST_DAY.plusDays(2));
+
+		// Second day has no trading, fourth day is the exclusive end
+		simulation = new BatchSimulation(
+		        new TradingData(Arrays.asList(firstDay, thirdDay, prices(FIRST_DAY.plusDays(3)))),
+		        2);
+	}
+
+	@Test
+	public void lockStep() {
+
+		final RecordingStrategy firstStrategy = new RecordingStrategy();
+		final RecordingCashAccount firstCash = new RecordingCashAccount();
+		final RecordingStrategy secondStrategy = new RecordingStrategy();
+		final RecordingCashAccount secondCash = new RecordingCashAccount();
+		simulation.add(new RecordingBrokerage(), firstCash, new RecordingReturnOnInvestment(), firstStrategy);
+		simulation.add(new RecordingBrokerage(), secondCash, new RecordingReturnOnInvestment(), secondStrategy);
+
+		simulation.run();
+
+		verifyCashUpdates(firstCash);
+		verifyCashUpdates(secondCash);
+		verifyTradingDays(firstStrategy);
+		verifyTradingDays(secondStrategy);
+	}
+
+	@Test
+	public void stateChangePerStrategy() {
+
+		final int firstId = add();
+		final int secondId = add();
+		final List<SimulationState> firstStates = new ArrayList<>();
+		final List<SimulationState> secondStates = new ArrayList<>();
+		simulation.addListener(firstId, (SimulationStateListener) firstStates::add);
+		simulation.addListener(secondId, (SimulationStateListener) secondStates::add);
+
+		simulation.run();
+
+		assertEquals(Collections.singletonList(SimulationState.COMPLETE), firstStates);
+		assertEquals(Collections.singletonList(SimulationState.COMPLETE), secondStates);
+	}
+
+	@Test
+	public void orderEventOnlyWithListener() {
+
+		final StubOrder order = new StubOrder();
+		simulation.add(
+		        new RecordingBrokerage(),
+		        new RecordingCashAccount(),
+		        new RecordingReturnOnInvestment(),
+		        new RecordingStrategy(order));
+
+		simulation.run();
+
+		assertEquals(1, order.executions);
+		assertEquals(0, order.events);
+	}
+
+	@Test
+	public void orderEventWithListener() {
+
+		final StubOrder order = new StubOrder();
+		final int strategyId = simulation.add(
+		        new RecordingBrokerage(),
+		        new RecordingCashAccount(),
+		        new RecordingReturnOnInvestment(),
+		        new RecordingStrategy(order));
+		final List<OrderEvent> events = new ArrayList<>();
+		simulation.addListener(strategyId, (OrderEventListener) events::add);
+
+		simulation.run();
+
+		assertEquals(1, order.executions);
+		assertEquals(1, order.events);
+		assertEquals(1, events.size());
+	}
+
+	@Test
+	public void flightRecorderEvent() throws IOException {
+
+		add();
+		add();
+		final Path dump = Files.createTempFile("simulation", ".jfr");
+
+		try (final Recording recording = new Recording()) {
+			recording.enable(SimulationRunEvent.NAME).withThreshold(Duration.ZERO);
+			recording.start();
+
+			simulation.run();
+
+			recording.stop();
+			recording.dump(dump);
+
+			final List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+
+			assertEquals(1, events.size());
+			assertEquals("TEST", events.get(0).getString("tickerSymbol"));
+			assertEquals(2, events.get(0).getInt("strategies"));
+			assertEquals(3, events.get(0).getInt("tradingDays"));
+		} finally {
+			Files.delete(dump);
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void capacityExceeded() {
+
+		add();
+		add();
+		add();
+	}
+
+	private int add() {
+
+		return simulation.add(
+		        new RecordingBrokerage(),
+		        new RecordingCashAccount(),
+		        new RecordingReturnOnInvestment(),
+		        new RecordingStrategy());
+	}
+
+	private void verifyCashUpdates( final RecordingCashAccount cash ) {
+
+		assertEquals(Arrays.asList(FIRST_DAY, FIRST_DAY.plusDays(1), FIRST_DAY.plusDays(2)), cash.updates);
+	}
+
+	private void verifyTradingDays( final RecordingStrategy strategy ) {
+
+		assertEquals(2, strategy.entryTicks.size());
+		assertSame(firstDay, strategy.entryTicks.get(0));
+		assertSame(thirdDay, strategy.entryTicks.get(1));
+	}
+
+	private TradingDayPrices prices( final LocalDate date ) {
+
+		return new TradingDayPricesImpl("TEST", date, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE);
+	}
+
+	private static class TradingData implements TickerSymbolTradingData {
+
+		private final Map<LocalDate, TradingDayPrices> prices = new HashMap<>();
+		private final LocalDate earliest;
+		private final LocalDate latest;
+
+		TradingData( final List<TradingDayPrices> prices ) {
+
+			prices.forEach(price -> this.prices.put(price.date(), price));
+			this.earliest = prices.get(0).date();
+			this.latest = prices.get(prices.size() - 1).date();
+		}
+
+		@Override
+		public EquityIdentity equityIdentity() {
+
+			return new EquityIdentity("TEST", 0);
+		}
+
+		@Override
+		public LocalDate earliestDate() {
+
+			return earliest;
+		}
+
+		@Override
+		public LocalDate latestDate() {
+
+			return latest;
+		}
+
+		@Override
+		public int requiredTradingPrices() {
+
+			return prices.size();
+		}
+
+		@Override
+		public Map<LocalDate, TradingDayPrices> tradingPrices() {
+
+			return prices;
+		}
+	}
+
+	private static class RecordingStrategy implements Strategy {
+
+		private final List<TradingDayPrices> entryTicks = new ArrayList<>();
+
+		/** Order placed on the first entry tick, when present. */
+		private EquityOrder order;
+
+		RecordingStrategy() {
+
+			this(null);
+		}
+
+		RecordingStrategy( final EquityOrder order ) {
+
+			this.order = order;
+		}
+
+		@Override
+		public Period warmUpPeriod() {
+
+			return Period.ZERO;
+		}
+
+		@Override
+		public Optional<EquityOrder> entryTick(
+		        final BrokerageTransactionFee fees,
+		        final CashAccount cashAccount,
+		        final TradingDayPrices data ) {
+
+			entryTicks.add(data);
+			final Optional<EquityOrder> placed = Optional.ofNullable(order);
+			order = null;
+			return placed;
+		}
+
+		@Override
+		public EquityOrderInsufficientFundsAction actionOnInsufficentFunds( final EquityOrder order ) {
+
+			return EquityOrderInsufficientFundsAction.DELETE;
+		}
+
+		@Override
+		public Optional<EquityOrder> exitTick( final BrokerageTransaction broker, final TradingDayPrices data ) {
+
+			return Optional.empty();
+		}
+	}
+
+	private static class StubOrder implements EquityOrder {
+
+		private int executions;
+		private int events;
+
+		@Override
+		public boolean isValid( final TradingDayPrices todaysTrading ) {
+
+			return true;
+		}
+
+		@Override
+		public boolean areExecutionConditionsMet( final TradingDayPrices todaysTrading ) {
+
+			return true;
+		}
+
+		@Override
+		public void execute(
+		        final BrokerageTransactionFee fees,
+		        final BrokerageTransaction broker,
+		        final CashAccount cashAccount,
+		        final TradingDayPrices todaysTrading ) {
+
+			executions++;
+		}
+
+		@Override
+		public OrderEvent orderEvent() {
+
+			events++;
+			return null;
+		}
+	}
+
+	private static class RecordingCashAccount implements CashAccount {
+
+		private final List<LocalDate> updates = new ArrayList<>();
+
+		@Override
+		public void update( final LocalDate tradingDate ) {
+
+			updates.add(tradingDate);
+		}
+
+		@Override
+		public void debit( final BigDecimal debitAmount, final LocalDate transactionDate ) {
+
+			// Balance is not required
+		}
+
+		@Override
+		public void credit( final BigDecimal creditAmount, final LocalDate transactionDate ) {
+
+			// Balance is not required
+		}
+
+		@Override
+		public void deposit( final BigDecimal depositAmount, final LocalDate transactionDate ) {
+
+			// Balance is not required
+		}
+
+		@Override
+		public BigDecimal balance() {
+
+			return BigDecimal.ZERO;
+		}
+
+		@Override
+		public void addListener( final CashEventListener listener ) {
+
+			// Events are not required
+		}
+	}
+
+	private static class RecordingBrokerage implements Brokerage {
+
+		@Override
+		public BigDecimal equityBalance() {
+
+			return BigDecimal.ZERO;
+		}
+
+		@Override
+		public BigDecimal cost( final Price price, final EquityOrderVolume volume, final LocalDate tradeDate ) {
+
+			return BigDecimal.ZERO;
+		}
+
+		@Override
+		public void buy( final Price price, final EquityOrderVolume volume, final LocalDate tradeDate ) {
+
+			// Balance is not required
+		}
+
+		@Override
+		public BigDecimal sell( final Price price, final EquityOrderVolume volume, final LocalDate tradeDate ) {
+
+			return BigDecimal.ZERO;
+		}
+
+		@Override
+		public BigDecimal cost( final BigDecimal tradeValue, final LocalDate tradeDate ) {
+
+			return BigDecimal.ZERO;
+		}
+
+		@Override
+		public void update( final TradingDayPrices tradingData ) {
+
+			// Fees are not required
+		}
+
+		@Override
+		public void addListener( final BrokerageEventListener listener ) {
+
+			// Events are not required
+		}
+
+		@Override
+		public void addListener( final EquityEventListener listener ) {
+
+			// Events are not required
+		}
+
+		@Override
+		public String name() {
+
+			return "Recording";
+		}
+	}
+
+	private static class RecordingReturnOnInvestment implements ReturnOnInvestmentListener {
+
+		@Override
+		public void event( final CashEvent event ) {
+
+			// Events are not required
+		}
+
+		@Override
+		public void update( final Brokerage broker, final CashAccount cashAccount, final TradingDayPrices tradingData ) {
+
+			// Return on investment is not required
+		}
+
+		@Override
+		public void addListener( final ReturnOnInvestmentEventListener listener ) {
+
+			// Events are not required
+		}
+	}
+}
@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.simulation.cash;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.systematic.trading.simulation.cash.event.CashEvent;
+import com.systematic.trading.simulation.cash.event.CashEventListener;
+import com.systematic.trading.simulation.cash.exception.InsufficientFundsException;
+
+/**
+ * Verifying the EventCalendarCashAccount credits the same amounts as the daily calculated account
+ * with regular deposits.
+ * 
+ * @author CJ Hare
+ */
+public class EventCalendarCashAccountTest {
+
+	private static final MathContext MATH_CONTEXT = MathContext.DECIMAL32;
+	private static final LocalDate OPENING_DATE = LocalDate.of(2015, 3, 15);
+	private static final LocalDate CLOSING_DATE = LocalDate.of(2017, 2, 3);
+	private static final Period WEEKLY = Period.ofWeeks(1);
+
+	@Test(expected = InsufficientFundsException.class)
+	public void debitInsufficientFunds() throws InsufficientFundsException {
+
+		new EventCalendarCashAccount(interestRate("1.5"), BigDecimal.ONE, OPENING_DATE, MATH_CONTEXT)
+		        .debit(BigDecimal.TEN, OPENING_DATE);
+	}
+
+	@Test
+	public void interestOnly() throws InsufficientFundsException {
+
+		verifySameEvents("3.75", "100000", null, 0);
+	}
+
+	@Test
+	public void noInterest() throws InsufficientFundsException {
+
+		verifySameEvents("0", "2500", "100", 0);
+	}
+
+	@Test
+	public void smallFunds() throws InsufficientFundsException {
+
+		verifySameEvents("2.5", "0.37", null, 0);
+	}
+
+	@Test
+	public void weeklyDeposits() throws InsufficientFundsException {
+
+		verifySameEvents("1.5", "1000", "250.5", 0);
+	}
+
+	@Test
+	public void tradingActivity() throws InsufficientFundsException {
+
+		verifySameEvents("5.25", "12345.67", "100", 7);
+	}
+
+	@Test
+	public void frequentTradingActivity() throws InsufficientFundsException {
+
+		verifySameEvents("18.3", "987654.3", "5000", 2);
+	}
+
+	/**
+	 * Both accounts are updated every calendar day, as in a simulation, with the same deposits,
+	 * debits and credits.
+	 * 
+	 * @param tradingInterval
+	 *            average days between debits or credits, zero for none.
+	 */
+	private void verifySameEvents(
+	        final String annualRate,
+	        final String openingFunds,
+	        final String depositAmount,
+	        final int tradingInterval ) throws InsufficientFundsException {
+
+		final RecordingListener expected = new RecordingListener();
+		final RecordingListener actual = new RecordingListener();
+		final CashAccount daily = daily(annualRate, openingFunds, depositAmount);
+		final CashAccount calendar = calendar(annualRate, openingFunds, depositAmount);
+		daily.addListener(expected);
+		calendar.addListener(actual);
+
+		final Random random = new Random(annualRate.hashCode());
+		LocalDate date = OPENING_DATE.minusDays(5);
+
+		while (date.isBefore(CLOSING_DATE)) {
+			daily.update(date);
+			calendar.update(date);
+
+			if (tradingInterval > 0 && random.nextInt(tradingInterval) == 0) {
+				final BigDecimal amount = daily.balance().multiply(BigDecimal.valueOf(random.nextDouble()), MATH_CONTEXT);
+
+				if (random.nextBoolean()) {
+					daily.debit(amount, date);
+					calendar.debit(amount, date);
+				} else {
+					daily.credit(amount, date);
+					calendar.credit(amount, date);
+				}
+			}
+
+			date = date.plusDays(1);
+		}
+
+		verifyEvents(expected.events, actual.events);
+		assertEquals(0, daily.balance().compareTo(calendar.balance()));
+	}
+
+	private CashAccount daily( final String annualRate, final String openingFunds, final String depositAmount ) {
+
+		final CashAccount account = new CalculatedDailyPaidMonthlyCashAccount(
+		        interestRate(annualRate),
+		        new BigDecimal(openingFunds),
+		        OPENING_DATE,
+		        MATH_CONTEXT);
+
+		return depositAmount == null ? account
+		        : new RegularDepositCashAccountDecorator(new BigDecimal(depositAmount), account, OPENING_DATE, WEEKLY);
+	}
+
+	private CashAccount calendar( final String annualRate, final String openingFunds, final String depositAmount ) {
+
+		if (depositAmount == null) {
+			return new EventCalendarCashAccount(
+			        interestRate(annualRate),
+			        new BigDecimal(openingFunds),
+			        OPENING_DATE,
+			        MATH_CONTEXT);
+		}
+
+		return new EventCalendarCashAccount(
+		        interestRate(annualRate),
+		        new BigDecimal(openingFunds),
+		        OPENING_DATE,
+		        MATH_CONTEXT,
+		        new BigDecimal(depositAmount),
+		        OPENING_DATE,
+		        WEEKLY);
+	}
+
+	private InterestRate interestRate( final String annualRate ) {
+
+		return new FlatInterestRate(new BigDecimal(annualRate), MATH_CONTEXT);
+	}
+
+	private void verifyEvents( final List<CashEvent> expected, final List<CashEvent> actual ) {
+
+		assertEquals(expected.size(), actual.size());
+
+		for (int i = 0; i < expected.size(); i++) {
+			final CashEvent expectedEvent = expected.get(i);
+			final CashEvent actualEvent = actual.get(i);
+			final String message = String.format("Event %s: %s", i, expectedEvent);
+
+			assertEquals(message, expectedEvent.type(), actualEvent.type());
+			assertEquals(message, expectedEvent.transactionDate(), actualEvent.transactionDate());
+			assertEquals(message, 0, expectedEvent.amount().compareTo(actualEvent.amount()));
+			assertEquals(message, 0, expectedEvent.fundsBefore().compareTo(actualEvent.fundsBefore()));
+			assertEquals(message, 0, expectedEvent.fundsAfter().compareTo(actualEvent.fundsAfter()));
+		}
+	}
+
+	private static class RecordingListener implements CashEventListener {
+
+		private final List<CashEvent> events = new ArrayList<>();
+
+		@Override
+		public void event( final CashEvent event ) {
+
+			events.add(event);
+		}
+	}
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2015-2018, CJ Hare All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this list of conditions
+ * and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided with
+ * the distribution.
+ *
+ * * Neither the name of [project] nor the names of its contributors may be used to endorse or
+ * promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY
+ * WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.systematic.trading.simulation.order;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.simulation.brokerage.BrokerageTransaction;
+import com.systematic.trading.simulation.brokerage.BrokerageTransactionFee;
+import com.systematic.trading.simulation.cash.CashAccount;
+import com.systematic.trading.simulation.order.event.OrderEvent;
+
+/**
+ * EquityOrderBook.
+ * 
+ * @author CJ Hare
+ */
+public class EquityOrderBookTest {
+
+	/** Book instance being tested. */
+	private EquityOrderBook book;
+
+	@Before
+	public void setUp() {
+
+		book = new EquityOrderBook();
+	}
+
+	@Test
+	public void empty() {
+
+		assertTrue(book.isEmpty());
+		assertEquals(0, book.size());
+	}
+
+	@Test
+	public void addBeyondInitialCapacity() {
+
+		final EquityOrder[] added = add(9);
+
+		assertFalse(book.isEmpty());
+		assertEquals(9, book.size());
+
+		for (int i = 0; i < added.length; i++) {
+			assertSame(added[i], book.get(i));
+		}
+	}
+
+	@Test
+	public void compactInPlace() {
+
+		final EquityOrder[] added = add(5);
+
+		// Retain only the odd orders
+		int retained = 0;
+		for (int i = 0; i < book.size(); i++) {
+			if (i % 2 == 1) {
+				book.set(retained++, book.get(i));
+			}
+		}
+		book.truncate(retained);
+
+		assertEquals(2, book.size());
+		assertSame(added[1], book.get(0));
+		assertSame(added[3], book.get(1));
+	}
+
+	@Test
+	public void truncateReleasesOrders() {
+
+		add(3);
+
+		book.truncate(0);
+
+		assertTrue(book.isEmpty());
+		assertNull(book.get(0));
+		assertNull(book.get(2));
+	}
+
+	private EquityOrder[] add( final int count ) {
+
+		final EquityOrder[] orders = new EquityOrder[count];
+
+		for (int i = 0; i < count; i++) {
+			orders[i] = new StubOrder();
+			book.add(orders[i]);
+		}
+
+		return orders;
+	}
+
+	private static class StubOrder implements EquityOrder {
+
+		@Override
+		public boolean isValid( final TradingDayPrices todaysTrading ) {
+
+			return true;
+		}
+
+		@Override
+		public boolean areExecutionConditionsMet( final TradingDayPrices todaysTrading ) {
+
+			return false;
+		}
+
+		@Override
+		public void execute(
+		        final BrokerageTransactionFee fees,
+		        final BrokerageTransaction broker,
+		        final CashAccount cashAccount,
+		        final TradingDayPrices todaysTrading ) {
+
+			// Never executed
+		}
+
+		@Override
+		public OrderEvent orderEvent() {
+
+			return null;
+		}
+	}
+}
@@ -25,7 +25,11 @@
  */
 package com.systematic.trading.strategy.confirmation;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.systematic.trading.signal.model.DatedSignal;
+import com.systematic.trading.signal.model.DatedSignalSet;
 
 /**
  * Whether after a generated signal there is also a confirming signal occurring within a selected
@@ -48,6 +52,38 @@ public interface Confirmation {
 	 */
 	boolean isConfirmedBy( DatedSignal anchor, DatedSignal confirmation );
 
+	/**
+	 * The latest confirmation signal for each anchor, by default comparing every anchor against every
+	 * confirmation signal.
+	 * 
+	 * @param anchors
+	 *            expected earliest signals.
+	 * @param confirmations
+	 *            expected later signals.
+	 * @return confirmation signals that confirmed an anchor signal.
+	 */
+	default DatedSignalSet confirmedBy( final DatedSignalSet anchors, final DatedSignalSet confirmations ) {
+
+		final List<DatedSignal> confirmationSignals = confirmations.toList();
+		final List<DatedSignal> confirmed = new ArrayList<>();
+
+		for (final DatedSignal anchor : anchors.toList()) {
+			DatedSignal latest = null;
+
+			for (final DatedSignal confirmation : confirmationSignals) {
+				if (isConfirmedBy(anchor, confirmation)) {
+					latest = confirmation;
+				}
+			}
+
+			if (latest != null) {
+				confirmed.add(latest);
+			}
+		}
+
+		return DatedSignalSet.of(confirmed);
+	}
+
 	/**
 	 * The number of trading data points required for entry calculation.
 	 * 
@@ -29,6 +29,7 @@ import java.util.List;
 
 import com.systematic.trading.model.price.TradingDayPrices;
 import com.systematic.trading.signal.model.DatedSignal;
+import com.systematic.trading.signal.model.DatedSignalSet;
 
 /**
  * Approach for deciding when to open / enter a position.
@@ -46,6 +47,20 @@ public interface Entry {
 	 */
 	List<DatedSignal> analyse( TradingDayPrices[] data );
 
+	/**
+	 * Given a set of trading data, performs appropriate analysis to generate the signal set.
+	 * <p/>
+	 * Composite entries combine the signal sets of their parts, avoiding the list form.
+	 * 
+	 * @param data
+	 *            trading day data.
+	 * @return signals generated from the analysis.
+	 */
+	default DatedSignalSet signals( final TradingDayPrices[] data ) {
+
+		return DatedSignalSet.of(analyse(data));
+	}
+
 	/**
 	 * The number of trading data points required for entry calculation.
 	 * 
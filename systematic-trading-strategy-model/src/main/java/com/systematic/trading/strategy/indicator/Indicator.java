@@ -29,6 +29,7 @@ import java.util.List;
 
 import com.systematic.trading.model.price.TradingDayPrices;
 import com.systematic.trading.signal.model.DatedSignal;
+import com.systematic.trading.signal.model.DatedSignalSet;
 
 /**
  * An indicator interprets price data and potentially generates date based signals.
@@ -48,6 +49,18 @@ public interface Indicator {
 	 */
 	List<DatedSignal> analyse( TradingDayPrices[] data );
 
+	/**
+	 * Given a set of trading price data, performs appropriate analysis to generate the signal set.
+	 * 
+	 * @param data
+	 *            trading day data.
+	 * @return any signals generated over the given data.
+	 */
+	default DatedSignalSet signals( final TradingDayPrices[] data ) {
+
+		return DatedSignalSet.of(analyse(data));
+	}
+
 	/**
 	 * The number of trading data points required for entry calculation.
 	 * 
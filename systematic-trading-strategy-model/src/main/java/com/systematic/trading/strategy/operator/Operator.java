@@ -28,6 +28,7 @@ package com.systematic.trading.strategy.operator;
 import java.util.List;
 
 import com.systematic.trading.signal.model.DatedSignal;
+import com.systematic.trading.signal.model.DatedSignalSet;
 
 /**
  * A logical operator that joins together the signals generated from two indicators.
@@ -52,4 +53,18 @@ public interface Operator {
 	 * @return the conjoined data sets, never <code>null</code>.
 	 */
 	List<DatedSignal> conjoin( final List<DatedSignal> left, final List<DatedSignal> right );
+
+	/**
+	 * Perform the logical conjunction between the two signal sets, by default through the list form.
+	 * 
+	 * @param left
+	 *            first signal set, not <code>null</code>.
+	 * @param right
+	 *            second signal set, not <code>null</code>.
+	 * @return the conjoined signal sets, never <code>null</code>.
+	 */
+	default DatedSignalSet conjoin( final DatedSignalSet left, final DatedSignalSet right ) {
+
+		return DatedSignalSet.of(conjoin(left.toList(), right.toList()));
+	}
 }
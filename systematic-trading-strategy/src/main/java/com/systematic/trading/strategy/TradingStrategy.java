@@ -34,7 +34,7 @@ import java.util.List;
 import java.util.Optional;
 
 import com.systematic.trading.model.price.TradingDayPrices;
-import com.systematic.trading.signal.model.DatedSignal;
+import com.systematic.trading.signal.model.DatedSignalSet;
 import com.systematic.trading.simulation.brokerage.BrokerageTransaction;
 import com.systematic.trading.simulation.brokerage.BrokerageTransactionFee;
 import com.systematic.trading.simulation.cash.CashAccount;
@@ -106,11 +106,10 @@ public class TradingStrategy implements Strategy {
 
 		if (tradingData.size() == entry.requiredTradingPrices()) {
 
-			// TODO change to avoid converting to a list
 			// Create signals from the available trading data
-			final List<DatedSignal> signals = entry.analyse(tradingData.toArray());
+			final DatedSignalSet signals = entry.signals(tradingData.toArray());
 
-			if (hasDatedSignal(signals, data)) {
+			if (signals.contains(data.date())) {
 
 				// TODO do some better encapsulation / refactor
 				final BigDecimal amount = entryPositionSizing.entryPositionSize(cashAccount);
@@ -154,13 +153,4 @@ public class TradingStrategy implements Strategy {
 
 		return Optional.empty();
 	}
-
-	private boolean hasDatedSignal( final List<DatedSignal> signals, final TradingDayPrices data ) {
-
-		for (final DatedSignal signal : signals) {
-			if (signal.date().equals(data.date())) { return true; }
-		}
-
-		return false;
-	}
 }
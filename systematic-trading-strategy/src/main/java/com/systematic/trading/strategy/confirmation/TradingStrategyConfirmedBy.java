@@ -28,6 +28,7 @@ package com.systematic.trading.strategy.confirmation;
 import java.time.LocalDate;
 
 import com.systematic.trading.signal.model.DatedSignal;
+import com.systematic.trading.signal.model.DatedSignalSet;
 
 /**
  * Anchor signal is confirmed by another signal, with a certain number of days.
@@ -60,6 +61,15 @@ public class TradingStrategyConfirmedBy implements Confirmation {
 		return isAfterConfirmationDelay(anchor, confirmation) && isBeforeConfirmationRangeEnd(anchor, confirmation);
 	}
 
+	/**
+	 * Each anchor opens a window of days, searched for the latest confirmation in the bitset.
+	 */
+	@Override
+	public DatedSignalSet confirmedBy( final DatedSignalSet anchors, final DatedSignalSet confirmations ) {
+
+		return anchors.confirmedBy(confirmations, delayUntilConfirmationRange, confirmationDayRange);
+	}
+
 	@Override
 	public int requiredTradingPrices() {
 
@@ -61,6 +61,9 @@ public class BuyTotalCostTomorrowAtOpeningPriceOrder implements EquityOrder {
 	/** The number of decimal places the equity is trading in. */
 	private final int scale;
 
+	/** Details of the order, only created when requested. */
+	private OrderEvent event;
+
 	public BuyTotalCostTomorrowAtOpeningPriceOrder(
 	        final BigDecimal targetTotalCost,
 	        final int equityScale,
@@ -102,7 +105,11 @@ public class BuyTotalCostTomorrowAtOpeningPriceOrder implements EquityOrder {
 	@Override
 	public OrderEvent orderEvent() {
 
-		return new PlaceOrderTotalCostEvent(targetTotalCost, creationDate, EquityOrderType.ENTRY);
+		if (event == null) {
+			event = new PlaceOrderTotalCostEvent(targetTotalCost, creationDate, EquityOrderType.ENTRY);
+		}
+
+		return event;
 	}
 
 	private BigDecimal equityCost(
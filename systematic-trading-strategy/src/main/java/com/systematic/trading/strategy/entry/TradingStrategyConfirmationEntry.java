@@ -31,6 +31,7 @@ import java.util.Optional;
 
 import com.systematic.trading.model.price.TradingDayPrices;
 import com.systematic.trading.signal.model.DatedSignal;
+import com.systematic.trading.signal.model.DatedSignalSet;
 import com.systematic.trading.strategy.confirmation.Confirmation;
 
 /**
@@ -76,6 +77,18 @@ public class TradingStrategyConfirmationEntry implements Entry {
 		return signals;
 	}
 
+	@Override
+	public DatedSignalSet signals( final TradingDayPrices[] data ) {
+
+		final DatedSignalSet anchorSignals = anchorIndicator.signals(data);
+
+		if (anchorSignals.isEmpty()) {
+			return DatedSignalSet.empty();
+		}
+
+		return confirmation.confirmedBy(anchorSignals, confirmationIndicator.signals(data));
+	}
+
 	private boolean hasSignals( final List<DatedSignal> signals ) {
 
 		return !signals.isEmpty();
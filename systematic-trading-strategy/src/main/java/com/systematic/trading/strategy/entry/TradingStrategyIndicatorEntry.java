@@ -29,6 +29,7 @@ import java.util.List;
 
 import com.systematic.trading.model.price.TradingDayPrices;
 import com.systematic.trading.signal.model.DatedSignal;
+import com.systematic.trading.signal.model.DatedSignalSet;
 import com.systematic.trading.strategy.indicator.Indicator;
 
 /**
@@ -52,6 +53,12 @@ public class TradingStrategyIndicatorEntry implements Entry {
 		return indicator.analyse(data);
 	}
 
+	@Override
+	public DatedSignalSet signals( final TradingDayPrices[] data ) {
+
+		return indicator.signals(data);
+	}
+
 	@Override
 	public int requiredTradingPrices() {
 
@@ -29,6 +29,7 @@ import java.util.List;
 
 import com.systematic.trading.model.price.TradingDayPrices;
 import com.systematic.trading.signal.model.DatedSignal;
+import com.systematic.trading.signal.model.DatedSignalSet;
 import com.systematic.trading.strategy.operator.Operator;
 
 /**
@@ -55,6 +56,12 @@ public class TradingStrategyOperatorEntry implements Entry {
 		return operator.conjoin(leftEntry.analyse(data), righEntry.analyse(data));
 	}
 
+	@Override
+	public DatedSignalSet signals( final TradingDayPrices[] data ) {
+
+		return operator.conjoin(leftEntry.signals(data), righEntry.signals(data));
+	}
+
 	@Override
 	public int requiredTradingPrices() {
 
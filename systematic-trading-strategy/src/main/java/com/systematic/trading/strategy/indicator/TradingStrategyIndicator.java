@@ -30,9 +30,12 @@ import java.util.List;
 import java.util.function.Predicate;
 
 import com.systematic.trading.maths.indicator.SignalCalculator;
+import com.systematic.trading.metrics.MetricTimer;
+import com.systematic.trading.metrics.MetricsRegistry;
 import com.systematic.trading.model.price.TradingDayPrices;
 import com.systematic.trading.signal.generator.SignalGenerator;
 import com.systematic.trading.signal.model.DatedSignal;
+import com.systematic.trading.signal.model.DatedSignalSet;
 import com.systematic.trading.signal.range.InclusiveDatelRangeFilter;
 import com.systematic.trading.signal.range.SignalRangeFilter;
 import com.systematic.trading.strategy.indicator.event.IndicatorSignal;
@@ -47,6 +50,9 @@ import com.systematic.trading.strategy.signal.SignalAnalysisListener;
  */
 public class TradingStrategyIndicator<T, U extends SignalCalculator<T>> implements Indicator {
 
+	/** Name of the timer for the indicators, suffixed by their id. */
+	private static final String TIMER_NAME = "indicator";
+
 	/** Provides date range filtering. */
 	private final InclusiveDatelRangeFilter dateRangeFilter = new InclusiveDatelRangeFilter();
 
@@ -65,6 +71,9 @@ public class TradingStrategyIndicator<T, U extends SignalCalculator<T>> implemen
 	/** Listener interested in when indicator signals are generated. */
 	private final SignalAnalysisListener signalListner;
 
+	/** Time spent calculating and generating the signals, shared by indicators of the same id. */
+	private final MetricTimer timer;
+
 	public TradingStrategyIndicator(
 	        final IndicatorId id,
 	        final U calculator,
@@ -77,16 +86,29 @@ public class TradingStrategyIndicator<T, U extends SignalCalculator<T>> implemen
 		this.generator = generator;
 		this.signalListner = signalListner;
 		this.id = id;
+		this.timer = MetricsRegistry.metrics().timer(timerName(id));
 	}
 
 	@Override
 	public List<DatedSignal> analyse( final TradingDayPrices[] data ) {
 
+		final long start = timer.start();
 		final List<DatedSignal> signals = generator.generate(calculator.calculate(data), signalDateRange(data));
+		timer.stop(start);
+
 		notifyListners(signals);
 		return signals;
 	}
 
+	/**
+	 * Generators produce a single type in date order, so the series is set straight into the bitset.
+	 */
+	@Override
+	public DatedSignalSet signals( final TradingDayPrices[] data ) {
+
+		return DatedSignalSet.of(generator.type(), analyse(data));
+	}
+
 	private Predicate<LocalDate> signalDateRange( final TradingDayPrices[] data ) {
 
 		return candidateDate -> dateRangeFilter.isWithinSignalRange(
@@ -101,6 +123,14 @@ public class TradingStrategyIndicator<T, U extends SignalCalculator<T>> implemen
 		return calculator.minimumNumberOfPrices();
 	}
 
+	/**
+	 * Indicators without an id share the generic timer.
+	 */
+	private static String timerName( final IndicatorId id ) {
+
+		return id == null ? TIMER_NAME : TIMER_NAME + "." + id.name();
+	}
+
 	private void notifyListners( final List<DatedSignal> signals ) {
 
 		// Create the event only when there are listeners
@@ -25,10 +25,10 @@
  */
 package com.systematic.trading.strategy.operator;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import com.systematic.trading.signal.model.DatedSignal;
+import com.systematic.trading.signal.model.DatedSignalSet;
 
 /**
  * Trading strategy logical AND operator is used to combine exits and entries.
@@ -40,25 +40,12 @@ public class TradingStrategyAndOperator implements Operator {
 	@Override
 	public List<DatedSignal> conjoin( final List<DatedSignal> left, final List<DatedSignal> right ) {
 
-		final List<DatedSignal> both = new ArrayList<>(Math.max(left.size(), right.size()));
-
-		for (final DatedSignal conteder : right) {
-
-			if (contains(left, conteder)) {
-				both.add(conteder);
-			}
-		}
-
-		return both;
+		return conjoin(DatedSignalSet.of(left), DatedSignalSet.of(right)).toList();
 	}
 
-	// TODO natrual ordering to DatedSignal & replace with set operation
-	private boolean contains( final List<DatedSignal> left, final DatedSignal contender ) {
-
-		for (final DatedSignal ds : left) {
-			if (ds.date().equals(contender.date()) && ds.type() == contender.type()) { return true; }
-		}
+	@Override
+	public DatedSignalSet conjoin( final DatedSignalSet left, final DatedSignalSet right ) {
 
-		return false;
+		return left.and(right);
 	}
 }
@@ -25,10 +25,10 @@
  */
 package com.systematic.trading.strategy.operator;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import com.systematic.trading.signal.model.DatedSignal;
+import com.systematic.trading.signal.model.DatedSignalSet;
 
 /**
  * Trading strategy logical OR operator is used to combine exits and entries.
@@ -40,27 +40,15 @@ public class TradingStrategyOrOperator implements Operator {
 	@Override
 	public List<DatedSignal> conjoin( final List<DatedSignal> left, final List<DatedSignal> right ) {
 
-		final List<DatedSignal> either = new ArrayList<>(left.size() + right.size());
-		either.addAll(left);
-
-		for (final DatedSignal conteder : right) {
-
-			// Only one copy of the signal
-			if (doesNotContain(left, conteder)) {
-				either.add(conteder);
-			}
-		}
-
-		return either;
+		return conjoin(DatedSignalSet.of(left), DatedSignalSet.of(right)).toList();
 	}
 
-	// TODO natrual ordering to DatedSignal & replace with set add
-	private boolean doesNotContain( final List<DatedSignal> left, final DatedSignal contender ) {
-
-		for (final DatedSignal ds : left) {
-			if (ds.date().equals(contender.date()) && ds.type() == contender.type()) { return false; }
-		}
+	/**
+	 * Only one copy of each signal, by date and type.
+	 */
+	@Override
+	public DatedSignalSet conjoin( final DatedSignalSet left, final DatedSignalSet right ) {
 
-		return true;
+		return left.or(right);
 	}
 }
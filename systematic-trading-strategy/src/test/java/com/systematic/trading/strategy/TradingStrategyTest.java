@@ -47,7 +47,9 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import com.systematic.trading.model.price.ClosingPrice;
 import com.systematic.trading.model.price.TradingDayPrices;
+import com.systematic.trading.model.signal.SignalType;
 import com.systematic.trading.signal.model.DatedSignal;
+import com.systematic.trading.signal.model.DatedSignalSet;
 import com.systematic.trading.simulation.brokerage.BrokerageTransaction;
 import com.systematic.trading.simulation.brokerage.BrokerageTransactionFee;
 import com.systematic.trading.simulation.cash.CashAccount;
@@ -181,6 +183,8 @@ public class TradingStrategyTest {
 	@Test
 	public void entryUpdateNoAction() {
 
+		setUpNoSignal();
+
 		final Optional<EquityOrder> order = entryTick();
 
 		verifyNoOrder(order);
@@ -214,11 +218,14 @@ public class TradingStrategyTest {
 
 	private void setUpSignal( final int ticksPrevious ) {
 
-		final DatedSignal signal = mock(DatedSignal.class);
-		when(signal.date()).thenReturn(LocalDate.now().minusDays(ticksPrevious));
 		final List<DatedSignal> signals = new ArrayList<>();
-		signals.add(signal);
-		when(entry.analyse(any(TradingDayPrices[].class))).thenReturn(signals);
+		signals.add(new DatedSignal(LocalDate.now().minusDays(ticksPrevious), SignalType.BULLISH));
+		when(entry.signals(any(TradingDayPrices[].class))).thenReturn(DatedSignalSet.of(signals));
+	}
+
+	private void setUpNoSignal() {
+
+		when(entry.signals(any(TradingDayPrices[].class))).thenReturn(DatedSignalSet.empty());
 	}
 
 	private void setUpNotEnoughDataPricePoints() {
@@ -288,7 +295,7 @@ public class TradingStrategyTest {
 
 	private void verifyAnalysisDelegation() {
 
-		verify(entry).analyse(any(TradingDayPrices[].class));
+		verify(entry).signals(any(TradingDayPrices[].class));
 	}
 
 	private void verifyEntryPositionSizingDelegation() {
@@ -26,6 +26,7 @@
 package com.systematic.trading.strategy.entry;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -40,6 +41,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import com.systematic.trading.model.price.TradingDayPrices;
 import com.systematic.trading.signal.model.DatedSignal;
+import com.systematic.trading.signal.model.DatedSignalSet;
 import com.systematic.trading.strategy.indicator.Indicator;
 
 /**
@@ -88,6 +90,19 @@ public class TradingStrategyIndicatorEntryTest {
 		verifyAnalysisDelegation(data);
 	}
 
+	@Test
+	public void signals() {
+
+		final TradingDayPrices[] data = new TradingDayPrices[5];
+		final DatedSignalSet expected = DatedSignalSet.empty();
+		when(indicator.signals(any(TradingDayPrices[].class))).thenReturn(expected);
+
+		final DatedSignalSet signals = entry.signals(data);
+
+		assertSame(expected, signals);
+		verify(indicator).signals(data);
+	}
+
 	private void setUpTradingDataPoints( final int dataPoints ) {
 
 		when(indicator.requiredTradingPrices()).thenReturn(dataPoints);
@@ -49,6 +49,7 @@ import com.systematic.trading.model.price.TradingDayPrices;
 import com.systematic.trading.model.signal.SignalType;
 import com.systematic.trading.signal.generator.SignalGenerator;
 import com.systematic.trading.signal.model.DatedSignal;
+import com.systematic.trading.signal.model.DatedSignalSet;
 import com.systematic.trading.signal.range.SignalRangeFilter;
 import com.systematic.trading.strategy.signal.SignalAnalysisListener;
 
@@ -133,12 +134,49 @@ public class TradingStrategyIndicatorTest {
 		verifyZeroDateFiltering();
 	}
 
+	@Test
+	public void signals() {
+
+		final TradingDayPrices[] data = new TradingDayPrices[2];
+		final List<DatedSignal> expected = new ArrayList<>();
+		expected.add(signal(LocalDate.of(2012, 12, 28), SignalType.BEARISH));
+		expected.add(signal(LocalDate.of(2012, 12, 30), SignalType.BEARISH));
+		setUpGenerator(expected);
+		setUpGeneratorType(SignalType.BEARISH);
+
+		final DatedSignalSet signals = indicator.signals(data);
+
+		verifyAnalysis(expected, signals.toList());
+		verifyGeneratorDelegation();
+		verifyCalculatorDelegation(data);
+	}
+
+	@Test
+	public void analyseWithoutId() {
+
+		indicator = new TradingStrategyIndicator<Object,
+		        SignalCalculator<Object>>(null, calculator, generator, signalRangeFilter, signalListner);
+		final TradingDayPrices[] data = new TradingDayPrices[5];
+		final List<DatedSignal> expected = new ArrayList<>();
+		setUpGenerator(expected);
+
+		final List<DatedSignal> signals = analyse(data);
+
+		verifyAnalysis(expected, signals);
+		verifyCalculatorDelegation(data);
+	}
+
 	@SuppressWarnings("unchecked")
 	private void setUpGenerator( final List<DatedSignal> expected ) {
 
 		when(generator.generate(any(Object.class), any(Predicate.class))).thenReturn(expected);
 	}
 
+	private void setUpGeneratorType( final SignalType type ) {
+
+		when(generator.type()).thenReturn(type);
+	}
+
 	private List<DatedSignal> analyse( final TradingDayPrices[] data ) {
 
 		return indicator.analyse(data);